@@ -34,21 +34,47 @@ CREATE TABLE `mascotas` (
   `familia` varchar(50) NOT NULL,
   `genero` varchar(50) NOT NULL,
   `especie` varchar(100) NOT NULL,
-  `alimento` varchar(50) NOT NULL
+  `alimento` varchar(50) NOT NULL,
+  `nombre_clave` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+  `apodo_clave` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+  `clasificacion_clave` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+  `familia_clave` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+  `genero_clave` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+  `especie_clave` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+  `alimento_clave` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+  `huella` bigint(20) NOT NULL,
+  `version` int(11) NOT NULL DEFAULT 1
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
 
 --
 -- Volcado de datos para la tabla `mascotas`
 --
 
-INSERT INTO `mascotas` (`nombre`, `apodo`, `clasificacion`, `familia`, `genero`, `especie`, `alimento`) VALUES
-('Loro Yaco', 'Pepe', 'Ave', 'Psittacidae', 'Psittacus', 'Psittacus erithacus', 'Frutas'),
-('Tarántula Chilena Rosa', 'Rosita', 'Arachnida', 'Theraphosidae', 'Grammostola', '', 'Carnes'),
-('6', '', '', '', '', '', ''),
-('Ajolote', 'Morice', 'Amphibia', 'Ambystomatidae', 'Ambystoma', 'Ambystoma mexicanum', 'Carnes'),
-('Pez Payaso', 'Nemo', 'Actinopterygii', 'Pomacentridae', 'Amphiprion', 'Amphiprion ocellaris', 'Omnívoros'),
-('Hurón', 'Furby', 'Mammalia', 'Mustelidae', 'Mustela', 'Mustela putorius furo', 'Carnes'),
-('Dragón Barbudo', 'Spicke', 'Reptil', 'Agamidae', 'cesa', 'Pogona vitticeps', 'Omnívoros');
+INSERT INTO `mascotas` (`nombre`, `apodo`, `clasificacion`, `familia`, `genero`, `especie`, `alimento`, `nombre_clave`, `apodo_clave`, `clasificacion_clave`, `familia_clave`, `genero_clave`, `especie_clave`, `alimento_clave`, `huella`) VALUES
+('Loro Yaco', 'Pepe', 'Ave', 'Psittacidae', 'Psittacus', 'Psittacus erithacus', 'Frutas', 'loro yaco', 'pepe', 'ave', 'psittacidae', 'psittacus', 'psittacus erithacus', 'frutas', -7732251256101810406),
+('Tarántula Chilena Rosa', 'Rosita', 'Arachnida', 'Theraphosidae', 'Grammostola', '', 'Carnes', 'tarantula chilena rosa', 'rosita', 'arachnida', 'theraphosidae', 'grammostola', '', 'carnes', 8693689782906674131),
+('6', '', '', '', '', '', '', '6', '', '', '', '', '', '', 432902171140173103),
+('Ajolote', 'Morice', 'Amphibia', 'Ambystomatidae', 'Ambystoma', 'Ambystoma mexicanum', 'Carnes', 'ajolote', 'morice', 'amphibia', 'ambystomatidae', 'ambystoma', 'ambystoma mexicanum', 'carnes', -2130398782449440081),
+('Pez Payaso', 'Nemo', 'Actinopterygii', 'Pomacentridae', 'Amphiprion', 'Amphiprion ocellaris', 'Omnívoros', 'pez payaso', 'nemo', 'actinopterygii', 'pomacentridae', 'amphiprion', 'amphiprion ocellaris', 'omnivoros', -4897090161597725033),
+('Hurón', 'Furby', 'Mammalia', 'Mustelidae', 'Mustela', 'Mustela putorius furo', 'Carnes', 'huron', 'furby', 'mammalia', 'mustelidae', 'mustela', 'mustela putorius furo', 'carnes', 2739230679638108112),
+('Dragón Barbudo', 'Spicke', 'Reptil', 'Agamidae', 'cesa', 'Pogona vitticeps', 'Omnívoros', 'dragon barbudo', 'spicke', 'reptil', 'agamidae', 'cesa', 'pogona vitticeps', 'omnivoros', 9090483529281411121);
+
+--
+-- Índices para tablas volcadas
+--
+
+--
+-- Indices de la tabla `mascotas`
+--
+ALTER TABLE `mascotas`
+  ADD PRIMARY KEY (`apodo`),
+  ADD UNIQUE KEY `uk_mascotas_apodo_clave` (`apodo_clave`),
+  ADD KEY `idx_mascotas_clasificacion_clave` (`clasificacion_clave`),
+  ADD KEY `idx_mascotas_familia_clave` (`familia_clave`),
+  ADD KEY `idx_mascotas_alimento_clave` (`alimento_clave`),
+  ADD KEY `idx_mascotas_clasificacion_familia_clave` (`clasificacion_clave`,`familia_clave`),
+  ADD KEY `idx_mascotas_clasificacion_alimento_clave` (`clasificacion_clave`,`alimento_clave`),
+  ADD KEY `idx_mascotas_huella` (`huella`);
 COMMIT;
 
 /*!40101 SET CHARACTER_SET_CLIENT=@OLD_CHARACTER_SET_CLIENT */;
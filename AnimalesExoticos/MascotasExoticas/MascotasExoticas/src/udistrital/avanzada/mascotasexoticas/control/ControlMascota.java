@@ -1,9 +1,28 @@
 package udistrital.avanzada.mascotasexoticas.control;
 
 import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.NormalizadorTexto;
+import udistrital.avanzada.mascotasexoticas.modelo.ResumenMascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.conexion.EscritorMascotas;
 import udistrital.avanzada.mascotasexoticas.modelo.conexion.ISerializacionService;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.CampoMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.CriteriosMascota;
 import udistrital.avanzada.mascotasexoticas.modelo.DAO.ICRUDMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.PaginaMascotas;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.ResultadoOperacion;
 
 /**
  * Controlador de la capa de negocio responsable de gestionar las operaciones 
@@ -38,12 +57,27 @@ import udistrital.avanzada.mascotasexoticas.modelo.DAO.ICRUDMascota;
  */
 public class ControlMascota implements IControlMascota {
 
+    /**
+     * Errores de escritura tolerados en la consulta aproximada por apodo; los
+     * apodos de hasta {@link #LONGITUD_APODO_CORTO} caracteres toleran uno.
+     */
+    private static final int DISTANCIA_MAXIMA_APODO = 2;
+
+    /** Longitud hasta la cual un apodo se considera corto. */
+    private static final int LONGITUD_APODO_CORTO = 4;
+
+    /** Número máximo de apodos parecidos que se sugieren. */
+    private static final int LIMITE_APODOS_SIMILARES = 5;
+
     /** DAO responsable del acceso a los datos de las mascotas. */
     private final ICRUDMascota mascotaDAO;
 
     /** Servicio encargado de la serialización y persistencia secundaria de mascotas. */
     private final ISerializacionService serializacionService;
 
+    /** Contadores donde se informa el avance de las exportaciones. */
+    private final ProgresoTransferencias progreso;
+
     /**
      * Crea una instancia del controlador de mascotas.
      *
@@ -51,8 +85,22 @@ public class ControlMascota implements IControlMascota {
      * @param serializacionService Servicio de serialización e ingreso/salida de archivos.
      */
     public ControlMascota(ICRUDMascota mascotaDAO, ISerializacionService serializacionService) {
+        this(mascotaDAO, serializacionService, new ProgresoTransferencias());
+    }
+
+    /**
+     * Crea una instancia del controlador de mascotas que informa el avance de
+     * las exportaciones en los contadores indicados.
+     *
+     * @param mascotaDAO Implementación concreta de la interfaz {@link ICRUDMascota}.
+     * @param serializacionService Servicio de serialización e ingreso/salida de archivos.
+     * @param progreso Contadores de importaciones y exportaciones.
+     */
+    public ControlMascota(ICRUDMascota mascotaDAO, ISerializacionService serializacionService,
+                          ProgresoTransferencias progreso) {
         this.mascotaDAO = mascotaDAO;
         this.serializacionService = serializacionService;
+        this.progreso = progreso;
     }
 
     // -------------------------------------------------------------------------
@@ -60,45 +108,133 @@ public class ControlMascota implements IControlMascota {
     // -------------------------------------------------------------------------
 
     /**
-     * Registra una nueva mascota en el sistema.
+     * Registra una mascota nueva en el sistema.
      * <p>
-     * Antes de agregarla, valida que no exista una mascota con las mismas
-     * características y apodo, garantizando integridad de datos.
+     * La inserción se resuelve en una sola operación del DAO que nunca
+     * sobrescribe: si el apodo ya está registrado, con los mismos u otros
+     * datos, se rechaza. Los cambios a una mascota existente se hacen con
+     * {@link #modificarMascota(MascotaVO)}.
      * </p>
      *
      * @param mascota Objeto {@link MascotaVO} a registrar.
-     * @return {@code true} si la mascota fue registrada correctamente.
-     * @throws IllegalArgumentException si ya existe una mascota idéntica.
+     * @return {@code true} si la mascota fue registrada; {@code false} si
+     * ocurrió un error al escribirla.
+     * @throws IllegalArgumentException si el apodo ya está registrado.
      */
     @Override
     public boolean adicionarMascota(MascotaVO mascota) {
-        if (existeMascotaExacta(mascota)) {
+        // El lote informa si el apodo ya existía, a diferencia del booleano
+        // de la inserción individual, que no lo distingue de un error
+        ResultadoOperacion resultado = mascotaDAO.adicionarMascotas(Collections.singletonList(mascota)).get(0);
+        if (resultado == ResultadoOperacion.DUPLICADA) {
             throw new IllegalArgumentException(
-                "Ya existe una mascota con las mismas características. Inserción rechazada."
+                "Ya existe una mascota con el apodo " + mascota.getApodo()
+                + ". Inserción rechazada; use Modificar para cambiar sus datos."
             );
         }
-        return mascotaDAO.adicionarMascota(mascota);
+        return resultado == ResultadoOperacion.INSERTADA;
+    }
+
+    /**
+     * Inserta la mascota o actualiza la existente con el mismo apodo.
+     *
+     * @param mascota Mascota a registrar.
+     * @return Resultado de la operación.
+     */
+    @Override
+    public ResultadoOperacion upsertMascota(MascotaVO mascota) {
+        return mascotaDAO.upsertMascota(mascota);
+    }
+
+    /**
+     * Registra varias mascotas en lote, delegando al DAO para minimizar los
+     * viajes a la base de datos.
+     *
+     * @param mascotas Mascotas a registrar.
+     * @return Resultado de cada mascota, en el mismo orden de la lista.
+     */
+    @Override
+    public List<ResultadoOperacion> adicionarMascotas(List<MascotaVO> mascotas) {
+        return mascotaDAO.adicionarMascotas(mascotas);
+    }
+
+    /**
+     * Registra varias mascotas importadas en lote.
+     * <p>
+     * Las que el lote informa como duplicadas se revisan por huella: si el
+     * apodo ya está registrado con los mismos datos se informan como
+     * {@link ResultadoOperacion#SIN_CAMBIOS}; si no, siguen como
+     * {@link ResultadoOperacion#DUPLICADA}.
+     * </p>
+     *
+     * @param mascotas Mascotas a registrar.
+     * @return Resultado de cada mascota, en el mismo orden de la lista.
+     */
+    @Override
+    public List<ResultadoOperacion> importarMascotas(List<MascotaVO> mascotas) {
+        List<ResultadoOperacion> resultados = new ArrayList<>(mascotaDAO.adicionarMascotas(mascotas));
+        List<MascotaVO> duplicadas = new ArrayList<>();
+        for (int i = 0; i < resultados.size(); i++) {
+            if (resultados.get(i) == ResultadoOperacion.DUPLICADA) {
+                duplicadas.add(mascotas.get(i));
+            }
+        }
+        if (duplicadas.isEmpty()) {
+            return resultados;
+        }
+        Set<String> iguales = registradasIguales(duplicadas);
+        for (int i = 0; i < resultados.size(); i++) {
+            if (resultados.get(i) == ResultadoOperacion.DUPLICADA
+                    && iguales.contains(mascotas.get(i).getClaves().getApodo())) {
+                resultados.set(i, ResultadoOperacion.SIN_CAMBIOS);
+            }
+        }
+        return resultados;
     }
 
     /**
      * Modifica los datos de una mascota existente.
      * <p>
-     * La búsqueda se realiza por apodo, y solo se modifica si existe un registro previo.
+     * La búsqueda se realiza por apodo en la misma escritura: no se consulta
+     * antes si la mascota existe, sino que se deduce del resultado del DAO.
      * </p>
      *
-     * @param mascota Objeto {@link MascotaVO} con los datos actualizados.
-     * @return {@code true} si la mascota fue modificada correctamente.
-     * @throws IllegalArgumentException si no existe una mascota con el apodo indicado.
+     * @param mascota Objeto {@link MascotaVO} con los datos actualizados; los
+     * campos en blanco conservan su valor.
+     * @return {@code true} si la mascota fue modificada; {@code false} si no
+     * existe o su versión no coincide con la indicada.
      */
     @Override
     public boolean modificarMascota(MascotaVO mascota) {
-        List<MascotaVO> existentes = mascotaDAO.consultarPorApodo(mascota.getApodo());
-        if (existentes.isEmpty()) {
-            throw new IllegalArgumentException("No se encontró una mascota con ese apodo.");
-        }
         return mascotaDAO.modificarMascota(mascota);
     }
 
+    /**
+     * Aplica los mismos cambios a todas las mascotas que cumplen unos
+     * criterios, en una sola operación del DAO.
+     *
+     * @param criterios Mascotas a modificar.
+     * @param cambios Nuevo nombre, clasificación y alimento; los campos en
+     * blanco conservan su valor.
+     * @return Número de mascotas modificadas.
+     */
+    @Override
+    public int modificarPorCriterio(CriteriosMascota criterios, MascotaVO cambios) {
+        return mascotaDAO.modificarPorCriterio(criterios, cambios);
+    }
+
+    /**
+     * Elimina todas las mascotas que cumplen unos criterios, en una sola
+     * operación del DAO.
+     *
+     * @param criterios Mascotas a eliminar.
+     * @return Número de mascotas eliminadas.
+     */
+    @Override
+    public int eliminarPorCriterio(CriteriosMascota criterios) {
+        return mascotaDAO.eliminarPorCriterio(criterios);
+    }
+
     /**
      * Elimina una mascota del sistema por su apodo.
      *
@@ -120,6 +256,38 @@ public class ControlMascota implements IControlMascota {
         return mascotaDAO.listarTodasMascotas();
     }
 
+    /**
+     * Obtiene una página de las mascotas registradas, ordenadas por apodo.
+     *
+     * @param tamanoPagina Número máximo de mascotas por página.
+     * @param token Token de continuación o {@code null} para la primera página.
+     * @return Página de mascotas.
+     */
+    @Override
+    public PaginaMascotas listarTodasMascotas(int tamanoPagina, String token) {
+        return mascotaDAO.listarTodasMascotas(tamanoPagina, token);
+    }
+
+    /**
+     * Obtiene el apodo y el nombre de todas las mascotas, ordenadas por apodo.
+     *
+     * @return Resúmenes de las mascotas registradas.
+     */
+    @Override
+    public List<ResumenMascotaVO> listarResumenes() {
+        return mascotaDAO.listarResumenes();
+    }
+
+    /**
+     * Recorre todas las mascotas sin cargarlas completas en memoria.
+     *
+     * @param consumidor Acción que se ejecuta por cada mascota.
+     */
+    @Override
+    public void recorrerMascotas(Consumer<MascotaVO> consumidor) {
+        mascotaDAO.recorrerMascotas(consumidor);
+    }
+
     // -------------------------------------------------------------------------
     // MÉTODOS DE CONSULTA
     // -------------------------------------------------------------------------
@@ -135,6 +303,59 @@ public class ControlMascota implements IControlMascota {
         return mascotaDAO.consultarPorApodo(apodo);
     }
 
+    /**
+     * Consulta las mascotas cuyos datos biológicos tienen la huella indicada.
+     *
+     * @param huella Huella de {@link udistrital.avanzada.mascotasexoticas.modelo.ClavesMascota#getHuella()}.
+     * @return Mascotas con esa huella, ordenadas por apodo.
+     */
+    @Override
+    public List<MascotaVO> consultarPorHuella(long huella) {
+        return mascotaDAO.consultarPorHuella(huella);
+    }
+
+    /**
+     * Busca los apodos registrados que se parecen al indicado.
+     *
+     * @param apodo Apodo buscado.
+     * @param distanciaMaxima Errores de escritura tolerados.
+     * @param limite Número máximo de resultados.
+     * @return Apodos encontrados, del más al menos parecido.
+     */
+    @Override
+    public List<String> consultarApodosSimilares(String apodo, int distanciaMaxima, int limite) {
+        return mascotaDAO.consultarApodosSimilares(apodo, distanciaMaxima, limite);
+    }
+
+    /**
+     * Consulta por apodo y, si no hay coincidencia exacta, carga en una sola
+     * consulta las mascotas con los apodos más parecidos.
+     *
+     * @param apodo Apodo a buscar.
+     * @return Mascotas encontradas, de la más a la menos parecida.
+     */
+    @Override
+    public List<MascotaVO> consultarPorApodoAproximado(String apodo) {
+        List<MascotaVO> exactas = mascotaDAO.consultarPorApodo(apodo);
+        if (!exactas.isEmpty()) {
+            return exactas;
+        }
+        int distancia = apodo.trim().length() <= LONGITUD_APODO_CORTO ? 1 : DISTANCIA_MAXIMA_APODO;
+        List<String> similares = mascotaDAO.consultarApodosSimilares(apodo, distancia, LIMITE_APODOS_SIMILARES);
+        if (similares.isEmpty()) {
+            return exactas;
+        }
+        Map<String, Integer> posiciones = new HashMap<>();
+        for (int i = 0; i < similares.size(); i++) {
+            posiciones.put(NormalizadorTexto.clave(similares.get(i)), i);
+        }
+        List<MascotaVO> encontradas = new ArrayList<>(
+                mascotaDAO.consultar(CriteriosMascota.en(CampoMascota.APODO, similares)));
+        encontradas.sort(Comparator.comparing(
+                (MascotaVO m) -> posiciones.getOrDefault(m.getClaves().getApodo(), similares.size())));
+        return encontradas;
+    }
+
     /**
      * Consulta las mascotas registradas por clasificación biológica.
      *
@@ -146,6 +367,19 @@ public class ControlMascota implements IControlMascota {
         return mascotaDAO.consultarPorClasificacion(clasificacion);
     }
 
+    /**
+     * Consulta paginada por clasificacion.
+     *
+     * @param clasificacion Valor a buscar.
+     * @param tamanoPagina Número máximo de mascotas por página.
+     * @param token Token de continuación o {@code null} para la primera página.
+     * @return Página de mascotas.
+     */
+    @Override
+    public PaginaMascotas consultarPorClasificacion(String clasificacion, int tamanoPagina, String token) {
+        return mascotaDAO.consultarPorClasificacion(clasificacion, tamanoPagina, token);
+    }
+
     /**
      * Consulta las mascotas registradas por familia biológica.
      *
@@ -157,6 +391,19 @@ public class ControlMascota implements IControlMascota {
         return mascotaDAO.consultarPorFamilia(familia);
     }
 
+    /**
+     * Consulta paginada por familia.
+     *
+     * @param familia Valor a buscar.
+     * @param tamanoPagina Número máximo de mascotas por página.
+     * @param token Token de continuación o {@code null} para la primera página.
+     * @return Página de mascotas.
+     */
+    @Override
+    public PaginaMascotas consultarPorFamilia(String familia, int tamanoPagina, String token) {
+        return mascotaDAO.consultarPorFamilia(familia, tamanoPagina, token);
+    }
+
     /**
      * Consulta las mascotas registradas por tipo de alimento.
      *
@@ -168,6 +415,68 @@ public class ControlMascota implements IControlMascota {
         return mascotaDAO.consultarPorAlimento(alimento);
     }
 
+    /**
+     * Consulta paginada por alimento.
+     *
+     * @param alimento Valor a buscar.
+     * @param tamanoPagina Número máximo de mascotas por página.
+     * @param token Token de continuación o {@code null} para la primera página.
+     * @return Página de mascotas.
+     */
+    @Override
+    public PaginaMascotas consultarPorAlimento(String alimento, int tamanoPagina, String token) {
+        return mascotaDAO.consultarPorAlimento(alimento, tamanoPagina, token);
+    }
+
+    /**
+     * Consulta las mascotas que cumplen varios criterios a la vez.
+     *
+     * @param criterios Criterios combinados de búsqueda.
+     * @return Lista de mascotas que cumplen los criterios.
+     */
+    @Override
+    public List<MascotaVO> consultar(CriteriosMascota criterios) {
+        return mascotaDAO.consultar(criterios);
+    }
+
+    /**
+     * Busca mascotas por texto parcial en su nombre común, especie o género.
+     *
+     * @param texto Texto a buscar.
+     * @param limite Número máximo de resultados.
+     * @return Mascotas encontradas, de la más a la menos relevante.
+     */
+    @Override
+    public List<MascotaVO> buscarTexto(String texto, int limite) {
+        return mascotaDAO.buscarTexto(texto, limite);
+    }
+
+    /**
+     * Cuenta las mascotas que cumplen un filtro, agrupadas por un campo.
+     *
+     * @param agrupacion Campo por el que se agrupa.
+     * @param filtro Criterios que deben cumplir las mascotas contadas.
+     * @return Cantidad de mascotas por valor del campo.
+     */
+    @Override
+    public Map<String, Long> contarPor(CampoMascota agrupacion, CriteriosMascota filtro) {
+        return mascotaDAO.contarPor(agrupacion, filtro);
+    }
+
+    /**
+     * Cuenta los valores distintos de un campo dentro de cada grupo.
+     *
+     * @param agrupacion Campo por el que se agrupa.
+     * @param contado Campo cuyos valores distintos se cuentan.
+     * @param filtro Criterios que deben cumplir las mascotas consideradas.
+     * @return Cantidad de valores distintos por grupo.
+     */
+    @Override
+    public Map<String, Long> contarDistintosPor(CampoMascota agrupacion, CampoMascota contado,
+                                               CriteriosMascota filtro) {
+        return mascotaDAO.contarDistintosPor(agrupacion, contado, filtro);
+    }
+
     // -------------------------------------------------------------------------
     // MÉTODOS DE SERIALIZACIÓN
     // -------------------------------------------------------------------------
@@ -175,26 +484,24 @@ public class ControlMascota implements IControlMascota {
     /**
      * Serializa todas las mascotas excluyendo el campo "alimento", 
      * cumpliendo con el requerimiento de la entidad IDPYBA.
+     * <p>
+     * Las mascotas se escriben a medida que se leen de la base de datos, por
+     * lo que la memoria usada no crece con el tamaño del catálogo.
+     * </p>
      *
      * @param rutaArchivo Ruta completa del archivo de salida (.ser).
      * @return {@code true} si la serialización se realizó exitosamente.
      */
     @Override
     public boolean serializarMascotasSinAlimento(String rutaArchivo) {
-        try {
-            List<MascotaVO> mascotas = listarTodasMascotas();
-            serializacionService.serializarSinAlimento(mascotas, rutaArchivo);
-            return true;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return false;
-        }
+        return exportar(rutaArchivo, () -> serializacionService.abrirEscritorSinAlimento(rutaArchivo));
     }
 
     /**
      * Guarda el estado actual de las mascotas utilizando un archivo de acceso aleatorio.
      * <p>
      * Este método permite persistir el estado antes de cerrar la aplicación.
+     * Al igual que la serialización, escribe las mascotas a medida que se leen.
      * </p>
      *
      * @param rutaArchivo Ruta completa del archivo de estado.
@@ -202,16 +509,105 @@ public class ControlMascota implements IControlMascota {
      */
     @Override
     public boolean guardarEstadoMascotas(String rutaArchivo) {
+        return exportar(rutaArchivo, () -> serializacionService.abrirEscritorEstado(rutaArchivo));
+    }
+
+    /**
+     * Compara un archivo de estado con las mascotas registradas, buscando por
+     * huella en lugar de leer cada mascota y comparar campo por campo.
+     *
+     * @param rutaArchivo Ruta completa del archivo de estado.
+     * @return Mascotas del archivo que se modificaron o eliminaron después de
+     * guardarlo, con los datos del archivo.
+     * @throws IllegalStateException si no se puede leer el archivo.
+     */
+    @Override
+    public List<MascotaVO> consultarCambiosDesdeEstado(String rutaArchivo) {
+        List<MascotaVO> guardadas;
         try {
-            List<MascotaVO> mascotas = listarTodasMascotas();
-            serializacionService.guardarEstadoRandomAccess(mascotas, rutaArchivo);
-            return true;
+            guardadas = serializacionService.leerEstado(rutaArchivo);
         } catch (Exception e) {
-            e.printStackTrace();
-            return false;
+            throw new IllegalStateException("No se pudo leer el archivo de estado.", e);
+        }
+        Set<String> iguales = registradasIguales(guardadas);
+        List<MascotaVO> cambiadas = new ArrayList<>();
+        for (MascotaVO guardada : guardadas) {
+            if (!iguales.contains(guardada.getClaves().getApodo())) {
+                cambiadas.add(guardada);
+            }
+        }
+        return cambiadas;
+    }
+
+    /**
+     * Busca cuáles de las mascotas indicadas están registradas con el mismo
+     * apodo y los mismos datos. Se hace una búsqueda por huella por cada
+     * huella distinta, y una mascota está registrada igual si su apodo
+     * aparece entre las mascotas con su huella.
+     *
+     * @param mascotas Mascotas a buscar.
+     * @return Apodos normalizados de las que están registradas igual.
+     */
+    private Set<String> registradasIguales(List<MascotaVO> mascotas) {
+        Map<Long, Set<String>> apodosPorHuella = new HashMap<>();
+        for (MascotaVO mascota : mascotas) {
+            apodosPorHuella.computeIfAbsent(mascota.getClaves().getHuella(), h -> new HashSet<>())
+                    .add(mascota.getClaves().getApodo());
+        }
+        Set<String> iguales = new HashSet<>();
+        apodosPorHuella.forEach((huella, apodos) -> {
+            for (MascotaVO registrada : mascotaDAO.consultarPorHuella(huella)) {
+                if (apodos.contains(registrada.getClaves().getApodo())) {
+                    iguales.add(registrada.getClaves().getApodo());
+                }
+            }
+        });
+        return iguales;
+    }
+
+    /**
+     * Escribe todas las mascotas con el escritor indicado, informando las
+     * filas escritas y, al terminar, el tamaño del archivo.
+     *
+     * @param rutaArchivo Ruta del archivo de salida.
+     * @param abridor Crea el escritor del formato deseado.
+     * @return {@code true} si la exportación fue exitosa.
+     */
+    private boolean exportar(String rutaArchivo, Callable<EscritorMascotas> abridor) {
+        try (ProgresoTransferencias.Transferencia transferencia =
+                     progreso.iniciar(ProgresoTransferencias.Tipo.EXPORTACION)) {
+            try (EscritorMascotas escritor = abridor.call()) {
+                mascotaDAO.recorrerMascotas(escribirEn(escritor, transferencia));
+            } catch (Exception e) {
+                transferencia.fallar();
+                e.printStackTrace();
+                return false;
+            }
+            transferencia.registrarBytes(new File(rutaArchivo).length());
+            return true;
         }
     }
 
+    /**
+     * Adapta un {@link EscritorMascotas} a un consumidor para los recorridos
+     * del DAO, envolviendo los errores de escritura.
+     *
+     * @param escritor Escritor de destino.
+     * @param transferencia Transferencia donde se cuenta cada mascota escrita.
+     * @return Consumidor que escribe cada mascota recibida.
+     */
+    private static Consumer<MascotaVO> escribirEn(EscritorMascotas escritor,
+                                                  ProgresoTransferencias.Transferencia transferencia) {
+        return mascota -> {
+            try {
+                escritor.escribir(mascota);
+                transferencia.registrarFilas(1);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
     // -------------------------------------------------------------------------
     // MÉTODOS DE VALIDACIÓN
     // -------------------------------------------------------------------------
@@ -226,23 +622,4 @@ public class ControlMascota implements IControlMascota {
     public boolean existeMascotaPorApodo(String apodo) {
         return !mascotaDAO.consultarPorApodo(apodo).isEmpty();
     }
-
-    /**
-     * Verifica si ya existe una mascota con exactamente las mismas características
-     * que otra (nombre, clasificación, familia, género, especie, alimento y apodo).
-     *
-     * @param nueva Mascota a verificar.
-     * @return {@code true} si existe una mascota idéntica.
-     */
-    private boolean existeMascotaExacta(MascotaVO nueva) {
-        List<MascotaVO> existentes = mascotaDAO.consultarPorApodo(nueva.getApodo());
-        return existentes.stream().anyMatch(existente ->
-            existente.getNombre().equalsIgnoreCase(nueva.getNombre()) &&
-            existente.getClasificacion().equalsIgnoreCase(nueva.getClasificacion()) &&
-            existente.getFamilia().equalsIgnoreCase(nueva.getFamilia()) &&
-            existente.getGenero().equalsIgnoreCase(nueva.getGenero()) &&
-            existente.getEspecie().equalsIgnoreCase(nueva.getEspecie()) &&
-            existente.getAlimento().equalsIgnoreCase(nueva.getAlimento())
-        );
-    }
 }
@@ -0,0 +1,166 @@
+package udistrital.avanzada.mascotasexoticas.control;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Implementación de {@link IControlMascotaAsync} que ejecuta las operaciones
+ * de un {@link IControlMascota} en un ejecutor dedicado.
+ * <p>
+ * El número de operaciones simultáneas se limita con un semáforo, de modo que
+ * el mismo límite se respeta tanto con un pool de hilos acotado
+ * ({@link #ejecutorAcotado(int, int)}) como con hilos virtuales
+ * ({@link #ejecutorVirtual()}, Java 21 o superior), donde las operaciones en
+ * espera solo ocupan un hilo virtual bloqueado.
+ * </p>
+ *
+ * @author Sofia
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class ControlMascotaAsync implements IControlMascotaAsync, AutoCloseable {
+
+    private final IControlMascota control;
+    private final ExecutorService ejecutor;
+    private final Semaphore concurrencia;
+    private final int concurrenciaMaxima;
+    private final long tiempoMaximoMs;
+
+    /**
+     * @param control Controlador síncrono que realiza las operaciones
+     * @param ejecutor Ejecutor en el que corren las operaciones; se apaga al
+     * cerrar esta instancia
+     * @param concurrenciaMaxima Operaciones que pueden ejecutarse a la vez
+     * @param tiempoMaximoMs Tiempo tras el cual una operación falla con
+     * {@link java.util.concurrent.TimeoutException} (0 lo desactiva)
+     */
+    public ControlMascotaAsync(IControlMascota control, ExecutorService ejecutor,
+                               int concurrenciaMaxima, long tiempoMaximoMs) {
+        if (concurrenciaMaxima <= 0 || tiempoMaximoMs < 0) {
+            throw new IllegalArgumentException("Parámetros de concurrencia inválidos.");
+        }
+        this.control = control;
+        this.ejecutor = ejecutor;
+        this.concurrencia = new Semaphore(concurrenciaMaxima, true);
+        this.concurrenciaMaxima = concurrenciaMaxima;
+        this.tiempoMaximoMs = tiempoMaximoMs;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Si el ejecutor rechaza la tarea (cola llena o ejecutor cerrado), el
+     * futuro se devuelve ya fallido con {@link RejectedExecutionException}.
+     * </p>
+     */
+    @Override
+    public <T> CompletableFuture<T> ejecutar(Function<IControlMascota, T> operacion) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        Future<?> tarea;
+        try {
+            tarea = ejecutor.submit(() -> ejecutarTarea(operacion, resultado));
+        } catch (RejectedExecutionException e) {
+            resultado.completeExceptionally(e);
+            return resultado;
+        }
+        // Si el futuro se cancela o vence antes de terminar, se interrumpe el
+        // hilo para que la operación no siga ocupando una conexión.
+        resultado.whenComplete((valor, error) -> {
+            if (error != null) {
+                tarea.cancel(true);
+            }
+        });
+        if (tiempoMaximoMs > 0) {
+            resultado.orTimeout(tiempoMaximoMs, TimeUnit.MILLISECONDS);
+        }
+        return resultado;
+    }
+
+    private <T> void ejecutarTarea(Function<IControlMascota, T> operacion, CompletableFuture<T> resultado) {
+        if (resultado.isDone()) {
+            return;
+        }
+        try {
+            concurrencia.acquire();
+        } catch (InterruptedException e) {
+            resultado.completeExceptionally(new CancellationException("Operación cancelada."));
+            return;
+        }
+        try {
+            if (!resultado.isDone()) {
+                resultado.complete(operacion.apply(control));
+            }
+        } catch (Throwable e) {
+            resultado.completeExceptionally(e);
+        } finally {
+            concurrencia.release();
+        }
+    }
+
+    /**
+     * @return Operaciones que se están ejecutando en este momento.
+     */
+    public int getOperacionesEnCurso() {
+        return concurrenciaMaxima - concurrencia.availablePermits();
+    }
+
+    /**
+     * @return Operaciones que esperan a que termine otra para ejecutarse.
+     */
+    public int getOperacionesEnEspera() {
+        return concurrencia.getQueueLength();
+    }
+
+    /**
+     * Apaga el ejecutor; las operaciones en curso pueden terminar.
+     */
+    @Override
+    public void close() {
+        ejecutor.shutdown();
+    }
+
+    /**
+     * Crea un pool de hilos de tamaño fijo con cola acotada. Cuando la cola
+     * se llena, las nuevas operaciones se rechazan en lugar de acumularse.
+     *
+     * @param hilos Hilos del pool
+     * @param capacidadCola Operaciones que pueden esperar en cola
+     * @return Ejecutor acotado con hilos demonio
+     */
+    public static ExecutorService ejecutorAcotado(int hilos, int capacidadCola) {
+        AtomicInteger contador = new AtomicInteger();
+        ThreadFactory fabrica = r -> {
+            Thread hilo = new Thread(r, "mascotas-async-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+        return new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola), fabrica, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Crea un ejecutor que lanza un hilo virtual por operación. Se obtiene
+     * por reflexión para que el proyecto siga compilando con Java 17.
+     *
+     * @return Ejecutor de hilos virtuales
+     * @throws UnsupportedOperationException si la JVM no tiene hilos virtuales
+     */
+    public static ExecutorService ejecutorVirtual() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Los hilos virtuales requieren Java 21 o superior.", e);
+        }
+    }
+}
@@ -3,9 +3,16 @@ package udistrital.avanzada.mascotasexoticas.control;
 import java.io.File;
 import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
 import udistrital.avanzada.mascotasexoticas.modelo.AnimalVO;
+import udistrital.avanzada.mascotasexoticas.modelo.ResumenMascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.BusEventosMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.CampoMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.CriteriosMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.PaginaMascotas;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.ResultadoOperacion;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import udistrital.avanzada.mascotasexoticas.vista.IRegistroVista;
 import udistrital.avanzada.mascotasexoticas.vista.Importacion;
 
@@ -34,12 +41,18 @@ import udistrital.avanzada.mascotasexoticas.vista.Importacion;
  */
 public class ControlPrincipal {
 
+    /** Archivo donde se guarda el estado de las mascotas al salir. */
+    private static final String ARCHIVO_ESTADO = "estado_mascotas_random.dat";
+
     /**
      * Controlador encargado de la lógica de negocio relacionada con las
      * mascotas.
      */
     private IRegistroVista vista;
     private IControlMascota controlMascota;
+    private IControlMascotaAsync controlMascotaAsync;
+    private BusEventosMascota busEventos;
+    private ProgresoTransferencias progreso = new ProgresoTransferencias();
     private ControlVentana controlventana;
     private Importacion importacion;
 
@@ -54,13 +67,60 @@ public class ControlPrincipal {
         this.controlMascota = controlMascota;
     }
 
+    /**
+     * Crea una nueva instancia de {@code ControlPrincipal} con una fachada
+     * asíncrona para que la ventana no ejecute operaciones en el hilo de
+     * eventos de Swing.
+     *
+     * @param controlMascota instancia de la interfaz {@link IControlMascota}
+     * para manejar operaciones de negocio.
+     * @param controlMascotaAsync fachada asíncrona sobre el mismo controlador.
+     */
+    public ControlPrincipal(IControlMascota controlMascota, IControlMascotaAsync controlMascotaAsync) {
+        this(controlMascota);
+        this.controlMascotaAsync = controlMascotaAsync;
+    }
+
+    /**
+     * Crea una nueva instancia de {@code ControlPrincipal} que además avisa de
+     * los cambios en las mascotas, para que la ventana se actualice sin volver
+     * a consultar.
+     *
+     * @param controlMascota instancia de la interfaz {@link IControlMascota}
+     * para manejar operaciones de negocio.
+     * @param controlMascotaAsync fachada asíncrona sobre el mismo controlador.
+     * @param busEventos bus donde el DAO publica los cambios.
+     */
+    public ControlPrincipal(IControlMascota controlMascota, IControlMascotaAsync controlMascotaAsync,
+                            BusEventosMascota busEventos) {
+        this(controlMascota, controlMascotaAsync);
+        this.busEventos = busEventos;
+    }
+
+    /**
+     * Crea una nueva instancia de {@code ControlPrincipal} que además informa
+     * el avance de las importaciones.
+     *
+     * @param controlMascota instancia de la interfaz {@link IControlMascota}
+     * para manejar operaciones de negocio.
+     * @param controlMascotaAsync fachada asíncrona sobre el mismo controlador.
+     * @param busEventos bus donde el DAO publica los cambios.
+     * @param progreso contadores de importaciones y exportaciones.
+     */
+    public ControlPrincipal(IControlMascota controlMascota, IControlMascotaAsync controlMascotaAsync,
+                            BusEventosMascota busEventos, ProgresoTransferencias progreso) {
+        this(controlMascota, controlMascotaAsync, busEventos);
+        this.progreso = progreso;
+    }
+
     /**
      * Crea una nueva instancia de {@code ControlPrincipal} usando la fábrica de
      * dependencias para obtener automáticamente la implementación de
      * {@link IControlMascota}.
      */
     public ControlPrincipal() {
-        this(FabricaDependencias.getControlMascota());
+        this(FabricaDependencias.getControlMascota(), FabricaDependencias.getControlMascotaAsync(),
+                FabricaDependencias.getBusEventos(), FabricaDependencias.getTransferencias());
         this.controlventana = new ControlVentana(this);
         this.importacion = new Importacion();
     }
@@ -130,19 +190,45 @@ public class ControlPrincipal {
         }
 
         int insertadas = 0;
-        for (MascotaVO nueva : mascotasParaInsertar) {
+        int sinCambios = 0;
+        int conflictos = 0;
+        // Se mide desde la inserción para no contar el tiempo que el usuario
+        // tarda en completar los registros
+        try (ProgresoTransferencias.Transferencia transferencia =
+                     progreso.iniciar(ProgresoTransferencias.Tipo.IMPORTACION)) {
+            transferencia.registrarBytes(archivo.length());
             try {
-                if (!controlMascota.existeMascotaPorApodo(nueva.getApodo())) {
-                    boolean resultado = controlMascota.adicionarMascota(nueva);
-                    if (resultado) {
+                // Inserción en lote: las mascotas con apodo ya registrado se
+                // omiten, y una búsqueda por huella separa las que se repiten
+                // tal cual de las que traen otros datos
+                List<ResultadoOperacion> resultados = controlMascota.importarMascotas(mascotasParaInsertar);
+                transferencia.registrarFilas(resultados.size());
+                for (ResultadoOperacion resultado : resultados) {
+                    if (resultado == ResultadoOperacion.INSERTADA) {
                         insertadas++;
+                    } else if (resultado == ResultadoOperacion.SIN_CAMBIOS) {
+                        sinCambios++;
+                    } else if (resultado == ResultadoOperacion.DUPLICADA) {
+                        conflictos++;
                     }
                 }
             } catch (Exception e) {
-                // Loguear si es necesario, pero continuar
+                transferencia.fallar();
+                e.printStackTrace();
             }
         }
-        controlventana.mostrarMensaje(insertadas + " mascotas cargadas correctamente.");
+        String mensaje = insertadas + " mascotas cargadas correctamente.";
+        if (sinCambios > 0) {
+            mensaje += "\n" + sinCambios + " ya estaban registradas con los mismos datos.";
+        }
+        if (conflictos > 0) {
+            mensaje += "\n" + conflictos + " no se cargaron porque su apodo ya está registrado con otros datos.";
+        }
+        int cambiadas = contarCambiosDesdeUltimoCierre();
+        if (cambiadas > 0) {
+            mensaje += "\n" + cambiadas + " mascotas cambiaron desde el último cierre.";
+        }
+        controlventana.mostrarMensaje(mensaje);
         if (vista != null) {
             vista.mostrarMensaje(insertadas + " mascotas fueron registradas exitosamente.");
         }
@@ -172,6 +258,27 @@ public class ControlPrincipal {
         return controlMascota.listarTodasMascotas();
     }
 
+    /**
+     * Obtiene el apodo y el nombre de las mascotas registradas, ordenadas por
+     * apodo, sin cargar el resto de sus datos.
+     *
+     * @return Resúmenes de las mascotas.
+     */
+    public List<ResumenMascotaVO> listaResumenes() {
+        return controlMascota.listarResumenes();
+    }
+
+    /**
+     * Obtiene una página de las mascotas registradas.
+     *
+     * @param tamanoPagina Número máximo de mascotas por página.
+     * @param token Token de continuación o {@code null} para la primera página.
+     * @return Página de mascotas ordenadas por apodo.
+     */
+    public PaginaMascotas listaMascotas(int tamanoPagina, String token) {
+        return controlMascota.listarTodasMascotas(tamanoPagina, token);
+    }
+
     /**
      * Registra una nueva mascota en el sistema.
      *
@@ -182,8 +289,8 @@ public class ControlPrincipal {
      * @param genero Género biológico.
      * @param especie Especie biológica.
      * @param alimento Tipo de alimento.
-     * @return true si fue registrada correctamente; false si ya existía o hubo
-     * error.
+     * @return true si fue registrada correctamente; false si hubo un error.
+     * @throws IllegalArgumentException si el apodo ya está registrado.
      */
     public boolean adicionarMascota(String nombre, String apodo, String clasificacion,
             String familia, String genero, String especie, String alimento) {
@@ -205,6 +312,17 @@ public class ControlPrincipal {
         return controlMascota.consultarPorApodo(apodo);
     }
 
+    /**
+     * Consulta por apodo tolerando errores de escritura: si no hay una
+     * mascota con ese apodo exacto, devuelve las de apodos parecidos.
+     *
+     * @param apodo Apodo a buscar.
+     * @return Mascotas encontradas, de la más a la menos parecida.
+     */
+    public List<MascotaVO> consultarPorApodoAproximado(String apodo) {
+        return controlMascota.consultarPorApodoAproximado(apodo);
+    }
+
     /**
      * Consulta las mascotas registradas filtrando por clasificación.
      *
@@ -215,6 +333,18 @@ public class ControlPrincipal {
         return controlMascota.consultarPorClasificacion(clasificacion);
     }
 
+    /**
+     * Consulta paginada de mascotas filtrando por clasificacion.
+     *
+     * @param clasificacion Valor a buscar.
+     * @param tamanoPagina Número máximo de mascotas por página.
+     * @param token Token de continuación o {@code null} para la primera página.
+     * @return Página de mascotas ordenadas por apodo.
+     */
+    public PaginaMascotas consultarPorClasificacion(String clasificacion, int tamanoPagina, String token) {
+        return controlMascota.consultarPorClasificacion(clasificacion, tamanoPagina, token);
+    }
+
     /**
      * Consulta las mascotas registradas filtrando por familia biológica.
      *
@@ -225,6 +355,18 @@ public class ControlPrincipal {
         return controlMascota.consultarPorFamilia(familia);
     }
 
+    /**
+     * Consulta paginada de mascotas filtrando por familia.
+     *
+     * @param familia Valor a buscar.
+     * @param tamanoPagina Número máximo de mascotas por página.
+     * @param token Token de continuación o {@code null} para la primera página.
+     * @return Página de mascotas ordenadas por apodo.
+     */
+    public PaginaMascotas consultarPorFamilia(String familia, int tamanoPagina, String token) {
+        return controlMascota.consultarPorFamilia(familia, tamanoPagina, token);
+    }
+
     /**
      * Consulta las mascotas registradas filtrando por tipo de alimento.
      *
@@ -235,6 +377,56 @@ public class ControlPrincipal {
         return controlMascota.consultarPorAlimento(alimento);
     }
 
+    /**
+     * Consulta paginada de mascotas filtrando por alimento.
+     *
+     * @param alimento Valor a buscar.
+     * @param tamanoPagina Número máximo de mascotas por página.
+     * @param token Token de continuación o {@code null} para la primera página.
+     * @return Página de mascotas ordenadas por apodo.
+     */
+    public PaginaMascotas consultarPorAlimento(String alimento, int tamanoPagina, String token) {
+        return controlMascota.consultarPorAlimento(alimento, tamanoPagina, token);
+    }
+
+    /**
+     * Consulta las mascotas que cumplen varios criterios en una sola operación.
+     *
+     * @param criterios Criterios combinados de búsqueda.
+     * @return Lista de mascotas que cumplen los criterios.
+     */
+    public List<MascotaVO> consultar(CriteriosMascota criterios) {
+        return controlMascota.consultar(criterios);
+    }
+
+    /**
+     * Busca mascotas por texto parcial en su nombre común, especie o género.
+     *
+     * @param texto Texto a buscar.
+     * @param limite Número máximo de resultados.
+     * @return Mascotas encontradas, de la más a la menos relevante.
+     */
+    public List<MascotaVO> buscarTexto(String texto, int limite) {
+        return controlMascota.buscarTexto(texto, limite);
+    }
+
+    /**
+     * Obtiene estadísticas del catálogo agrupadas por un campo. Si se indica
+     * un campo contado se cuentan sus valores distintos por grupo; en otro
+     * caso, las mascotas de cada grupo.
+     *
+     * @param agrupacion Campo por el que se agrupa.
+     * @param contado Campo cuyos valores distintos se cuentan, o {@code null}.
+     * @param filtro Criterios que deben cumplir las mascotas consideradas.
+     * @return Conteo por grupo, ordenado por valor.
+     */
+    public Map<String, Long> estadisticas(CampoMascota agrupacion, CampoMascota contado,
+                                          CriteriosMascota filtro) {
+        return contado == null
+                ? controlMascota.contarPor(agrupacion, filtro)
+                : controlMascota.contarDistintosPor(agrupacion, contado, filtro);
+    }
+
     /**
      * Gestiona la modificación de una mascota existente. Solo se pueden
      * modificar nombre, clasificación y tipo de alimento.
@@ -247,27 +439,58 @@ public class ControlPrincipal {
      * mascota.
      */
     public boolean modificarMascota(String apodo, String nuevoNombre, String nuevaClasificacion, String nuevoAlimento) {
-        List<MascotaVO> existentes = consultarPorApodo(apodo);
-        if (existentes.isEmpty()) {
-            return false;
-        }
+        return modificarMascota(apodo, nuevoNombre, nuevaClasificacion, nuevoAlimento, 0);
+    }
 
-        MascotaVO mascotaActual = existentes.get(0);
-
-        // Crear el nuevo objeto de dominio (responsabilidad de este controlador)
-        AnimalVO animalModificado = new AnimalVO(
-                nuevoNombre.isEmpty() ? mascotaActual.getNombre() : nuevoNombre,
-                (nuevaClasificacion == null || nuevaClasificacion.isBlank())
-                ? mascotaActual.getClasificacion() : nuevaClasificacion,
-                mascotaActual.getFamilia(),
-                mascotaActual.getGenero(),
-                mascotaActual.getEspecie(),
-                (nuevoAlimento == null || nuevoAlimento.isBlank())
-                ? mascotaActual.getAlimento() : nuevoAlimento
-        );
+    /**
+     * Gestiona la modificación de una mascota existente solo si nadie la ha
+     * modificado desde que se consultó. Los campos vacíos conservan su valor
+     * actual, sin necesidad de leer antes la mascota.
+     *
+     * @param apodo Apodo de la mascota a modificar.
+     * @param nuevoNombre Nuevo nombre común (opcional).
+     * @param nuevaClasificacion Nueva clasificación (opcional).
+     * @param nuevoAlimento Nuevo tipo de alimento (opcional).
+     * @param versionConsultada Versión de la mascota cuando se consultó
+     * ({@link MascotaVO#getVersion()}), o 0 para no comprobarla.
+     * @return true si la modificación fue exitosa; false si no se encontró la
+     * mascota o fue modificada por otro usuario.
+     */
+    public boolean modificarMascota(String apodo, String nuevoNombre, String nuevaClasificacion,
+            String nuevoAlimento, int versionConsultada) {
+        MascotaVO cambios = new MascotaVO(
+                new AnimalVO(nuevoNombre, nuevaClasificacion, "", "", "", nuevoAlimento), apodo);
+        cambios.setVersion(versionConsultada);
+        return controlMascota.modificarMascota(cambios);
+    }
+
+    /**
+     * Modifica en una sola operación todas las mascotas que cumplen unos
+     * criterios, por ejemplo para renombrar una clasificación en todo el
+     * catálogo.
+     *
+     * @param criterios Mascotas a modificar.
+     * @param nuevoNombre Nuevo nombre común (opcional).
+     * @param nuevaClasificacion Nueva clasificación (opcional).
+     * @param nuevoAlimento Nuevo tipo de alimento (opcional).
+     * @return Número de mascotas modificadas.
+     */
+    public int modificarPorCriterio(CriteriosMascota criterios, String nuevoNombre,
+            String nuevaClasificacion, String nuevoAlimento) {
+        MascotaVO cambios = new MascotaVO(
+                new AnimalVO(nuevoNombre, nuevaClasificacion, "", "", "", nuevoAlimento), "");
+        return controlMascota.modificarPorCriterio(criterios, cambios);
+    }
 
-        MascotaVO mascotaModificada = new MascotaVO(animalModificado, apodo);
-        return controlMascota.modificarMascota(mascotaModificada);
+    /**
+     * Elimina en una sola operación todas las mascotas que cumplen unos
+     * criterios, por ejemplo todas las de una familia.
+     *
+     * @param criterios Mascotas a eliminar.
+     * @return Número de mascotas eliminadas.
+     */
+    public int eliminarPorCriterio(CriteriosMascota criterios) {
+        return controlMascota.eliminarPorCriterio(criterios);
     }
 
     /**
@@ -278,16 +501,33 @@ public class ControlPrincipal {
      * error.
      */
     public boolean eliminarMascota(String apodo) {
-        List<MascotaVO> existentes = controlMascota.consultarPorApodo(apodo);
+        return controlMascota.eliminarMascota(apodo);
+    }
+
+    /**
+     * Obtiene la fachada asíncrona del controlador de mascotas.
+     *
+     * @return Fachada asíncrona, o {@code null} si no se configuró.
+     */
+    public IControlMascotaAsync getControlMascotaAsync() {
+        return controlMascotaAsync;
+    }
 
-        if (existentes.isEmpty()) {
+    /**
+     * Suscribe un receptor a los cambios de las mascotas, hechos desde esta
+     * ventana o desde cualquier otro componente que use el mismo DAO.
+     *
+     * @param nombre Nombre del suscriptor
+     * @param suscriptor Receptor de los eventos; se llama en un hilo propio.
+     * @return true si quedó suscrito, false si no se configuró un bus de
+     * eventos.
+     */
+    public boolean suscribirCambios(String nombre, BusEventosMascota.Suscriptor suscriptor) {
+        if (busEventos == null) {
             return false;
         }
-
-        MascotaVO mascotaAEliminar = existentes.get(0);
-
-        // Aquí podrías registrar logs, validar permisos, etc.
-        return controlMascota.eliminarMascota(mascotaAEliminar.getApodo());
+        busEventos.suscribir(nombre, suscriptor);
+        return true;
     }
 
     public boolean serializarMascotasSinAlimento(File archivo) {
@@ -295,8 +535,28 @@ public class ControlPrincipal {
     }
 
     public boolean guardarEstadoMascotas() {
-        File archivo = new File("estado_mascotas_random.dat");
+        File archivo = new File(ARCHIVO_ESTADO);
         return controlMascota.guardarEstadoMascotas(archivo.getAbsolutePath());
     }
 
+    /**
+     * Compara el estado guardado en el último cierre con las mascotas
+     * registradas.
+     *
+     * @return Mascotas guardadas al cerrar que después se modificaron o
+     * eliminaron; 0 si no hay archivo de estado o no se pudo leer.
+     */
+    public int contarCambiosDesdeUltimoCierre() {
+        File archivo = new File(ARCHIVO_ESTADO);
+        if (!archivo.isFile()) {
+            return 0;
+        }
+        try {
+            return controlMascota.consultarCambiosDesdeEstado(archivo.getAbsolutePath()).size();
+        } catch (IllegalStateException e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
 }
@@ -2,9 +2,28 @@ package udistrital.avanzada.mascotasexoticas.control;
 
 import udistrital.avanzada.mascotasexoticas.vista.VistaMascota;
 import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.NormalizadorTexto;
+import udistrital.avanzada.mascotasexoticas.modelo.ResumenMascotaVO;
 
 import java.io.File;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.swing.JComboBox;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.CampoMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.EventoMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.CriteriosMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.PaginaMascotas;
 import udistrital.avanzada.mascotasexoticas.vista.RegistroDialog;
 
 /**
@@ -16,6 +35,12 @@ import udistrital.avanzada.mascotasexoticas.vista.RegistroDialog;
  * consultar y serializar mascotas exóticas, así como la carga inicial de datos
  * en los componentes visuales.
  * </p>
+ * <p>
+ * Las operaciones que acceden a los datos se ejecutan en segundo plano con
+ * {@link IControlMascotaAsync} y sus resultados se muestran de vuelta en el
+ * hilo de eventos de Swing, de modo que la ventana sigue respondiendo aunque
+ * una consulta sea lenta.
+ * </p>
  *
  * @author Sofia
  * @version 1.0
@@ -33,6 +58,90 @@ public class ControlVentana {
      */
     private final ControlPrincipal controlPrincipal;
 
+    /**
+     * Fachada asíncrona con la que se ejecutan las operaciones fuera del hilo
+     * de eventos.
+     */
+    private final IControlMascotaAsync controlAsync;
+
+    /**
+     * Número de mascotas que se solicitan por página en las consultas.
+     */
+    private static final int TAMANO_PAGINA = 50;
+
+    /**
+     * Número máximo de mascotas que muestra la búsqueda por texto.
+     */
+    private static final int LIMITE_BUSQUEDA_TEXTO = 20;
+
+    /**
+     * Pausa en la escritura tras la cual se lanza la búsqueda por texto.
+     */
+    private static final int ESPERA_BUSQUEDA_TEXTO_MS = 250;
+
+    /**
+     * Campos de agrupación, en el mismo orden de las opciones de la vista.
+     */
+    private static final CampoMascota[] AGRUPACIONES = {CampoMascota.CLASIFICACION, CampoMascota.FAMILIA,
+        CampoMascota.ALIMENTO, CampoMascota.GENERO, CampoMascota.ESPECIE};
+
+    /**
+     * Campos cuyos valores distintos se cuentan, en el mismo orden de las
+     * opciones de la vista; {@code null} cuenta mascotas.
+     */
+    private static final CampoMascota[] CONTADOS = {null, CampoMascota.FAMILIA, CampoMascota.GENERO,
+        CampoMascota.ESPECIE};
+
+    /**
+     * Consulta paginada que se está mostrando: recibe el token de
+     * continuación y devuelve la página correspondiente.
+     */
+    private Function<String, PaginaMascotas> consultaActual;
+
+    /**
+     * Token de la siguiente página de la consulta actual, o {@code null}.
+     */
+    private String tokenActual;
+
+    /**
+     * Mascotas mostradas hasta ahora en la consulta actual.
+     */
+    private int mostradas;
+
+    /**
+     * Versión con la que se mostró cada mascota consultada, por apodo
+     * normalizado. Al modificarla se exige que siga en esa versión, para no
+     * sobrescribir cambios hechos por otro usuario mientras tanto.
+     */
+    private final Map<String, Integer> versionesConsultadas = new HashMap<>();
+
+    /**
+     * Identificador de la consulta que se está mostrando. Las respuestas de
+     * consultas anteriores que lleguen tarde se descartan.
+     */
+    private int consultaEnCurso;
+
+    /**
+     * Petición de la consulta actual que aún no ha terminado, o {@code null}.
+     */
+    private CompletableFuture<?> peticionPendiente;
+
+    /**
+     * Versión de la última actualización solicitada del combo de mascotas.
+     */
+    private int versionCombo;
+
+    /**
+     * Lanza la búsqueda por texto cuando el usuario deja de escribir.
+     */
+    private Timer temporizadorBusqueda;
+
+    /**
+     * Indica si el combo de mascotas se actualiza con los eventos del DAO, en
+     * cuyo caso las acciones de la ventana no lo tocan directamente.
+     */
+    private boolean comboPorEventos;
+
     /**
      * Constructor principal con inyección de dependencias.
      *
@@ -41,6 +150,7 @@ public class ControlVentana {
     public ControlVentana(ControlPrincipal controlPrincipal) {
         this.vista = new VistaMascota();
         this.controlPrincipal = controlPrincipal;
+        this.controlAsync = controlPrincipal.getControlMascotaAsync();
         inicializar();
     }
 
@@ -59,6 +169,8 @@ public class ControlVentana {
      * agregando los listeners a los componentes de la interfaz.
      */
     private void inicializar() {
+        comboPorEventos = controlPrincipal.suscribirCambios("ventana",
+                eventos -> SwingUtilities.invokeLater(() -> aplicarEventos(eventos)));
         cargarListaInicial();
         agregarListeners();
         vista.seleccionarArchivoProperties();
@@ -82,6 +194,29 @@ public class ControlVentana {
         vista.getBtnConsultarFamilia().addActionListener(e -> consultarPorFamilia());
         vista.getBtnConsultarAlimento().addActionListener(e -> consultarPorAlimento());
         vista.getBtnCargarMascota().addActionListener(e -> cargarMascotaSeleccionada());
+        vista.getBtnCargarMas().addActionListener(e -> cargarSiguientePagina());
+        vista.getBtnCalcularEstadisticas().addActionListener(e -> calcularEstadisticas());
+        vista.getBtnBuscarTexto().addActionListener(e -> buscarTexto(true));
+
+        // Búsqueda mientras se escribe: cada tecla reinicia la espera
+        temporizadorBusqueda = new Timer(ESPERA_BUSQUEDA_TEXTO_MS, e -> buscarTexto(false));
+        temporizadorBusqueda.setRepeats(false);
+        vista.getTxtBuscarTexto().getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                temporizadorBusqueda.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                temporizadorBusqueda.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                temporizadorBusqueda.restart();
+            }
+        });
         //vista.getBtnSeleccionarArchivo().addActionListener(e -> controlPrincipal.iniciar());
     }
 
@@ -89,11 +224,7 @@ public class ControlVentana {
      * Carga la lista inicial de mascotas en el combo box de la interfaz.
      */
     private void cargarListaInicial() {
-        vista.getCmbMascotasRegistradas().removeAllItems();
-        List<MascotaVO> lista = controlPrincipal.listaMascotas();
-        for (MascotaVO m : lista) {
-            vista.getCmbMascotasRegistradas().addItem(m.getApodo() + " - " + m.getNombre());
-        }
+        actualizarComboMascotas();
     }
 
     /**
@@ -147,18 +278,20 @@ public class ControlVentana {
             }
 
             // Delegar la lógica al controlador principal
-            boolean exito = controlPrincipal.adicionarMascota(
+            enSegundoPlano(() -> controlPrincipal.adicionarMascota(
                     nombre, apodo, clasificacion, familia, genero, especie, alimento
-            );
-
-            // Respuesta a la vista
-            if (exito) {
-                vista.mostrarMensaje("Mascota adicionada exitosamente!");
-                actualizarComboMascotas();
-                vista.limpiarCampos();
-            } else {
-                vista.mostrarError("No se pudo adicionar la mascota (ya existe o error en datos).");
-            }
+            ), exito -> {
+                // Respuesta a la vista
+                if (exito) {
+                    vista.mostrarMensaje("Mascota adicionada exitosamente!");
+                    if (!comboPorEventos) {
+                        colocarEnCombo(apodo, nombre);
+                    }
+                    vista.limpiarCampos();
+                } else {
+                    vista.mostrarError("No se pudo adicionar la mascota.");
+                }
+            }, "Error inesperado: ");
 
         } catch (Exception e) {
             vista.mostrarError("Error inesperado: " + e.getMessage());
@@ -183,14 +316,24 @@ public class ControlVentana {
             }
 
             // Delegar al ControlPrincipal la gestión completa
-            boolean exito = controlPrincipal.modificarMascota(apodo, nuevoNombre, nuevaClasificacion, nuevoAlimento);
-
-            if (exito) {
-                vista.mostrarMensaje("Mascota modificada exitosamente!");
-                actualizarComboMascotas();
-            } else {
-                vista.mostrarError("No se pudo modificar la mascota (no existe o error en datos).");
-            }
+            String clave = NormalizadorTexto.clave(apodo);
+            int versionConsultada = versionesConsultadas.getOrDefault(clave, 0);
+            enSegundoPlano(() -> controlPrincipal.modificarMascota(apodo, nuevoNombre, nuevaClasificacion,
+                    nuevoAlimento, versionConsultada),
+                    exito -> {
+                        versionesConsultadas.remove(clave);
+                        if (exito) {
+                            vista.mostrarMensaje("Mascota modificada exitosamente!");
+                            if (!comboPorEventos && !nuevoNombre.isEmpty()) {
+                                colocarEnCombo(apodo, nuevoNombre);
+                            }
+                        } else if (versionConsultada != 0) {
+                            vista.mostrarError("No se pudo modificar la mascota: no existe o fue modificada por"
+                                    + " otro usuario después de consultarla. Consúltela de nuevo.");
+                        } else {
+                            vista.mostrarError("No se pudo modificar la mascota (no existe o error en datos).");
+                        }
+                    }, "Error modificando mascota: ");
 
         } catch (Exception e) {
             vista.mostrarError("Error modificando mascota: " + e.getMessage());
@@ -217,15 +360,17 @@ public class ControlVentana {
             }
 
             // Delegar la lógica al ControlPrincipal
-            boolean exito = controlPrincipal.eliminarMascota(apodo);
-
-            if (exito) {
-                vista.mostrarMensaje("Mascota eliminada exitosamente!");
-                actualizarComboMascotas();
-                vista.limpiarCampos();
-            } else {
-                vista.mostrarError("No se pudo eliminar la mascota (no existe o error en datos).");
-            }
+            enSegundoPlano(() -> controlPrincipal.eliminarMascota(apodo), exito -> {
+                if (exito) {
+                    vista.mostrarMensaje("Mascota eliminada exitosamente!");
+                    if (!comboPorEventos) {
+                        quitarDelCombo(apodo);
+                    }
+                    vista.limpiarCampos();
+                } else {
+                    vista.mostrarError("No se pudo eliminar la mascota (no existe o error en datos).");
+                }
+            }, "Error eliminando mascota: ");
 
         } catch (Exception e) {
             vista.mostrarError("Error eliminando mascota: " + e.getMessage());
@@ -238,20 +383,9 @@ public class ControlVentana {
      */
     private void listarTodas() {
         try {
-            vista.getTxtAreaResultados().setText("");
-
-            List<MascotaVO> lista = controlPrincipal.listaMascotas(); // Delegación al ControlPrincipal
-
-            if (lista == null || lista.isEmpty()) {
-                vista.mostrarMensaje("No hay mascotas registradas.");
-                return;
-            }
-
-            for (MascotaVO m : lista) {
-                vista.agregarResultado(m.toString());
-                vista.agregarResultado("-----------");
-            }
-
+            iniciarConsultaPaginada(
+                    token -> controlPrincipal.listaMascotas(TAMANO_PAGINA, token), // Delegación al ControlPrincipal
+                    "Todas las mascotas");
         } catch (Exception e) {
             vista.mostrarError("Error al listar mascotas: " + e.getMessage());
         }
@@ -269,14 +403,56 @@ public class ControlVentana {
             }
 
             vista.getTxtAreaResultados().setText("");
-            List<MascotaVO> lista = controlPrincipal.consultarPorApodo(apodo);
-            mostrarResultadosConsulta(lista, "Apodo: " + apodo);
+            finalizarConsultaPaginada();
+            int consulta = consultaEnCurso;
+            // Si el apodo tiene errores de escritura se muestran los parecidos
+            peticionPendiente = enSegundoPlano(() -> controlPrincipal.consultarPorApodoAproximado(apodo), lista -> {
+                if (consulta == consultaEnCurso) {
+                    peticionPendiente = null;
+                    boolean exacta = lista.isEmpty() || lista.get(0).getClaves().getApodo().equals(NormalizadorTexto.clave(apodo));
+                    mostrarResultadosConsulta(lista, (exacta ? "Apodo: " : "Apodo parecido a: ") + apodo);
+                }
+            }, "Error consultando por apodo: ");
 
         } catch (Exception e) {
             vista.mostrarError("Error consultando por apodo: " + e.getMessage());
         }
     }
 
+    /**
+     * Busca mascotas por texto parcial en su nombre, especie o género. La
+     * búsqueda se resuelve con un índice en memoria, por lo que puede
+     * lanzarse mientras el usuario escribe.
+     *
+     * @param solicitada {@code true} si el usuario pulsó el botón; en ese caso
+     * se avisa cuando el texto está vacío o no hay resultados
+     */
+    private void buscarTexto(boolean solicitada) {
+        temporizadorBusqueda.stop();
+        String texto = vista.getTxtBuscarTexto().getText().trim();
+        if (texto.isEmpty()) {
+            if (solicitada) {
+                vista.mostrarError("Ingrese un texto para buscar.");
+            }
+            return;
+        }
+
+        vista.getTxtAreaResultados().setText("");
+        finalizarConsultaPaginada();
+        int consulta = consultaEnCurso;
+        peticionPendiente = enSegundoPlano(() -> controlPrincipal.buscarTexto(texto, LIMITE_BUSQUEDA_TEXTO), lista -> {
+            if (consulta != consultaEnCurso) {
+                return;
+            }
+            peticionPendiente = null;
+            if (!lista.isEmpty() || solicitada) {
+                mostrarResultadosConsulta(lista, "Texto: " + texto);
+            } else {
+                vista.agregarResultado("No se encontraron mascotas para el texto: " + texto);
+            }
+        }, "Error buscando por texto: ");
+    }
+
     /**
      * Realiza una consulta de mascotas filtrando por clasificación.
      */
@@ -288,9 +464,9 @@ public class ControlVentana {
                 return;
             }
 
-            vista.getTxtAreaResultados().setText("");
-            List<MascotaVO> lista = controlPrincipal.consultarPorClasificacion(clasificacion);
-            mostrarResultadosConsulta(lista, "Clasificación: " + clasificacion);
+            iniciarConsultaPaginada(
+                    token -> controlPrincipal.consultarPorClasificacion(clasificacion, TAMANO_PAGINA, token),
+                    "Clasificación: " + clasificacion);
 
         } catch (Exception e) {
             vista.mostrarError("Error consultando por clasificación: " + e.getMessage());
@@ -308,9 +484,9 @@ public class ControlVentana {
                 return;
             }
 
-            vista.getTxtAreaResultados().setText("");
-            List<MascotaVO> lista = controlPrincipal.consultarPorFamilia(familia);
-            mostrarResultadosConsulta(lista, "Familia: " + familia);
+            iniciarConsultaPaginada(
+                    token -> controlPrincipal.consultarPorFamilia(familia, TAMANO_PAGINA, token),
+                    "Familia: " + familia);
 
         } catch (Exception e) {
             vista.mostrarError("Error consultando por familia: " + e.getMessage());
@@ -328,9 +504,9 @@ public class ControlVentana {
                 return;
             }
 
-            vista.getTxtAreaResultados().setText("");
-            List<MascotaVO> lista = controlPrincipal.consultarPorAlimento(alimento);
-            mostrarResultadosConsulta(lista, "Alimento: " + alimento);
+            iniciarConsultaPaginada(
+                    token -> controlPrincipal.consultarPorAlimento(alimento, TAMANO_PAGINA, token),
+                    "Alimento: " + alimento);
 
         } catch (Exception e) {
             vista.mostrarError("Error consultando por alimento: " + e.getMessage());
@@ -348,22 +524,24 @@ public class ControlVentana {
                 return;
             }
 
-            String apodo = sel.split(" - ")[0];
-            List<MascotaVO> encontrados = controlPrincipal.consultarPorApodo(apodo);
-
-            if (encontrados.isEmpty()) {
-                vista.mostrarError("No se encontró la mascota seleccionada.");
-                return;
-            }
-
-            MascotaVO m = encontrados.get(0);
-            vista.getTxtApodo().setText(m.getApodo());
-            vista.getTxtNombre().setText(m.getNombre());
-            vista.getTxtFamilia().setText(m.getFamilia());
-            vista.getTxtGenero().setText(m.getGenero());
-            vista.getTxtEspecie().setText(m.getEspecie());
-            vista.getCmbClasificacion().setSelectedItem(m.getClasificacion());
-            vista.getCmbTipoAlimento().setSelectedItem(m.getAlimento());
+            String apodo = apodoDe(sel);
+            enSegundoPlano(() -> controlPrincipal.consultarPorApodo(apodo), encontrados -> {
+                if (encontrados.isEmpty()) {
+                    vista.mostrarError("No se encontró la mascota seleccionada.");
+                    return;
+                }
+
+                MascotaVO m = encontrados.get(0);
+                // Modificar comprobará que nadie la cambió después de cargarla
+                versionesConsultadas.put(m.getClaves().getApodo(), m.getVersion());
+                vista.getTxtApodo().setText(m.getApodo());
+                vista.getTxtNombre().setText(m.getNombre());
+                vista.getTxtFamilia().setText(m.getFamilia());
+                vista.getTxtGenero().setText(m.getGenero());
+                vista.getTxtEspecie().setText(m.getEspecie());
+                vista.getCmbClasificacion().setSelectedItem(m.getClasificacion());
+                vista.getCmbTipoAlimento().setSelectedItem(m.getAlimento());
+            }, "Error cargando mascota: ");
 
         } catch (Exception e) {
             vista.mostrarError("Error cargando mascota: " + e.getMessage());
@@ -383,47 +561,238 @@ public class ControlVentana {
                 return;
             }
 
-            boolean exito = controlPrincipal.serializarMascotasSinAlimento(archivo);
-            if (exito) {
-                vista.mostrarMensaje("Serialización exitosa!");
-            } else {
-                vista.mostrarError("Error en la serialización.");
-            }
+            enSegundoPlano(() -> controlPrincipal.serializarMascotasSinAlimento(archivo), exito -> {
+                if (exito) {
+                    vista.mostrarMensaje("Serialización exitosa!");
+                } else {
+                    vista.mostrarError("Error en la serialización.");
+                }
+            }, "Error en serialización: ");
 
         } catch (Exception ex) {
             vista.mostrarError("Error en serialización: " + ex.getMessage());
         }
     }
 
+    /**
+     * Calcula las estadísticas elegidas en el panel de la vista. El conteo se
+     * resuelve en la fuente de datos, así que solo llega una fila por grupo.
+     */
+    private void calcularEstadisticas() {
+        CampoMascota agrupacion = AGRUPACIONES[vista.getCmbAgruparPor().getSelectedIndex()];
+        CampoMascota contado = CONTADOS[vista.getCmbContar().getSelectedIndex()];
+        int filtroSeleccionado = vista.getCmbFiltroEstadisticas().getSelectedIndex();
+        CriteriosMascota filtro = filtroSeleccionado <= 0
+                ? CriteriosMascota.todas()
+                : CriteriosMascota.igual(CampoMascota.CLASIFICACION,
+                        (String) vista.getCmbFiltroEstadisticas().getSelectedItem());
+
+        vista.getBtnCalcularEstadisticas().setEnabled(false);
+        enSegundoPlano(() -> controlPrincipal.estadisticas(agrupacion, contado, filtro), conteos -> {
+            Object[][] filas = new Object[conteos.size()][];
+            int i = 0;
+            for (Map.Entry<String, Long> conteo : conteos.entrySet()) {
+                filas[i++] = new Object[]{conteo.getKey(), conteo.getValue()};
+            }
+            vista.mostrarEstadisticas(filas);
+        }, "Error calculando estadísticas: ").whenComplete((conteos, error) ->
+                SwingUtilities.invokeLater(() -> vista.getBtnCalcularEstadisticas().setEnabled(true)));
+    }
+
     /**
      * Guarda el estado actual de las mascotas antes de salir del sistema.
+     * La aplicación termina cuando el guardado finaliza, con o sin éxito.
      */
     private void salirYGuardarEstado() {
-        try {
-            boolean exito = controlPrincipal.guardarEstadoMascotas();
-            if (exito) {
-                vista.mostrarMensaje("Estado guardado exitosamente.");
-            } else {
-                vista.mostrarError("No se pudo guardar el estado.");
+        vista.getBtnSalir().setEnabled(false);
+        controlAsync.ejecutar(control -> controlPrincipal.guardarEstadoMascotas())
+                .whenComplete((exito, error) -> SwingUtilities.invokeLater(() -> {
+                    try {
+                        if (error != null) {
+                            vista.mostrarError("Error guardando estado: " + descripcionError(error));
+                        } else if (exito) {
+                            vista.mostrarMensaje("Estado guardado exitosamente.");
+                        } else {
+                            vista.mostrarError("No se pudo guardar el estado.");
+                        }
+                    } finally {
+                        System.exit(0);
+                    }
+                }));
+    }
+
+    /**
+     * Carga por completo el combo box de mascotas registradas. Solo pide el
+     * apodo y el nombre de cada mascota. Si se solicitan varias cargas
+     * seguidas, solo se aplica la última.
+     */
+    private void actualizarComboMascotas() {
+        int version = ++versionCombo;
+        enSegundoPlano(controlPrincipal::listaResumenes, resumenes -> {
+            if (version != versionCombo) {
+                return;
+            }
+            vista.getCmbMascotasRegistradas().removeAllItems();
+            for (ResumenMascotaVO resumen : resumenes) {
+                vista.getCmbMascotasRegistradas().addItem(
+                        resumen.getApodo() + " - " + resumen.getNombre()
+                );
+            }
+        }, "Error cargando mascotas registradas: ");
+    }
+
+    /**
+     * Agrega una mascota al combo en su posición por apodo, o reemplaza su
+     * entrada si ya estaba, sin volver a consultar la lista completa.
+     *
+     * @param apodo Apodo de la mascota
+     * @param nombre Nombre común a mostrar
+     */
+    private void colocarEnCombo(String apodo, String nombre) {
+        JComboBox<String> combo = vista.getCmbMascotasRegistradas();
+        String clave = NormalizadorTexto.clave(apodo);
+        int posicion = combo.getItemCount();
+        for (int i = 0; i < combo.getItemCount(); i++) {
+            int comparacion = NormalizadorTexto.clave(apodoDe(combo.getItemAt(i))).compareTo(clave);
+            if (comparacion == 0) {
+                combo.removeItemAt(i);
+            }
+            if (comparacion >= 0) {
+                posicion = i;
+                break;
             }
-        } catch (Exception ex) {
-            vista.mostrarError("Error guardando estado: " + ex.getMessage());
-        } finally {
-            System.exit(0);
         }
+        combo.insertItemAt(apodo + " - " + nombre, posicion);
     }
 
     /**
-     * Actualiza el combo box de mascotas registradas con los datos actuales.
+     * Refleja en el combo de mascotas los cambios publicados por el DAO,
+     * incluidos los hechos fuera de esta ventana. Se ejecuta en el hilo de
+     * eventos. Los cambios por criterio que pueden alterar el combo lo
+     * recargan completo, porque el evento no dice qué mascotas afectaron.
+     *
+     * @param eventos Lote de cambios, en orden
      */
-    private void actualizarComboMascotas() {
-        vista.getCmbMascotasRegistradas().removeAllItems();
-        List<MascotaVO> mascotas = controlPrincipal.listaMascotas();
-        for (MascotaVO mascota : mascotas) {
-            vista.getCmbMascotasRegistradas().addItem(
-                    mascota.getApodo() + " - " + mascota.getNombre()
-            );
+    private void aplicarEventos(List<EventoMascota> eventos) {
+        boolean recargar = false;
+        for (EventoMascota evento : eventos) {
+            MascotaVO datos = evento.getDatos();
+            switch (evento.getTipo()) {
+                case INSERCION:
+                    colocarEnCombo(datos.getApodo(), datos.getNombre());
+                    break;
+                case MODIFICACION:
+                    if (cambiaNombre(datos)) {
+                        renombrarEnCombo(evento.getApodo(), datos.getNombre());
+                    }
+                    break;
+                case ELIMINACION:
+                    quitarDelCombo(evento.getApodo());
+                    break;
+                case MODIFICACION_POR_CRITERIO:
+                    recargar |= cambiaNombre(datos);
+                    break;
+                default:
+                    recargar = true;
+                    break;
+            }
+        }
+        if (recargar) {
+            actualizarComboMascotas();
+        }
+    }
+
+    /**
+     * Indica si unos cambios parciales traen un nombre nuevo; un nombre en
+     * blanco conserva el almacenado.
+     *
+     * @param cambios Cambios recibidos
+     * @return {@code true} si el nombre cambia
+     */
+    private static boolean cambiaNombre(MascotaVO cambios) {
+        return cambios.getNombre() != null && !cambios.getNombre().isBlank();
+    }
+
+    /**
+     * Cambia el nombre mostrado de una mascota que ya está en el combo,
+     * conservando el apodo tal como se registró.
+     *
+     * @param apodo Apodo de la mascota
+     * @param nombre Nombre común nuevo
+     */
+    private void renombrarEnCombo(String apodo, String nombre) {
+        JComboBox<String> combo = vista.getCmbMascotasRegistradas();
+        String clave = NormalizadorTexto.clave(apodo);
+        for (int i = 0; i < combo.getItemCount(); i++) {
+            String registrado = apodoDe(combo.getItemAt(i));
+            if (NormalizadorTexto.clave(registrado).equals(clave)) {
+                colocarEnCombo(registrado, nombre);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Quita del combo la entrada de una mascota eliminada.
+     *
+     * @param apodo Apodo de la mascota
+     */
+    private void quitarDelCombo(String apodo) {
+        JComboBox<String> combo = vista.getCmbMascotasRegistradas();
+        String clave = NormalizadorTexto.clave(apodo);
+        for (int i = 0; i < combo.getItemCount(); i++) {
+            if (NormalizadorTexto.clave(apodoDe(combo.getItemAt(i))).equals(clave)) {
+                combo.removeItemAt(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Extrae el apodo de una entrada del combo con formato "apodo - nombre".
+     *
+     * @param entrada Entrada del combo
+     * @return Apodo de la entrada
+     */
+    private static String apodoDe(String entrada) {
+        return entrada.split(" - ")[0];
+    }
+
+    /**
+     * Ejecuta una operación fuera del hilo de eventos de Swing y entrega su
+     * resultado de vuelta en ese hilo. Si la operación falla o excede el
+     * tiempo máximo se muestra un error; si se cancela no se muestra nada.
+     *
+     * @param <T> Tipo del resultado
+     * @param operacion Operación a ejecutar en segundo plano
+     * @param alTerminar Acción que recibe el resultado en el hilo de eventos
+     * @param mensajeError Prefijo del mensaje de error
+     * @return Futuro de la operación, que puede cancelarse
+     */
+    private <T> CompletableFuture<T> enSegundoPlano(Supplier<T> operacion, Consumer<T> alTerminar,
+                                                    String mensajeError) {
+        CompletableFuture<T> futuro = controlAsync.ejecutar(control -> operacion.get());
+        futuro.whenComplete((resultado, error) -> SwingUtilities.invokeLater(() -> {
+            if (error == null) {
+                alTerminar.accept(resultado);
+            } else if (!(error instanceof CancellationException)) {
+                vista.mostrarError(mensajeError + descripcionError(error));
+            }
+        }));
+        return futuro;
+    }
+
+    /**
+     * Describe para el usuario el error de una operación en segundo plano.
+     *
+     * @param error Error con el que terminó la operación
+     * @return Mensaje legible
+     */
+    private static String descripcionError(Throwable error) {
+        if (error instanceof TimeoutException) {
+            return "la operación tardó demasiado.";
         }
+        return error.getMessage();
     }
 
     /**
@@ -446,21 +815,128 @@ public class ControlVentana {
         vista.agregarResultado("==========================================");
 
         for (int i = 0; i < resultados.size(); i++) {
-            MascotaVO mascota = resultados.get(i);
-            vista.agregarResultado("Mascota #" + (i + 1));
-            vista.agregarResultado("Nombre: " + mascota.getNombre());
-            vista.agregarResultado("Apodo: " + mascota.getApodo());
-            vista.agregarResultado("Clasificación: " + mascota.getClasificacion());
-            vista.agregarResultado("Familia: " + mascota.getFamilia());
-            vista.agregarResultado("Género: " + mascota.getGenero());
-            vista.agregarResultado("Especie: " + mascota.getEspecie());
-            vista.agregarResultado("Alimento: " + mascota.getAlimento());
-            vista.agregarResultado("------------------------------------------");
+            agregarMascotaAResultados(i + 1, resultados.get(i));
         }
 
         vista.mostrarMensaje("Consulta completada.");
     }
 
+    /**
+     * Inicia una consulta paginada: limpia el área de resultados y muestra la
+     * primera página. Las siguientes se solicitan con el botón "Cargar más".
+     *
+     * @param consulta Función que, dado un token de continuación, obtiene la página
+     * @param criterio Criterio utilizado en la búsqueda
+     */
+    private void iniciarConsultaPaginada(Function<String, PaginaMascotas> consulta, String criterio) {
+        vista.getTxtAreaResultados().setText("");
+        finalizarConsultaPaginada();
+
+        int id = consultaEnCurso;
+        peticionPendiente = enSegundoPlano(() -> consulta.apply(null), pagina -> {
+            if (id != consultaEnCurso) {
+                return;
+            }
+            peticionPendiente = null;
+            if (pagina.getMascotas().isEmpty()) {
+                vista.agregarResultado("No se encontraron mascotas para el criterio: " + criterio);
+                vista.mostrarMensaje("No se encontraron resultados.");
+                return;
+            }
+
+            consultaActual = consulta;
+            vista.agregarResultado("RESULTADOS DE CONSULTA");
+            vista.agregarResultado("Criterio: " + criterio);
+            vista.agregarResultado("==========================================");
+            mostrarPagina(pagina);
+            vista.mostrarMensaje("Consulta completada.");
+        }, "Error en la consulta: ");
+    }
+
+    /**
+     * Solicita y muestra la siguiente página de la consulta actual.
+     */
+    private void cargarSiguientePagina() {
+        if (consultaActual == null || tokenActual == null || peticionPendiente != null) {
+            return;
+        }
+        int id = consultaEnCurso;
+        Function<String, PaginaMascotas> consulta = consultaActual;
+        String token = tokenActual;
+        vista.getBtnCargarMas().setEnabled(false);
+        peticionPendiente = enSegundoPlano(() -> consulta.apply(token), pagina -> {
+            if (id == consultaEnCurso) {
+                peticionPendiente = null;
+                mostrarPagina(pagina);
+            }
+        }, "Error cargando más resultados: ");
+        // Si la página falla, se permite reintentar.
+        peticionPendiente.whenComplete((pagina, error) -> {
+            if (error != null) {
+                SwingUtilities.invokeLater(() -> {
+                    if (id == consultaEnCurso) {
+                        peticionPendiente = null;
+                        vista.getBtnCargarMas().setEnabled(true);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Agrega una página al área de resultados y habilita el botón "Cargar más"
+     * si quedan páginas por mostrar.
+     *
+     * @param pagina Página a mostrar
+     */
+    private void mostrarPagina(PaginaMascotas pagina) {
+        for (MascotaVO mascota : pagina.getMascotas()) {
+            agregarMascotaAResultados(++mostradas, mascota);
+        }
+        tokenActual = pagina.getTokenSiguiente();
+        vista.getBtnCargarMas().setEnabled(pagina.hayMas());
+        if (pagina.hayMas()) {
+            vista.agregarResultado("Mostradas " + mostradas + " mascota(s). Use \"Cargar más\" para continuar.");
+        } else {
+            vista.agregarResultado("Total encontrado: " + mostradas + " mascota(s)");
+        }
+    }
+
+    /**
+     * Descarta el estado de la consulta paginada actual y cancela su petición
+     * pendiente, si la hay.
+     */
+    private void finalizarConsultaPaginada() {
+        consultaEnCurso++;
+        if (peticionPendiente != null) {
+            peticionPendiente.cancel(true);
+            peticionPendiente = null;
+        }
+        consultaActual = null;
+        tokenActual = null;
+        mostradas = 0;
+        vista.getBtnCargarMas().setEnabled(false);
+    }
+
+    /**
+     * Agrega los datos de una mascota al área de resultados.
+     *
+     * @param numero Posición de la mascota en la consulta
+     * @param mascota Mascota a mostrar
+     */
+    private void agregarMascotaAResultados(int numero, MascotaVO mascota) {
+        versionesConsultadas.put(mascota.getClaves().getApodo(), mascota.getVersion());
+        vista.agregarResultado("Mascota #" + numero);
+        vista.agregarResultado("Nombre: " + mascota.getNombre());
+        vista.agregarResultado("Apodo: " + mascota.getApodo());
+        vista.agregarResultado("Clasificación: " + mascota.getClasificacion());
+        vista.agregarResultado("Familia: " + mascota.getFamilia());
+        vista.agregarResultado("Género: " + mascota.getGenero());
+        vista.agregarResultado("Especie: " + mascota.getEspecie());
+        vista.agregarResultado("Alimento: " + mascota.getAlimento());
+        vista.agregarResultado("------------------------------------------");
+    }
+
     public File seleccionarArchivoProperties(){
         return vista.seleccionarArchivoProperties();
     }
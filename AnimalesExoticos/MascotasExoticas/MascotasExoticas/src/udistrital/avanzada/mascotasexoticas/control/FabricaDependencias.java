@@ -1,37 +1,198 @@
 package udistrital.avanzada.mascotasexoticas.control;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Logger;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.BusEventosMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.BusquedaTextoMascotaDAO;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.CachingMascotaDAO;
 import udistrital.avanzada.mascotasexoticas.modelo.DAO.ICRUDMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.MascotaDAOArchivo;
 import udistrital.avanzada.mascotasexoticas.modelo.DAO.MascotaDAOImpl;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.MascotaDAOMemoria;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.PublicadorEventosMascotaDAO;
+import udistrital.avanzada.mascotasexoticas.modelo.conexion.ConexionBD;
 import udistrital.avanzada.mascotasexoticas.modelo.conexion.ConexionSerializacion;
 import udistrital.avanzada.mascotasexoticas.modelo.conexion.ISerializacionService;
 
 /**
  * Fábrica centralizada para la creación e inyección de dependencias.
  * Implementa el patrón Factory para desacoplar la creación de objetos.
+ * Al crear cada componente con estadísticas lo publica en JMX mediante
+ * {@link MonitoreoJMX}.
  * 
  * @author Sofia
  * @version 1.0
  * @since 12-10-2025
  */
 public class FabricaDependencias {
+
+    /** Registro de eventos de la fábrica. */
+    private static final Logger LOG = Logger.getLogger(FabricaDependencias.class.getName());
+
+    /**
+     * Propiedad del sistema que elige dónde se guardan las mascotas:
+     * {@code mysql} (por defecto), {@code memoria} o {@code archivo}.
+     */
+    public static final String PROPIEDAD_ALMACENAMIENTO = "mascotas.almacenamiento";
+
+    /**
+     * Propiedad del sistema con la ruta del archivo de datos cuando el
+     * almacenamiento es {@code archivo}. Por defecto {@code mascotas.dat}.
+     */
+    public static final String PROPIEDAD_ARCHIVO = "mascotas.archivo";
+
+    /**
+     * Propiedad del sistema que, con valor {@code true}, ejecuta las
+     * operaciones asíncronas en hilos virtuales (Java 21 o superior).
+     */
+    public static final String PROPIEDAD_HILOS_VIRTUALES = "mascotas.hilosVirtuales";
+
+    /** Operaciones asíncronas simultáneas; igual al máximo del pool de conexiones. */
+    private static final int CONCURRENCIA_ASYNC = 10;
+
+    /** Operaciones asíncronas que pueden esperar en cola con hilos de plataforma. */
+    private static final int COLA_ASYNC = 256;
+
+    /** Tiempo máximo de una operación asíncrona. */
+    private static final long TIEMPO_MAXIMO_ASYNC_MS = 30_000;
     
     private static ICRUDMascota mascotaDAO;
+    private static BusEventosMascota busEventos;
+    private static MetricasOperaciones metricas;
+    private static ProgresoTransferencias transferencias;
     private static ISerializacionService serializacionService;
     private static IControlMascota controlMascota;
+    private static IControlMascotaAsync controlMascotaAsync;
     
     /**
      * Obtiene la instancia del DAO de mascotas.
      * Implementa inicialización perezosa (lazy initialization).
+     * La implementación se elige con la propiedad {@link #PROPIEDAD_ALMACENAMIENTO},
+     * y se envuelve en un {@link PublicadorEventosMascotaDAO} que publica los
+     * cambios en {@link #getBusEventos()}. Sus llamadas se miden en
+     * {@link #getMetricas()} con el prefijo {@code dao}.
      *
      * @return Instancia de MascotaDAO
      */
     public static ICRUDMascota getMascotaDAO() {
         if (mascotaDAO == null) {
-            mascotaDAO = new MascotaDAOImpl();
+            mascotaDAO = getMetricas().instrumentar(ICRUDMascota.class, new PublicadorEventosMascotaDAO(
+                    crearMascotaDAO(System.getProperty(PROPIEDAD_ALMACENAMIENTO, "mysql")),
+                    getBusEventos()), "dao");
         }
         return mascotaDAO;
     }
+
+    /**
+     * Obtiene el registro de latencias de las capas de acceso a datos y de
+     * control. Implementa inicialización perezosa (lazy initialization).
+     *
+     * @return Instancia de MetricasOperaciones
+     */
+    public static MetricasOperaciones getMetricas() {
+        if (metricas == null) {
+            metricas = new MetricasOperaciones();
+            MonitoreoJMX.registrarOperaciones(metricas);
+        }
+        return metricas;
+    }
+
+    /**
+     * Obtiene los contadores de avance de importaciones y exportaciones.
+     * Implementa inicialización perezosa (lazy initialization).
+     *
+     * @return Instancia de ProgresoTransferencias
+     */
+    public static ProgresoTransferencias getTransferencias() {
+        if (transferencias == null) {
+            transferencias = new ProgresoTransferencias();
+            MonitoreoJMX.registrarTransferencias(transferencias);
+        }
+        return transferencias;
+    }
+
+    /**
+     * Obtiene el bus donde el DAO de mascotas publica cada cambio aplicado.
+     * Implementa inicialización perezosa (lazy initialization).
+     *
+     * @return Instancia de BusEventosMascota
+     */
+    public static BusEventosMascota getBusEventos() {
+        if (busEventos == null) {
+            busEventos = new BusEventosMascota();
+            MonitoreoJMX.registrarEventos(busEventos);
+        }
+        return busEventos;
+    }
+
+    /**
+     * Crea el DAO del almacenamiento indicado. El DAO JDBC se envuelve en un
+     * {@link CachingMascotaDAO} para que las lecturas repetidas no lleguen a
+     * la base de datos; el de memoria no lo necesita. El de archivo se envuelve
+     * para que las consultas por campo no recorran el archivo cada vez.
+     * Ambos se envuelven también en un {@link BusquedaTextoMascotaDAO} para
+     * que la búsqueda por texto parcial no recorra todas las mascotas; el de
+     * memoria ya tiene su propio índice de texto.
+     * Para MySQL se comprueba además que las consultas usen los índices.
+     *
+     * @param almacenamiento {@code mysql}, {@code memoria} o {@code archivo}
+     * @return Instancia de MascotaDAO
+     * @throws IllegalArgumentException si el almacenamiento no existe
+     * @throws IllegalStateException si no se puede abrir el archivo de datos
+     */
+    private static ICRUDMascota crearMascotaDAO(String almacenamiento) {
+        switch (almacenamiento.trim().toLowerCase(Locale.ROOT)) {
+            case "mysql":
+                MascotaDAOImpl jdbc = new MascotaDAOImpl();
+                verificarIndices(jdbc);
+                MonitoreoJMX.registrarConexiones(ConexionBD.getInstancia());
+                return new BusquedaTextoMascotaDAO(registrarCache(new CachingMascotaDAO(jdbc)));
+            case "memoria":
+                return new MascotaDAOMemoria();
+            case "archivo":
+                String ruta = System.getProperty(PROPIEDAD_ARCHIVO, "mascotas.dat");
+                try {
+                    return new BusquedaTextoMascotaDAO(
+                            registrarCache(new CachingMascotaDAO(new MascotaDAOArchivo(Paths.get(ruta)))));
+                } catch (IOException e) {
+                    throw new IllegalStateException("No se pudo abrir el archivo de mascotas: " + ruta, e);
+                }
+            default:
+                throw new IllegalArgumentException("Almacenamiento desconocido: " + almacenamiento);
+        }
+    }
     
+    /**
+     * Publica en JMX las estadísticas de la caché de lecturas.
+     *
+     * @param cache DAO con caché
+     * @return El mismo DAO
+     */
+    private static CachingMascotaDAO registrarCache(CachingMascotaDAO cache) {
+        MonitoreoJMX.registrarCache(cache);
+        return cache;
+    }
+
+    /**
+     * Registra un aviso por cada consulta del DAO que no usaría su índice,
+     * por ejemplo si la migración de índices no se pudo aplicar.
+     *
+     * @param dao DAO JDBC a verificar
+     */
+    private static void verificarIndices(MascotaDAOImpl dao) {
+        try {
+            for (String sql : dao.consultasSinIndice()) {
+                LOG.warning(() -> "La consulta no usa su índice: " + sql);
+            }
+        } catch (SQLException e) {
+            LOG.warning(() -> "No se pudieron verificar los índices: " + e.getMessage());
+        }
+    }
+
     /**
      * Obtiene la instancia del servicio de serialización.
      * Implementa inicialización perezosa (lazy initialization).
@@ -48,16 +209,46 @@ public class FabricaDependencias {
     /**
      * Obtiene la instancia del controlador de mascotas.
      * Implementa inicialización perezosa e inyección de dependencias.
+     * Sus llamadas se miden en {@link #getMetricas()} con el prefijo
+     * {@code control}.
      *
      * @return Instancia de IControlMascota
      */
     public static IControlMascota getControlMascota() {
         if (controlMascota == null) {
-            controlMascota = new ControlMascota(
+            controlMascota = getMetricas().instrumentar(IControlMascota.class, new ControlMascota(
                 getMascotaDAO(),
-                getSerializacionService()
-            );
+                getSerializacionService(),
+                getTransferencias()
+            ), "control");
         }
         return controlMascota;
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtiene la fachada asíncrona del controlador de mascotas.
+     * Implementa inicialización perezosa. Si se piden hilos virtuales y la
+     * JVM no los tiene, se usa un pool de hilos acotado.
+     *
+     * @return Instancia de IControlMascotaAsync
+     */
+    public static IControlMascotaAsync getControlMascotaAsync() {
+        if (controlMascotaAsync == null) {
+            ExecutorService ejecutor = null;
+            if (Boolean.getBoolean(PROPIEDAD_HILOS_VIRTUALES)) {
+                try {
+                    ejecutor = ControlMascotaAsync.ejecutorVirtual();
+                } catch (UnsupportedOperationException e) {
+                    LOG.warning(e.getMessage());
+                }
+            }
+            if (ejecutor == null) {
+                ejecutor = ControlMascotaAsync.ejecutorAcotado(CONCURRENCIA_ASYNC, COLA_ASYNC);
+            }
+            controlMascotaAsync = new ControlMascotaAsync(
+                getControlMascota(), ejecutor, CONCURRENCIA_ASYNC, TIEMPO_MAXIMO_ASYNC_MS
+            );
+        }
+        return controlMascotaAsync;
+    }
+}
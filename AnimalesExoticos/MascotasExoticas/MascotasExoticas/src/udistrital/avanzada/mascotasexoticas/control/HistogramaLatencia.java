@@ -0,0 +1,165 @@
+package udistrital.avanzada.mascotasexoticas.control;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias de una operación, pensado para registrar cada
+ * llamada sin afectar su rendimiento.
+ * <p>
+ * Las duraciones se agrupan en intervalos log-lineales, como en HdrHistogram:
+ * exactos hasta 63 ns y, desde ahí, 32 intervalos por cada potencia de dos,
+ * lo que acota el error relativo de cualquier percentil al 3 %. Las duraciones
+ * por encima de unos 68 s se acumulan en el último intervalo.
+ * </p>
+ *
+ * <p>
+ * Registrar no toma candados: cada hilo escribe en una de varias franjas
+ * según su identificador, con incrementos atómicos que casi nunca compiten
+ * entre hilos, y las franjas solo se suman al capturar un
+ * {@link ResumenLatencia}.
+ * </p>
+ *
+ * @author Juan
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public final class HistogramaLatencia {
+
+    /** Bits del intervalo dentro de cada potencia de dos. */
+    private static final int BITS_SUBINTERVALO = 6;
+
+    private static final int SUBINTERVALOS = 1 << BITS_SUBINTERVALO;
+
+    private static final int MITAD = SUBINTERVALOS / 2;
+
+    /** Mayor potencia de dos con intervalos propios (2^36 ns, unos 68 s). */
+    private static final int EXPONENTE_MAXIMO = 36;
+
+    /** Intervalos de cada franja. */
+    static final int INTERVALOS = SUBINTERVALOS + (EXPONENTE_MAXIMO - BITS_SUBINTERVALO + 1) * MITAD;
+
+    private final Franja[] franjas;
+    private final int mascara;
+
+    /** Momento desde el que se acumulan las mediciones. */
+    private volatile long inicioNs = System.nanoTime();
+
+    /**
+     * Crea un histograma con una franja por procesador, hasta 8.
+     */
+    public HistogramaLatencia() {
+        int procesadores = Math.min(8, Runtime.getRuntime().availableProcessors());
+        int cantidad = Integer.highestOneBit(procesadores);
+        franjas = new Franja[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            franjas[i] = new Franja();
+        }
+        mascara = cantidad - 1;
+    }
+
+    /**
+     * Registra una llamada.
+     *
+     * @param duracionNs Duración de la llamada en nanosegundos
+     * @param fallo {@code true} si la llamada falló
+     */
+    public void registrar(long duracionNs, boolean fallo) {
+        Franja franja = franjas[(int) Thread.currentThread().getId() & mascara];
+        long duracion = Math.max(0, duracionNs);
+        franja.conteos.getAndIncrement(intervalo(duracion));
+        franja.sumaNs.getAndAdd(duracion);
+        if (fallo) {
+            franja.fallos.getAndIncrement();
+        }
+        long maximo = franja.maximoNs.get();
+        while (duracion > maximo && !franja.maximoNs.compareAndSet(maximo, duracion)) {
+            maximo = franja.maximoNs.get();
+        }
+    }
+
+    /**
+     * Resume las llamadas registradas desde la creación o el último reinicio.
+     *
+     * @return Resumen de las latencias
+     */
+    public ResumenLatencia capturar() {
+        return capturar(false);
+    }
+
+    /**
+     * Resume las llamadas registradas y vuelve a empezar desde cero, sin
+     * perder las llamadas que se registren mientras tanto: cada una cuenta en
+     * este resumen o en el siguiente.
+     *
+     * @return Resumen de las latencias del intervalo que termina
+     */
+    public ResumenLatencia capturarYReiniciar() {
+        return capturar(true);
+    }
+
+    private ResumenLatencia capturar(boolean reiniciar) {
+        long ahora = System.nanoTime();
+        long desde = inicioNs;
+        if (reiniciar) {
+            inicioNs = ahora;
+        }
+        long[] conteos = new long[INTERVALOS];
+        long sumaNs = 0;
+        long fallos = 0;
+        long maximoNs = 0;
+        for (Franja franja : franjas) {
+            for (int i = 0; i < INTERVALOS; i++) {
+                conteos[i] += reiniciar ? franja.conteos.getAndSet(i, 0) : franja.conteos.get(i);
+            }
+            sumaNs += reiniciar ? franja.sumaNs.getAndSet(0) : franja.sumaNs.get();
+            fallos += reiniciar ? franja.fallos.getAndSet(0) : franja.fallos.get();
+            maximoNs = Math.max(maximoNs, reiniciar ? franja.maximoNs.getAndSet(0) : franja.maximoNs.get());
+        }
+        return new ResumenLatencia(conteos, sumaNs, fallos, maximoNs, ahora - desde);
+    }
+
+    /**
+     * Intervalo en que cae una duración.
+     *
+     * @param duracionNs Duración no negativa
+     * @return Índice del intervalo
+     */
+    static int intervalo(long duracionNs) {
+        if (duracionNs < SUBINTERVALOS) {
+            return (int) duracionNs;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(duracionNs);
+        if (exponente > EXPONENTE_MAXIMO) {
+            return INTERVALOS - 1;
+        }
+        int desplazamiento = exponente - BITS_SUBINTERVALO + 1;
+        return SUBINTERVALOS + (desplazamiento - 1) * MITAD + (int) (duracionNs >>> desplazamiento) - MITAD;
+    }
+
+    /**
+     * Mayor duración que cae en un intervalo.
+     *
+     * @param intervalo Índice del intervalo
+     * @return Límite superior del intervalo, en nanosegundos
+     */
+    static long limiteSuperior(int intervalo) {
+        if (intervalo < SUBINTERVALOS) {
+            return intervalo;
+        }
+        int desplazamiento = (intervalo - SUBINTERVALOS) / MITAD + 1;
+        long subintervalo = (intervalo - SUBINTERVALOS) % MITAD + MITAD;
+        return ((subintervalo + 1) << desplazamiento) - 1;
+    }
+
+    /**
+     * Contadores escritos por un grupo de hilos.
+     */
+    private static final class Franja {
+
+        private final AtomicLongArray conteos = new AtomicLongArray(INTERVALOS);
+        private final AtomicLong sumaNs = new AtomicLong();
+        private final AtomicLong fallos = new AtomicLong();
+        private final AtomicLong maximoNs = new AtomicLong();
+    }
+}
@@ -1,5 +1,8 @@
 package udistrital.avanzada.mascotasexoticas.control;
+import java.util.List;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
 import udistrital.avanzada.mascotasexoticas.modelo.DAO.ICRUDMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.ResultadoOperacion;
 
 /**
  * Interfaz que define las operaciones de negocio para la gestión de mascotas exóticas.
@@ -29,6 +32,27 @@ public interface IControlMascota extends ICRUDMascota{
      * @return true si el guardado fue exitoso, false en caso contrario
      */
     boolean guardarEstadoMascotas(String rutaArchivo);
+
+    /**
+     * Compara un archivo de estado con las mascotas registradas.
+     *
+     * @param rutaArchivo Ruta del archivo de estado
+     * @return Mascotas del archivo, tal como se guardaron, que ya no están
+     * registradas con los mismos datos (se modificaron o eliminaron)
+     */
+    List<MascotaVO> consultarCambiosDesdeEstado(String rutaArchivo);
+
+    /**
+     * Registra varias mascotas importadas, distinguiendo las que se repiten
+     * tal cual de las que chocan con un apodo registrado con otros datos.
+     *
+     * @param mascotas Mascotas a registrar
+     * @return Resultado de cada mascota, en el mismo orden de la lista:
+     * {@link ResultadoOperacion#SIN_CAMBIOS} si ya estaba registrada con los
+     * mismos datos y {@link ResultadoOperacion#DUPLICADA} si el apodo está
+     * registrado con otros datos
+     */
+    List<ResultadoOperacion> importarMascotas(List<MascotaVO> mascotas);
     
     /**
      * Verifica si existe una mascota con el apodo especificado.
@@ -37,4 +61,14 @@ public interface IControlMascota extends ICRUDMascota{
      * @return true si existe una mascota con ese apodo, false en caso contrario
      */
     boolean existeMascotaPorApodo(String apodo);
+
+    /**
+     * Consulta por apodo tolerando errores de escritura. Si ninguna mascota
+     * tiene exactamente ese apodo, devuelve las que tienen apodos parecidos.
+     *
+     * @param apodo Apodo a buscar
+     * @return Mascotas con el apodo exacto o, si no hay, con apodos parecidos
+     * ordenadas del más al menos parecido; lista vacía si no hay ninguna
+     */
+    List<MascotaVO> consultarPorApodoAproximado(String apodo);
 }
\ No newline at end of file
@@ -0,0 +1,236 @@
+package udistrital.avanzada.mascotasexoticas.control;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.ResumenMascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.CampoMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.CriteriosMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.PaginaMascotas;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.ResultadoOperacion;
+
+/**
+ * Versión asíncrona de {@link IControlMascota}.
+ * <p>
+ * Cada método devuelve de inmediato un {@link CompletableFuture} que se
+ * completa cuando la operación termina en segundo plano. Cancelar el futuro
+ * interrumpe la operación si todavía está en curso, y el futuro falla con
+ * {@link java.util.concurrent.TimeoutException} si excede el tiempo máximo
+ * configurado en la implementación.
+ * </p>
+ *
+ * @author Sofia
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public interface IControlMascotaAsync {
+
+    /**
+     * Ejecuta en segundo plano cualquier operación sobre el controlador
+     * síncrono. Es la base del resto de métodos y permite lanzar muchas
+     * consultas en paralelo.
+     *
+     * @param <T> Tipo del resultado
+     * @param operacion Operación a ejecutar
+     * @return Futuro con el resultado de la operación
+     */
+    <T> CompletableFuture<T> ejecutar(Function<IControlMascota, T> operacion);
+
+    /**
+     * @param mascota Mascota a registrar
+     * @return Futuro de {@link IControlMascota#adicionarMascota(MascotaVO)}
+     */
+    default CompletableFuture<Boolean> adicionarMascota(MascotaVO mascota) {
+        return ejecutar(control -> control.adicionarMascota(mascota));
+    }
+
+    /**
+     * @param mascota Mascota a insertar o actualizar
+     * @return Futuro de {@link IControlMascota#upsertMascota(MascotaVO)}
+     */
+    default CompletableFuture<ResultadoOperacion> upsertMascota(MascotaVO mascota) {
+        return ejecutar(control -> control.upsertMascota(mascota));
+    }
+
+    /**
+     * @param mascotas Mascotas a registrar
+     * @return Futuro de {@link IControlMascota#adicionarMascotas(List)}
+     */
+    default CompletableFuture<List<ResultadoOperacion>> adicionarMascotas(List<MascotaVO> mascotas) {
+        return ejecutar(control -> control.adicionarMascotas(mascotas));
+    }
+
+    /**
+     * @param mascota Mascota con los datos actualizados
+     * @return Futuro de {@link IControlMascota#modificarMascota(MascotaVO)}
+     */
+    default CompletableFuture<Boolean> modificarMascota(MascotaVO mascota) {
+        return ejecutar(control -> control.modificarMascota(mascota));
+    }
+
+    /**
+     * @param criterios Mascotas a modificar
+     * @param cambios Nuevos valores; los campos en blanco se conservan
+     * @return Futuro de {@link IControlMascota#modificarPorCriterio(CriteriosMascota, MascotaVO)}
+     */
+    default CompletableFuture<Integer> modificarPorCriterio(CriteriosMascota criterios, MascotaVO cambios) {
+        return ejecutar(control -> control.modificarPorCriterio(criterios, cambios));
+    }
+
+    /**
+     * @param criterios Mascotas a eliminar
+     * @return Futuro de {@link IControlMascota#eliminarPorCriterio(CriteriosMascota)}
+     */
+    default CompletableFuture<Integer> eliminarPorCriterio(CriteriosMascota criterios) {
+        return ejecutar(control -> control.eliminarPorCriterio(criterios));
+    }
+
+    /**
+     * @param apodo Apodo de la mascota a eliminar
+     * @return Futuro de {@link IControlMascota#eliminarMascota(String)}
+     */
+    default CompletableFuture<Boolean> eliminarMascota(String apodo) {
+        return ejecutar(control -> control.eliminarMascota(apodo));
+    }
+
+    /**
+     * @return Futuro de {@link IControlMascota#listarTodasMascotas()}
+     */
+    default CompletableFuture<List<MascotaVO>> listarTodasMascotas() {
+        return ejecutar(IControlMascota::listarTodasMascotas);
+    }
+
+    /**
+     * @param tamanoPagina Número máximo de mascotas por página
+     * @param token Token de continuación o {@code null}
+     * @return Futuro de {@link IControlMascota#listarTodasMascotas(int, String)}
+     */
+    default CompletableFuture<PaginaMascotas> listarTodasMascotas(int tamanoPagina, String token) {
+        return ejecutar(control -> control.listarTodasMascotas(tamanoPagina, token));
+    }
+
+    /**
+     * @return Futuro de {@link IControlMascota#listarResumenes()}
+     */
+    default CompletableFuture<List<ResumenMascotaVO>> listarResumenes() {
+        return ejecutar(IControlMascota::listarResumenes);
+    }
+
+    /**
+     * @param apodo Apodo a buscar
+     * @return Futuro de {@link IControlMascota#consultarPorApodo(String)}
+     */
+    default CompletableFuture<List<MascotaVO>> consultarPorApodo(String apodo) {
+        return ejecutar(control -> control.consultarPorApodo(apodo));
+    }
+
+    /**
+     * @param apodo Apodo a buscar
+     * @return Futuro de {@link IControlMascota#consultarPorApodoAproximado(String)}
+     */
+    default CompletableFuture<List<MascotaVO>> consultarPorApodoAproximado(String apodo) {
+        return ejecutar(control -> control.consultarPorApodoAproximado(apodo));
+    }
+
+    /**
+     * @param clasificacion Clasificación a buscar
+     * @param tamanoPagina Número máximo de mascotas por página
+     * @param token Token de continuación o {@code null}
+     * @return Futuro de {@link IControlMascota#consultarPorClasificacion(String, int, String)}
+     */
+    default CompletableFuture<PaginaMascotas> consultarPorClasificacion(String clasificacion, int tamanoPagina,
+                                                                       String token) {
+        return ejecutar(control -> control.consultarPorClasificacion(clasificacion, tamanoPagina, token));
+    }
+
+    /**
+     * @param familia Familia a buscar
+     * @param tamanoPagina Número máximo de mascotas por página
+     * @param token Token de continuación o {@code null}
+     * @return Futuro de {@link IControlMascota#consultarPorFamilia(String, int, String)}
+     */
+    default CompletableFuture<PaginaMascotas> consultarPorFamilia(String familia, int tamanoPagina, String token) {
+        return ejecutar(control -> control.consultarPorFamilia(familia, tamanoPagina, token));
+    }
+
+    /**
+     * @param alimento Alimento a buscar
+     * @param tamanoPagina Número máximo de mascotas por página
+     * @param token Token de continuación o {@code null}
+     * @return Futuro de {@link IControlMascota#consultarPorAlimento(String, int, String)}
+     */
+    default CompletableFuture<PaginaMascotas> consultarPorAlimento(String alimento, int tamanoPagina, String token) {
+        return ejecutar(control -> control.consultarPorAlimento(alimento, tamanoPagina, token));
+    }
+
+    /**
+     * @param criterios Criterios combinados de búsqueda
+     * @return Futuro de {@link IControlMascota#consultar(CriteriosMascota)}
+     */
+    default CompletableFuture<List<MascotaVO>> consultar(CriteriosMascota criterios) {
+        return ejecutar(control -> control.consultar(criterios));
+    }
+
+    /**
+     * @param huella Huella de los datos biológicos
+     * @return Futuro de {@link IControlMascota#consultarPorHuella(long)}
+     */
+    default CompletableFuture<List<MascotaVO>> consultarPorHuella(long huella) {
+        return ejecutar(control -> control.consultarPorHuella(huella));
+    }
+
+    /**
+     * @param texto Texto parcial a buscar
+     * @param limite Número máximo de resultados
+     * @return Futuro de {@link IControlMascota#buscarTexto(String, int)}
+     */
+    default CompletableFuture<List<MascotaVO>> buscarTexto(String texto, int limite) {
+        return ejecutar(control -> control.buscarTexto(texto, limite));
+    }
+
+    /**
+     * @param agrupacion Campo por el que se agrupa
+     * @param filtro Criterios que deben cumplir las mascotas contadas
+     * @return Futuro de {@link IControlMascota#contarPor(CampoMascota, CriteriosMascota)}
+     */
+    default CompletableFuture<Map<String, Long>> contarPor(CampoMascota agrupacion, CriteriosMascota filtro) {
+        return ejecutar(control -> control.contarPor(agrupacion, filtro));
+    }
+
+    /**
+     * @param agrupacion Campo por el que se agrupa
+     * @param contado Campo cuyos valores distintos se cuentan
+     * @param filtro Criterios que deben cumplir las mascotas consideradas
+     * @return Futuro de {@link IControlMascota#contarDistintosPor(CampoMascota, CampoMascota, CriteriosMascota)}
+     */
+    default CompletableFuture<Map<String, Long>> contarDistintosPor(CampoMascota agrupacion, CampoMascota contado,
+                                                                   CriteriosMascota filtro) {
+        return ejecutar(control -> control.contarDistintosPor(agrupacion, contado, filtro));
+    }
+
+    /**
+     * @param rutaArchivo Ruta del archivo serializado
+     * @return Futuro de {@link IControlMascota#serializarMascotasSinAlimento(String)}
+     */
+    default CompletableFuture<Boolean> serializarMascotasSinAlimento(String rutaArchivo) {
+        return ejecutar(control -> control.serializarMascotasSinAlimento(rutaArchivo));
+    }
+
+    /**
+     * @param rutaArchivo Ruta del archivo de estado
+     * @return Futuro de {@link IControlMascota#guardarEstadoMascotas(String)}
+     */
+    default CompletableFuture<Boolean> guardarEstadoMascotas(String rutaArchivo) {
+        return ejecutar(control -> control.guardarEstadoMascotas(rutaArchivo));
+    }
+
+    /**
+     * @param apodo Apodo a verificar
+     * @return Futuro de {@link IControlMascota#existeMascotaPorApodo(String)}
+     */
+    default CompletableFuture<Boolean> existeMascotaPorApodo(String apodo) {
+        return ejecutar(control -> control.existeMascotaPorApodo(apodo));
+    }
+}
@@ -0,0 +1,115 @@
+package udistrital.avanzada.mascotasexoticas.control;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.FallosAcceso;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.ResultadoOperacion;
+
+/**
+ * Registro de latencias por operación, con un {@link HistogramaLatencia} por
+ * cada nombre de operación.
+ * <p>
+ * {@link #instrumentar(Class, Object, String)} envuelve cualquier
+ * implementación de una interfaz, como {@code ICRUDMascota} o
+ * {@link IControlMascota}, en un decorador que mide cada llamada sin cambiar
+ * su resultado. Cuenta como fallo una llamada que lanza una excepción, que
+ * devuelve {@link ResultadoOperacion#FALLIDA} o durante la cual la
+ * implementación registró un error en {@link FallosAcceso} aunque devolviera
+ * un valor vacío.
+ * </p>
+ *
+ * @author Juan
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class MetricasOperaciones {
+
+    private final Map<String, HistogramaLatencia> histogramas = new ConcurrentHashMap<>();
+
+    /**
+     * Obtiene el histograma de una operación, creándolo si no existe.
+     *
+     * @param operacion Nombre de la operación
+     * @return Histograma de la operación
+     */
+    public HistogramaLatencia histograma(String operacion) {
+        return histogramas.computeIfAbsent(operacion, o -> new HistogramaLatencia());
+    }
+
+    /**
+     * Resume todas las operaciones registradas.
+     *
+     * @return Resumen de cada operación, ordenado por nombre
+     */
+    public Map<String, ResumenLatencia> capturar() {
+        Map<String, ResumenLatencia> resumenes = new TreeMap<>();
+        histogramas.forEach((operacion, histograma) -> resumenes.put(operacion, histograma.capturar()));
+        return resumenes;
+    }
+
+    /**
+     * Resume todas las operaciones y las vuelve a empezar desde cero.
+     *
+     * @return Resumen de cada operación en el intervalo que termina, ordenado
+     * por nombre
+     */
+    public Map<String, ResumenLatencia> capturarYReiniciar() {
+        Map<String, ResumenLatencia> resumenes = new TreeMap<>();
+        histogramas.forEach((operacion, histograma) -> resumenes.put(operacion, histograma.capturarYReiniciar()));
+        return resumenes;
+    }
+
+    /**
+     * Envuelve una implementación para medir cada llamada a los métodos de la
+     * interfaz. Cada método se registra como
+     * {@code prefijo.nombre/parámetros}, por ejemplo
+     * {@code dao.consultarPorFamilia/3}, para distinguir las sobrecargas.
+     *
+     * @param <T> Tipo de la interfaz
+     * @param interfaz Interfaz que se mide
+     * @param destino Implementación que atiende las llamadas
+     * @param prefijo Prefijo de los nombres de operación, por ejemplo la capa
+     * @return Decorador que implementa la interfaz
+     */
+    public <T> T instrumentar(Class<T> interfaz, T destino, String prefijo) {
+        // Los histogramas se resuelven al crear el decorador: la llamada solo
+        // busca el método, sin armar el nombre
+        Map<Method, HistogramaLatencia> porMetodo = new HashMap<>();
+        for (Method metodo : interfaz.getMethods()) {
+            porMetodo.put(metodo, histograma(prefijo + "." + metodo.getName() + "/" + metodo.getParameterCount()));
+        }
+        Object decorador = Proxy.newProxyInstance(interfaz.getClassLoader(), new Class<?>[]{interfaz},
+                (proxy, metodo, args) -> {
+                    HistogramaLatencia histograma = porMetodo.get(metodo);
+                    if (histograma == null) {
+                        // Métodos de Object como equals o toString
+                        return invocar(metodo, destino, args);
+                    }
+                    long fallosPrevios = FallosAcceso.contar();
+                    long inicio = System.nanoTime();
+                    boolean fallo = true;
+                    try {
+                        Object resultado = invocar(metodo, destino, args);
+                        fallo = resultado == ResultadoOperacion.FALLIDA
+                                || FallosAcceso.contar() != fallosPrevios;
+                        return resultado;
+                    } finally {
+                        histograma.registrar(System.nanoTime() - inicio, fallo);
+                    }
+                });
+        return interfaz.cast(decorador);
+    }
+
+    private static Object invocar(Method metodo, Object destino, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(destino, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,443 @@
+package udistrital.avanzada.mascotasexoticas.control;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.BusEventosMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.CachingMascotaDAO;
+import udistrital.avanzada.mascotasexoticas.modelo.conexion.ConexionBD;
+import udistrital.avanzada.mascotasexoticas.modelo.conexion.PoolConexiones;
+
+/**
+ * Publica las estadísticas de la aplicación como MXBeans en el servidor JMX de
+ * la plataforma, para consultarlas con JConsole, VisualVM o cualquier agente
+ * de monitoreo.
+ * <p>
+ * Cada componente se registra con el nombre
+ * {@code udistrital.avanzada.mascotasexoticas:type=<Tipo>}. Los MXBeans son
+ * adaptadores de solo lectura sobre los contadores que ya llevan los
+ * componentes, así que consultarlos no cambia su comportamiento. Registrar
+ * otra instancia del mismo tipo reemplaza a la anterior. Un fallo al registrar
+ * se informa en el registro de eventos sin afectar a la aplicación.
+ * </p>
+ *
+ * @author Sofia
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public final class MonitoreoJMX {
+
+    /** Dominio de los nombres de los MXBeans. */
+    public static final String DOMINIO = "udistrital.avanzada.mascotasexoticas";
+
+    /** Registro de eventos del monitoreo. */
+    private static final Logger LOG = Logger.getLogger(MonitoreoJMX.class.getName());
+
+    private MonitoreoJMX() {
+    }
+
+    /**
+     * Latencias de las operaciones del DAO y del controlador.
+     */
+    public interface OperacionesMXBean {
+
+        /**
+         * @return Resumen de cada operación desde el último reinicio, por nombre.
+         */
+        Map<String, ResumenLatencia> getResumenes();
+
+        /**
+         * Escribe el resumen de cada operación en el registro de eventos.
+         *
+         * @return El mismo texto, una operación por línea
+         */
+        String volcarEstadisticas();
+
+        /**
+         * Vuelve a empezar las mediciones desde cero.
+         */
+        void reiniciar();
+    }
+
+    /**
+     * Pool de conexiones con la base de datos y reparto de lecturas.
+     */
+    public interface ConexionesMXBean {
+
+        /** @return Conexiones prestadas en este momento. */
+        int getConexionesActivas();
+
+        /** @return Conexiones libres en este momento. */
+        int getConexionesInactivas();
+
+        /** @return Conexiones físicas abiertas. */
+        int getTotalConexiones();
+
+        /** @return Máximo de conexiones prestadas a la vez. */
+        int getMaximo();
+
+        /** @return Préstamos realizados. */
+        long getPrestamos();
+
+        /** @return Solicitudes que agotaron el tiempo de espera. */
+        long getEsperasAgotadas();
+
+        /** @return Posibles fugas reportadas. */
+        long getFugasDetectadas();
+
+        /** @return Conexiones cerradas por inválidas, inactivas o rotas. */
+        long getConexionesDescartadas();
+
+        /** @return Sentencias preparadas reutilizadas. */
+        long getAciertosSentencias();
+
+        /** @return Sentencias preparadas que no estaban en caché. */
+        long getFallosSentencias();
+
+        /** @return Réplicas de lectura configuradas. */
+        int getReplicas();
+
+        /** @return Lecturas atendidas por alguna réplica. */
+        long getLecturasReplica();
+
+        /** @return Lecturas enviadas al principal teniendo réplicas. */
+        long getLecturasPrincipal();
+    }
+
+    /**
+     * Caché de lecturas del DAO.
+     */
+    public interface CacheMXBean {
+
+        /** @return Lecturas resueltas desde la caché. */
+        long getAciertos();
+
+        /** @return Lecturas que fueron al almacenamiento. */
+        long getFallos();
+
+        /** @return Entradas desalojadas. */
+        long getDesalojos();
+
+        /** @return Proporción de aciertos, entre 0 y 1. */
+        double getTasaAciertos();
+
+        /** @return Apodos en caché. */
+        int getEntidadesEnCache();
+
+        /** @return Consultas en caché. */
+        int getConsultasEnCache();
+
+        /**
+         * Descarta todas las entradas; las lecturas siguientes irán al
+         * almacenamiento.
+         */
+        void limpiar();
+    }
+
+    /**
+     * Bus de eventos de cambios en las mascotas.
+     */
+    public interface EventosMXBean {
+
+        /** @return Eventos publicados. */
+        long getPublicados();
+    }
+
+    /**
+     * Avance de las importaciones y exportaciones.
+     */
+    public interface TransferenciasMXBean {
+
+        /** @return Mascotas importadas. */
+        long getFilasImportadas();
+
+        /** @return Bytes de los archivos importados. */
+        long getBytesLeidos();
+
+        /** @return Filas por segundo de la última importación. */
+        double getFilasPorSegundoImportacion();
+
+        /** @return Importaciones en curso. */
+        int getImportacionesEnCurso();
+
+        /** @return Importaciones terminadas con error. */
+        long getImportacionesFallidas();
+
+        /** @return Mascotas exportadas. */
+        long getFilasExportadas();
+
+        /** @return Bytes de los archivos exportados. */
+        long getBytesEscritos();
+
+        /** @return Filas por segundo de la última exportación. */
+        double getFilasPorSegundoExportacion();
+
+        /** @return Exportaciones en curso. */
+        int getExportacionesEnCurso();
+
+        /** @return Exportaciones terminadas con error. */
+        long getExportacionesFallidas();
+    }
+
+    /**
+     * Publica las latencias de las operaciones.
+     *
+     * @param metricas Registro de latencias
+     * @return Nombre registrado, o {@code null} si no se pudo registrar
+     */
+    public static ObjectName registrarOperaciones(MetricasOperaciones metricas) {
+        return registrar("Operaciones", OperacionesMXBean.class, new OperacionesMXBean() {
+            @Override
+            public Map<String, ResumenLatencia> getResumenes() {
+                return metricas.capturar();
+            }
+
+            @Override
+            public String volcarEstadisticas() {
+                StringBuilder texto = new StringBuilder();
+                metricas.capturar().forEach((operacion, resumen) ->
+                        texto.append(operacion).append(' ').append(resumen).append('\n'));
+                LOG.info(() -> "Estadísticas de operaciones:\n" + texto);
+                return texto.toString();
+            }
+
+            @Override
+            public void reiniciar() {
+                metricas.capturarYReiniciar();
+            }
+        });
+    }
+
+    /**
+     * Publica las estadísticas del pool de conexiones y de las réplicas.
+     *
+     * @param conexion Conexión a la base de datos
+     * @return Nombre registrado, o {@code null} si no se pudo registrar
+     */
+    public static ObjectName registrarConexiones(ConexionBD conexion) {
+        PoolConexiones pool = conexion.getPool();
+        return registrar("Conexiones", ConexionesMXBean.class, new ConexionesMXBean() {
+            @Override
+            public int getConexionesActivas() {
+                return pool.getConexionesActivas();
+            }
+
+            @Override
+            public int getConexionesInactivas() {
+                return pool.getConexionesInactivas();
+            }
+
+            @Override
+            public int getTotalConexiones() {
+                return pool.getTotalConexiones();
+            }
+
+            @Override
+            public int getMaximo() {
+                return pool.getMaximo();
+            }
+
+            @Override
+            public long getPrestamos() {
+                return pool.getPrestamos();
+            }
+
+            @Override
+            public long getEsperasAgotadas() {
+                return pool.getEsperasAgotadas();
+            }
+
+            @Override
+            public long getFugasDetectadas() {
+                return pool.getFugasDetectadas();
+            }
+
+            @Override
+            public long getConexionesDescartadas() {
+                return pool.getConexionesDescartadas();
+            }
+
+            @Override
+            public long getAciertosSentencias() {
+                return pool.getAciertosSentencias();
+            }
+
+            @Override
+            public long getFallosSentencias() {
+                return pool.getFallosSentencias();
+            }
+
+            @Override
+            public int getReplicas() {
+                return conexion.getReplicas();
+            }
+
+            @Override
+            public long getLecturasReplica() {
+                return conexion.getLecturasReplica();
+            }
+
+            @Override
+            public long getLecturasPrincipal() {
+                return conexion.getLecturasPrincipal();
+            }
+        });
+    }
+
+    /**
+     * Publica las estadísticas de la caché de lecturas.
+     *
+     * @param cache DAO con caché
+     * @return Nombre registrado, o {@code null} si no se pudo registrar
+     */
+    public static ObjectName registrarCache(CachingMascotaDAO cache) {
+        return registrar("Cache", CacheMXBean.class, new CacheMXBean() {
+            @Override
+            public long getAciertos() {
+                return cache.getAciertos();
+            }
+
+            @Override
+            public long getFallos() {
+                return cache.getFallos();
+            }
+
+            @Override
+            public long getDesalojos() {
+                return cache.getDesalojos();
+            }
+
+            @Override
+            public double getTasaAciertos() {
+                return cache.getTasaAciertos();
+            }
+
+            @Override
+            public int getEntidadesEnCache() {
+                return cache.getEntidadesEnCache();
+            }
+
+            @Override
+            public int getConsultasEnCache() {
+                return cache.getConsultasEnCache();
+            }
+
+            @Override
+            public void limpiar() {
+                cache.invalidarTodo();
+            }
+        });
+    }
+
+    /**
+     * Publica los contadores del bus de eventos.
+     *
+     * @param bus Bus de eventos
+     * @return Nombre registrado, o {@code null} si no se pudo registrar
+     */
+    public static ObjectName registrarEventos(BusEventosMascota bus) {
+        return registrar("Eventos", EventosMXBean.class, bus::getPublicados);
+    }
+
+    /**
+     * Publica el avance de las importaciones y exportaciones.
+     *
+     * @param progreso Contadores de transferencias
+     * @return Nombre registrado, o {@code null} si no se pudo registrar
+     */
+    public static ObjectName registrarTransferencias(ProgresoTransferencias progreso) {
+        ProgresoTransferencias.Tipo importacion = ProgresoTransferencias.Tipo.IMPORTACION;
+        ProgresoTransferencias.Tipo exportacion = ProgresoTransferencias.Tipo.EXPORTACION;
+        return registrar("Transferencias", TransferenciasMXBean.class, new TransferenciasMXBean() {
+            @Override
+            public long getFilasImportadas() {
+                return progreso.getFilas(importacion);
+            }
+
+            @Override
+            public long getBytesLeidos() {
+                return progreso.getBytes(importacion);
+            }
+
+            @Override
+            public double getFilasPorSegundoImportacion() {
+                return progreso.getFilasPorSegundo(importacion);
+            }
+
+            @Override
+            public int getImportacionesEnCurso() {
+                return progreso.getEnCurso(importacion);
+            }
+
+            @Override
+            public long getImportacionesFallidas() {
+                return progreso.getFallidas(importacion);
+            }
+
+            @Override
+            public long getFilasExportadas() {
+                return progreso.getFilas(exportacion);
+            }
+
+            @Override
+            public long getBytesEscritos() {
+                return progreso.getBytes(exportacion);
+            }
+
+            @Override
+            public double getFilasPorSegundoExportacion() {
+                return progreso.getFilasPorSegundo(exportacion);
+            }
+
+            @Override
+            public int getExportacionesEnCurso() {
+                return progreso.getEnCurso(exportacion);
+            }
+
+            @Override
+            public long getExportacionesFallidas() {
+                return progreso.getFallidas(exportacion);
+            }
+        });
+    }
+
+    /**
+     * Nombre con el que se registra un tipo de MXBean.
+     *
+     * @param tipo Tipo del componente, por ejemplo {@code Cache}
+     * @return Nombre JMX
+     * @throws IllegalArgumentException si el tipo no forma un nombre válido
+     */
+    public static ObjectName nombre(String tipo) {
+        try {
+            return new ObjectName(DOMINIO + ":type=" + tipo);
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Tipo de MXBean inválido: " + tipo, e);
+        }
+    }
+
+    /**
+     * Registra un MXBean, reemplazando el que tuviera el mismo nombre.
+     */
+    private static <T> ObjectName registrar(String tipo, Class<T> interfaz, T implementacion) {
+        ObjectName nombre = nombre(tipo);
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            synchronized (MonitoreoJMX.class) {
+                if (servidor.isRegistered(nombre)) {
+                    servidor.unregisterMBean(nombre);
+                }
+                servidor.registerMBean(new StandardMBean(implementacion, interfaz, true), nombre);
+            }
+            return nombre;
+        } catch (JMException e) {
+            LOG.log(Level.WARNING, "No se pudo registrar el MXBean " + nombre, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package udistrital.avanzada.mascotasexoticas.control;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de avance de las importaciones y exportaciones de mascotas.
+ * <p>
+ * Cada transferencia se abre con {@link #iniciar(Tipo)}, informa las filas y
+ * los bytes a medida que avanza y se cierra al terminar. Los totales se
+ * acumulan por tipo desde la creación; la velocidad en filas por segundo es la
+ * de la última transferencia iniciada de cada tipo, esté en curso o no.
+ * </p>
+ *
+ * @author Sofia
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class ProgresoTransferencias {
+
+    /**
+     * Sentido de una transferencia.
+     */
+    public enum Tipo {
+        /** Lectura de mascotas desde un archivo hacia el almacenamiento. */
+        IMPORTACION,
+        /** Escritura de las mascotas almacenadas hacia un archivo. */
+        EXPORTACION
+    }
+
+    private final Map<Tipo, Contadores> contadores = new EnumMap<>(Tipo.class);
+
+    /**
+     * Crea los contadores en cero.
+     */
+    public ProgresoTransferencias() {
+        for (Tipo tipo : Tipo.values()) {
+            contadores.put(tipo, new Contadores());
+        }
+    }
+
+    /**
+     * Abre una transferencia.
+     *
+     * @param tipo Sentido de la transferencia
+     * @return Transferencia en curso; debe cerrarse al terminar
+     */
+    public Transferencia iniciar(Tipo tipo) {
+        Contadores deTipo = contadores.get(tipo);
+        Transferencia transferencia = new Transferencia(deTipo);
+        deTipo.enCurso.incrementAndGet();
+        deTipo.ultima = transferencia;
+        return transferencia;
+    }
+
+    /**
+     * @param tipo Sentido de las transferencias
+     * @return Filas procesadas desde la creación.
+     */
+    public long getFilas(Tipo tipo) {
+        return contadores.get(tipo).filas.get();
+    }
+
+    /**
+     * @param tipo Sentido de las transferencias
+     * @return Bytes leídos o escritos desde la creación.
+     */
+    public long getBytes(Tipo tipo) {
+        return contadores.get(tipo).bytes.get();
+    }
+
+    /**
+     * @param tipo Sentido de las transferencias
+     * @return Transferencias abiertas en este momento.
+     */
+    public int getEnCurso(Tipo tipo) {
+        return contadores.get(tipo).enCurso.get();
+    }
+
+    /**
+     * @param tipo Sentido de las transferencias
+     * @return Transferencias terminadas sin error.
+     */
+    public long getCompletadas(Tipo tipo) {
+        return contadores.get(tipo).completadas.get();
+    }
+
+    /**
+     * @param tipo Sentido de las transferencias
+     * @return Transferencias terminadas con error.
+     */
+    public long getFallidas(Tipo tipo) {
+        return contadores.get(tipo).fallidas.get();
+    }
+
+    /**
+     * @param tipo Sentido de las transferencias
+     * @return Filas por segundo de la última transferencia iniciada, o 0 si
+     * no hubo ninguna.
+     */
+    public double getFilasPorSegundo(Tipo tipo) {
+        Transferencia ultima = contadores.get(tipo).ultima;
+        return ultima == null ? 0 : ultima.getFilasPorSegundo();
+    }
+
+    /**
+     * Totales de un tipo de transferencia.
+     */
+    private static final class Contadores {
+
+        private final AtomicLong filas = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicInteger enCurso = new AtomicInteger();
+        private final AtomicLong completadas = new AtomicLong();
+        private final AtomicLong fallidas = new AtomicLong();
+        private volatile Transferencia ultima;
+    }
+
+    /**
+     * Transferencia en curso. Cerrarla más de una vez no tiene efecto.
+     */
+    public static final class Transferencia implements AutoCloseable {
+
+        private final Contadores contadores;
+        private final long inicioNs = System.nanoTime();
+        private final AtomicLong filas = new AtomicLong();
+        private final AtomicBoolean cerrada = new AtomicBoolean();
+        private volatile boolean fallida;
+        /** Duración al cerrar, o -1 mientras sigue en curso. */
+        private volatile long duracionNs = -1;
+
+        private Transferencia(Contadores contadores) {
+            this.contadores = contadores;
+        }
+
+        /**
+         * Informa filas procesadas.
+         *
+         * @param cantidad Filas leídas o escritas
+         */
+        public void registrarFilas(long cantidad) {
+            filas.addAndGet(cantidad);
+            contadores.filas.addAndGet(cantidad);
+        }
+
+        /**
+         * Informa bytes transferidos.
+         *
+         * @param cantidad Bytes leídos o escritos
+         */
+        public void registrarBytes(long cantidad) {
+            contadores.bytes.addAndGet(cantidad);
+        }
+
+        /**
+         * Marca la transferencia como fallida; se contará así al cerrarla.
+         */
+        public void fallar() {
+            fallida = true;
+        }
+
+        /**
+         * @return Filas por segundo desde el inicio hasta el cierre, o hasta
+         * ahora si sigue en curso.
+         */
+        public double getFilasPorSegundo() {
+            long duracion = duracionNs;
+            if (duracion < 0) {
+                duracion = System.nanoTime() - inicioNs;
+            }
+            return duracion <= 0 ? 0 : filas.get() * 1e9 / duracion;
+        }
+
+        @Override
+        public void close() {
+            if (cerrada.compareAndSet(false, true)) {
+                duracionNs = System.nanoTime() - inicioNs;
+                contadores.enCurso.decrementAndGet();
+                (fallida ? contadores.fallidas : contadores.completadas).incrementAndGet();
+            }
+        }
+    }
+}
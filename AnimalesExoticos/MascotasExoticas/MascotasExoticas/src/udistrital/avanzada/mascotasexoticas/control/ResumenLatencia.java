@@ -0,0 +1,129 @@
+package udistrital.avanzada.mascotasexoticas.control;
+
+import java.util.Locale;
+
+/**
+ * Resumen inmutable de las latencias de una operación durante un intervalo,
+ * capturado de un {@link HistogramaLatencia}.
+ *
+ * @author Juan
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public final class ResumenLatencia {
+
+    private final long[] conteos;
+    private final long conteo;
+    private final long sumaNs;
+    private final long fallos;
+    private final long maximoNs;
+    private final long duracionNs;
+
+    ResumenLatencia(long[] conteos, long sumaNs, long fallos, long maximoNs, long duracionNs) {
+        this.conteos = conteos;
+        long total = 0;
+        for (long c : conteos) {
+            total += c;
+        }
+        this.conteo = total;
+        this.sumaNs = sumaNs;
+        this.fallos = fallos;
+        this.maximoNs = maximoNs;
+        this.duracionNs = duracionNs;
+    }
+
+    /**
+     * @return Llamadas registradas.
+     */
+    public long getConteo() {
+        return conteo;
+    }
+
+    /**
+     * @return Llamadas que fallaron.
+     */
+    public long getFallos() {
+        return fallos;
+    }
+
+    /**
+     * @return Llamadas por segundo durante el intervalo.
+     */
+    public double getPorSegundo() {
+        return duracionNs <= 0 ? 0 : conteo * 1e9 / duracionNs;
+    }
+
+    /**
+     * @return Duración del intervalo resumido, en nanosegundos.
+     */
+    public long getDuracionNs() {
+        return duracionNs;
+    }
+
+    /**
+     * @return Latencia media en nanosegundos, o 0 si no hubo llamadas.
+     */
+    public long getMediaNs() {
+        return conteo == 0 ? 0 : sumaNs / conteo;
+    }
+
+    /**
+     * @return Mayor latencia registrada, en nanosegundos.
+     */
+    public long getMaximoNs() {
+        return maximoNs;
+    }
+
+    /**
+     * Latencia por debajo de la cual quedó la fracción indicada de llamadas.
+     *
+     * @param percentil Percentil entre 0 y 100
+     * @return Latencia en nanosegundos, con un error relativo de hasta el 3 %;
+     * 0 si no hubo llamadas
+     * @throws IllegalArgumentException si el percentil está fuera de rango
+     */
+    public long getPercentilNs(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 100.");
+        }
+        if (conteo == 0) {
+            return 0;
+        }
+        long posicion = Math.max(1, (long) Math.ceil(conteo * percentil / 100));
+        long acumulado = 0;
+        for (int i = 0; i < conteos.length; i++) {
+            acumulado += conteos[i];
+            if (acumulado >= posicion) {
+                return Math.min(HistogramaLatencia.limiteSuperior(i), maximoNs);
+            }
+        }
+        return maximoNs;
+    }
+
+    /**
+     * @return Mediana de la latencia, en nanosegundos.
+     */
+    public long getP50Ns() {
+        return getPercentilNs(50);
+    }
+
+    /**
+     * @return Percentil 99 de la latencia, en nanosegundos.
+     */
+    public long getP99Ns() {
+        return getPercentilNs(99);
+    }
+
+    /**
+     * @return Percentil 99,9 de la latencia, en nanosegundos.
+     */
+    public long getP999Ns() {
+        return getPercentilNs(99.9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "n=%d fallos=%d %.1f/s p50=%dns p99=%dns p999=%dns max=%dns",
+                conteo, fallos, getPorSegundo(), getP50Ns(), getP99Ns(), getP999Ns(), maximoNs);
+    }
+}
@@ -77,6 +77,7 @@ public class AnimalVO {
      */
     public void setNombre(String nombre) {
         this.nombre = nombre;
+        invalidarClaves();
     }
 
     /**
@@ -93,6 +94,7 @@ public class AnimalVO {
      */
     public void setClasificacion(String clasificacion) {
         this.clasificacion = clasificacion;
+        invalidarClaves();
     }
 
     /**
@@ -109,6 +111,7 @@ public class AnimalVO {
      */
     public void setFamilia(String familia) {
         this.familia = familia;
+        invalidarClaves();
     }
 
     /**
@@ -125,6 +128,7 @@ public class AnimalVO {
      */
     public void setGenero(String genero) {
         this.genero = genero;
+        invalidarClaves();
     }
 
     /**
@@ -141,6 +145,7 @@ public class AnimalVO {
      */
     public void setEspecie(String especie) {
         this.especie = especie;
+        invalidarClaves();
     }
 
     /**
@@ -157,5 +162,13 @@ public class AnimalVO {
      */
     public void setAlimento(String alimento) {
         this.alimento = alimento;
+        invalidarClaves();
+    }
+
+    /**
+     * Se invoca cada vez que cambia un atributo, para que las subclases que
+     * guardan datos derivados de ellos los descarten.
+     */
+    protected void invalidarClaves() {
     }
 }
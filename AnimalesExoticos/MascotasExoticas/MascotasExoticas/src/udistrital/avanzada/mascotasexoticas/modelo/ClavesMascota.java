@@ -0,0 +1,140 @@
+package udistrital.avanzada.mascotasexoticas.modelo;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Claves de comparación de todos los campos de una mascota, calculadas con
+ * {@link NormalizadorTexto}.
+ * <p>
+ * Se calculan una sola vez por mascota (ver {@link MascotaVO#getClaves()})
+ * para que los filtros, índices y agrupaciones en memoria no vuelvan a
+ * normalizar el mismo valor en cada comparación. Son inmutables.
+ * </p>
+ *
+ * <p>
+ * Incluyen además una huella de 64 bits de los datos biológicos (todos los
+ * campos salvo el apodo): dos mascotas con las mismas claves en esos campos
+ * tienen la misma huella, de modo que encontrar duplicados exactos se reduce
+ * a buscar un número en un índice.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public final class ClavesMascota {
+
+    private final String apodo;
+    private final String nombre;
+    private final String clasificacion;
+    private final String familia;
+    private final String genero;
+    private final String especie;
+    private final String alimento;
+    private final long huella;
+
+    /**
+     * Calcula las claves de los valores actuales de una mascota.
+     *
+     * @param mascota Mascota de la que se calculan las claves.
+     */
+    ClavesMascota(MascotaVO mascota) {
+        this.apodo = NormalizadorTexto.clave(mascota.getApodo());
+        this.nombre = NormalizadorTexto.clave(mascota.getNombre());
+        this.clasificacion = NormalizadorTexto.clave(mascota.getClasificacion());
+        this.familia = NormalizadorTexto.clave(mascota.getFamilia());
+        this.genero = NormalizadorTexto.clave(mascota.getGenero());
+        this.especie = NormalizadorTexto.clave(mascota.getEspecie());
+        this.alimento = NormalizadorTexto.clave(mascota.getAlimento());
+        this.huella = huella(nombre, clasificacion, familia, genero, especie, alimento);
+    }
+
+    /**
+     * Calcula la huella de unos datos biológicos ya normalizados: los
+     * primeros 8 bytes del SHA-256 de las claves separadas por U+001F. El
+     * valor no depende de la plataforma ni de la ejecución, por lo que puede
+     * guardarse en la base de datos.
+     *
+     * @param claves Claves de los campos, en el orden del constructor.
+     * @return Huella de 64 bits.
+     */
+    static long huella(String... claves) {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM debe incluir SHA-256
+            throw new IllegalStateException(e);
+        }
+        for (int i = 0; i < claves.length; i++) {
+            if (i > 0) {
+                sha.update((byte) 0x1F);
+            }
+            sha.update(claves[i].getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] resumen = sha.digest();
+        long huella = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            huella = (huella << 8) | (resumen[i] & 0xFF);
+        }
+        return huella;
+    }
+
+    /**
+     * @return clave del apodo.
+     */
+    public String getApodo() {
+        return apodo;
+    }
+
+    /**
+     * @return clave del nombre común.
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * @return clave de la clasificación.
+     */
+    public String getClasificacion() {
+        return clasificacion;
+    }
+
+    /**
+     * @return clave de la familia.
+     */
+    public String getFamilia() {
+        return familia;
+    }
+
+    /**
+     * @return clave del género.
+     */
+    public String getGenero() {
+        return genero;
+    }
+
+    /**
+     * @return clave de la especie.
+     */
+    public String getEspecie() {
+        return especie;
+    }
+
+    /**
+     * @return clave del alimento.
+     */
+    public String getAlimento() {
+        return alimento;
+    }
+
+    /**
+     * @return huella de los datos biológicos (todos los campos salvo el apodo).
+     */
+    public long getHuella() {
+        return huella;
+    }
+}
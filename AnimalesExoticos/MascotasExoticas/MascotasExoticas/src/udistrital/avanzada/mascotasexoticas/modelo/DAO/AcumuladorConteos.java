@@ -0,0 +1,103 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import udistrital.avanzada.mascotasexoticas.modelo.NormalizadorTexto;
+
+/**
+ * Acumula conteos agrupados por valor para las implementaciones de
+ * {@link ICRUDMascota} que no delegan la agregación a una base de datos.
+ * <p>
+ * Los grupos se comparan por su clave de {@link NormalizadorTexto}, igual que el
+ * {@code GROUP BY} sobre las columnas de claves de la tabla; cada grupo se
+ * muestra con el primer valor original encontrado.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+final class AcumuladorConteos {
+
+    /** Grupos por clave normalizada, ordenados por esa clave. */
+    private final TreeMap<String, Grupo> grupos = new TreeMap<>();
+
+    /**
+     * Suma una cantidad al grupo del valor indicado.
+     *
+     * @param valor Valor del campo de agrupación
+     * @param cantidad Cantidad a sumar
+     */
+    void sumar(String valor, long cantidad) {
+        sumar(NormalizadorTexto.clave(valor), valor, cantidad);
+    }
+
+    /**
+     * Suma una cantidad al grupo de una clave ya calculada.
+     *
+     * @param clave Clave de comparación del valor
+     * @param valor Valor del campo de agrupación
+     * @param cantidad Cantidad a sumar
+     */
+    void sumar(String clave, String valor, long cantidad) {
+        grupo(clave, valor).cantidad += cantidad;
+    }
+
+    /**
+     * Registra un valor del campo contado dentro del grupo; cada valor
+     * distinto cuenta una sola vez.
+     *
+     * @param valor Valor del campo de agrupación
+     * @param contado Valor del campo cuyos distintos se cuentan
+     */
+    void sumarDistinto(String valor, String contado) {
+        sumarDistinto(NormalizadorTexto.clave(valor), valor, NormalizadorTexto.clave(contado));
+    }
+
+    /**
+     * Registra la clave del campo contado dentro del grupo de una clave ya
+     * calculada; cada clave distinta cuenta una sola vez.
+     *
+     * @param clave Clave de comparación del valor de agrupación
+     * @param valor Valor del campo de agrupación
+     * @param claveContado Clave del campo cuyos distintos se cuentan
+     */
+    void sumarDistinto(String clave, String valor, String claveContado) {
+        Grupo grupo = grupo(clave, valor);
+        if (grupo.distintos == null) {
+            grupo.distintos = new HashSet<>();
+        }
+        if (grupo.distintos.add(claveContado)) {
+            grupo.cantidad++;
+        }
+    }
+
+    /**
+     * @return Conteo de cada grupo, ordenado por valor.
+     */
+    Map<String, Long> resultado() {
+        Map<String, Long> resultado = new LinkedHashMap<>();
+        for (Grupo grupo : grupos.values()) {
+            resultado.put(grupo.etiqueta, grupo.cantidad);
+        }
+        return resultado;
+    }
+
+    private Grupo grupo(String clave, String valor) {
+        return grupos.computeIfAbsent(clave, c -> new Grupo(valor));
+    }
+
+    private static final class Grupo {
+
+        private final String etiqueta;
+        private long cantidad;
+        private Set<String> distintos;
+
+        private Grupo(String etiqueta) {
+            this.etiqueta = etiqueta;
+        }
+    }
+}
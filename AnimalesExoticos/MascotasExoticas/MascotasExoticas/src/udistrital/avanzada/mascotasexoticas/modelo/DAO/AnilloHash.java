@@ -0,0 +1,96 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Anillo de hash consistente que asigna cada apodo a una partición.
+ * <p>
+ * Cada partición ocupa varios puntos del anillo (nodos virtuales) y un apodo
+ * pertenece a la primera partición que aparece a partir del hash de su clave.
+ * Al agregar una partición solo cambian de dueño los apodos de los tramos que
+ * ella ocupa, en promedio {@code 1 / n} del total, y los nodos virtuales
+ * reparten esa carga entre todas las particiones existentes.
+ * </p>
+ *
+ * <p>
+ * El hash (FNV-1a de 64 bits con mezcla final) solo depende del texto, así que
+ * la asignación es la misma en cada ejecución. Es inmutable: agregar una
+ * partición crea un anillo nuevo.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+final class AnilloHash {
+
+    private final TreeMap<Long, String> puntos;
+    private final int nodosVirtuales;
+
+    /**
+     * Crea un anillo vacío.
+     *
+     * @param nodosVirtuales Puntos del anillo por partición
+     */
+    AnilloHash(int nodosVirtuales) {
+        this(new TreeMap<>(), nodosVirtuales);
+    }
+
+    private AnilloHash(TreeMap<Long, String> puntos, int nodosVirtuales) {
+        this.puntos = puntos;
+        this.nodosVirtuales = nodosVirtuales;
+    }
+
+    /**
+     * Crea un anillo con una partición más.
+     *
+     * @param particion Nombre de la partición
+     * @return Anillo nuevo; este no cambia
+     */
+    AnilloHash con(String particion) {
+        TreeMap<Long, String> nuevos = new TreeMap<>(puntos);
+        for (int i = 0; i < nodosVirtuales; i++) {
+            // En el caso improbable de una colisión se conserva el punto existente
+            nuevos.putIfAbsent(hash(particion + "#" + i), particion);
+        }
+        return new AnilloHash(nuevos, nodosVirtuales);
+    }
+
+    /**
+     * Partición dueña de una clave.
+     *
+     * @param clave Clave normalizada del apodo
+     * @return Nombre de la partición
+     * @throws IllegalStateException si el anillo está vacío
+     */
+    String particionDe(String clave) {
+        if (puntos.isEmpty()) {
+            throw new IllegalStateException("No hay particiones.");
+        }
+        Map.Entry<Long, String> punto = puntos.ceilingEntry(hash(clave));
+        return (punto != null ? punto : puntos.firstEntry()).getValue();
+    }
+
+    /**
+     * Hash de 64 bits de un texto.
+     *
+     * @param texto Texto a resumir
+     * @return Hash
+     */
+    static long hash(String texto) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : texto.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        // Mezcla final de MurmurHash3: FNV solo reparte mal textos parecidos
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
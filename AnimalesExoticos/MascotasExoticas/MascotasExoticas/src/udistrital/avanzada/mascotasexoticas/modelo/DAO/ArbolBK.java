@@ -0,0 +1,251 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import udistrital.avanzada.mascotasexoticas.modelo.NormalizadorTexto;
+
+/**
+ * Árbol BK (Burkhard-Keller) de apodos para búsquedas aproximadas por
+ * distancia de edición (Levenshtein).
+ * <p>
+ * Cada hijo de un nodo cuelga de la distancia que lo separa de él. Por la
+ * desigualdad triangular, al buscar a distancia {@code k} de un texto que está
+ * a distancia {@code d} de un nodo solo hay que bajar por los hijos en
+ * {@code [d - k, d + k]}, de modo que con distancias pequeñas se visita una
+ * fracción del árbol en lugar de todos los apodos.
+ * </p>
+ *
+ * <p>
+ * Los apodos se comparan normalizados con {@link NormalizadorTexto}. Como un árbol
+ * BK no admite borrados, los apodos eliminados quedan como nodos inactivos y
+ * el árbol se reconstruye cuando superan a los activos.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+final class ArbolBK {
+
+    /** Apodo original de cada clave activa. */
+    private final Map<String, String> activos = new HashMap<>();
+
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+
+    private Nodo raiz;
+
+    /** Nodos del árbol cuya clave ya no está activa. */
+    private int inactivos;
+
+    /**
+     * Agrega un apodo al árbol; si ya estaba, actualiza cómo se muestra.
+     *
+     * @param apodo Apodo a agregar
+     */
+    void agregar(String apodo) {
+        String clave = NormalizadorTexto.clave(apodo);
+        candado.writeLock().lock();
+        try {
+            if (activos.put(clave, apodo) == null && !insertar(clave)) {
+                inactivos--;
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un apodo del árbol, si estaba.
+     *
+     * @param apodo Apodo a quitar
+     */
+    void quitar(String apodo) {
+        candado.writeLock().lock();
+        try {
+            if (activos.remove(NormalizadorTexto.clave(apodo)) != null && ++inactivos > activos.size()) {
+                reconstruir();
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los apodos a una distancia de edición acotada.
+     *
+     * @param apodo Apodo buscado, posiblemente con errores
+     * @param distanciaMaxima Distancia de edición máxima
+     * @param limite Número máximo de resultados
+     * @return Apodos encontrados, del más al menos parecido
+     */
+    List<String> buscar(String apodo, int distanciaMaxima, int limite) {
+        validar(distanciaMaxima, limite);
+        String consulta = NormalizadorTexto.clave(apodo);
+        List<Similar> similares = new ArrayList<>();
+        candado.readLock().lock();
+        try {
+            if (raiz == null) {
+                return new ArrayList<>();
+            }
+            Deque<Nodo> pendientes = new ArrayDeque<>();
+            pendientes.push(raiz);
+            while (!pendientes.isEmpty()) {
+                Nodo nodo = pendientes.pop();
+                int distancia = distancia(consulta, nodo.clave);
+                if (distancia <= distanciaMaxima) {
+                    String original = activos.get(nodo.clave);
+                    if (original != null) {
+                        similares.add(new Similar(original, nodo.clave, distancia));
+                    }
+                }
+                if (nodo.hijos == null) {
+                    continue;
+                }
+                for (int d = Math.max(1, distancia - distanciaMaxima); d <= distancia + distanciaMaxima; d++) {
+                    Nodo hijo = nodo.hijos.get(d);
+                    if (hijo != null) {
+                        pendientes.push(hijo);
+                    }
+                }
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        return mejores(similares, limite);
+    }
+
+    /**
+     * Busca comparando el apodo con cada uno de los indicados, sin árbol.
+     *
+     * @param apodos Apodos entre los que se busca
+     * @param apodo Apodo buscado, posiblemente con errores
+     * @param distanciaMaxima Distancia de edición máxima
+     * @param limite Número máximo de resultados
+     * @return Apodos encontrados, del más al menos parecido
+     */
+    static List<String> buscarEn(Iterable<String> apodos, String apodo, int distanciaMaxima, int limite) {
+        validar(distanciaMaxima, limite);
+        String consulta = NormalizadorTexto.clave(apodo);
+        List<Similar> similares = new ArrayList<>();
+        for (String candidato : apodos) {
+            String clave = NormalizadorTexto.clave(candidato);
+            // La diferencia de longitudes es una cota inferior de la distancia
+            if (Math.abs(clave.length() - consulta.length()) <= distanciaMaxima) {
+                int distancia = distancia(consulta, clave);
+                if (distancia <= distanciaMaxima) {
+                    similares.add(new Similar(candidato, clave, distancia));
+                }
+            }
+        }
+        return mejores(similares, limite);
+    }
+
+    /**
+     * Inserta una clave en el árbol. Debe llamarse con el candado de
+     * escritura tomado.
+     *
+     * @return {@code false} si la clave ya tenía un nodo (inactivo)
+     */
+    private boolean insertar(String clave) {
+        if (raiz == null) {
+            raiz = new Nodo(clave);
+            return true;
+        }
+        Nodo nodo = raiz;
+        while (true) {
+            int distancia = distancia(clave, nodo.clave);
+            if (distancia == 0) {
+                return false;
+            }
+            if (nodo.hijos == null) {
+                nodo.hijos = new HashMap<>();
+            }
+            Nodo hijo = nodo.hijos.get(distancia);
+            if (hijo == null) {
+                nodo.hijos.put(distancia, new Nodo(clave));
+                return true;
+            }
+            nodo = hijo;
+        }
+    }
+
+    /**
+     * Vuelve a construir el árbol solo con las claves activas. Debe llamarse
+     * con el candado de escritura tomado.
+     */
+    private void reconstruir() {
+        raiz = null;
+        inactivos = 0;
+        for (String clave : activos.keySet()) {
+            insertar(clave);
+        }
+    }
+
+    /**
+     * Distancia de Levenshtein entre dos textos, con dos filas de la matriz.
+     */
+    private static int distancia(String a, String b) {
+        int[] anterior = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            actual[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int sustitucion = anterior[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                actual[j] = Math.min(sustitucion, Math.min(anterior[j], actual[j - 1]) + 1);
+            }
+            int[] fila = anterior;
+            anterior = actual;
+            actual = fila;
+        }
+        return anterior[b.length()];
+    }
+
+    private static List<String> mejores(List<Similar> similares, int limite) {
+        similares.sort(Comparator.comparingInt((Similar s) -> s.distancia).thenComparing(s -> s.clave));
+        List<String> apodos = new ArrayList<>(Math.min(limite, similares.size()));
+        for (Similar similar : similares.subList(0, Math.min(limite, similares.size()))) {
+            apodos.add(similar.apodo);
+        }
+        return apodos;
+    }
+
+    private static void validar(int distanciaMaxima, int limite) {
+        if (distanciaMaxima < 0 || limite <= 0) {
+            throw new IllegalArgumentException("La distancia no puede ser negativa y el límite debe ser positivo");
+        }
+    }
+
+    private static final class Nodo {
+
+        private final String clave;
+
+        /** Hijos por distancia a este nodo; {@code null} mientras no tenga. */
+        private Map<Integer, Nodo> hijos;
+
+        private Nodo(String clave) {
+            this.clave = clave;
+        }
+    }
+
+    private static final class Similar {
+
+        private final String apodo;
+        private final String clave;
+        private final int distancia;
+
+        private Similar(String apodo, String clave, int distancia) {
+            this.apodo = apodo;
+            this.clave = clave;
+            this.distancia = distancia;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+
+/**
+ * Bus en proceso que reparte los cambios de las mascotas
+ * ({@link EventoMascota}) a los componentes interesados: la ventana, cachés,
+ * índices o exportadores, que así se actualizan de forma incremental en lugar
+ * de volver a consultar todo.
+ * <p>
+ * Los eventos se guardan en un anillo de tamaño fijo sin candados: cada
+ * publicador reserva una secuencia con un incremento atómico, escribe el
+ * evento en su casilla y lo marca como publicado escribiendo la secuencia en
+ * la casilla. Cada suscriptor tiene su propio hilo, que lee en orden todos los
+ * eventos publicados y disponibles y los entrega en un solo lote; sin eventos
+ * pendientes el hilo queda detenido hasta que un publicador lo despierta. Un
+ * publicador solo espera si el suscriptor más lento tiene pendiente la vuelta
+ * completa del anillo.
+ * </p>
+ *
+ * <p>
+ * Un suscriptor recibe los eventos publicados después de suscribirse. Si
+ * lanza una excepción, se registra y el lote se da por procesado.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class BusEventosMascota implements AutoCloseable {
+
+    /** Eventos que caben en el anillo cuando no se indica otra capacidad. */
+    public static final int CAPACIDAD_POR_DEFECTO = 1024;
+
+    /** Eventos entregados como máximo en cada lote. */
+    public static final int LOTE_MAXIMO = 256;
+
+    /** Espera de un publicador sin espacio en el anillo. */
+    private static final long ESPERA_NS = 1_000_000;
+
+    private static final Logger LOG = Logger.getLogger(BusEventosMascota.class.getName());
+
+    private final AtomicReferenceArray<EventoMascota> anillo;
+
+    /** Secuencia publicada en cada casilla; -1 si aún no se ha usado. */
+    private final AtomicLongArray publicadas;
+
+    private final int mascara;
+
+    /** Siguiente secuencia a reservar. */
+    private final AtomicLong siguiente = new AtomicLong();
+
+    private final List<Suscripcion> suscripciones = new CopyOnWriteArrayList<>();
+
+    /**
+     * Recibe los eventos del bus.
+     */
+    @FunctionalInterface
+    public interface Suscriptor {
+
+        /**
+         * Procesa un lote de eventos, en orden de secuencia. Se llama siempre
+         * desde el mismo hilo del suscriptor.
+         *
+         * @param eventos Eventos publicados desde el lote anterior; nunca vacío
+         */
+        void recibir(List<EventoMascota> eventos);
+    }
+
+    /**
+     * Crea un bus con la capacidad por defecto.
+     */
+    public BusEventosMascota() {
+        this(CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * Crea un bus.
+     *
+     * @param capacidad Eventos que caben en el anillo; se redondea a la
+     * siguiente potencia de dos
+     * @throws IllegalArgumentException si la capacidad no es positiva
+     */
+    public BusEventosMascota(int capacidad) {
+        if (capacidad < 1 || capacidad > 1 << 30) {
+            throw new IllegalArgumentException("La capacidad del bus debe estar entre 1 y 2^30.");
+        }
+        int tamano = Integer.highestOneBit(capacidad);
+        if (tamano < capacidad) {
+            tamano <<= 1;
+        }
+        anillo = new AtomicReferenceArray<>(tamano);
+        publicadas = new AtomicLongArray(tamano);
+        for (int i = 0; i < tamano; i++) {
+            publicadas.set(i, -1);
+        }
+        mascara = tamano - 1;
+    }
+
+    /**
+     * Publica un cambio sobre una mascota. Los datos se copian, así que el
+     * llamador puede seguir usando el objeto recibido.
+     *
+     * @param tipo Tipo de cambio, que no puede ser por criterio
+     * @param apodo Apodo de la mascota afectada
+     * @param datos Mascota insertada o cambios recibidos, o {@code null} en
+     * una eliminación
+     * @return Evento publicado
+     * @throws IllegalArgumentException si el tipo es de un cambio por criterio
+     */
+    public EventoMascota publicar(EventoMascota.Tipo tipo, String apodo, MascotaVO datos) {
+        if (tipo.isPorCriterio()) {
+            throw new IllegalArgumentException("Use publicarPorCriterio para " + tipo);
+        }
+        long secuencia = siguiente.getAndIncrement();
+        return colocar(new EventoMascota(secuencia, tipo, apodo,
+                datos == null ? null : new MascotaVO(datos), null, 1));
+    }
+
+    /**
+     * Publica un cambio aplicado a las mascotas que cumplen unos criterios.
+     *
+     * @param tipo Tipo de cambio, que debe ser por criterio
+     * @param criterios Criterios de la escritura
+     * @param cambios Cambios recibidos, o {@code null} en una eliminación
+     * @param afectadas Mascotas afectadas
+     * @return Evento publicado
+     * @throws IllegalArgumentException si el tipo no es de un cambio por criterio
+     */
+    public EventoMascota publicarPorCriterio(EventoMascota.Tipo tipo, CriteriosMascota criterios,
+                                             MascotaVO cambios, int afectadas) {
+        if (!tipo.isPorCriterio()) {
+            throw new IllegalArgumentException("Use publicar para " + tipo);
+        }
+        long secuencia = siguiente.getAndIncrement();
+        return colocar(new EventoMascota(secuencia, tipo, null,
+                cambios == null ? null : new MascotaVO(cambios), criterios, afectadas));
+    }
+
+    /**
+     * Coloca un evento en su casilla del anillo y despierta a los suscriptores.
+     *
+     * @param evento Evento con la secuencia ya asignada
+     * @return El mismo evento
+     */
+    private EventoMascota colocar(EventoMascota evento) {
+        long secuencia = evento.getSecuencia();
+        // La casilla queda libre cuando todos los suscriptores leyeron la vuelta anterior
+        while (secuencia - anillo.length() >= minimoLeido()) {
+            LockSupport.parkNanos(this, ESPERA_NS);
+        }
+        int casilla = (int) (secuencia & mascara);
+        anillo.set(casilla, evento);
+        publicadas.set(casilla, secuencia);
+        for (Suscripcion suscripcion : suscripciones) {
+            LockSupport.unpark(suscripcion.hilo);
+        }
+        return evento;
+    }
+
+    /**
+     * Registra un suscriptor y arranca su hilo de entrega.
+     *
+     * @param nombre Nombre del suscriptor, usado en el nombre del hilo
+     * @param suscriptor Receptor de los eventos
+     * @return Suscripción, que se cierra para dejar de recibir eventos
+     */
+    public Suscripcion suscribir(String nombre, Suscriptor suscriptor) {
+        Suscripcion suscripcion = new Suscripcion(nombre, suscriptor, siguiente.get());
+        suscripciones.add(suscripcion);
+        suscripcion.hilo.start();
+        return suscripcion;
+    }
+
+    /**
+     * @return Número de eventos publicados desde que se creó el bus.
+     */
+    public long getPublicados() {
+        return siguiente.get();
+    }
+
+    /**
+     * Cierra todas las suscripciones.
+     */
+    @Override
+    public void close() {
+        for (Suscripcion suscripcion : suscripciones) {
+            suscripcion.close();
+        }
+    }
+
+    /**
+     * Menor secuencia que algún suscriptor aún no ha procesado, o
+     * {@link Long#MAX_VALUE} si no hay suscriptores.
+     */
+    private long minimoLeido() {
+        long minimo = Long.MAX_VALUE;
+        for (Suscripcion suscripcion : suscripciones) {
+            minimo = Math.min(minimo, suscripcion.procesadas.get());
+        }
+        return minimo;
+    }
+
+    /**
+     * Suscripción activa a un bus, con su hilo de entrega.
+     */
+    public final class Suscripcion implements AutoCloseable {
+
+        private final Suscriptor suscriptor;
+        private final Thread hilo;
+
+        /** Siguiente secuencia que este suscriptor debe procesar. */
+        private final AtomicLong procesadas;
+
+        private volatile boolean activa = true;
+
+        private Suscripcion(String nombre, Suscriptor suscriptor, long inicio) {
+            this.suscriptor = suscriptor;
+            this.procesadas = new AtomicLong(inicio);
+            this.hilo = new Thread(this::entregar, "eventos-mascota-" + nombre);
+            this.hilo.setDaemon(true);
+        }
+
+        /**
+         * @return Número de eventos procesados por este suscriptor.
+         */
+        public long getProcesados() {
+            return procesadas.get();
+        }
+
+        /**
+         * Deja de entregar eventos y libera las casillas que retenía. Los
+         * eventos aún no entregados se descartan.
+         */
+        @Override
+        public void close() {
+            activa = false;
+            suscripciones.remove(this);
+            LockSupport.unpark(hilo);
+        }
+
+        private void entregar() {
+            long proxima = procesadas.get();
+            while (activa) {
+                List<EventoMascota> lote = new ArrayList<>();
+                while (lote.size() < LOTE_MAXIMO) {
+                    int casilla = (int) (proxima & mascara);
+                    if (publicadas.get(casilla) != proxima) {
+                        break;
+                    }
+                    lote.add(anillo.get(casilla));
+                    proxima++;
+                }
+                if (lote.isEmpty()) {
+                    // Una interrupción pendiente haría que park regresara de inmediato
+                    Thread.interrupted();
+                    // El publicador despierta al hilo después de marcar la casilla, y
+                    // el permiso de unpark no se pierde si llega antes de park
+                    LockSupport.park(this);
+                    continue;
+                }
+                try {
+                    suscriptor.recibir(Collections.unmodifiableList(lote));
+                } catch (RuntimeException e) {
+                    LOG.log(Level.WARNING, "Error en el suscriptor " + hilo.getName(), e);
+                }
+                procesadas.set(proxima);
+            }
+        }
+    }
+}
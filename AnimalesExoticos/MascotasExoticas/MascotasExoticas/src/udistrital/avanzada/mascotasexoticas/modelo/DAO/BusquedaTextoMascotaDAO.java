@@ -0,0 +1,344 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.ResumenMascotaVO;
+
+/**
+ * Decorador de {@link ICRUDMascota} que atiende las búsquedas de texto con
+ * índices en memoria, en lugar de recorrer la fuente de datos en cada
+ * búsqueda: {@link #buscarTexto(String, int)} con un {@link IndiceTexto} y
+ * {@link #consultarApodosSimilares(String, int, int)} con un {@link ArbolBK}.
+ * <p>
+ * Los índices se construyen al crear el decorador recorriendo todas las
+ * mascotas. Cada escritura realizada a través de él actualiza los índices
+ * con los datos que ya tiene a mano (la mascota recibida y el resultado del
+ * delegado), sin volver a leerla; solo las escrituras por criterio hacen una
+ * consulta, una por operación, para conocer el estado final de las mascotas
+ * afectadas. El resto de operaciones se delegan sin cambios.
+ * </p>
+ *
+ * <p>
+ * Los índices no se bloquean mientras se accede al delegado, así que las
+ * escrituras no se serializan entre sí. Si dos escrituras sobre el mismo
+ * apodo se cruzan, el índice puede quedar con la que terminó de indexar
+ * última aunque el delegado aplicara la otra después.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class BusquedaTextoMascotaDAO implements ICRUDMascota {
+
+    private final ICRUDMascota delegado;
+    private final IndiceTexto indice = new IndiceTexto();
+    private final ArbolBK apodos = new ArbolBK();
+
+    /**
+     * Crea el decorador e indexa las mascotas existentes.
+     *
+     * @param delegado DAO que accede a los datos
+     */
+    public BusquedaTextoMascotaDAO(ICRUDMascota delegado) {
+        this.delegado = delegado;
+        delegado.recorrerMascotas(mascota -> {
+            indice.agregar(mascota);
+            apodos.agregar(mascota.getApodo());
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean adicionarMascota(MascotaVO mascota) {
+        boolean insertada = delegado.adicionarMascota(mascota);
+        if (insertada) {
+            indexar(mascota);
+        }
+        return insertada;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultadoOperacion upsertMascota(MascotaVO mascota) {
+        ResultadoOperacion resultado = delegado.upsertMascota(mascota);
+        if (resultado == ResultadoOperacion.INSERTADA || resultado == ResultadoOperacion.ACTUALIZADA) {
+            indexar(mascota);
+        }
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ResultadoOperacion> adicionarMascotas(List<MascotaVO> mascotas) {
+        List<ResultadoOperacion> resultados = delegado.adicionarMascotas(mascotas);
+        for (int i = 0; i < resultados.size(); i++) {
+            if (resultados.get(i) == ResultadoOperacion.INSERTADA) {
+                indexar(mascotas.get(i));
+            }
+        }
+        return resultados;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Los cambios se aplican sobre la mascota indexada, igual que el delegado
+     * los aplica sobre la almacenada.
+     * </p>
+     */
+    @Override
+    public boolean modificarMascota(MascotaVO mascota) {
+        boolean modificada = delegado.modificarMascota(mascota);
+        if (modificada) {
+            MascotaVO anterior = indice.obtener(mascota.getApodo());
+            if (anterior != null) {
+                indice.agregar(CampoMascota.combinar(anterior, mascota));
+            }
+        }
+        return modificada;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean eliminarMascota(String apodo) {
+        boolean eliminada = delegado.eliminarMascota(apodo);
+        if (eliminada) {
+            indice.quitar(apodo);
+            apodos.quitar(apodo);
+        }
+        return eliminada;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Las mascotas afectadas se toman del índice, que tiene todas, y después
+     * de modificarlas se leen con una sola consulta por apodo.
+     * </p>
+     */
+    @Override
+    public int modificarPorCriterio(CriteriosMascota criterios, MascotaVO cambios) {
+        List<MascotaVO> afectadas = indice.filtrar(criterios);
+        int modificadas = delegado.modificarPorCriterio(criterios, cambios);
+        if (modificadas > 0) {
+            reindexar(afectadas);
+        }
+        return modificadas;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Las mascotas afectadas se toman del índice, que tiene todas, y después
+     * de eliminarlas se comprueba con una sola consulta cuáles siguen.
+     * </p>
+     */
+    @Override
+    public int eliminarPorCriterio(CriteriosMascota criterios) {
+        List<MascotaVO> afectadas = indice.filtrar(criterios);
+        int eliminadas = delegado.eliminarPorCriterio(criterios);
+        if (eliminadas > 0) {
+            reindexar(afectadas);
+        }
+        return eliminadas;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> listarTodasMascotas() {
+        return delegado.listarTodasMascotas();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas listarTodasMascotas(int tamanoPagina, String token) {
+        return delegado.listarTodasMascotas(tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ResumenMascotaVO> listarResumenes() {
+        return delegado.listarResumenes();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recorrerMascotas(Consumer<MascotaVO> consumidor) {
+        delegado.recorrerMascotas(consumidor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorApodo(String apodo) {
+        return delegado.consultarPorApodo(apodo);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorClasificacion(String clasificacion) {
+        return delegado.consultarPorClasificacion(clasificacion);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorClasificacion(String clasificacion, int tamanoPagina, String token) {
+        return delegado.consultarPorClasificacion(clasificacion, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorFamilia(String familia) {
+        return delegado.consultarPorFamilia(familia);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorFamilia(String familia, int tamanoPagina, String token) {
+        return delegado.consultarPorFamilia(familia, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorAlimento(String alimento) {
+        return delegado.consultarPorAlimento(alimento);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorAlimento(String alimento, int tamanoPagina, String token) {
+        return delegado.consultarPorAlimento(alimento, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultar(CriteriosMascota criterios) {
+        return delegado.consultar(criterios);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorHuella(long huella) {
+        return delegado.consultarPorHuella(huella);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Se resuelve con el árbol BK en memoria, sin acceder al delegado.
+     * </p>
+     */
+    @Override
+    public List<String> consultarApodosSimilares(String apodo, int distanciaMaxima, int limite) {
+        return apodos.buscar(apodo, distanciaMaxima, limite);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Se resuelve con el índice en memoria, sin acceder al delegado.
+     * </p>
+     */
+    @Override
+    public List<MascotaVO> buscarTexto(String texto, int limite) {
+        return indice.buscar(texto, limite);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> contarPor(CampoMascota agrupacion, CriteriosMascota filtro) {
+        return delegado.contarPor(agrupacion, filtro);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> contarDistintosPor(CampoMascota agrupacion, CampoMascota contado,
+                                               CriteriosMascota filtro) {
+        return delegado.contarDistintosPor(agrupacion, contado, filtro);
+    }
+
+    /**
+     * Indexa una mascota recién escrita. Si ya estaba indexada se conserva
+     * cómo se escribió su apodo, que no cambia al actualizarla.
+     *
+     * @param mascota Mascota tal como se escribió
+     */
+    private void indexar(MascotaVO mascota) {
+        MascotaVO anterior = indice.obtener(mascota.getApodo());
+        MascotaVO indexada = new MascotaVO(mascota);
+        if (anterior != null) {
+            indexada.setApodo(anterior.getApodo());
+        }
+        indice.agregar(indexada);
+        apodos.agregar(indexada.getApodo());
+    }
+
+    /**
+     * Vuelve a indexar unas mascotas con su valor actual en el delegado,
+     * leído con una sola consulta, y quita las que ya no existen.
+     *
+     * @param afectadas Mascotas escritas
+     */
+    private void reindexar(List<MascotaVO> afectadas) {
+        List<String> apodosAfectados = new ArrayList<>();
+        for (MascotaVO mascota : afectadas) {
+            apodosAfectados.add(mascota.getApodo());
+        }
+        Map<String, MascotaVO> actuales = new HashMap<>();
+        for (MascotaVO actual : delegado.consultar(CriteriosMascota.en(CampoMascota.APODO, apodosAfectados))) {
+            actuales.put(actual.getClaves().getApodo(), actual);
+        }
+        for (MascotaVO mascota : afectadas) {
+            MascotaVO actual = actuales.get(mascota.getClaves().getApodo());
+            if (actual == null) {
+                indice.quitar(mascota.getApodo());
+                apodos.quitar(mascota.getApodo());
+            } else {
+                indice.agregar(actual);
+                apodos.agregar(actual.getApodo());
+            }
+        }
+    }
+}
@@ -0,0 +1,570 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import udistrital.avanzada.mascotasexoticas.modelo.ClavesMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.NormalizadorTexto;
+import udistrital.avanzada.mascotasexoticas.modelo.ResumenMascotaVO;
+
+/**
+ * Decorador de {@link ICRUDMascota} que guarda en memoria los resultados de
+ * las lecturas más frecuentes.
+ * <p>
+ * Se guardan tres tipos de entradas:
+ * </p>
+ * <ul>
+ *   <li>Mascotas por apodo ({@link #consultarPorApodo(String)}), incluidas las
+ *       búsquedas sin resultado, de modo que las verificaciones de existencia
+ *       tampoco llegan a la base de datos.</li>
+ *   <li>Resultados de las consultas por clasificación, familia y alimento,
+ *       indexados por el par (campo, valor).</li>
+ *   <li>Conteos agrupados ({@link #contarPor(CampoMascota, CriteriosMascota)}),
+ *       pensados para paneles que consultan las mismas estadísticas una y
+ *       otra vez. Como cualquier escritura puede cambiar cualquier conteo, se
+ *       descartan todos en cada escritura.</li>
+ * </ul>
+ *
+ * <p>
+ * Cada caché está acotada por número de entradas (se desaloja la usada hace
+ * más tiempo) y por tiempo de vida. Las escrituras realizadas a través de este
+ * decorador invalidan solo las entradas afectadas sin consultar antes la
+ * mascota: las consultas en caché que la contienen se descartan recorriéndolas
+ * en memoria, y las de sus nuevos valores se descartan por clave. El listado
+ * completo, las consultas paginadas y el recorrido se delegan sin caché.
+ * </p>
+ *
+ * <p>
+ * Las claves se comparan sin distinguir mayúsculas ni tildes, igual que la
+ * intercalación de la tabla, para que dos escrituras equivalentes invaliden la
+ * misma entrada.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class CachingMascotaDAO implements ICRUDMascota {
+
+    /** Mascotas retenidas por apodo cuando no se indica otra capacidad. */
+    public static final int CAPACIDAD_ENTIDADES_POR_DEFECTO = 10_000;
+
+    /** Consultas retenidas cuando no se indica otra capacidad. */
+    public static final int CAPACIDAD_CONSULTAS_POR_DEFECTO = 1_000;
+
+    /** Conteos agrupados retenidos. */
+    public static final int CAPACIDAD_AGREGADOS = 64;
+
+    /** Tiempo de vida de una entrada cuando no se indica otro. */
+    public static final long TTL_POR_DEFECTO_MS = 5 * 60_000;
+
+    private static final String CAMPO_CLASIFICACION = "clasificacion";
+    private static final String CAMPO_FAMILIA = "familia";
+    private static final String CAMPO_ALIMENTO = "alimento";
+
+    private final ICRUDMascota delegado;
+    private final CacheAcotada<List<MascotaVO>> entidades;
+    private final CacheAcotada<List<MascotaVO>> consultas;
+    private final CacheAcotada<Map<String, Long>> agregados;
+
+    /**
+     * Se incrementa en cada invalidación. Una lectura solo guarda su resultado
+     * si no hubo invalidaciones mientras consultaba el delegado; así una
+     * lectura lenta no deja en caché datos anteriores a una escritura.
+     */
+    private final AtomicLong generacion = new AtomicLong();
+
+    /**
+     * Crea el decorador con las capacidades y el tiempo de vida por defecto.
+     *
+     * @param delegado DAO que accede a los datos
+     */
+    public CachingMascotaDAO(ICRUDMascota delegado) {
+        this(delegado, CAPACIDAD_ENTIDADES_POR_DEFECTO, CAPACIDAD_CONSULTAS_POR_DEFECTO,
+                TTL_POR_DEFECTO_MS, System::currentTimeMillis);
+    }
+
+    /**
+     * Crea el decorador con la configuración indicada.
+     *
+     * @param delegado DAO que accede a los datos
+     * @param capacidadEntidades Número máximo de apodos en caché
+     * @param capacidadConsultas Número máximo de consultas en caché
+     * @param ttlMs Tiempo de vida de cada entrada, en milisegundos
+     * @param reloj Fuente del tiempo actual en milisegundos
+     */
+    public CachingMascotaDAO(ICRUDMascota delegado, int capacidadEntidades, int capacidadConsultas,
+            long ttlMs, LongSupplier reloj) {
+        if (capacidadEntidades <= 0 || capacidadConsultas <= 0 || ttlMs <= 0) {
+            throw new IllegalArgumentException("Las capacidades y el tiempo de vida deben ser positivos");
+        }
+        this.delegado = delegado;
+        this.entidades = new CacheAcotada<>(capacidadEntidades, ttlMs, reloj);
+        this.consultas = new CacheAcotada<>(capacidadConsultas, ttlMs, reloj);
+        this.agregados = new CacheAcotada<>(CAPACIDAD_AGREGADOS, ttlMs, reloj);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean adicionarMascota(MascotaVO mascota) {
+        try {
+            return delegado.adicionarMascota(mascota);
+        } finally {
+            invalidar(mascota.getClaves().getApodo(), mascota);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultadoOperacion upsertMascota(MascotaVO mascota) {
+        try {
+            return delegado.upsertMascota(mascota);
+        } finally {
+            invalidar(mascota.getClaves().getApodo(), mascota);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ResultadoOperacion> adicionarMascotas(List<MascotaVO> mascotas) {
+        try {
+            return delegado.adicionarMascotas(mascotas);
+        } finally {
+            for (MascotaVO mascota : mascotas) {
+                invalidar(mascota.getClaves().getApodo(), mascota);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean modificarMascota(MascotaVO mascota) {
+        try {
+            return delegado.modificarMascota(mascota);
+        } finally {
+            invalidar(mascota.getClaves().getApodo(), mascota);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean eliminarMascota(String apodo) {
+        try {
+            return delegado.eliminarMascota(apodo);
+        } finally {
+            invalidar(NormalizadorTexto.clave(apodo), null);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Como no se sabe qué mascotas cambian, se vacía toda la caché.
+     * </p>
+     */
+    @Override
+    public int modificarPorCriterio(CriteriosMascota criterios, MascotaVO cambios) {
+        try {
+            return delegado.modificarPorCriterio(criterios, cambios);
+        } finally {
+            invalidarTodo();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Como no se sabe qué mascotas se eliminan, se vacía toda la caché.
+     * </p>
+     */
+    @Override
+    public int eliminarPorCriterio(CriteriosMascota criterios) {
+        try {
+            return delegado.eliminarPorCriterio(criterios);
+        } finally {
+            invalidarTodo();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> listarTodasMascotas() {
+        return delegado.listarTodasMascotas();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas listarTodasMascotas(int tamanoPagina, String token) {
+        return delegado.listarTodasMascotas(tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ResumenMascotaVO> listarResumenes() {
+        return delegado.listarResumenes();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recorrerMascotas(Consumer<MascotaVO> consumidor) {
+        delegado.recorrerMascotas(consumidor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorApodo(String apodo) {
+        return obtener(entidades, NormalizadorTexto.clave(apodo), () -> delegado.consultarPorApodo(apodo));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorClasificacion(String clasificacion) {
+        return obtener(consultas, claveConsulta(CAMPO_CLASIFICACION, NormalizadorTexto.clave(clasificacion)),
+                () -> delegado.consultarPorClasificacion(clasificacion));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorClasificacion(String clasificacion, int tamanoPagina, String token) {
+        return delegado.consultarPorClasificacion(clasificacion, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorFamilia(String familia) {
+        return obtener(consultas, claveConsulta(CAMPO_FAMILIA, NormalizadorTexto.clave(familia)),
+                () -> delegado.consultarPorFamilia(familia));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorFamilia(String familia, int tamanoPagina, String token) {
+        return delegado.consultarPorFamilia(familia, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorAlimento(String alimento) {
+        return obtener(consultas, claveConsulta(CAMPO_ALIMENTO, NormalizadorTexto.clave(alimento)),
+                () -> delegado.consultarPorAlimento(alimento));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorAlimento(String alimento, int tamanoPagina, String token) {
+        return delegado.consultarPorAlimento(alimento, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Los criterios combinados se delegan sin caché.
+     * </p>
+     */
+    @Override
+    public List<MascotaVO> consultar(CriteriosMascota criterios) {
+        return delegado.consultar(criterios);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> consultarApodosSimilares(String apodo, int distanciaMaxima, int limite) {
+        return delegado.consultarApodosSimilares(apodo, distanciaMaxima, limite);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Se delega sin caché: el delegado ya la resuelve con un índice.
+     * </p>
+     */
+    @Override
+    public List<MascotaVO> consultarPorHuella(long huella) {
+        return delegado.consultarPorHuella(huella);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Las búsquedas de texto se delegan sin caché.
+     * </p>
+     */
+    @Override
+    public List<MascotaVO> buscarTexto(String texto, int limite) {
+        return delegado.buscarTexto(texto, limite);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> contarPor(CampoMascota agrupacion, CriteriosMascota filtro) {
+        return obtener(agregados, claveAgregado(agrupacion, null, filtro),
+                () -> delegado.contarPor(agrupacion, filtro), LinkedHashMap::new);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> contarDistintosPor(CampoMascota agrupacion, CampoMascota contado,
+                                               CriteriosMascota filtro) {
+        return obtener(agregados, claveAgregado(agrupacion, contado, filtro),
+                () -> delegado.contarDistintosPor(agrupacion, contado, filtro), LinkedHashMap::new);
+    }
+
+    /**
+     * Vacía todas las cachés. Útil si los datos se modificaron por fuera de
+     * este decorador.
+     */
+    public void invalidarTodo() {
+        generacion.incrementAndGet();
+        entidades.vaciar();
+        consultas.vaciar();
+        agregados.vaciar();
+    }
+
+    /** @return Lecturas resueltas desde la caché. */
+    public long getAciertos() {
+        return entidades.aciertos.get() + consultas.aciertos.get() + agregados.aciertos.get();
+    }
+
+    /** @return Lecturas que tuvieron que ir al DAO delegado. */
+    public long getFallos() {
+        return entidades.fallos.get() + consultas.fallos.get() + agregados.fallos.get();
+    }
+
+    /** @return Entradas desalojadas por capacidad o por tiempo de vida. */
+    public long getDesalojos() {
+        return entidades.desalojos.get() + consultas.desalojos.get() + agregados.desalojos.get();
+    }
+
+    /**
+     * Proporción de lecturas resueltas desde la caché.
+     *
+     * @return Valor entre 0 y 1; 0 si aún no hubo lecturas.
+     */
+    public double getTasaAciertos() {
+        long aciertos = getAciertos();
+        long total = aciertos + getFallos();
+        return total == 0 ? 0 : (double) aciertos / total;
+    }
+
+    /** @return Apodos actualmente en caché. */
+    public int getEntidadesEnCache() {
+        return entidades.tamano();
+    }
+
+    /** @return Consultas actualmente en caché. */
+    public int getConsultasEnCache() {
+        return consultas.tamano();
+    }
+
+    /**
+     * Devuelve la entrada en caché o la carga desde el delegado.
+     */
+    private List<MascotaVO> obtener(CacheAcotada<List<MascotaVO>> cache, String clave,
+                                    Supplier<List<MascotaVO>> cargador) {
+        return obtener(cache, clave, cargador, CachingMascotaDAO::copiar);
+    }
+
+    /**
+     * Devuelve una copia de la entrada en caché o la carga desde el delegado.
+     *
+     * @param copiador Crea una copia independiente del valor
+     */
+    private <V> V obtener(CacheAcotada<V> cache, String clave, Supplier<V> cargador, UnaryOperator<V> copiador) {
+        V guardado = cache.obtener(clave);
+        if (guardado != null) {
+            return copiador.apply(guardado);
+        }
+        long generacionInicial = generacion.get();
+        V cargado = cargador.get();
+        V copia = copiador.apply(cargado);
+        synchronized (generacion) {
+            if (generacion.get() == generacionInicial) {
+                cache.guardar(clave, copia);
+            }
+        }
+        return cargado;
+    }
+
+    /**
+     * Elimina las entradas en las que aparece (o debería aparecer) la mascota
+     * escrita. Los valores anteriores no se consultan: las consultas en caché
+     * que incluyen el apodo se encuentran recorriéndolas, y las de los nuevos
+     * valores se descartan por clave.
+     *
+     * @param apodo Apodo normalizado de la mascota escrita
+     * @param nueva Valores enviados en la escritura, o {@code null} si se
+     * eliminó
+     */
+    private void invalidar(String apodo, MascotaVO nueva) {
+        synchronized (generacion) {
+            generacion.incrementAndGet();
+            agregados.vaciar();
+            entidades.eliminar(apodo);
+            consultas.eliminarSi(mascotas -> contieneApodo(mascotas, apodo));
+            if (nueva != null) {
+                ClavesMascota claves = nueva.getClaves();
+                consultas.eliminar(claveConsulta(CAMPO_CLASIFICACION, claves.getClasificacion()));
+                consultas.eliminar(claveConsulta(CAMPO_FAMILIA, claves.getFamilia()));
+                consultas.eliminar(claveConsulta(CAMPO_ALIMENTO, claves.getAlimento()));
+            }
+        }
+    }
+
+    private static boolean contieneApodo(List<MascotaVO> mascotas, String apodo) {
+        for (MascotaVO m : mascotas) {
+            if (m.getClaves().getApodo().equals(apodo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String claveConsulta(String campo, String clave) {
+        return campo + '\u001F' + clave;
+    }
+
+    private static String claveAgregado(CampoMascota agrupacion, CampoMascota contado, CriteriosMascota filtro) {
+        List<String> parametros = new ArrayList<>();
+        StringBuilder clave = new StringBuilder(agrupacion.name()).append('\u001F')
+                .append(contado == null ? "" : contado.name()).append('\u001F');
+        filtro.agregarCondicionSQL(clave, parametros);
+        // Los parámetros ya son claves normalizadas
+        for (String parametro : parametros) {
+            clave.append('\u001F').append(parametro);
+        }
+        return clave.toString();
+    }
+
+    private static List<MascotaVO> copiar(List<MascotaVO> mascotas) {
+        List<MascotaVO> copia = new ArrayList<>(mascotas.size());
+        for (MascotaVO m : mascotas) {
+            copia.add(new MascotaVO(m));
+        }
+        return copia;
+    }
+
+    /**
+     * Caché LRU acotada por número de entradas y por tiempo de vida.
+     */
+    private static final class CacheAcotada<V> {
+
+        private final int capacidad;
+        private final long ttlMs;
+        private final LongSupplier reloj;
+        private final AtomicLong aciertos = new AtomicLong();
+        private final AtomicLong fallos = new AtomicLong();
+        private final AtomicLong desalojos = new AtomicLong();
+        private final LinkedHashMap<String, Entrada<V>> mapa;
+
+        private CacheAcotada(int capacidad, long ttlMs, LongSupplier reloj) {
+            this.capacidad = capacidad;
+            this.ttlMs = ttlMs;
+            this.reloj = reloj;
+            this.mapa = new LinkedHashMap<String, Entrada<V>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entrada<V>> mayor) {
+                    boolean excede = size() > CacheAcotada.this.capacidad;
+                    if (excede) {
+                        desalojos.incrementAndGet();
+                    }
+                    return excede;
+                }
+            };
+        }
+
+        private synchronized V obtener(String clave) {
+            Entrada<V> entrada = mapa.get(clave);
+            if (entrada != null && entrada.expira <= reloj.getAsLong()) {
+                mapa.remove(clave);
+                desalojos.incrementAndGet();
+                entrada = null;
+            }
+            if (entrada == null) {
+                fallos.incrementAndGet();
+                return null;
+            }
+            aciertos.incrementAndGet();
+            return entrada.valor;
+        }
+
+        private synchronized void guardar(String clave, V valor) {
+            mapa.put(clave, new Entrada<>(valor, reloj.getAsLong() + ttlMs));
+        }
+
+        private synchronized void eliminar(String clave) {
+            mapa.remove(clave);
+        }
+
+        private synchronized void eliminarSi(Predicate<V> condicion) {
+            mapa.values().removeIf(entrada -> condicion.test(entrada.valor));
+        }
+
+        private synchronized void vaciar() {
+            mapa.clear();
+        }
+
+        private synchronized int tamano() {
+            return mapa.size();
+        }
+    }
+
+    /**
+     * Valor en caché junto con su instante de expiración.
+     */
+    private static final class Entrada<V> {
+
+        private final V valor;
+        private final long expira;
+
+        private Entrada(V valor, long expira) {
+            this.valor = valor;
+            this.expira = expira;
+        }
+    }
+}
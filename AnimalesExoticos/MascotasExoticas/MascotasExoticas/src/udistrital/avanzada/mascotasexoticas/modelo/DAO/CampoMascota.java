@@ -0,0 +1,144 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.function.Function;
+import udistrital.avanzada.mascotasexoticas.modelo.ClavesMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+
+/**
+ * Campos de una mascota que se pueden usar en criterios de consulta.
+ * <p>
+ * Cada campo conoce su columna en la tabla {@code mascotas} y la columna con
+ * su clave de comparación ({@link ClavesMascota}), sobre la que se resuelven
+ * las igualdades. Las sentencias SQL solo se construyen con estas columnas,
+ * nunca con texto recibido de otras capas.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public enum CampoMascota {
+
+    APODO("apodo", MascotaVO::getApodo, ClavesMascota::getApodo),
+    NOMBRE("nombre", MascotaVO::getNombre, ClavesMascota::getNombre),
+    CLASIFICACION("clasificacion", MascotaVO::getClasificacion, ClavesMascota::getClasificacion),
+    FAMILIA("familia", MascotaVO::getFamilia, ClavesMascota::getFamilia),
+    GENERO("genero", MascotaVO::getGenero, ClavesMascota::getGenero),
+    ESPECIE("especie", MascotaVO::getEspecie, ClavesMascota::getEspecie),
+    ALIMENTO("alimento", MascotaVO::getAlimento, ClavesMascota::getAlimento);
+
+    private final String columna;
+    private final Function<MascotaVO, String> lector;
+    private final Function<ClavesMascota, String> lectorClave;
+
+    CampoMascota(String columna, Function<MascotaVO, String> lector, Function<ClavesMascota, String> lectorClave) {
+        this.columna = columna;
+        this.lector = lector;
+        this.lectorClave = lectorClave;
+    }
+
+    /**
+     * @return Nombre de la columna en la tabla {@code mascotas}.
+     */
+    public String getColumna() {
+        return columna;
+    }
+
+    /**
+     * @return Nombre de la columna con la clave de comparación del campo.
+     */
+    public String getColumnaClave() {
+        return columna + "_clave";
+    }
+
+    /**
+     * Obtiene el valor de este campo en una mascota.
+     *
+     * @param mascota Mascota de la que se lee el valor
+     * @return Valor del campo
+     */
+    public String valorDe(MascotaVO mascota) {
+        return lector.apply(mascota);
+    }
+
+    /**
+     * Obtiene la clave de comparación de este campo en una mascota, ya
+     * calculada en sus {@link MascotaVO#getClaves() claves}.
+     *
+     * @param mascota Mascota de la que se lee la clave
+     * @return Clave del valor del campo
+     */
+    public String claveDe(MascotaVO mascota) {
+        return lectorClave.apply(mascota.getClaves());
+    }
+
+    /**
+     * Indica si dos mascotas tienen los mismos datos en todos los campos
+     * distintos del apodo, comparando sus claves: los valores que solo
+     * difieren en mayúsculas o tildes son iguales. Las huellas distintas
+     * descartan la igualdad sin comparar campo por campo.
+     *
+     * @param a Primera mascota
+     * @param b Segunda mascota
+     * @return {@code true} si ningún dato cambia entre ambas
+     */
+    static boolean mismosDatos(MascotaVO a, MascotaVO b) {
+        if (a.getClaves().getHuella() != b.getClaves().getHuella()) {
+            return false;
+        }
+        for (CampoMascota campo : values()) {
+            if (campo != APODO && !campo.claveDe(a).equals(campo.claveDe(b))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene el valor que debe escribirse en un campo modificable.
+     *
+     * @param nuevo Valor recibido en la modificación
+     * @return El valor recibido, o {@code null} si es nulo o está en blanco
+     * (el campo conserva su valor actual)
+     */
+    static String valorModificado(String nuevo) {
+        return nuevo == null || nuevo.isBlank() ? null : nuevo;
+    }
+
+    /**
+     * Aplica una modificación parcial a una mascota almacenada: cambian el
+     * nombre, la clasificación y el alimento que no estén en blanco, el resto
+     * de campos se conserva y la versión aumenta en uno.
+     *
+     * @param actual Mascota almacenada
+     * @param cambios Datos recibidos en la modificación
+     * @return Mascota modificada, o {@code null} si {@code cambios} trae una
+     * versión distinta de 0 que no coincide con la almacenada
+     */
+    static MascotaVO aplicarCambios(MascotaVO actual, MascotaVO cambios) {
+        if (cambios.getVersion() != 0 && cambios.getVersion() != actual.getVersion()) {
+            return null;
+        }
+        return combinar(actual, cambios);
+    }
+
+    /**
+     * Igual que {@link #aplicarCambios(MascotaVO, MascotaVO)} pero sin
+     * comprobar la versión, para las modificaciones por criterio.
+     *
+     * @param actual Mascota almacenada
+     * @param cambios Datos recibidos en la modificación
+     * @return Mascota modificada
+     */
+    static MascotaVO combinar(MascotaVO actual, MascotaVO cambios) {
+        String nombre = valorModificado(cambios.getNombre());
+        String clasificacion = valorModificado(cambios.getClasificacion());
+        String alimento = valorModificado(cambios.getAlimento());
+        MascotaVO nueva = new MascotaVO(nombre != null ? nombre : actual.getNombre(),
+                clasificacion != null ? clasificacion : actual.getClasificacion(),
+                actual.getFamilia(), actual.getGenero(), actual.getEspecie(),
+                alimento != null ? alimento : actual.getAlimento(), actual.getApodo());
+        nueva.setVersion(actual.getVersion() + 1);
+        return nueva;
+    }
+}
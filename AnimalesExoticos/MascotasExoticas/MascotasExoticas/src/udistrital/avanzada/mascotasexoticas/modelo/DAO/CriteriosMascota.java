@@ -0,0 +1,448 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.NormalizadorTexto;
+
+/**
+ * Criterios de búsqueda de mascotas que combinan varias condiciones.
+ * <p>
+ * Los criterios son inmutables y se construyen componiendo condiciones
+ * simples:
+ * </p>
+ * <pre>
+ * CriteriosMascota reptilesCarnivoros = CriteriosMascota.igual(CampoMascota.CLASIFICACION, "Reptilia")
+ *     .y(CriteriosMascota.igual(CampoMascota.ALIMENTO, "Carnes"))
+ *     .y(CriteriosMascota.en(CampoMascota.FAMILIA, "Agamidae", "Iguanidae"))
+ *     .ordenarPor(CampoMascota.NOMBRE);
+ * </pre>
+ *
+ * <p>
+ * {@link MascotaDAOImpl} traduce los criterios a una única sentencia SQL
+ * parametrizada; las implementaciones sin base de datos usan
+ * {@link #coincide(MascotaVO)} y {@link #comparador()}. Ambas vías comparan
+ * las claves de {@link udistrital.avanzada.mascotasexoticas.modelo.NormalizadorTexto}
+ * (en la tabla, las columnas {@link CampoMascota#getColumnaClave()}), así que
+ * encuentran las mismas mascotas sin distinguir mayúsculas ni tildes.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public final class CriteriosMascota {
+
+    private static final CriteriosMascota TODAS = new CriteriosMascota(null, Collections.emptyList());
+
+    /** Condición a cumplir, o {@code null} si se aceptan todas las mascotas. */
+    private final Condicion condicion;
+
+    /** Campos de ordenamiento, en orden de prioridad. */
+    private final List<Orden> orden;
+
+    private CriteriosMascota(Condicion condicion, List<Orden> orden) {
+        this.condicion = condicion;
+        this.orden = orden;
+    }
+
+    /**
+     * @return Criterios que aceptan todas las mascotas.
+     */
+    public static CriteriosMascota todas() {
+        return TODAS;
+    }
+
+    /**
+     * Condición de igualdad sobre un campo.
+     *
+     * @param campo Campo a comparar
+     * @param valor Valor esperado
+     * @return Criterios con la condición
+     */
+    public static CriteriosMascota igual(CampoMascota campo, String valor) {
+        return new CriteriosMascota(new Igual(campo, valor), Collections.emptyList());
+    }
+
+    /**
+     * Condición de pertenencia a una lista de valores.
+     *
+     * @param campo Campo a comparar
+     * @param valores Valores aceptados; si está vacía ninguna mascota cumple
+     * @return Criterios con la condición
+     */
+    public static CriteriosMascota en(CampoMascota campo, Collection<String> valores) {
+        return new CriteriosMascota(new En(campo, new ArrayList<>(valores)), Collections.emptyList());
+    }
+
+    /**
+     * Condición de pertenencia a una lista de valores.
+     *
+     * @param campo Campo a comparar
+     * @param valores Valores aceptados
+     * @return Criterios con la condición
+     */
+    public static CriteriosMascota en(CampoMascota campo, String... valores) {
+        return en(campo, Arrays.asList(valores));
+    }
+
+    /**
+     * Condición de prefijo sobre un campo.
+     *
+     * @param campo Campo a comparar
+     * @param prefijo Inicio que debe tener el valor
+     * @return Criterios con la condición
+     */
+    public static CriteriosMascota empiezaPor(CampoMascota campo, String prefijo) {
+        return new CriteriosMascota(new Prefijo(campo, prefijo), Collections.emptyList());
+    }
+
+    /**
+     * Combina estos criterios con otros: deben cumplirse ambos. El
+     * ordenamiento resultante es el de estos criterios seguido del de los otros.
+     *
+     * @param otros Criterios adicionales
+     * @return Nuevos criterios
+     */
+    public CriteriosMascota y(CriteriosMascota otros) {
+        if (condicion == null) {
+            return new CriteriosMascota(otros.condicion, unirOrden(otros));
+        }
+        if (otros.condicion == null) {
+            return new CriteriosMascota(condicion, unirOrden(otros));
+        }
+        return new CriteriosMascota(Compuesta.de(true, condicion, otros.condicion), unirOrden(otros));
+    }
+
+    /**
+     * Combina estos criterios con otros: debe cumplirse al menos uno. El
+     * ordenamiento resultante es el de estos criterios seguido del de los otros.
+     *
+     * @param otros Criterios alternativos
+     * @return Nuevos criterios
+     */
+    public CriteriosMascota o(CriteriosMascota otros) {
+        if (condicion == null || otros.condicion == null) {
+            return new CriteriosMascota(null, unirOrden(otros));
+        }
+        return new CriteriosMascota(Compuesta.de(false, condicion, otros.condicion), unirOrden(otros));
+    }
+
+    /**
+     * Agrega un campo de ordenamiento ascendente.
+     *
+     * @param campo Campo por el que se ordena
+     * @return Nuevos criterios
+     */
+    public CriteriosMascota ordenarPor(CampoMascota campo) {
+        return agregarOrden(new Orden(campo, true));
+    }
+
+    /**
+     * Agrega un campo de ordenamiento descendente.
+     *
+     * @param campo Campo por el que se ordena
+     * @return Nuevos criterios
+     */
+    public CriteriosMascota ordenarPorDescendente(CampoMascota campo) {
+        return agregarOrden(new Orden(campo, false));
+    }
+
+    /**
+     * Evalúa los criterios sobre una mascota en memoria.
+     *
+     * @param mascota Mascota a evaluar
+     * @return {@code true} si la mascota cumple la condición
+     */
+    public boolean coincide(MascotaVO mascota) {
+        return condicion == null || condicion.coincide(mascota);
+    }
+
+    /**
+     * @return {@code true} si los criterios definen un ordenamiento.
+     */
+    public boolean tieneOrden() {
+        return !orden.isEmpty();
+    }
+
+    /**
+     * Comparador equivalente al ordenamiento de los criterios.
+     *
+     * @return Comparador de mascotas; si no hay ordenamiento, considera
+     * iguales a todas
+     */
+    public Comparator<MascotaVO> comparador() {
+        Comparator<MascotaVO> comparador = (a, b) -> 0;
+        for (Orden o : orden) {
+            Comparator<MascotaVO> porCampo = Comparator.comparing(
+                    (MascotaVO m) -> o.campo.claveDe(m));
+            comparador = comparador.thenComparing(o.ascendente ? porCampo : porCampo.reversed());
+        }
+        return comparador;
+    }
+
+    /**
+     * Traduce los criterios a una sentencia {@code SELECT} parametrizada.
+     *
+     * @param parametros Lista donde se agregan, en orden, los valores de los
+     * parámetros de la sentencia
+     * @return Sentencia SQL
+     */
+    String aSQL(List<String> parametros) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM mascotas");
+        agregarCondicionSQL(sql, parametros);
+        for (int i = 0; i < orden.size(); i++) {
+            Orden o = orden.get(i);
+            sql.append(i == 0 ? " ORDER BY " : ", ")
+               .append(o.campo.getColumnaClave())
+               .append(o.ascendente ? " ASC" : " DESC");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Agrega a una sentencia la cláusula {@code WHERE} de los criterios, si
+     * tienen alguna condición. El orden se ignora.
+     *
+     * @param sql Sentencia en construcción
+     * @param parametros Lista donde se agregan los valores de los parámetros
+     */
+    void agregarCondicionSQL(StringBuilder sql, List<String> parametros) {
+        if (condicion != null) {
+            sql.append(" WHERE ");
+            condicion.aSQL(sql, parametros);
+        }
+    }
+
+    /**
+     * @return {@code true} si los criterios no filtran ninguna mascota.
+     */
+    boolean sinCondicion() {
+        return condicion == null;
+    }
+
+    /**
+     * Valores que obligatoriamente debe tener un campo para que una mascota
+     * cumpla los criterios. Permite a las implementaciones con índices
+     * limitar los candidatos antes de evaluar la condición completa.
+     *
+     * @param campo Campo consultado
+     * @return Valores posibles del campo, o {@code null} si los criterios no
+     * lo restringen a una lista de valores
+     */
+    List<String> valoresRequeridos(CampoMascota campo) {
+        return condicion == null ? null : condicion.valoresRequeridos(campo);
+    }
+
+    private CriteriosMascota agregarOrden(Orden nuevo) {
+        List<Orden> nuevoOrden = new ArrayList<>(orden);
+        nuevoOrden.add(nuevo);
+        return new CriteriosMascota(condicion, Collections.unmodifiableList(nuevoOrden));
+    }
+
+    private List<Orden> unirOrden(CriteriosMascota otros) {
+        if (otros.orden.isEmpty()) {
+            return orden;
+        }
+        List<Orden> union = new ArrayList<>(orden);
+        union.addAll(otros.orden);
+        return Collections.unmodifiableList(union);
+    }
+
+    /**
+     * Campo de ordenamiento con su dirección.
+     */
+    private static final class Orden {
+
+        private final CampoMascota campo;
+        private final boolean ascendente;
+
+        private Orden(CampoMascota campo, boolean ascendente) {
+            this.campo = campo;
+            this.ascendente = ascendente;
+        }
+    }
+
+    /**
+     * Nodo del árbol de condiciones.
+     */
+    private abstract static class Condicion {
+
+        abstract void aSQL(StringBuilder sql, List<String> parametros);
+
+        abstract boolean coincide(MascotaVO mascota);
+
+        List<String> valoresRequeridos(CampoMascota campo) {
+            return null;
+        }
+    }
+
+    private static final class Igual extends Condicion {
+
+        private final CampoMascota campo;
+        private final String valor;
+        private final String clave;
+
+        private Igual(CampoMascota campo, String valor) {
+            this.campo = campo;
+            this.valor = valor;
+            this.clave = NormalizadorTexto.clave(valor);
+        }
+
+        @Override
+        void aSQL(StringBuilder sql, List<String> parametros) {
+            sql.append(campo.getColumnaClave()).append(" = ?");
+            parametros.add(clave);
+        }
+
+        @Override
+        boolean coincide(MascotaVO mascota) {
+            return campo.claveDe(mascota).equals(clave);
+        }
+
+        @Override
+        List<String> valoresRequeridos(CampoMascota campo) {
+            return this.campo == campo ? Collections.singletonList(valor) : null;
+        }
+    }
+
+    private static final class En extends Condicion {
+
+        private final CampoMascota campo;
+        private final List<String> valores;
+        private final Set<String> claves = new LinkedHashSet<>();
+
+        private En(CampoMascota campo, List<String> valores) {
+            this.campo = campo;
+            this.valores = valores;
+            for (String valor : valores) {
+                claves.add(NormalizadorTexto.clave(valor));
+            }
+        }
+
+        @Override
+        void aSQL(StringBuilder sql, List<String> parametros) {
+            if (claves.isEmpty()) {
+                sql.append("1 = 0");
+                return;
+            }
+            sql.append(campo.getColumnaClave()).append(" IN (");
+            boolean primero = true;
+            for (String clave : claves) {
+                sql.append(primero ? "?" : ", ?");
+                parametros.add(clave);
+                primero = false;
+            }
+            sql.append(')');
+        }
+
+        @Override
+        boolean coincide(MascotaVO mascota) {
+            return claves.contains(campo.claveDe(mascota));
+        }
+
+        @Override
+        List<String> valoresRequeridos(CampoMascota campo) {
+            return this.campo == campo ? valores : null;
+        }
+    }
+
+    private static final class Prefijo extends Condicion {
+
+        private final CampoMascota campo;
+        private final String clave;
+
+        private Prefijo(CampoMascota campo, String prefijo) {
+            this.campo = campo;
+            this.clave = NormalizadorTexto.clave(prefijo);
+        }
+
+        @Override
+        void aSQL(StringBuilder sql, List<String> parametros) {
+            sql.append(campo.getColumnaClave()).append(" LIKE ? ESCAPE '!'");
+            parametros.add(clave.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%");
+        }
+
+        @Override
+        boolean coincide(MascotaVO mascota) {
+            return campo.claveDe(mascota).startsWith(clave);
+        }
+    }
+
+    private static final class Compuesta extends Condicion {
+
+        /** {@code true} para AND, {@code false} para OR. */
+        private final boolean conjuncion;
+        private final List<Condicion> partes;
+
+        private Compuesta(boolean conjuncion, List<Condicion> partes) {
+            this.conjuncion = conjuncion;
+            this.partes = partes;
+        }
+
+        /**
+         * Combina dos condiciones, aplanando las que ya usan el mismo operador.
+         */
+        private static Compuesta de(boolean conjuncion, Condicion a, Condicion b) {
+            List<Condicion> partes = new ArrayList<>();
+            for (Condicion c : new Condicion[]{a, b}) {
+                if (c instanceof Compuesta && ((Compuesta) c).conjuncion == conjuncion) {
+                    partes.addAll(((Compuesta) c).partes);
+                } else {
+                    partes.add(c);
+                }
+            }
+            return new Compuesta(conjuncion, Collections.unmodifiableList(partes));
+        }
+
+        @Override
+        void aSQL(StringBuilder sql, List<String> parametros) {
+            sql.append('(');
+            for (int i = 0; i < partes.size(); i++) {
+                if (i > 0) {
+                    sql.append(conjuncion ? " AND " : " OR ");
+                }
+                partes.get(i).aSQL(sql, parametros);
+            }
+            sql.append(')');
+        }
+
+        @Override
+        boolean coincide(MascotaVO mascota) {
+            for (Condicion parte : partes) {
+                if (parte.coincide(mascota) != conjuncion) {
+                    return !conjuncion;
+                }
+            }
+            return conjuncion;
+        }
+
+        @Override
+        List<String> valoresRequeridos(CampoMascota campo) {
+            if (conjuncion) {
+                for (Condicion parte : partes) {
+                    List<String> valores = parte.valoresRequeridos(campo);
+                    if (valores != null) {
+                        return valores;
+                    }
+                }
+                return null;
+            }
+            Set<String> union = new LinkedHashSet<>();
+            for (Condicion parte : partes) {
+                List<String> valores = parte.valoresRequeridos(campo);
+                if (valores == null) {
+                    return null;
+                }
+                union.addAll(valores);
+            }
+            return new ArrayList<>(union);
+        }
+    }
+}
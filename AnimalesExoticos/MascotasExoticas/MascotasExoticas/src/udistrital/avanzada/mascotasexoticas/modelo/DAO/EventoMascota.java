@@ -0,0 +1,129 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+
+/**
+ * Cambio aplicado a las mascotas, publicado en un {@link BusEventosMascota}.
+ * <p>
+ * Lleva lo que la escritura ya conoce, sin volver a leer el almacenamiento:
+ * los datos recibidos y el número de mascotas afectadas. Una inserción lleva
+ * la mascota insertada; una modificación, los datos recibidos, donde en una
+ * modificación parcial los campos en blanco conservan su valor; una
+ * eliminación, solo el apodo. Las escrituras por criterio publican un único
+ * evento con los criterios, los cambios y el número de mascotas afectadas.
+ * </p>
+ *
+ * <p>
+ * Los datos son copias propias del evento, así que los suscriptores pueden
+ * leerlos sin afectar lo almacenado. Es inmutable.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public final class EventoMascota {
+
+    /**
+     * Tipos de cambio.
+     */
+    public enum Tipo {
+
+        /** Se registró una mascota nueva. */
+        INSERCION(false),
+
+        /** Cambiaron los datos de una mascota existente. */
+        MODIFICACION(false),
+
+        /** Se eliminó una mascota. */
+        ELIMINACION(false),
+
+        /** Cambiaron los datos de las mascotas que cumplen unos criterios. */
+        MODIFICACION_POR_CRITERIO(true),
+
+        /** Se eliminaron las mascotas que cumplen unos criterios. */
+        ELIMINACION_POR_CRITERIO(true);
+
+        private final boolean porCriterio;
+
+        Tipo(boolean porCriterio) {
+            this.porCriterio = porCriterio;
+        }
+
+        /**
+         * @return {@code true} si el cambio se aplicó por criterio y no sobre
+         * un apodo.
+         */
+        public boolean isPorCriterio() {
+            return porCriterio;
+        }
+    }
+
+    private final long secuencia;
+    private final Tipo tipo;
+    private final String apodo;
+    private final MascotaVO datos;
+    private final CriteriosMascota criterios;
+    private final int afectadas;
+
+    EventoMascota(long secuencia, Tipo tipo, String apodo, MascotaVO datos, CriteriosMascota criterios,
+                  int afectadas) {
+        this.secuencia = secuencia;
+        this.tipo = tipo;
+        this.apodo = apodo;
+        this.datos = datos;
+        this.criterios = criterios;
+        this.afectadas = afectadas;
+    }
+
+    /**
+     * @return Posición del evento en el bus; crece en el orden de publicación.
+     */
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    /**
+     * @return Tipo de cambio.
+     */
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * @return Apodo de la mascota afectada, o {@code null} en un cambio por
+     * criterio.
+     */
+    public String getApodo() {
+        return apodo;
+    }
+
+    /**
+     * @return Copia de los datos escritos: la mascota insertada, o los
+     * cambios recibidos en una modificación; {@code null} en una eliminación.
+     */
+    public MascotaVO getDatos() {
+        return datos == null ? null : new MascotaVO(datos);
+    }
+
+    /**
+     * @return Criterios de un cambio por criterio, o {@code null} en un
+     * cambio sobre un apodo.
+     */
+    public CriteriosMascota getCriterios() {
+        return criterios;
+    }
+
+    /**
+     * @return Número de mascotas afectadas; 1 en un cambio sobre un apodo.
+     */
+    public int getAfectadas() {
+        return afectadas;
+    }
+
+    @Override
+    public String toString() {
+        return "EventoMascota{" + secuencia + ", " + tipo + ", "
+                + (tipo.isPorCriterio() ? afectadas + " mascotas" : apodo) + "}";
+    }
+}
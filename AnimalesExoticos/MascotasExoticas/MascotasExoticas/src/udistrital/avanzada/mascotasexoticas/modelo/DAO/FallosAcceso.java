@@ -0,0 +1,39 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+/**
+ * Cuenta, por hilo, los errores de acceso a datos que un DAO registra sin
+ * propagarlos.
+ * <p>
+ * Varias operaciones de {@link ICRUDMascota} informan un error devolviendo
+ * {@code false} o una lista vacía, que no se distinguen de un resultado
+ * normal. Antes de devolverlo, la implementación llama a {@link #registrar()};
+ * quien mide la operación compara {@link #contar()} antes y después de la
+ * llamada. Como el contador solo crece, las mediciones anidadas (por ejemplo,
+ * el controlador y el DAO) ven el mismo fallo.
+ * </p>
+ *
+ * @author Juan
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public final class FallosAcceso {
+
+    private static final ThreadLocal<long[]> CONTADOR = ThreadLocal.withInitial(() -> new long[1]);
+
+    private FallosAcceso() {
+    }
+
+    /**
+     * Registra un error atendido en el hilo actual.
+     */
+    public static void registrar() {
+        CONTADOR.get()[0]++;
+    }
+
+    /**
+     * @return Errores registrados hasta ahora en el hilo actual
+     */
+    public static long contar() {
+        return CONTADOR.get()[0];
+    }
+}
@@ -2,7 +2,10 @@
 package udistrital.avanzada.mascotasexoticas.modelo.DAO;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.ResumenMascotaVO;
 
 /**
  * Interfaz que define las operaciones CRUD y de consulta específicas.
@@ -26,17 +29,70 @@ public interface ICRUDMascota {
      */
     boolean adicionarMascota(MascotaVO mascota);
 
+    /**
+     * Inserta la mascota o, si ya existe una con el mismo apodo, reemplaza sus
+     * datos, en una sola operación atómica.
+     *
+     * @param mascota Mascota a insertar o actualizar
+     * @return {@link ResultadoOperacion#INSERTADA},
+     * {@link ResultadoOperacion#ACTUALIZADA},
+     * {@link ResultadoOperacion#SIN_CAMBIOS} si los datos eran iguales sin contar
+     * mayúsculas ni tildes, o
+     * {@link ResultadoOperacion#FALLIDA} si ocurrió un error
+     */
+    ResultadoOperacion upsertMascota(MascotaVO mascota);
+
+    /**
+     * Adiciona varias mascotas en lote. Las mascotas cuyo apodo ya existe (en
+     * el sistema o repetido dentro de la misma lista) no se insertan.
+     *
+     * @param mascotas Lista de mascotas a adicionar
+     * @return Resultado de cada mascota, en el mismo orden de la lista recibida
+     */
+    List<ResultadoOperacion> adicionarMascotas(List<MascotaVO> mascotas);
+
     /**
      * Modifica los datos de una mascota existente. Solo permite modificar
-     * nombre, clasificación y tipo de alimento.
+     * nombre, clasificación y tipo de alimento; los que lleguen nulos o en
+     * blanco conservan su valor actual.
+     * <p>
+     * Si la mascota trae una versión distinta de 0
+     * ({@link MascotaVO#getVersion()}), el cambio solo se aplica si el
+     * registro sigue en esa versión, de modo que una modificación hecha por
+     * otro usuario entre la lectura y la escritura no se sobrescribe. Cada
+     * modificación aumenta la versión del registro.
+     * </p>
      *
      * @param mascota Objeto MascotaVO con los datos actualizados
-     * @return true si la modificación fue exitosa, false en caso contrario
-     * @throws IllegalArgumentException si no existe una mascota con el apodo
-     * proporcionado
+     * @return true si la modificación fue exitosa; false si no existe una
+     * mascota con ese apodo, su versión no coincide o hubo un error
      */
     boolean modificarMascota(MascotaVO mascota);
 
+    /**
+     * Aplica los mismos cambios a todas las mascotas que cumplen unos
+     * criterios, como una sola operación. Igual que en
+     * {@link #modificarMascota(MascotaVO)}, solo cambian el nombre, la
+     * clasificación y el tipo de alimento que no estén en blanco; el apodo y
+     * la versión de {@code cambios} se ignoran.
+     *
+     * @param criterios Mascotas a modificar; el orden se ignora
+     * @param cambios Nuevos valores
+     * @return Número de mascotas modificadas
+     * @throws IllegalStateException si la operación falla
+     */
+    int modificarPorCriterio(CriteriosMascota criterios, MascotaVO cambios);
+
+    /**
+     * Elimina todas las mascotas que cumplen unos criterios, como una sola
+     * operación.
+     *
+     * @param criterios Mascotas a eliminar; el orden se ignora
+     * @return Número de mascotas eliminadas
+     * @throws IllegalStateException si la operación falla
+     */
+    int eliminarPorCriterio(CriteriosMascota criterios);
+
     /**
      * Elimina una mascota del sistema por su apodo.
      *
@@ -52,6 +108,33 @@ public interface ICRUDMascota {
      */
     List<MascotaVO> listarTodasMascotas();
 
+    /**
+     * Obtiene una página de las mascotas registradas, ordenadas por apodo.
+     *
+     * @param tamanoPagina Número máximo de mascotas de la página
+     * @param token Token de continuación de la página anterior, o
+     * {@code null} para la primera página
+     * @return Página de mascotas con el token de la siguiente
+     */
+    PaginaMascotas listarTodasMascotas(int tamanoPagina, String token);
+
+    /**
+     * Obtiene el apodo y el nombre de todas las mascotas, ordenadas por apodo,
+     * sin leer el resto de sus datos.
+     *
+     * @return Resúmenes de todas las mascotas
+     */
+    List<ResumenMascotaVO> listarResumenes();
+
+    /**
+     * Recorre todas las mascotas registradas entregándolas una a una al
+     * consumidor, sin reunirlas en memoria. Útil para exportaciones grandes.
+     *
+     * @param consumidor Acción que se ejecuta por cada mascota
+     * @throws IllegalStateException si ocurre un error leyendo los datos
+     */
+    void recorrerMascotas(Consumer<MascotaVO> consumidor);
+
     /**
      * Consulta mascotas por su apodo.
      *
@@ -68,6 +151,17 @@ public interface ICRUDMascota {
      */
     List<MascotaVO> consultarPorClasificacion(String clasificacion);
 
+    /**
+     * Consulta por clasificación taxonómica una página de mascotas, ordenadas por apodo.
+     *
+     * @param clasificacion Valor a buscar
+     * @param tamanoPagina Número máximo de mascotas de la página
+     * @param token Token de continuación de la página anterior, o
+     * {@code null} para la primera página
+     * @return Página de mascotas con el token de la siguiente
+     */
+    PaginaMascotas consultarPorClasificacion(String clasificacion, int tamanoPagina, String token);
+
     /**
      * Consulta mascotas por familia biológica.
      *
@@ -76,6 +170,17 @@ public interface ICRUDMascota {
      */
     List<MascotaVO> consultarPorFamilia(String familia);
 
+    /**
+     * Consulta por familia biológica una página de mascotas, ordenadas por apodo.
+     *
+     * @param familia Valor a buscar
+     * @param tamanoPagina Número máximo de mascotas de la página
+     * @param token Token de continuación de la página anterior, o
+     * {@code null} para la primera página
+     * @return Página de mascotas con el token de la siguiente
+     */
+    PaginaMascotas consultarPorFamilia(String familia, int tamanoPagina, String token);
+
     /**
      * Consulta mascotas por tipo de alimento.
      *
@@ -84,6 +189,87 @@ public interface ICRUDMascota {
      */
     List<MascotaVO> consultarPorAlimento(String alimento);
 
+    /**
+     * Consulta por tipo de alimento una página de mascotas, ordenadas por apodo.
+     *
+     * @param alimento Valor a buscar
+     * @param tamanoPagina Número máximo de mascotas de la página
+     * @param token Token de continuación de la página anterior, o
+     * {@code null} para la primera página
+     * @return Página de mascotas con el token de la siguiente
+     */
+    PaginaMascotas consultarPorAlimento(String alimento, int tamanoPagina, String token);
+
+    /**
+     * Consulta las mascotas que cumplen un conjunto de criterios combinados
+     * (igualdad, listas de valores, prefijos, conjunciones y disyunciones),
+     * en el orden que estos indiquen.
+     *
+     * @param criterios Criterios de búsqueda
+     * @return Lista de mascotas que cumplen los criterios
+     */
+    List<MascotaVO> consultar(CriteriosMascota criterios);
+
+    /**
+     * Consulta las mascotas cuyos datos biológicos (todos los campos salvo el
+     * apodo) coinciden, sin distinguir mayúsculas ni tildes, con los de la
+     * huella indicada. Permite detectar duplicados exactos con una sola
+     * búsqueda en lugar de comparar campo por campo.
+     *
+     * @param huella Huella de los datos biológicos, obtenida con
+     * {@link udistrital.avanzada.mascotasexoticas.modelo.ClavesMascota#getHuella()}
+     * @return Mascotas con esa huella, ordenadas por apodo
+     */
+    List<MascotaVO> consultarPorHuella(long huella);
+
+    /**
+     * Busca los apodos registrados que se parecen al indicado, para sugerir
+     * alternativas cuando la búsqueda exacta no encuentra nada. Los apodos se
+     * comparan sin distinguir mayúsculas ni tildes.
+     *
+     * @param apodo Apodo buscado, posiblemente con errores de escritura
+     * @param distanciaMaxima Número máximo de caracteres insertados,
+     * eliminados o sustituidos; no puede ser negativo
+     * @param limite Número máximo de resultados; debe ser positivo
+     * @return Apodos encontrados, del más al menos parecido
+     */
+    List<String> consultarApodosSimilares(String apodo, int distanciaMaxima, int limite);
+
+    /**
+     * Busca mascotas cuyo nombre común, especie o género contienen un texto,
+     * sin distinguir mayúsculas ni tildes. Los textos de menos de tres
+     * caracteres solo coinciden con el inicio de una palabra.
+     *
+     * @param texto Texto parcial a buscar
+     * @param limite Número máximo de resultados; debe ser positivo
+     * @return Mascotas encontradas, de la más a la menos relevante: pesa más
+     * coincidir en el nombre que en la especie o el género, y al inicio que en
+     * medio del texto
+     */
+    List<MascotaVO> buscarTexto(String texto, int limite);
+
+    /**
+     * Cuenta las mascotas que cumplen un filtro, agrupadas por el valor de
+     * un campo. Los valores se agrupan sin distinguir mayúsculas ni tildes.
+     *
+     * @param agrupacion Campo por el que se agrupa
+     * @param filtro Criterios que deben cumplir las mascotas contadas; usar
+     * {@link CriteriosMascota#todas()} para contarlas todas
+     * @return Cantidad de mascotas por valor, ordenado por valor
+     */
+    Map<String, Long> contarPor(CampoMascota agrupacion, CriteriosMascota filtro);
+
+    /**
+     * Cuenta, dentro de cada grupo, cuántos valores distintos toma otro
+     * campo; por ejemplo, cuántas familias distintas hay por clasificación.
+     *
+     * @param agrupacion Campo por el que se agrupa
+     * @param contado Campo cuyos valores distintos se cuentan
+     * @param filtro Criterios que deben cumplir las mascotas consideradas
+     * @return Cantidad de valores distintos por grupo, ordenado por valor
+     */
+    Map<String, Long> contarDistintosPor(CampoMascota agrupacion, CampoMascota contado, CriteriosMascota filtro);
+
     /**
      * Serializa todas las mascotas omitiendo el campo de alimento. Cumple con
      * el requerimiento del IDPYBA.
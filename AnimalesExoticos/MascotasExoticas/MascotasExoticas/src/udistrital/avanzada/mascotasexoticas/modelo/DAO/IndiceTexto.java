@@ -0,0 +1,331 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.NormalizadorTexto;
+
+/**
+ * Índice invertido de trigramas sobre el nombre común, la especie y el género
+ * de las mascotas, para búsquedas de texto parcial.
+ * <p>
+ * Cada campo se toma ya normalizado de las claves de la mascota y se descompone en
+ * trigramas; las consultas de tres o más caracteres intersecan las listas de
+ * sus trigramas y solo verifican las mascotas resultantes. Las consultas más
+ * cortas se resuelven con los trigramas y bigramas de inicio de palabra, por
+ * lo que solo encuentran coincidencias al comienzo de una palabra.
+ * </p>
+ *
+ * <p>
+ * Los resultados se ordenan por relevancia: pesa más coincidir en el nombre
+ * que en la especie, y en la especie más que en el género; dentro de un
+ * campo, una coincidencia exacta vale más que un prefijo, un prefijo más que
+ * un inicio de palabra y este más que una subcadena cualquiera.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+final class IndiceTexto {
+
+    /** Longitud de los gramas del índice. */
+    private static final int N = 3;
+
+    /** Campos indexados, en orden de relevancia. */
+    private static final CampoMascota[] CAMPOS = {CampoMascota.NOMBRE, CampoMascota.ESPECIE, CampoMascota.GENERO};
+
+    /** Peso de cada campo de {@link #CAMPOS}. */
+    private static final int[] PESOS = {3, 2, 1};
+
+    /** Mascotas indexadas por apodo normalizado. */
+    private final Map<String, Documento> documentos = new HashMap<>();
+
+    /** Apodos normalizados de las mascotas que contienen cada grama. */
+    private final Map<String, Set<String>> porGrama = new HashMap<>();
+
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+
+    /**
+     * Indexa una mascota, reemplazando la versión anterior con el mismo apodo.
+     *
+     * @param mascota Mascota a indexar
+     */
+    void agregar(MascotaVO mascota) {
+        String clave = mascota.getClaves().getApodo();
+        Documento documento = new Documento(copiar(mascota));
+        candado.writeLock().lock();
+        try {
+            quitarClave(clave);
+            documentos.put(clave, documento);
+            for (String grama : documento.gramas()) {
+                porGrama.computeIfAbsent(grama, g -> new HashSet<>()).add(clave);
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita del índice la mascota con el apodo indicado, si estaba.
+     *
+     * @param apodo Apodo de la mascota
+     */
+    void quitar(String apodo) {
+        candado.writeLock().lock();
+        try {
+            quitarClave(NormalizadorTexto.clave(apodo));
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene la mascota indexada con un apodo.
+     *
+     * @param apodo Apodo de la mascota
+     * @return Copia de la mascota, o {@code null} si no está indexada
+     */
+    MascotaVO obtener(String apodo) {
+        candado.readLock().lock();
+        try {
+            Documento documento = documentos.get(NormalizadorTexto.clave(apodo));
+            return documento == null ? null : copiar(documento.mascota);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene las mascotas indexadas que cumplen unos criterios.
+     *
+     * @param criterios Criterios a evaluar en memoria
+     * @return Copias de las mascotas, sin un orden definido
+     */
+    List<MascotaVO> filtrar(CriteriosMascota criterios) {
+        List<MascotaVO> coincidentes = new ArrayList<>();
+        candado.readLock().lock();
+        try {
+            for (Documento documento : documentos.values()) {
+                if (criterios.coincide(documento.mascota)) {
+                    coincidentes.add(copiar(documento.mascota));
+                }
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        return coincidentes;
+    }
+
+    /**
+     * Busca las mascotas cuyo nombre, especie o género contienen el texto.
+     *
+     * @param texto Texto a buscar
+     * @param limite Número máximo de resultados
+     * @return Copias de las mascotas encontradas, de la más a la menos
+     * relevante
+     */
+    List<MascotaVO> buscar(String texto, int limite) {
+        validarLimite(limite);
+        String consulta = NormalizadorTexto.clave(texto);
+        if (consulta.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Resultado> resultados = new ArrayList<>();
+        candado.readLock().lock();
+        try {
+            for (String clave : candidatos(consulta)) {
+                Documento documento = documentos.get(clave);
+                int puntaje = puntuar(documento.campos, consulta);
+                if (puntaje > 0) {
+                    resultados.add(new Resultado(clave, documento.mascota, puntaje));
+                }
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        return mejores(resultados, limite);
+    }
+
+    /**
+     * Busca recorriendo todas las mascotas, sin índice, con la misma
+     * relevancia que {@link #buscar(String, int)}.
+     *
+     * @param recorrido Recorre las mascotas entregándolas al consumidor
+     * @param texto Texto a buscar
+     * @param limite Número máximo de resultados
+     * @return Mascotas encontradas, de la más a la menos relevante
+     */
+    static List<MascotaVO> buscarRecorriendo(Consumer<Consumer<MascotaVO>> recorrido, String texto, int limite) {
+        validarLimite(limite);
+        String consulta = NormalizadorTexto.clave(texto);
+        if (consulta.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Resultado> resultados = new ArrayList<>();
+        recorrido.accept(mascota -> {
+            int puntaje = puntuar(camposNormalizados(mascota), consulta);
+            if (puntaje > 0) {
+                resultados.add(new Resultado(mascota.getClaves().getApodo(), mascota, puntaje));
+            }
+        });
+        return mejores(resultados, limite);
+    }
+
+    private void quitarClave(String clave) {
+        Documento anterior = documentos.remove(clave);
+        if (anterior == null) {
+            return;
+        }
+        for (String grama : anterior.gramas()) {
+            Set<String> claves = porGrama.get(grama);
+            if (claves != null) {
+                claves.remove(clave);
+                if (claves.isEmpty()) {
+                    porGrama.remove(grama);
+                }
+            }
+        }
+    }
+
+    /**
+     * Apodos que pueden coincidir con la consulta. Debe llamarse con el
+     * candado de lectura tomado.
+     */
+    private Set<String> candidatos(String consulta) {
+        if (consulta.length() < N) {
+            Set<String> claves = porGrama.get(" " + consulta);
+            return claves == null ? new HashSet<>() : claves;
+        }
+        List<Set<String>> listas = new ArrayList<>();
+        for (String grama : gramas(consulta)) {
+            Set<String> claves = porGrama.get(grama);
+            if (claves == null) {
+                return new HashSet<>();
+            }
+            listas.add(claves);
+        }
+        listas.sort(Comparator.comparingInt(Set::size));
+        Set<String> interseccion = new HashSet<>(listas.get(0));
+        for (int i = 1; i < listas.size() && !interseccion.isEmpty(); i++) {
+            interseccion.retainAll(listas.get(i));
+        }
+        return interseccion;
+    }
+
+    /**
+     * Relevancia de una mascota para la consulta; 0 si no coincide.
+     */
+    private static int puntuar(String[] campos, String consulta) {
+        int puntaje = 0;
+        for (int i = 0; i < campos.length; i++) {
+            String campo = campos[i];
+            int valor;
+            if (campo.equals(consulta)) {
+                valor = 8;
+            } else if (campo.startsWith(consulta)) {
+                valor = 4;
+            } else if (campo.contains(" " + consulta)) {
+                valor = 2;
+            } else if (consulta.length() >= N && campo.contains(consulta)) {
+                valor = 1;
+            } else {
+                valor = 0;
+            }
+            puntaje += valor * PESOS[i];
+        }
+        return puntaje;
+    }
+
+    private static List<MascotaVO> mejores(List<Resultado> resultados, int limite) {
+        resultados.sort(Comparator.comparingInt((Resultado r) -> -r.puntaje).thenComparing(r -> r.clave));
+        List<MascotaVO> mejores = new ArrayList<>(Math.min(limite, resultados.size()));
+        for (Resultado resultado : resultados.subList(0, Math.min(limite, resultados.size()))) {
+            mejores.add(copiar(resultado.mascota));
+        }
+        return mejores;
+    }
+
+    /**
+     * Trigramas consecutivos de un texto.
+     */
+    private static Set<String> gramas(String texto) {
+        Set<String> gramas = new LinkedHashSet<>();
+        for (int i = 0; i + N <= texto.length(); i++) {
+            gramas.add(texto.substring(i, i + N));
+        }
+        return gramas;
+    }
+
+    private static String[] camposNormalizados(MascotaVO mascota) {
+        String[] campos = new String[CAMPOS.length];
+        for (int i = 0; i < CAMPOS.length; i++) {
+            campos[i] = CAMPOS[i].claveDe(mascota);
+        }
+        return campos;
+    }
+
+    private static void validarLimite(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El límite de resultados debe ser positivo");
+        }
+    }
+
+    private static MascotaVO copiar(MascotaVO m) {
+        return new MascotaVO(m);
+    }
+
+    /**
+     * Mascota indexada junto con sus campos normalizados.
+     */
+    private static final class Documento {
+
+        private final MascotaVO mascota;
+        private final String[] campos;
+
+        private Documento(MascotaVO mascota) {
+            this.mascota = mascota;
+            this.campos = camposNormalizados(mascota);
+        }
+
+        /**
+         * Gramas bajo los que se indexa: los trigramas de cada campo precedido
+         * por un espacio, de modo que el inicio de cada palabra produce un
+         * grama propio, y el bigrama de inicio de cada palabra.
+         */
+        private Set<String> gramas() {
+            Set<String> gramas = new HashSet<>();
+            for (String campo : campos) {
+                String texto = " " + campo;
+                gramas.addAll(IndiceTexto.gramas(texto));
+                for (int i = 0; i + 1 < texto.length(); i++) {
+                    if (texto.charAt(i) == ' ' && texto.charAt(i + 1) != ' ') {
+                        gramas.add(texto.substring(i, i + 2));
+                    }
+                }
+            }
+            return gramas;
+        }
+    }
+
+    private static final class Resultado {
+
+        private final String clave;
+        private final MascotaVO mascota;
+        private final int puntaje;
+
+        private Resultado(String clave, MascotaVO mascota, int puntaje) {
+            this.clave = clave;
+            this.mascota = mascota;
+            this.puntaje = puntaje;
+        }
+    }
+}
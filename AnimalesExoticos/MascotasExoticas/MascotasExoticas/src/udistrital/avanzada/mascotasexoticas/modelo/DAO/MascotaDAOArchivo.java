@@ -0,0 +1,1149 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.NormalizadorTexto;
+import udistrital.avanzada.mascotasexoticas.modelo.ResumenMascotaVO;
+
+/**
+ * Implementación de {@link ICRUDMascota} que persiste las mascotas en un
+ * archivo local mapeado en memoria, sin base de datos.
+ * <p>
+ * Se usan dos archivos, ambos mapeados con {@link FileChannel#map}:
+ * </p>
+ * <ul>
+ *   <li><b>Datos</b>: una cabecera fija seguida de registros. Cada registro
+ *       tiene una cabecera de 16 bytes (estado, clase de tamaño, versión de
+ *       32 bits y enlace a la lista de libres) y los siete campos en UTF-8,
+ *       cada uno
+ *       precedido por su longitud. La capacidad de los registros es una
+ *       potencia de dos; al eliminar, el registro pasa a la lista de libres
+ *       de su clase y se reutiliza en la siguiente inserción de ese tamaño.</li>
+ *   <li><b>Índice</b> ({@code <datos>.idx}): tabla hash de direccionamiento
+ *       abierto con sondeo lineal sobre el apodo normalizado. Cada casilla
+ *       guarda la posición del registro y el hash completo, de modo que solo
+ *       se decodifica el apodo cuando los hashes coinciden.</li>
+ * </ul>
+ *
+ * <p>
+ * Las lecturas por apodo son una búsqueda en el índice y leen los bytes
+ * directamente de la página mapeada. Las consultas por otros campos y las
+ * paginadas recorren secuencialmente el archivo de datos, decodificando solo
+ * el campo filtrado hasta encontrar coincidencias.
+ * </p>
+ *
+ * <p>
+ * Las escrituras se copian a la caché de páginas del sistema operativo al
+ * instante, por lo que sobreviven a un cierre abrupto del proceso; para
+ * sobrevivir a una caída del equipo se debe llamar {@link #sincronizar()} o
+ * {@link #close()}. Si el archivo no se cerró correctamente, al abrirlo se
+ * reconstruyen el índice y las listas de libres a partir de los registros.
+ * Cada archivo puede crecer hasta 2 GB.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class MascotaDAOArchivo implements ICRUDMascota, AutoCloseable {
+
+    /** Registro de los errores de acceso al archivo. */
+    private static final Logger LOG = Logger.getLogger(MascotaDAOArchivo.class.getName());
+
+    private static final int MAGIA_DATOS = 0x4D415343;
+    private static final int MAGIA_INDICE = 0x4D494458;
+    private static final int VERSION = 2;
+
+    /** Formato anterior, con la versión del registro en 16 bits; se convierte al abrirlo. */
+    private static final int VERSION_VERSION_16_BITS = 1;
+
+    /* Cabecera del archivo de datos. */
+    private static final int CAB_MAGIA = 0;
+    private static final int CAB_VERSION = 4;
+    private static final int CAB_LIMPIO = 8;
+    private static final int CAB_FIN = 16;
+    private static final int CAB_REGISTROS = 24;
+    private static final int CAB_LIBRES = 32;
+    private static final int TAMANO_CABECERA = 128;
+
+    /* Cabecera de cada registro. */
+    private static final int REG_ESTADO = 0;
+    private static final int REG_CLASE = 1;
+    /** Sin uso; en el formato anterior guardaba la versión menos uno en 16 bits. */
+    private static final int REG_VERSION_16_BITS = 2;
+    private static final int REG_VERSION = 4;
+    private static final int REG_SIGUIENTE = 8;
+    private static final int TAMANO_CABECERA_REGISTRO = 16;
+    private static final byte LIBRE = 0;
+    private static final byte OCUPADO = 1;
+
+    /** Clases de tamaño: registros de 2^6 (64) a 2^13 (8192) bytes. */
+    private static final int CLASE_MINIMA = 6;
+    private static final int CLASE_MAXIMA = 13;
+
+    /* Orden de los campos dentro del registro. */
+    private static final int CAMPO_APODO = 0;
+    private static final int CAMPO_NOMBRE = 1;
+    private static final int CAMPO_CLASIFICACION = 2;
+    private static final int CAMPO_FAMILIA = 3;
+    private static final int CAMPO_GENERO = 4;
+    private static final int CAMPO_ESPECIE = 5;
+    private static final int CAMPO_ALIMENTO = 6;
+    private static final int CAMPOS = 7;
+
+    /* Índice hash. */
+    private static final int IDX_MAGIA = 0;
+    private static final int IDX_CAPACIDAD = 4;
+    private static final int IDX_OCUPADOS = 8;
+    private static final int IDX_BORRADOS = 12;
+    private static final int TAMANO_CABECERA_INDICE = 64;
+    private static final int TAMANO_CASILLA = 16;
+    private static final long CASILLA_VACIA = 0;
+    private static final long CASILLA_BORRADA = -1;
+    private static final int CAPACIDAD_INICIAL_INDICE = 1 << 10;
+    private static final double CARGA_MAXIMA = 0.7;
+
+    private static final long TAMANO_INICIAL_DATOS = 1 << 20;
+    private static final long TAMANO_MAXIMO = Integer.MAX_VALUE;
+
+    private final FileChannel canalDatos;
+    private final FileChannel canalIndice;
+    private MappedByteBuffer datos;
+    private MappedByteBuffer indice;
+
+    /** Lecturas concurrentes; las escrituras y el remapeo son exclusivos. */
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+
+    /** Indica si ya se marcó el archivo como abierto para escritura. */
+    private boolean sucio;
+
+    /**
+     * Abre o crea el almacenamiento en la ruta indicada.
+     *
+     * @param rutaDatos Archivo de datos; el índice se guarda junto a él con
+     * extensión {@code .idx}
+     * @throws IOException si no se pueden abrir los archivos o no tienen el
+     * formato esperado
+     */
+    public MascotaDAOArchivo(Path rutaDatos) throws IOException {
+        Path rutaIndice = rutaDatos.resolveSibling(rutaDatos.getFileName() + ".idx");
+        canalDatos = FileChannel.open(rutaDatos,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        canalIndice = FileChannel.open(rutaIndice,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        try {
+            if (canalDatos.size() == 0) {
+                datos = canalDatos.map(FileChannel.MapMode.READ_WRITE, 0, TAMANO_INICIAL_DATOS);
+                datos.putInt(CAB_MAGIA, MAGIA_DATOS);
+                datos.putInt(CAB_VERSION, VERSION);
+                datos.putLong(CAB_FIN, TAMANO_CABECERA);
+                crearIndice(CAPACIDAD_INICIAL_INDICE);
+                datos.putInt(CAB_LIMPIO, 1);
+                return;
+            }
+            datos = canalDatos.map(FileChannel.MapMode.READ_WRITE, 0, canalDatos.size());
+            if (datos.getInt(CAB_MAGIA) == MAGIA_DATOS && datos.getInt(CAB_VERSION) == VERSION_VERSION_16_BITS) {
+                convertirVersiones16Bits();
+            }
+            if (datos.getInt(CAB_MAGIA) != MAGIA_DATOS || datos.getInt(CAB_VERSION) != VERSION) {
+                throw new IOException("El archivo no es un almacenamiento de mascotas: " + rutaDatos);
+            }
+            if (datos.getInt(CAB_LIMPIO) == 1 && canalIndice.size() > TAMANO_CABECERA_INDICE) {
+                indice = canalIndice.map(FileChannel.MapMode.READ_WRITE, 0, canalIndice.size());
+                if (indice.getInt(IDX_MAGIA) == MAGIA_INDICE) {
+                    return;
+                }
+            }
+            recuperar();
+        } catch (IOException | RuntimeException e) {
+            canalDatos.close();
+            canalIndice.close();
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code false} si ya existe una mascota con el mismo apodo
+     */
+    @Override
+    public boolean adicionarMascota(MascotaVO mascota) {
+        candado.writeLock().lock();
+        try {
+            return insertar(mascota) == ResultadoOperacion.INSERTADA;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ResultadoOperacion> adicionarMascotas(List<MascotaVO> mascotas) {
+        List<ResultadoOperacion> resultados = new ArrayList<>(mascotas.size());
+        candado.writeLock().lock();
+        try {
+            for (MascotaVO mascota : mascotas) {
+                resultados.add(insertar(mascota));
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+        return resultados;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Si los nuevos datos caben en la capacidad del registro se reescribe en
+     * su lugar; si no, se escribe en un registro nuevo y el anterior queda libre.
+     * </p>
+     */
+    @Override
+    public boolean modificarMascota(MascotaVO mascota) {
+        candado.writeLock().lock();
+        try {
+            String clave = mascota.getClaves().getApodo();
+            int casilla = buscarCasilla(clave, hash(clave));
+            if (casilla < 0) {
+                return false;
+            }
+            MascotaVO nueva = CampoMascota.aplicarCambios(
+                    leerMascota(indice.getLong(desplazamientoCasilla(casilla))), mascota);
+            if (nueva == null) {
+                return false;
+            }
+            reescribir(casilla, nueva);
+            return true;
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "No se pudo modificar la mascota", e);
+            FallosAcceso.registrar();
+            return false;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultadoOperacion upsertMascota(MascotaVO mascota) {
+        candado.writeLock().lock();
+        try {
+            String clave = mascota.getClaves().getApodo();
+            int casilla = buscarCasilla(clave, hash(clave));
+            if (casilla < 0) {
+                return insertar(mascota);
+            }
+            MascotaVO anterior = leerMascota(indice.getLong(desplazamientoCasilla(casilla)));
+            if (CampoMascota.mismosDatos(anterior, mascota)) {
+                return ResultadoOperacion.SIN_CAMBIOS;
+            }
+            MascotaVO nueva = new MascotaVO(mascota.getNombre(), mascota.getClasificacion(),
+                    mascota.getFamilia(), mascota.getGenero(), mascota.getEspecie(),
+                    mascota.getAlimento(), anterior.getApodo());
+            nueva.setVersion(anterior.getVersion() + 1);
+            reescribir(casilla, nueva);
+            return ResultadoOperacion.ACTUALIZADA;
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.log(Level.WARNING, "No se pudo guardar la mascota", e);
+            FallosAcceso.registrar();
+            return ResultadoOperacion.FALLIDA;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean eliminarMascota(String apodo) {
+        candado.writeLock().lock();
+        try {
+            return eliminar(NormalizadorTexto.clave(apodo));
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Primero se buscan las mascotas que cumplen los criterios y después se
+     * reescriben, todo con el candado de escritura tomado para que ninguna
+     * otra operación vea el cambio a medias.
+     * </p>
+     */
+    @Override
+    public int modificarPorCriterio(CriteriosMascota criterios, MascotaVO cambios) {
+        candado.writeLock().lock();
+        try {
+            int modificadas = 0;
+            for (MascotaVO anterior : consultar(criterios)) {
+                String clave = anterior.getClaves().getApodo();
+                int casilla = buscarCasilla(clave, hash(clave));
+                if (casilla >= 0) {
+                    reescribir(casilla, CampoMascota.combinar(anterior, cambios));
+                    modificadas++;
+                }
+            }
+            return modificadas;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Error modificando las mascotas por criterio.", e);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int eliminarPorCriterio(CriteriosMascota criterios) {
+        candado.writeLock().lock();
+        try {
+            int eliminadas = 0;
+            for (MascotaVO mascota : consultar(criterios)) {
+                if (eliminar(mascota.getClaves().getApodo())) {
+                    eliminadas++;
+                }
+            }
+            return eliminadas;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina el registro de un apodo normalizado. Debe llamarse con el
+     * candado de escritura tomado.
+     *
+     * @return {@code false} si no existía
+     */
+    private boolean eliminar(String clave) {
+        int casilla = buscarCasilla(clave, hash(clave));
+        if (casilla < 0) {
+            return false;
+        }
+        marcarSucio();
+        int desplazamiento = desplazamientoCasilla(casilla);
+        long posicion = indice.getLong(desplazamiento);
+        indice.putLong(desplazamiento, CASILLA_BORRADA);
+        indice.putInt(IDX_OCUPADOS, indice.getInt(IDX_OCUPADOS) - 1);
+        indice.putInt(IDX_BORRADOS, indice.getInt(IDX_BORRADOS) + 1);
+        liberar(posicion);
+        datos.putLong(CAB_REGISTROS, datos.getLong(CAB_REGISTROS) - 1);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> listarTodasMascotas() {
+        List<MascotaVO> resultado = new ArrayList<>();
+        recorrerMascotas(resultado::add);
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas listarTodasMascotas(int tamanoPagina, String token) {
+        return consultarPagina(-1, null, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Solo se decodifican el apodo y el nombre de cada registro.
+     * </p>
+     */
+    @Override
+    public List<ResumenMascotaVO> listarResumenes() {
+        List<ResumenMascotaVO> resultado = new ArrayList<>();
+        candado.readLock().lock();
+        try {
+            long fin = datos.getLong(CAB_FIN);
+            for (long posicion = TAMANO_CABECERA; posicion < fin; posicion += capacidadRegistro(posicion)) {
+                if (datos.get((int) posicion + REG_ESTADO) == OCUPADO) {
+                    resultado.add(new ResumenMascotaVO(leerCampo(posicion, CAMPO_APODO),
+                            leerCampo(posicion, CAMPO_NOMBRE)));
+                }
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        resultado.sort(Comparator.comparing((ResumenMascotaVO r) -> NormalizadorTexto.clave(r.getApodo())));
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Las mascotas se entregan en el orden físico del archivo. Las escrituras
+     * esperan hasta que termina el recorrido.
+     * </p>
+     */
+    @Override
+    public void recorrerMascotas(Consumer<MascotaVO> consumidor) {
+        candado.readLock().lock();
+        try {
+            long fin = datos.getLong(CAB_FIN);
+            for (long posicion = TAMANO_CABECERA; posicion < fin; posicion += capacidadRegistro(posicion)) {
+                if (datos.get((int) posicion + REG_ESTADO) == OCUPADO) {
+                    consumidor.accept(leerMascota(posicion));
+                }
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorApodo(String apodo) {
+        List<MascotaVO> resultado = new ArrayList<>(1);
+        candado.readLock().lock();
+        try {
+            String clave = NormalizadorTexto.clave(apodo);
+            int casilla = buscarCasilla(clave, hash(clave));
+            if (casilla >= 0) {
+                resultado.add(leerMascota(indice.getLong(desplazamientoCasilla(casilla))));
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorClasificacion(String clasificacion) {
+        return consultarPorCampo(CAMPO_CLASIFICACION, clasificacion);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorClasificacion(String clasificacion, int tamanoPagina, String token) {
+        return consultarPagina(CAMPO_CLASIFICACION, clasificacion, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorFamilia(String familia) {
+        return consultarPorCampo(CAMPO_FAMILIA, familia);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorFamilia(String familia, int tamanoPagina, String token) {
+        return consultarPagina(CAMPO_FAMILIA, familia, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorAlimento(String alimento) {
+        return consultarPorCampo(CAMPO_ALIMENTO, alimento);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorAlimento(String alimento, int tamanoPagina, String token) {
+        return consultarPagina(CAMPO_ALIMENTO, alimento, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Si los criterios fijan el apodo se resuelve con el índice; en otro caso
+     * se recorre el archivo evaluando cada mascota.
+     * </p>
+     */
+    @Override
+    public List<MascotaVO> consultar(CriteriosMascota criterios) {
+        List<MascotaVO> resultado = new ArrayList<>();
+        List<String> apodos = criterios.valoresRequeridos(CampoMascota.APODO);
+        if (apodos != null) {
+            for (String apodo : apodos) {
+                for (MascotaVO mascota : consultarPorApodo(apodo)) {
+                    if (criterios.coincide(mascota)) {
+                        resultado.add(mascota);
+                    }
+                }
+            }
+        } else {
+            recorrerMascotas(mascota -> {
+                if (criterios.coincide(mascota)) {
+                    resultado.add(mascota);
+                }
+            });
+        }
+        if (criterios.tieneOrden()) {
+            resultado.sort(criterios.comparador());
+        }
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Se recorre el archivo una vez; sin filtro solo se decodifica el campo de
+     * agrupación de cada registro.
+     * </p>
+     */
+    @Override
+    public Map<String, Long> contarPor(CampoMascota agrupacion, CriteriosMascota filtro) {
+        return contar(agrupacion, null, filtro);
+    }
+
+    @Override
+    public Map<String, Long> contarDistintosPor(CampoMascota agrupacion, CampoMascota contado,
+                                               CriteriosMascota filtro) {
+        return contar(agrupacion, contado, filtro);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Compara el apodo con todos los registrados. Para atender búsquedas
+     * interactivas sobre catálogos grandes, este DAO debe envolverse con
+     * {@link BusquedaTextoMascotaDAO}.
+     * </p>
+     */
+    @Override
+    public List<String> consultarApodosSimilares(String apodo, int distanciaMaxima, int limite) {
+        List<String> apodos = new ArrayList<>();
+        for (ResumenMascotaVO resumen : listarResumenes()) {
+            apodos.add(resumen.getApodo());
+        }
+        return ArbolBK.buscarEn(apodos, apodo, distanciaMaxima, limite);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Recorre todas las mascotas calculando su huella; el archivo no guarda
+     * un índice de huellas.
+     * </p>
+     */
+    @Override
+    public List<MascotaVO> consultarPorHuella(long huella) {
+        List<MascotaVO> resultado = new ArrayList<>();
+        recorrerMascotas(mascota -> {
+            if (mascota.getClaves().getHuella() == huella) {
+                resultado.add(mascota);
+            }
+        });
+        resultado.sort(Comparator.comparing((MascotaVO m) -> m.getClaves().getApodo()));
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Recorre todas las mascotas sin índice. Para atender búsquedas
+     * frecuentes, por ejemplo mientras el usuario escribe, este DAO debe
+     * envolverse con {@link BusquedaTextoMascotaDAO}.
+     * </p>
+     */
+    @Override
+    public List<MascotaVO> buscarTexto(String texto, int limite) {
+        return IndiceTexto.buscarRecorriendo(this::recorrerMascotas, texto, limite);
+    }
+
+    /**
+     * Recorre los registros ocupados acumulando el conteo de cada grupo.
+     *
+     * @param contado Campo cuyos valores distintos se cuentan, o {@code null}
+     * para contar registros.
+     */
+    private Map<String, Long> contar(CampoMascota agrupacion, CampoMascota contado, CriteriosMascota filtro) {
+        AcumuladorConteos conteos = new AcumuladorConteos();
+        boolean proyectar = filtro.sinCondicion();
+        candado.readLock().lock();
+        try {
+            long fin = datos.getLong(CAB_FIN);
+            for (long posicion = TAMANO_CABECERA; posicion < fin; posicion += capacidadRegistro(posicion)) {
+                if (datos.get((int) posicion + REG_ESTADO) != OCUPADO) {
+                    continue;
+                }
+                String grupo;
+                String valorContado = null;
+                if (proyectar) {
+                    grupo = leerCampo(posicion, indiceCampo(agrupacion));
+                    if (contado != null) {
+                        valorContado = leerCampo(posicion, indiceCampo(contado));
+                    }
+                } else {
+                    MascotaVO mascota = leerMascota(posicion);
+                    if (!filtro.coincide(mascota)) {
+                        continue;
+                    }
+                    grupo = agrupacion.valorDe(mascota);
+                    if (contado != null) {
+                        valorContado = contado.valorDe(mascota);
+                    }
+                }
+                if (contado == null) {
+                    conteos.sumar(grupo, 1);
+                } else {
+                    conteos.sumarDistinto(grupo, valorContado);
+                }
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        return conteos.resultado();
+    }
+
+    private static int indiceCampo(CampoMascota campo) {
+        switch (campo) {
+            case APODO:
+                return CAMPO_APODO;
+            case NOMBRE:
+                return CAMPO_NOMBRE;
+            case CLASIFICACION:
+                return CAMPO_CLASIFICACION;
+            case FAMILIA:
+                return CAMPO_FAMILIA;
+            case GENERO:
+                return CAMPO_GENERO;
+            case ESPECIE:
+                return CAMPO_ESPECIE;
+            default:
+                return CAMPO_ALIMENTO;
+        }
+    }
+
+    /**
+     * Fuerza la escritura a disco de los cambios pendientes en ambos archivos.
+     */
+    public void sincronizar() {
+        candado.writeLock().lock();
+        try {
+            indice.force();
+            datos.force();
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Número de mascotas almacenadas.
+     */
+    public long getRegistros() {
+        candado.readLock().lock();
+        try {
+            return datos.getLong(CAB_REGISTROS);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Bytes ocupados por registros en el archivo de datos, incluida
+     * la cabecera y los registros libres.
+     */
+    public long getTamanoUsado() {
+        candado.readLock().lock();
+        try {
+            return datos.getLong(CAB_FIN);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sincroniza los archivos, los marca como cerrados correctamente y libera
+     * los canales.
+     *
+     * @throws IOException si falla el cierre de los canales
+     */
+    @Override
+    public void close() throws IOException {
+        candado.writeLock().lock();
+        try {
+            if (!canalDatos.isOpen()) {
+                return;
+            }
+            indice.force();
+            datos.putInt(CAB_LIMPIO, 1);
+            datos.force();
+            sucio = false;
+            canalIndice.close();
+            canalDatos.close();
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserta una mascota con el candado de escritura tomado.
+     */
+    private ResultadoOperacion insertar(MascotaVO mascota) {
+        try {
+            String clave = mascota.getClaves().getApodo();
+            long hash = hash(clave);
+            if (buscarCasilla(clave, hash) >= 0) {
+                return ResultadoOperacion.DUPLICADA;
+            }
+            marcarSucio();
+            byte[][] campos = codificar(mascota);
+            int clase = claseDe(TAMANO_CABECERA_REGISTRO + longitudCampos(campos));
+            long posicion = reservar(clase);
+            escribirRegistro(posicion, clase, 1, campos);
+            agregarAlIndice(hash, posicion);
+            datos.putLong(CAB_REGISTROS, datos.getLong(CAB_REGISTROS) + 1);
+            return ResultadoOperacion.INSERTADA;
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.log(Level.WARNING, "No se pudo adicionar la mascota", e);
+            FallosAcceso.registrar();
+            return ResultadoOperacion.FALLIDA;
+        }
+    }
+
+    /**
+     * Reemplaza el contenido del registro al que apunta una casilla del
+     * índice. Si los nuevos datos caben en la capacidad del registro se
+     * reescribe en su lugar; si no, se escriben en un registro nuevo y el
+     * anterior queda libre. Debe llamarse con el candado de escritura tomado.
+     */
+    private void reescribir(int casilla, MascotaVO nueva) throws IOException {
+        marcarSucio();
+        long posicion = indice.getLong(desplazamientoCasilla(casilla));
+        byte[][] campos = codificar(nueva);
+        int necesario = TAMANO_CABECERA_REGISTRO + longitudCampos(campos);
+        if (necesario <= capacidadRegistro(posicion)) {
+            escribirRegistro(posicion, datos.get((int) posicion + REG_CLASE), nueva.getVersion(), campos);
+        } else {
+            int clase = claseDe(necesario);
+            long destino = reservar(clase);
+            escribirRegistro(destino, clase, nueva.getVersion(), campos);
+            indice.putLong(desplazamientoCasilla(casilla), destino);
+            liberar(posicion);
+        }
+    }
+
+    /**
+     * Recorre el archivo y devuelve las mascotas cuyo campo coincide.
+     */
+    private List<MascotaVO> consultarPorCampo(int campo, String valorBuscado) {
+        String valor = NormalizadorTexto.clave(valorBuscado);
+        List<MascotaVO> resultado = new ArrayList<>();
+        candado.readLock().lock();
+        try {
+            long fin = datos.getLong(CAB_FIN);
+            for (long posicion = TAMANO_CABECERA; posicion < fin; posicion += capacidadRegistro(posicion)) {
+                if (datos.get((int) posicion + REG_ESTADO) == OCUPADO
+                        && NormalizadorTexto.clave(leerCampo(posicion, campo)).equals(valor)) {
+                    resultado.add(leerMascota(posicion));
+                }
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        return resultado;
+    }
+
+    /**
+     * Arma una página ordenada por apodo con un recorrido del archivo,
+     * conservando solo los {@code tamanoPagina + 1} apodos menores posteriores
+     * al token.
+     *
+     * @param campo Campo filtrado, o -1 para no filtrar.
+     */
+    private PaginaMascotas consultarPagina(int campo, String valorBuscado, int tamanoPagina, String token) {
+        PaginaMascotas.validarTamano(tamanoPagina);
+        String ultimoApodo = PaginaMascotas.decodificarToken(token);
+        String desde = ultimoApodo == null ? null : NormalizadorTexto.clave(ultimoApodo);
+        String valor = campo < 0 ? null : NormalizadorTexto.clave(valorBuscado);
+        int limite = tamanoPagina + 1;
+        // Montículo de máximos: la cima es el apodo que se descarta primero.
+        PriorityQueue<Candidata> mejores = new PriorityQueue<>(limite + 1,
+                Comparator.comparing((Candidata c) -> c.clave).reversed());
+        List<MascotaVO> filas = new ArrayList<>(limite);
+        candado.readLock().lock();
+        try {
+            long fin = datos.getLong(CAB_FIN);
+            for (long posicion = TAMANO_CABECERA; posicion < fin; posicion += capacidadRegistro(posicion)) {
+                if (datos.get((int) posicion + REG_ESTADO) != OCUPADO) {
+                    continue;
+                }
+                if (valor != null && !NormalizadorTexto.clave(leerCampo(posicion, campo)).equals(valor)) {
+                    continue;
+                }
+                String clave = NormalizadorTexto.clave(leerCampo(posicion, CAMPO_APODO));
+                if (desde != null && clave.compareTo(desde) <= 0) {
+                    continue;
+                }
+                if (mejores.size() < limite || clave.compareTo(mejores.peek().clave) < 0) {
+                    mejores.add(new Candidata(clave, posicion));
+                    if (mejores.size() > limite) {
+                        mejores.poll();
+                    }
+                }
+            }
+            List<Candidata> ordenadas = new ArrayList<>(mejores);
+            ordenadas.sort(Comparator.comparing((Candidata c) -> c.clave));
+            for (Candidata candidata : ordenadas) {
+                filas.add(leerMascota(candidata.posicion));
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        return PaginaMascotas.desdeFilas(filas, tamanoPagina);
+    }
+
+    // ---------------------------------------------------------------- Registros
+
+    private static byte[][] codificar(MascotaVO mascota) {
+        String[] valores = new String[CAMPOS];
+        valores[CAMPO_APODO] = mascota.getApodo();
+        valores[CAMPO_NOMBRE] = mascota.getNombre();
+        valores[CAMPO_CLASIFICACION] = mascota.getClasificacion();
+        valores[CAMPO_FAMILIA] = mascota.getFamilia();
+        valores[CAMPO_GENERO] = mascota.getGenero();
+        valores[CAMPO_ESPECIE] = mascota.getEspecie();
+        valores[CAMPO_ALIMENTO] = mascota.getAlimento();
+        byte[][] campos = new byte[CAMPOS][];
+        for (int i = 0; i < CAMPOS; i++) {
+            campos[i] = valores[i] == null ? new byte[0] : valores[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return campos;
+    }
+
+    private static int longitudCampos(byte[][] campos) {
+        int longitud = 0;
+        for (byte[] campo : campos) {
+            longitud += 2 + campo.length;
+        }
+        return longitud;
+    }
+
+    private static int claseDe(int bytes) {
+        int clase = Math.max(CLASE_MINIMA, 32 - Integer.numberOfLeadingZeros(bytes - 1));
+        if (clase > CLASE_MAXIMA) {
+            throw new IllegalArgumentException("Los datos de la mascota exceden el tamaño máximo de registro.");
+        }
+        return clase;
+    }
+
+    private int capacidadRegistro(long posicion) {
+        return 1 << datos.get((int) posicion + REG_CLASE);
+    }
+
+    /**
+     * Escribe el contenido del registro y, al final, lo marca como ocupado.
+     */
+    private void escribirRegistro(long posicion, int clase, int version, byte[][] campos) {
+        int base = (int) posicion;
+        datos.put(base + REG_CLASE, (byte) clase);
+        datos.putShort(base + REG_VERSION_16_BITS, (short) 0);
+        datos.putInt(base + REG_VERSION, version);
+        datos.putLong(base + REG_SIGUIENTE, 0);
+        int p = base + TAMANO_CABECERA_REGISTRO;
+        for (byte[] campo : campos) {
+            datos.putShort(p, (short) campo.length);
+            datos.put(p + 2, campo);
+            p += 2 + campo.length;
+        }
+        datos.put(base + REG_ESTADO, OCUPADO);
+        long finRegistro = posicion + (1L << clase);
+        if (finRegistro > datos.getLong(CAB_FIN)) {
+            datos.putLong(CAB_FIN, finRegistro);
+        }
+    }
+
+    private String leerCampo(long posicion, int campo) {
+        int p = (int) posicion + TAMANO_CABECERA_REGISTRO;
+        for (int i = 0; i < campo; i++) {
+            p += 2 + (datos.getShort(p) & 0xFFFF);
+        }
+        byte[] bytes = new byte[datos.getShort(p) & 0xFFFF];
+        datos.get(p + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private MascotaVO leerMascota(long posicion) {
+        String[] valores = new String[CAMPOS];
+        int p = (int) posicion + TAMANO_CABECERA_REGISTRO;
+        for (int i = 0; i < CAMPOS; i++) {
+            byte[] bytes = new byte[datos.getShort(p) & 0xFFFF];
+            datos.get(p + 2, bytes);
+            valores[i] = new String(bytes, StandardCharsets.UTF_8);
+            p += 2 + bytes.length;
+        }
+        MascotaVO mascota = new MascotaVO(valores[CAMPO_NOMBRE], valores[CAMPO_CLASIFICACION],
+                valores[CAMPO_FAMILIA], valores[CAMPO_GENERO], valores[CAMPO_ESPECIE],
+                valores[CAMPO_ALIMENTO], valores[CAMPO_APODO]);
+        mascota.setVersion(datos.getInt((int) posicion + REG_VERSION));
+        return mascota;
+    }
+
+    /**
+     * Obtiene un registro libre de la clase indicada, o espacio al final del
+     * archivo si no hay ninguno.
+     */
+    private long reservar(int clase) throws IOException {
+        int cabezaLista = CAB_LIBRES + 8 * (clase - CLASE_MINIMA);
+        long libre = datos.getLong(cabezaLista);
+        if (libre != 0) {
+            datos.putLong(cabezaLista, datos.getLong((int) libre + REG_SIGUIENTE));
+            return libre;
+        }
+        long fin = datos.getLong(CAB_FIN);
+        asegurarCapacidadDatos(fin + (1L << clase));
+        return fin;
+    }
+
+    private void liberar(long posicion) {
+        int base = (int) posicion;
+        int cabezaLista = CAB_LIBRES + 8 * (datos.get(base + REG_CLASE) - CLASE_MINIMA);
+        datos.put(base + REG_ESTADO, LIBRE);
+        datos.putLong(base + REG_SIGUIENTE, datos.getLong(cabezaLista));
+        datos.putLong(cabezaLista, posicion);
+    }
+
+    private void asegurarCapacidadDatos(long requerido) throws IOException {
+        if (requerido <= datos.capacity()) {
+            return;
+        }
+        if (requerido > TAMANO_MAXIMO) {
+            throw new IOException("El archivo de datos alcanzó su tamaño máximo.");
+        }
+        long nuevoTamano = Math.min(TAMANO_MAXIMO, Math.max(requerido, 2L * datos.capacity()));
+        datos = canalDatos.map(FileChannel.MapMode.READ_WRITE, 0, nuevoTamano);
+    }
+
+    /**
+     * Marca el archivo como abierto para escritura antes del primer cambio,
+     * para detectar al abrirlo si no se cerró correctamente.
+     */
+    private void marcarSucio() {
+        if (!sucio) {
+            datos.putInt(CAB_LIMPIO, 0);
+            datos.force();
+            sucio = true;
+        }
+    }
+
+    // ------------------------------------------------------------------- Índice
+
+    /**
+     * Hash FNV-1a de 64 bits de la clave normalizada.
+     */
+    private static long hash(String clave) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < clave.length(); i++) {
+            h ^= clave.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static int desplazamientoCasilla(int casilla) {
+        return TAMANO_CABECERA_INDICE + casilla * TAMANO_CASILLA;
+    }
+
+    /**
+     * Busca la casilla del índice que apunta a la mascota con la clave dada.
+     *
+     * @return Número de casilla, o -1 si no existe.
+     */
+    private int buscarCasilla(String clave, long hash) {
+        int mascara = indice.getInt(IDX_CAPACIDAD) - 1;
+        int casilla = (int) (hash ^ (hash >>> 32)) & mascara;
+        while (true) {
+            int desplazamiento = desplazamientoCasilla(casilla);
+            long posicion = indice.getLong(desplazamiento);
+            if (posicion == CASILLA_VACIA) {
+                return -1;
+            }
+            if (posicion != CASILLA_BORRADA && indice.getLong(desplazamiento + 8) == hash
+                    && NormalizadorTexto.clave(leerCampo(posicion, CAMPO_APODO)).equals(clave)) {
+                return casilla;
+            }
+            casilla = (casilla + 1) & mascara;
+        }
+    }
+
+    /**
+     * Agrega una entrada que no existe en el índice, ampliándolo o
+     * limpiándolo de casillas borradas si supera la carga máxima.
+     */
+    private void agregarAlIndice(long hash, long posicion) throws IOException {
+        int capacidad = indice.getInt(IDX_CAPACIDAD);
+        int ocupados = indice.getInt(IDX_OCUPADOS);
+        if (ocupados + indice.getInt(IDX_BORRADOS) + 1 > capacidad * CARGA_MAXIMA) {
+            reconstruirIndice((ocupados + 1) > capacidad * CARGA_MAXIMA / 2 ? capacidad * 2 : capacidad);
+        }
+        colocar(hash, posicion);
+    }
+
+    private void colocar(long hash, long posicion) {
+        int mascara = indice.getInt(IDX_CAPACIDAD) - 1;
+        int casilla = (int) (hash ^ (hash >>> 32)) & mascara;
+        while (true) {
+            int desplazamiento = desplazamientoCasilla(casilla);
+            long actual = indice.getLong(desplazamiento);
+            if (actual == CASILLA_VACIA || actual == CASILLA_BORRADA) {
+                if (actual == CASILLA_BORRADA) {
+                    indice.putInt(IDX_BORRADOS, indice.getInt(IDX_BORRADOS) - 1);
+                }
+                indice.putLong(desplazamiento + 8, hash);
+                indice.putLong(desplazamiento, posicion);
+                indice.putInt(IDX_OCUPADOS, indice.getInt(IDX_OCUPADOS) + 1);
+                return;
+            }
+            casilla = (casilla + 1) & mascara;
+        }
+    }
+
+    /**
+     * Vuelve a crear el índice con la capacidad dada, conservando sus entradas.
+     */
+    private void reconstruirIndice(int capacidad) throws IOException {
+        int anterior = indice.getInt(IDX_CAPACIDAD);
+        long[] posiciones = new long[indice.getInt(IDX_OCUPADOS)];
+        long[] hashes = new long[posiciones.length];
+        int n = 0;
+        for (int casilla = 0; casilla < anterior; casilla++) {
+            int desplazamiento = desplazamientoCasilla(casilla);
+            long posicion = indice.getLong(desplazamiento);
+            if (posicion != CASILLA_VACIA && posicion != CASILLA_BORRADA) {
+                posiciones[n] = posicion;
+                hashes[n++] = indice.getLong(desplazamiento + 8);
+            }
+        }
+        crearIndice(capacidad);
+        for (int i = 0; i < n; i++) {
+            colocar(hashes[i], posiciones[i]);
+        }
+    }
+
+    private void crearIndice(int capacidad) throws IOException {
+        long tamano = TAMANO_CABECERA_INDICE + (long) capacidad * TAMANO_CASILLA;
+        if (tamano > TAMANO_MAXIMO) {
+            throw new IOException("El índice alcanzó su tamaño máximo.");
+        }
+        indice = canalIndice.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+        for (int p = 0; p < tamano; p += 8) {
+            indice.putLong(p, 0);
+        }
+        indice.putInt(IDX_MAGIA, MAGIA_INDICE);
+        indice.putInt(IDX_CAPACIDAD, capacidad);
+    }
+
+    /**
+     * Reconstruye el índice, las listas de libres y el conteo de registros
+     * recorriendo el archivo de datos. Se usa cuando el archivo no se cerró
+     * correctamente.
+     */
+    private void recuperar() throws IOException {
+        for (int clase = CLASE_MINIMA; clase <= CLASE_MAXIMA; clase++) {
+            datos.putLong(CAB_LIBRES + 8 * (clase - CLASE_MINIMA), 0);
+        }
+        long fin = Math.min(datos.getLong(CAB_FIN), datos.capacity());
+        long registros = 0;
+        long posicion = TAMANO_CABECERA;
+        List<long[]> ocupados = new ArrayList<>();
+        while (posicion < fin) {
+            int clase = datos.get((int) posicion + REG_CLASE);
+            if (clase < CLASE_MINIMA || clase > CLASE_MAXIMA || posicion + (1L << clase) > fin) {
+                break; // Registro incompleto: se descarta desde aquí
+            }
+            if (datos.get((int) posicion + REG_ESTADO) == OCUPADO) {
+                ocupados.add(new long[]{posicion, hash(NormalizadorTexto.clave(leerCampo(posicion, CAMPO_APODO)))});
+                registros++;
+            } else {
+                liberar(posicion);
+            }
+            posicion += 1L << clase;
+        }
+        datos.putLong(CAB_FIN, posicion);
+        datos.putLong(CAB_REGISTROS, registros);
+        int capacidad = CAPACIDAD_INICIAL_INDICE;
+        while (registros > capacidad * CARGA_MAXIMA / 2) {
+            capacidad *= 2;
+        }
+        crearIndice(capacidad);
+        for (long[] entrada : ocupados) {
+            colocar(entrada[1], entrada[0]);
+        }
+        indice.force();
+        datos.putInt(CAB_LIMPIO, 1);
+        datos.force();
+    }
+
+    /**
+     * Convierte en su lugar un archivo del formato anterior, que guardaba la
+     * versión menos uno en los bytes 2 y 3 del registro. La versión completa
+     * se copia a los bytes 4 a 7 sin tocar los bytes 2 y 3, así que si el
+     * proceso se interrumpe, repetir la conversión al abrir da el mismo
+     * resultado; la cabecera del archivo cambia de formato al final.
+     */
+    private void convertirVersiones16Bits() {
+        long fin = Math.min(datos.getLong(CAB_FIN), datos.capacity());
+        long posicion = TAMANO_CABECERA;
+        while (posicion < fin) {
+            int base = (int) posicion;
+            int clase = datos.get(base + REG_CLASE);
+            if (clase < CLASE_MINIMA || clase > CLASE_MAXIMA || posicion + (1L << clase) > fin) {
+                break; // Registro incompleto: la recuperación lo descarta
+            }
+            datos.putInt(base + REG_VERSION, (datos.getShort(base + REG_VERSION_16_BITS) & 0xFFFF) + 1);
+            posicion += 1L << clase;
+        }
+        datos.force();
+        datos.putInt(CAB_VERSION, VERSION);
+        datos.force();
+    }
+
+    /**
+     * Apodo candidato de una página junto con la posición de su registro.
+     */
+    private static final class Candidata {
+
+        private final String clave;
+        private final long posicion;
+
+        private Candidata(String clave, long posicion) {
+            this.clave = clave;
+            this.posicion = posicion;
+        }
+    }
+}
@@ -3,10 +3,24 @@ package udistrital.avanzada.mascotasexoticas.modelo.DAO;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import udistrital.avanzada.mascotasexoticas.modelo.AnimalVO;
+import udistrital.avanzada.mascotasexoticas.modelo.ClavesMascota;
 import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.NormalizadorTexto;
+import udistrital.avanzada.mascotasexoticas.modelo.ResumenMascotaVO;
 import udistrital.avanzada.mascotasexoticas.modelo.conexion.ConexionBD;
+import udistrital.avanzada.mascotasexoticas.modelo.conexion.FuenteConexiones;
+import udistrital.avanzada.mascotasexoticas.modelo.conexion.MigradorEsquema;
 
 /**
  * Implementación concreta de la interfaz {@link ICRUDMascota} utilizando JDBC.
@@ -18,7 +32,7 @@ import udistrital.avanzada.mascotasexoticas.modelo.conexion.ConexionBD;
  * 
  * <p><b>Responsabilidades:</b></p>
  * <ul>
- *   <li>Establecer la comunicación con la base de datos mediante {@link java.sql.Connection}.</li>
+ *   <li>Solicitar una conexión prestada por operación y devolverla al terminar.</li>
  *   <li>Ejecutar sentencias SQL de inserción, eliminación, modificación y consulta.</li>
  *   <li>Transformar registros de la base de datos en objetos {@link MascotaVO}.</li>
  *   <li>Manejar excepciones SQL sin propagar detalles de implementación a otras capas.</li>
@@ -31,18 +45,136 @@ import udistrital.avanzada.mascotasexoticas.modelo.conexion.ConexionBD;
  */
 public class MascotaDAOImpl implements ICRUDMascota {
 
-    /** Conexión activa a la base de datos. */
-    private final Connection conexion;
+    /** Cantidad de registros por lote cuando no se indica otra. */
+    public static final int TAMANO_LOTE_POR_DEFECTO = 500;
+
+    /** Filas por viaje al servidor al recorrer la tabla, cuando no se indica otro valor. */
+    public static final int TAMANO_FETCH_POR_DEFECTO = 1_000;
+
+    /** Registro de los errores de acceso a la base de datos. */
+    private static final Logger LOG = Logger.getLogger(MascotaDAOImpl.class.getName());
+
+    /*
+     * Conjunto fijo de sentencias del DAO. Al ser constantes, su texto es
+     * idéntico en cada llamada y la caché de sentencias de cada conexión del
+     * pool las reutiliza en lugar de prepararlas de nuevo.
+     *
+     * Cada columna tiene al lado su clave de comparación (columna_clave), que
+     * se escribe junto con el valor y es la que usan todas las igualdades.
+     */
+    private static final String SQL_INSERTAR =
+        "INSERT INTO mascotas (nombre, apodo, clasificacion, familia, genero, especie, alimento,"
+        + " nombre_clave, apodo_clave, clasificacion_clave, familia_clave, genero_clave, especie_clave,"
+        + " alimento_clave, huella) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    /*
+     * Los datos se comparan por la huella, que resume sus claves: como en el
+     * resto del DAO, dos valores que solo difieren en mayúsculas o tildes son
+     * iguales. La huella se asigna al final porque MySQL evalúa las
+     * asignaciones de izquierda a derecha: así todas las anteriores ven la
+     * huella almacenada. Si coincide, la fila queda intacta (ni la versión ni
+     * la escritura original cambian) y se informa como SIN_CAMBIOS.
+     */
+    private static final String SQL_UPSERT = SQL_INSERTAR
+        + " ON DUPLICATE KEY UPDATE version = version + IF(huella = VALUES(huella), 0, 1),"
+        + " nombre = IF(huella = VALUES(huella), nombre, VALUES(nombre)),"
+        + " clasificacion = IF(huella = VALUES(huella), clasificacion, VALUES(clasificacion)),"
+        + " familia = IF(huella = VALUES(huella), familia, VALUES(familia)),"
+        + " genero = IF(huella = VALUES(huella), genero, VALUES(genero)),"
+        + " especie = IF(huella = VALUES(huella), especie, VALUES(especie)),"
+        + " alimento = IF(huella = VALUES(huella), alimento, VALUES(alimento)),"
+        + " nombre_clave = VALUES(nombre_clave), clasificacion_clave = VALUES(clasificacion_clave),"
+        + " familia_clave = VALUES(familia_clave), genero_clave = VALUES(genero_clave),"
+        + " especie_clave = VALUES(especie_clave), alimento_clave = VALUES(alimento_clave),"
+        + " huella = VALUES(huella)";
+    /*
+     * Modificación parcial en una sola sentencia: los parámetros nulos
+     * conservan el valor de la columna. La huella se recalcula en el servidor
+     * con la misma fórmula de ClavesMascota (primeros 8 bytes del SHA-256 de
+     * las claves separadas por U+001F) sobre las claves ya asignadas, que
+     * MySQL evalúa antes por ir a su izquierda. La existencia y la versión se
+     * deducen de las filas afectadas.
+     */
+    private static final String SQL_ASIGNAR_CAMBIOS =
+        "UPDATE mascotas SET nombre = COALESCE(?, nombre), nombre_clave = COALESCE(?, nombre_clave),"
+        + " clasificacion = COALESCE(?, clasificacion), clasificacion_clave = COALESCE(?, clasificacion_clave),"
+        + " alimento = COALESCE(?, alimento), alimento_clave = COALESCE(?, alimento_clave),"
+        + " huella = CAST(CAST(CONV(LEFT(SHA2(CONCAT_WS(CHAR(31 USING utf8mb4), nombre_clave,"
+        + " clasificacion_clave, familia_clave, genero_clave, especie_clave, alimento_clave), 256), 16),"
+        + " 16, 10) AS UNSIGNED) AS SIGNED), version = version + 1";
+    private static final String SQL_MODIFICAR =
+        SQL_ASIGNAR_CAMBIOS + " WHERE apodo_clave = ? AND (? = 0 OR version = ?)";
+    private static final String SQL_POR_HUELLA = "SELECT * FROM mascotas WHERE huella = ? ORDER BY apodo";
+    private static final String SQL_ELIMINAR = "DELETE FROM mascotas WHERE apodo_clave = ?";
+    private static final String SQL_LISTAR = "SELECT * FROM mascotas";
+    private static final String SQL_RESUMENES = "SELECT apodo, nombre FROM mascotas ORDER BY apodo";
+
+    /*
+     * Sentencias paginadas por clave: la primera página no tiene condición
+     * sobre el apodo y las siguientes continúan con "apodo > ?". Ambas leen
+     * una fila extra (LIMIT tamaño + 1) para saber si hay más páginas.
+     */
+    private static final String SQL_PAGINA_LISTAR = sqlPagina(null, false);
+    private static final String SQL_PAGINA_LISTAR_SIGUIENTE = sqlPagina(null, true);
+    private static final String SQL_PAGINA_CLASIFICACION = sqlPagina(CampoMascota.CLASIFICACION, false);
+    private static final String SQL_PAGINA_CLASIFICACION_SIGUIENTE = sqlPagina(CampoMascota.CLASIFICACION, true);
+    private static final String SQL_PAGINA_FAMILIA = sqlPagina(CampoMascota.FAMILIA, false);
+    private static final String SQL_PAGINA_FAMILIA_SIGUIENTE = sqlPagina(CampoMascota.FAMILIA, true);
+    private static final String SQL_PAGINA_ALIMENTO = sqlPagina(CampoMascota.ALIMENTO, false);
+    private static final String SQL_PAGINA_ALIMENTO_SIGUIENTE = sqlPagina(CampoMascota.ALIMENTO, true);
+
+    /** Origen de las conexiones prestadas en cada operación. */
+    private final FuenteConexiones fuente;
+
+    /** Registros enviados por lote (y confirmados por transacción) en inserciones masivas. */
+    private final int tamanoLote;
+
+    /** Filas por viaje al servidor en los recorridos; 0 o negativo lee fila por fila. */
+    private final int tamanoFetch;
 
     /**
-     * Constructor que inicializa la conexión a la base de datos.
-     * <p>
-     * Utiliza el patrón Singleton definido en {@link ConexionBD} para garantizar
-     * una única instancia de conexión compartida.
-     * </p>
+     * Constructor que utiliza el pool compartido definido en {@link ConexionBD}.
      */
     public MascotaDAOImpl() {
-        conexion = ConexionBD.getInstancia().getConexion();
+        this(ConexionBD.getInstancia());
+    }
+
+    /**
+     * Constructor con inyección del origen de conexiones.
+     *
+     * @param fuente Origen del que se prestan las conexiones.
+     */
+    public MascotaDAOImpl(FuenteConexiones fuente) {
+        this(fuente, TAMANO_LOTE_POR_DEFECTO);
+    }
+
+    /**
+     * Constructor con inyección del origen de conexiones y del tamaño de lote.
+     *
+     * @param fuente Origen del que se prestan las conexiones.
+     * @param tamanoLote Registros por lote en las inserciones masivas.
+     * @throws IllegalArgumentException si el tamaño de lote no es positivo.
+     */
+    public MascotaDAOImpl(FuenteConexiones fuente, int tamanoLote) {
+        this(fuente, tamanoLote, TAMANO_FETCH_POR_DEFECTO);
+    }
+
+    /**
+     * Constructor con inyección del origen de conexiones, del tamaño de lote y
+     * del tamaño de fetch de los recorridos.
+     *
+     * @param fuente Origen del que se prestan las conexiones.
+     * @param tamanoLote Registros por lote en las inserciones masivas.
+     * @param tamanoFetch Filas por viaje al servidor en {@link #recorrerMascotas};
+     * 0 o negativo para leer fila por fila.
+     * @throws IllegalArgumentException si el tamaño de lote no es positivo.
+     */
+    public MascotaDAOImpl(FuenteConexiones fuente, int tamanoLote, int tamanoFetch) {
+        if (tamanoLote < 1) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser positivo.");
+        }
+        this.fuente = fuente;
+        this.tamanoLote = tamanoLote;
+        this.tamanoFetch = tamanoFetch;
     }
 
     /**
@@ -50,39 +182,87 @@ public class MascotaDAOImpl implements ICRUDMascota {
      */
     @Override
     public boolean adicionarMascota(MascotaVO mascota) {
-        String sql = "INSERT INTO mascotas (nombre, apodo, clasificacion, familia, genero, especie, alimento) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = conexion.prepareStatement(sql)) {
-            stmt.setString(1, mascota.getNombre());
-            stmt.setString(2, mascota.getApodo());
-            stmt.setString(3, mascota.getClasificacion());
-            stmt.setString(4, mascota.getFamilia());
-            stmt.setString(5, mascota.getGenero());
-            stmt.setString(6, mascota.getEspecie());
-            stmt.setString(7, mascota.getAlimento());
+        try (Connection conexion = fuente.obtenerConexion();
+             PreparedStatement stmt = conexion.prepareStatement(SQL_INSERTAR)) {
+            asignarParametrosInsercion(stmt, mascota);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            e.printStackTrace(); // En un proyecto real se debe usar un Logger
+            LOG.log(Level.WARNING, "No se pudo adicionar la mascota", e);
+            FallosAcceso.registrar();
             return false;
         }
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Se ejecuta como un único {@code INSERT ... ON DUPLICATE KEY UPDATE}
+     * sobre la clave única del apodo. El resultado se deduce de las filas
+     * afectadas que informa MySQL (con {@code useAffectedRows=true}): 1 si se
+     * insertó, 2 si se actualizó y 0 si los datos no cambiaron.
+     * </p>
      */
     @Override
-    public List<MascotaVO> consultarPorApodo(String apodo) {
-        List<MascotaVO> resultado = new ArrayList<>();
-        String sql = "SELECT * FROM mascotas WHERE apodo = ?";
-        try (PreparedStatement stmt = conexion.prepareStatement(sql)) {
-            stmt.setString(1, apodo);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                resultado.add(construirMascotaDesdeResultSet(rs));
+    public ResultadoOperacion upsertMascota(MascotaVO mascota) {
+        try (Connection conexion = fuente.obtenerConexion();
+             PreparedStatement stmt = conexion.prepareStatement(SQL_UPSERT)) {
+            asignarParametrosInsercion(stmt, mascota);
+            switch (stmt.executeUpdate()) {
+                case 0:
+                    return ResultadoOperacion.SIN_CAMBIOS;
+                case 1:
+                    return ResultadoOperacion.INSERTADA;
+                default:
+                    return ResultadoOperacion.ACTUALIZADA;
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.log(Level.WARNING, "No se pudo guardar la mascota", e);
+            FallosAcceso.registrar();
+            return ResultadoOperacion.FALLIDA;
         }
-        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Las mascotas se envían en lotes de {@code tamanoLote} registros con
+     * {@code addBatch}/{@code executeBatch}, confirmando una transacción por
+     * lote. Los apodos ya registrados se detectan con una única consulta por
+     * lote. Si un lote falla (por ejemplo, porque otro proceso insertó uno de
+     * los apodos después de la consulta), se revierte y sus registros se
+     * insertan uno a uno: los que violan la clave única del apodo se reportan
+     * como {@link ResultadoOperacion#DUPLICADA} y los demás errores como
+     * {@link ResultadoOperacion#FALLIDA}.
+     * </p>
+     */
+    @Override
+    public List<ResultadoOperacion> adicionarMascotas(List<MascotaVO> mascotas) {
+        ResultadoOperacion[] resultados = new ResultadoOperacion[mascotas.size()];
+        Set<String> apodosVistos = new HashSet<>();
+        try (Connection conexion = fuente.obtenerConexion()) {
+            conexion.setAutoCommit(false);
+            for (int inicio = 0; inicio < mascotas.size(); inicio += tamanoLote) {
+                int fin = Math.min(inicio + tamanoLote, mascotas.size());
+                insertarLote(conexion, mascotas, inicio, fin, resultados, apodosVistos);
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "No se pudo adicionar el lote de mascotas", e);
+            FallosAcceso.registrar();
+        }
+        for (int i = 0; i < resultados.length; i++) {
+            if (resultados[i] == null) {
+                resultados[i] = ResultadoOperacion.FALLIDA;
+            }
+        }
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorApodo(String apodo) {
+        return consultar(CriteriosMascota.igual(CampoMascota.APODO, apodo));
     }
 
     /**
@@ -90,7 +270,7 @@ public class MascotaDAOImpl implements ICRUDMascota {
      */
     @Override
     public List<MascotaVO> consultarPorClasificacion(String clasificacion) {
-        return consultarPorCampo("clasificacion", clasificacion);
+        return consultar(CriteriosMascota.igual(CampoMascota.CLASIFICACION, clasificacion));
     }
 
     /**
@@ -98,7 +278,7 @@ public class MascotaDAOImpl implements ICRUDMascota {
      */
     @Override
     public List<MascotaVO> consultarPorFamilia(String familia) {
-        return consultarPorCampo("familia", familia);
+        return consultar(CriteriosMascota.igual(CampoMascota.FAMILIA, familia));
     }
 
     /**
@@ -106,7 +286,32 @@ public class MascotaDAOImpl implements ICRUDMascota {
      */
     @Override
     public List<MascotaVO> consultarPorAlimento(String tipoAlimento) {
-        return consultarPorCampo("alimento", tipoAlimento);
+        return consultar(CriteriosMascota.igual(CampoMascota.ALIMENTO, tipoAlimento));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorClasificacion(String clasificacion, int tamanoPagina, String token) {
+        return consultarPagina(SQL_PAGINA_CLASIFICACION, SQL_PAGINA_CLASIFICACION_SIGUIENTE,
+                clasificacion, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorFamilia(String familia, int tamanoPagina, String token) {
+        return consultarPagina(SQL_PAGINA_FAMILIA, SQL_PAGINA_FAMILIA_SIGUIENTE, familia, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorAlimento(String alimento, int tamanoPagina, String token) {
+        return consultarPagina(SQL_PAGINA_ALIMENTO, SQL_PAGINA_ALIMENTO_SIGUIENTE, alimento, tamanoPagina, token);
     }
 
     /**
@@ -114,52 +319,182 @@ public class MascotaDAOImpl implements ICRUDMascota {
      */
     @Override
     public boolean eliminarMascota(String apodo) {
-        String sql = "DELETE FROM mascotas WHERE apodo = ?";
-        try (PreparedStatement stmt = conexion.prepareStatement(sql)) {
-            stmt.setString(1, apodo);
+        try (Connection conexion = fuente.obtenerConexion();
+             PreparedStatement stmt = conexion.prepareStatement(SQL_ELIMINAR)) {
+            stmt.setString(1, NormalizadorTexto.clave(apodo));
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.log(Level.WARNING, "No se pudo eliminar la mascota", e);
+            FallosAcceso.registrar();
             return false;
         }
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Se ejecuta como un único {@code UPDATE} condicionado por el apodo y, si
+     * se indica, por la versión, sin leer antes la fila: si no afecta a
+     * ninguna, la mascota no existe o la versión no coincide.
+     * </p>
      */
     @Override
     public boolean modificarMascota(MascotaVO mascota) {
-        String sql = "UPDATE mascotas SET nombre = ?, clasificacion = ?, alimento = ? WHERE apodo = ?";
-        try (PreparedStatement stmt = conexion.prepareStatement(sql)) {
-            stmt.setString(1, mascota.getNombre());
-            stmt.setString(2, mascota.getClasificacion());
-            stmt.setString(3, mascota.getAlimento());
-            stmt.setString(4, mascota.getApodo());
+        try (Connection conexion = fuente.obtenerConexion();
+             PreparedStatement stmt = conexion.prepareStatement(SQL_MODIFICAR)) {
+            ClavesMascota claves = mascota.getClaves();
+            asignarCambio(stmt, 1, mascota.getNombre(), claves.getNombre());
+            asignarCambio(stmt, 3, mascota.getClasificacion(), claves.getClasificacion());
+            asignarCambio(stmt, 5, mascota.getAlimento(), claves.getAlimento());
+            stmt.setString(7, claves.getApodo());
+            stmt.setInt(8, mascota.getVersion());
+            stmt.setInt(9, mascota.getVersion());
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.log(Level.WARNING, "No se pudo modificar la mascota", e);
+            FallosAcceso.registrar();
             return false;
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Se ejecuta como un único {@code UPDATE} con la condición de los
+     * criterios, por lo que MySQL lo aplica de forma atómica a todas las
+     * filas o a ninguna.
+     * </p>
+     */
+    @Override
+    public int modificarPorCriterio(CriteriosMascota criterios, MascotaVO cambios) {
+        List<String> parametros = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SQL_ASIGNAR_CAMBIOS);
+        criterios.agregarCondicionSQL(sql, parametros);
+        try (Connection conexion = fuente.obtenerConexion();
+             PreparedStatement stmt = conexion.prepareStatement(sql.toString())) {
+            ClavesMascota claves = cambios.getClaves();
+            asignarCambio(stmt, 1, cambios.getNombre(), claves.getNombre());
+            asignarCambio(stmt, 3, cambios.getClasificacion(), claves.getClasificacion());
+            asignarCambio(stmt, 5, cambios.getAlimento(), claves.getAlimento());
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setString(i + 7, parametros.get(i));
+            }
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error modificando las mascotas por criterio.", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Se ejecuta como un único {@code DELETE} con la condición de los
+     * criterios, por lo que MySQL lo aplica de forma atómica.
+     * </p>
+     */
+    @Override
+    public int eliminarPorCriterio(CriteriosMascota criterios) {
+        List<String> parametros = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("DELETE FROM mascotas");
+        criterios.agregarCondicionSQL(sql, parametros);
+        try (Connection conexion = fuente.obtenerConexion();
+             PreparedStatement stmt = conexion.prepareStatement(sql.toString())) {
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setString(i + 1, parametros.get(i));
+            }
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error eliminando las mascotas por criterio.", e);
+        }
+    }
+
+    /**
+     * Asigna el valor y la clave de un campo modificable, o dos nulos si el
+     * valor está en blanco para que la columna conserve el actual.
+     */
+    private static void asignarCambio(PreparedStatement stmt, int indice, String valor, String clave)
+            throws SQLException {
+        String nuevo = CampoMascota.valorModificado(valor);
+        stmt.setString(indice, nuevo);
+        stmt.setString(indice + 1, nuevo == null ? null : clave);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public List<MascotaVO> listarTodasMascotas() {
         List<MascotaVO> resultado = new ArrayList<>();
-        String sql = "SELECT * FROM mascotas";
-        try (PreparedStatement stmt = conexion.prepareStatement(sql)) {
-            ResultSet rs = stmt.executeQuery();
+        try (Connection conexion = fuente.obtenerConexionLectura();
+             PreparedStatement stmt = conexion.prepareStatement(SQL_LISTAR)) {
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    resultado.add(construirMascotaDesdeResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "No se pudieron listar las mascotas", e);
+            FallosAcceso.registrar();
+        }
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas listarTodasMascotas(int tamanoPagina, String token) {
+        return consultarPagina(SQL_PAGINA_LISTAR, SQL_PAGINA_LISTAR_SIGUIENTE, null, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Solo se piden las dos columnas necesarias, lo que reduce los datos
+     * transferidos y evita construir objetos {@link MascotaVO} completos.
+     * </p>
+     */
+    @Override
+    public List<ResumenMascotaVO> listarResumenes() {
+        List<ResumenMascotaVO> resultado = new ArrayList<>();
+        try (Connection conexion = fuente.obtenerConexionLectura();
+             PreparedStatement stmt = conexion.prepareStatement(SQL_RESUMENES);
+             ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
-                resultado.add(construirMascotaDesdeResultSet(rs));
+                resultado.add(new ResumenMascotaVO(rs.getString(1), rs.getString(2)));
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.log(Level.WARNING, "No se pudieron listar los resúmenes", e);
+            FallosAcceso.registrar();
         }
         return resultado;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Usa un resultado de solo avance: con {@code tamanoFetch} positivo el
+     * servidor entrega las filas por bloques mediante un cursor; en otro caso
+     * el driver las transmite fila por fila. En ambos casos la memoria usada
+     * no depende del tamaño de la tabla.
+     * </p>
+     */
+    @Override
+    public void recorrerMascotas(Consumer<MascotaVO> consumidor) {
+        try (Connection conexion = fuente.obtenerConexionLectura();
+             PreparedStatement stmt = conexion.prepareStatement(
+                 SQL_LISTAR, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(tamanoFetch > 0 ? tamanoFetch : Integer.MIN_VALUE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumidor.accept(construirMascotaDesdeResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error recorriendo las mascotas.", e);
+        }
+    }
+
     /**
      * Construye un objeto {@link MascotaVO} a partir de los datos obtenidos de un {@link ResultSet}.
      * <p>
@@ -180,32 +515,371 @@ public class MascotaDAOImpl implements ICRUDMascota {
             rs.getString("especie"),
             rs.getString("alimento")
         );
-        return new MascotaVO(animal, rs.getString("apodo"));
+        MascotaVO mascota = new MascotaVO(animal, rs.getString("apodo"));
+        mascota.setVersion(rs.getInt("version"));
+        return mascota;
+    }
+
+    /**
+     * Construye el texto de una sentencia paginada por apodo.
+     *
+     * @param campoFiltro Campo de filtro por igualdad, o {@code null} para no filtrar.
+     * @param continuar {@code true} para la variante que continúa tras un apodo.
+     * @return Sentencia SQL.
+     */
+    private static String sqlPagina(CampoMascota campoFiltro, boolean continuar) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM mascotas");
+        String conector = " WHERE ";
+        if (campoFiltro != null) {
+            sql.append(conector).append(campoFiltro.getColumnaClave()).append(" = ?");
+            conector = " AND ";
+        }
+        if (continuar) {
+            sql.append(conector).append("apodo > ?");
+        }
+        return sql.append(" ORDER BY apodo LIMIT ?").toString();
+    }
+
+    /**
+     * Ejecuta una consulta paginada por apodo.
+     *
+     * @param sqlInicial Sentencia de la primera página.
+     * @param sqlSiguiente Sentencia de las páginas siguientes.
+     * @param valor Valor del filtro, o {@code null} si la sentencia no filtra.
+     * @param tamanoPagina Tamaño de página.
+     * @param token Token de continuación o {@code null}.
+     * @return Página de resultados.
+     */
+    private PaginaMascotas consultarPagina(String sqlInicial, String sqlSiguiente, String valor,
+                                           int tamanoPagina, String token) {
+        PaginaMascotas.validarTamano(tamanoPagina);
+        String ultimoApodo = PaginaMascotas.decodificarToken(token);
+        List<MascotaVO> filas = new ArrayList<>(tamanoPagina + 1);
+        try (Connection conexion = fuente.obtenerConexionLectura();
+             PreparedStatement stmt = conexion.prepareStatement(ultimoApodo == null ? sqlInicial : sqlSiguiente)) {
+            int indice = 1;
+            if (valor != null) {
+                stmt.setString(indice++, NormalizadorTexto.clave(valor));
+            }
+            if (ultimoApodo != null) {
+                stmt.setString(indice++, ultimoApodo);
+            }
+            stmt.setInt(indice, tamanoPagina + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    filas.add(construirMascotaDesdeResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "No se pudo consultar la página de mascotas", e);
+            FallosAcceso.registrar();
+        }
+        return PaginaMascotas.desdeFilas(filas, tamanoPagina);
+    }
+
+    /**
+     * Asigna los parámetros de {@link #SQL_INSERTAR} a partir de una mascota.
+     *
+     * @param stmt Sentencia de inserción.
+     * @param mascota Mascota a insertar.
+     * @throws SQLException si ocurre un error al asignar los parámetros.
+     */
+    private void asignarParametrosInsercion(PreparedStatement stmt, MascotaVO mascota) throws SQLException {
+        ClavesMascota claves = mascota.getClaves();
+        stmt.setString(1, mascota.getNombre());
+        stmt.setString(2, mascota.getApodo());
+        stmt.setString(3, mascota.getClasificacion());
+        stmt.setString(4, mascota.getFamilia());
+        stmt.setString(5, mascota.getGenero());
+        stmt.setString(6, mascota.getEspecie());
+        stmt.setString(7, mascota.getAlimento());
+        stmt.setString(8, claves.getNombre());
+        stmt.setString(9, claves.getApodo());
+        stmt.setString(10, claves.getClasificacion());
+        stmt.setString(11, claves.getFamilia());
+        stmt.setString(12, claves.getGenero());
+        stmt.setString(13, claves.getEspecie());
+        stmt.setString(14, claves.getAlimento());
+        stmt.setLong(15, claves.getHuella());
     }
 
     /**
-     * Ejecuta una consulta filtrando por un campo específico.
+     * Inserta el lote {@code [inicio, fin)} de la lista en una sola transacción.
+     * Los resultados y los apodos vistos se registran solo si la transacción
+     * se confirma; si la confirmación falla, las posiciones del lote quedan
+     * sin resultado y se informan como fallidas.
+     *
+     * @param conexion Conexión con auto-commit desactivado.
+     * @param mascotas Lista completa de mascotas.
+     * @param inicio Primera posición del lote (inclusiva).
+     * @param fin Última posición del lote (exclusiva).
+     * @param resultados Arreglo donde se registra el resultado de cada posición.
+     * @param apodosVistos Apodos (normalizados) ya procesados en lotes anteriores.
+     * @throws SQLException si falla la conexión fuera de la ejecución del lote.
+     */
+    private void insertarLote(Connection conexion, List<MascotaVO> mascotas, int inicio, int fin,
+                              ResultadoOperacion[] resultados, Set<String> apodosVistos) throws SQLException {
+        Set<String> existentes = apodosExistentes(conexion, mascotas.subList(inicio, fin));
+        ResultadoOperacion[] delLote = new ResultadoOperacion[fin - inicio];
+        Set<String> vistosDelLote = new HashSet<>();
+        List<Integer> pendientes = new ArrayList<>();
+        try (PreparedStatement stmt = conexion.prepareStatement(SQL_INSERTAR)) {
+            for (int i = inicio; i < fin; i++) {
+                MascotaVO mascota = mascotas.get(i);
+                String clave = mascota.getClaves().getApodo();
+                if (existentes.contains(clave) || apodosVistos.contains(clave) || !vistosDelLote.add(clave)) {
+                    delLote[i - inicio] = ResultadoOperacion.DUPLICADA;
+                    continue;
+                }
+                asignarParametrosInsercion(stmt, mascota);
+                stmt.addBatch();
+                pendientes.add(i);
+            }
+            if (!pendientes.isEmpty()) {
+                int[] conteos = stmt.executeBatch();
+                for (int k = 0; k < pendientes.size(); k++) {
+                    boolean fallo = k < conteos.length && conteos[k] == Statement.EXECUTE_FAILED;
+                    delLote[pendientes.get(k) - inicio] =
+                        fallo ? ResultadoOperacion.FALLIDA : ResultadoOperacion.INSERTADA;
+                }
+            }
+            conexion.commit();
+        } catch (BatchUpdateException e) {
+            conexion.rollback();
+            insertarUnoAUno(conexion, mascotas, pendientes, inicio, delLote);
+        }
+        System.arraycopy(delLote, 0, resultados, inicio, delLote.length);
+        apodosVistos.addAll(vistosDelLote);
+    }
+
+    /**
+     * Inserta individualmente las mascotas de un lote que falló, para
+     * distinguir los apodos duplicados de los demás errores.
+     *
+     * @param conexion Conexión con auto-commit desactivado.
+     * @param mascotas Lista completa de mascotas.
+     * @param pendientes Posiciones a insertar.
+     * @param inicio Primera posición del lote (inclusiva).
+     * @param delLote Arreglo donde se registra el resultado de cada posición
+     * del lote, relativa a {@code inicio}.
+     * @throws SQLException si falla la confirmación de la transacción.
+     */
+    private void insertarUnoAUno(Connection conexion, List<MascotaVO> mascotas, List<Integer> pendientes,
+                                 int inicio, ResultadoOperacion[] delLote) throws SQLException {
+        try (PreparedStatement stmt = conexion.prepareStatement(SQL_INSERTAR)) {
+            for (int i : pendientes) {
+                try {
+                    asignarParametrosInsercion(stmt, mascotas.get(i));
+                    stmt.executeUpdate();
+                    delLote[i - inicio] = ResultadoOperacion.INSERTADA;
+                } catch (SQLIntegrityConstraintViolationException e) {
+                    delLote[i - inicio] = ResultadoOperacion.DUPLICADA;
+                } catch (SQLException e) {
+                    LOG.log(Level.WARNING, "No se pudo adicionar la mascota del lote", e);
+                    FallosAcceso.registrar();
+                    delLote[i - inicio] = ResultadoOperacion.FALLIDA;
+                }
+            }
+        }
+        conexion.commit();
+    }
+
+    /**
+     * Consulta, en un solo viaje a la base de datos, cuáles de los apodos del
+     * lote ya están registrados.
+     *
+     * @param conexion Conexión a utilizar.
+     * @param lote Mascotas del lote.
+     * @return Claves de los apodos existentes.
+     * @throws SQLException si ocurre un error en la consulta.
+     */
+    private Set<String> apodosExistentes(Connection conexion, List<MascotaVO> lote) throws SQLException {
+        if (lote.isEmpty()) {
+            return Collections.emptySet();
+        }
+        StringBuilder sql = new StringBuilder("SELECT apodo_clave FROM mascotas WHERE apodo_clave IN (");
+        for (int i = 0; i < lote.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+        Set<String> existentes = new HashSet<>();
+        try (PreparedStatement stmt = conexion.prepareStatement(sql.toString())) {
+            for (int i = 0; i < lote.size(); i++) {
+                stmt.setString(i + 1, lote.get(i).getClaves().getApodo());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existentes.add(rs.getString(1));
+                }
+            }
+        }
+        return existentes;
+    }
+
+    /**
+     * {@inheritDoc}
      * <p>
-     * Método auxiliar utilizado para evitar duplicar código en consultas por
-     * clasificación, familia o tipo de alimento.
+     * Los criterios se traducen a una sola sentencia parametrizada; los
+     * nombres de columna provienen de {@link CampoMascota} y los valores se
+     * envían siempre como parámetros.
      * </p>
-     *
-     * @param campo Nombre de la columna a filtrar.
-     * @param valor Valor que debe tener el campo.
-     * @return Lista de mascotas que coinciden con el filtro.
      */
-    private List<MascotaVO> consultarPorCampo(String campo, String valor) {
+    @Override
+    public List<MascotaVO> consultar(CriteriosMascota criterios) {
+        List<String> parametros = new ArrayList<>();
+        String sql = criterios.aSQL(parametros);
         List<MascotaVO> resultado = new ArrayList<>();
-        String sql = "SELECT * FROM mascotas WHERE " + campo + " = ?";
-        try (PreparedStatement stmt = conexion.prepareStatement(sql)) {
-            stmt.setString(1, valor);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                resultado.add(construirMascotaDesdeResultSet(rs));
+        try (Connection conexion = fuente.obtenerConexionLectura();
+             PreparedStatement stmt = conexion.prepareStatement(sql)) {
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setString(i + 1, parametros.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    resultado.add(construirMascotaDesdeResultSet(rs));
+                }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.log(Level.WARNING, "No se pudo ejecutar la consulta", e);
+            FallosAcceso.registrar();
         }
         return resultado;
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Es una sola búsqueda sobre el índice de la columna {@code huella}.
+     * </p>
+     */
+    @Override
+    public List<MascotaVO> consultarPorHuella(long huella) {
+        List<MascotaVO> resultado = new ArrayList<>();
+        try (Connection conexion = fuente.obtenerConexionLectura();
+             PreparedStatement stmt = conexion.prepareStatement(SQL_POR_HUELLA)) {
+            stmt.setLong(1, huella);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    resultado.add(construirMascotaDesdeResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "No se pudo consultar por huella", e);
+            FallosAcceso.registrar();
+        }
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * La agrupación se resuelve en el servidor con {@code GROUP BY} sobre la
+     * columna de claves, de modo que solo se transfiere una fila por grupo.
+     * </p>
+     */
+    @Override
+    public Map<String, Long> contarPor(CampoMascota agrupacion, CriteriosMascota filtro) {
+        return agregar(agrupacion, "COUNT(*)", filtro);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Se resuelve en el servidor con {@code COUNT(DISTINCT ...)}.
+     * </p>
+     */
+    @Override
+    public Map<String, Long> contarDistintosPor(CampoMascota agrupacion, CampoMascota contado,
+                                               CriteriosMascota filtro) {
+        return agregar(agrupacion, "COUNT(DISTINCT " + contado.getColumnaClave() + ")", filtro);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Compara el apodo con todos los registrados. Para atender búsquedas
+     * interactivas sobre catálogos grandes, este DAO debe envolverse con
+     * {@link BusquedaTextoMascotaDAO}.
+     * </p>
+     */
+    @Override
+    public List<String> consultarApodosSimilares(String apodo, int distanciaMaxima, int limite) {
+        List<String> apodos = new ArrayList<>();
+        for (ResumenMascotaVO resumen : listarResumenes()) {
+            apodos.add(resumen.getApodo());
+        }
+        return ArbolBK.buscarEn(apodos, apodo, distanciaMaxima, limite);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Recorre todas las mascotas sin índice. Para atender búsquedas
+     * frecuentes, por ejemplo mientras el usuario escribe, este DAO debe
+     * envolverse con {@link BusquedaTextoMascotaDAO}.
+     * </p>
+     */
+    @Override
+    public List<MascotaVO> buscarTexto(String texto, int limite) {
+        return IndiceTexto.buscarRecorriendo(this::recorrerMascotas, texto, limite);
+    }
+
+    private Map<String, Long> agregar(CampoMascota agrupacion, String agregado, CriteriosMascota filtro) {
+        String columnaClave = agrupacion.getColumnaClave();
+        List<String> parametros = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT MIN(").append(agrupacion.getColumna()).append("), ")
+                .append(agregado).append(" FROM mascotas");
+        filtro.agregarCondicionSQL(sql, parametros);
+        sql.append(" GROUP BY ").append(columnaClave).append(" ORDER BY ").append(columnaClave);
+        Map<String, Long> resultado = new LinkedHashMap<>();
+        try (Connection conexion = fuente.obtenerConexionLectura();
+             PreparedStatement stmt = conexion.prepareStatement(sql.toString())) {
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setString(i + 1, parametros.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    resultado.put(rs.getString(1), rs.getLong(2));
+                }
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "No se pudo calcular el conteo", e);
+            FallosAcceso.registrar();
+        }
+        return resultado;
+    }
+
+    /**
+     * Analiza con {@code EXPLAIN} las consultas de búsqueda de este DAO y
+     * devuelve las que no atendería el índice creado para ellas por
+     * {@link MigradorEsquema}. Con el esquema al día la lista debe quedar
+     * vacía; ver {@link MigradorEsquema#usaIndice} para el caso de tablas
+     * pequeñas.
+     *
+     * @return Sentencias que no usan su índice.
+     * @throws SQLException si no se pueden analizar las consultas.
+     */
+    public List<String> consultasSinIndice() throws SQLException {
+        List<String> parametrosCombinados = new ArrayList<>();
+        String sqlCombinada = CriteriosMascota.igual(CampoMascota.CLASIFICACION, "")
+                .y(CriteriosMascota.igual(CampoMascota.FAMILIA, "")).aSQL(parametrosCombinados);
+        Object[][] consultas = {
+            {"idx_mascotas_huella", SQL_POR_HUELLA, 0L},
+            {"idx_mascotas_clasificacion_clave", SQL_PAGINA_CLASIFICACION_SIGUIENTE, "", "", 1},
+            {"idx_mascotas_familia_clave", SQL_PAGINA_FAMILIA_SIGUIENTE, "", "", 1},
+            {"idx_mascotas_alimento_clave", SQL_PAGINA_ALIMENTO_SIGUIENTE, "", "", 1},
+            {"idx_mascotas_clasificacion_familia_clave", sqlCombinada, "", ""}
+        };
+        List<String> sinIndice = new ArrayList<>();
+        try (Connection conexion = fuente.obtenerConexion()) {
+            for (Object[] consulta : consultas) {
+                String sql = (String) consulta[1];
+                if (!MigradorEsquema.usaIndice(conexion, (String) consulta[0], sql,
+                        Arrays.copyOfRange(consulta, 2, consulta.length))) {
+                    sinIndice.add(sql);
+                }
+            }
+        }
+        return sinIndice;
+    }
 }
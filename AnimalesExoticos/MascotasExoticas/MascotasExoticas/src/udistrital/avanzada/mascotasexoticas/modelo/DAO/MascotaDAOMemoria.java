@@ -0,0 +1,639 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.NormalizadorTexto;
+import udistrital.avanzada.mascotasexoticas.modelo.ResumenMascotaVO;
+
+/**
+ * Implementación de {@link ICRUDMascota} que mantiene las mascotas en memoria
+ * del proceso, sin base de datos.
+ * <p>
+ * Las mascotas se guardan en un índice primario hash por apodo y en índices
+ * secundarios por clasificación, familia y alimento, de modo que las
+ * consultas por campo recorren solo las mascotas que coinciden. Cada índice
+ * conserva los apodos ordenados para atender las consultas paginadas. Un
+ * {@link IndiceTexto} sobre nombre, especie y género atiende las búsquedas
+ * de texto parcial, un {@link ArbolBK} de apodos las búsquedas
+ * aproximadas y un índice por huella las de duplicados exactos.
+ * </p>
+ *
+ * <p><b>Comportamiento:</b></p>
+ * <ul>
+ *   <li>Los valores se comparan sin distinguir mayúsculas ni tildes, igual que
+ *       la tabla {@code mascotas} en MySQL.</li>
+ *   <li>El apodo es único: no se adiciona una mascota cuyo apodo ya existe.</li>
+ *   <li>Las lecturas no se bloquean; las escrituras se serializan con un
+ *       candado para mantener los índices coherentes entre sí.</li>
+ *   <li>Se guardan y se devuelven copias, por lo que modificar un objeto
+ *       obtenido no altera los datos almacenados.</li>
+ * </ul>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class MascotaDAOMemoria implements ICRUDMascota {
+
+    /** Mascotas por apodo normalizado. */
+    private final ConcurrentHashMap<String, MascotaVO> porApodo = new ConcurrentHashMap<>();
+
+    /** Apodos normalizados en orden, para listados y paginación. */
+    private final ConcurrentSkipListSet<String> apodosOrdenados = new ConcurrentSkipListSet<>();
+
+    private final IndiceSecundario porClasificacion = new IndiceSecundario(CampoMascota.CLASIFICACION);
+    private final IndiceSecundario porFamilia = new IndiceSecundario(CampoMascota.FAMILIA);
+    private final IndiceSecundario porAlimento = new IndiceSecundario(CampoMascota.ALIMENTO);
+    private final IndiceTexto porTexto = new IndiceTexto();
+    private final ArbolBK apodosAproximados = new ArbolBK();
+
+    /** Apodos normalizados por huella de los datos biológicos. */
+    private final ConcurrentHashMap<Long, ConcurrentSkipListSet<String>> porHuella = new ConcurrentHashMap<>();
+
+    /** Serializa las escrituras. */
+    private final ReentrantLock escritura = new ReentrantLock();
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code false} si ya existe una mascota con el mismo apodo
+     */
+    @Override
+    public boolean adicionarMascota(MascotaVO mascota) {
+        escritura.lock();
+        try {
+            return insertar(mascota);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultadoOperacion upsertMascota(MascotaVO mascota) {
+        String clave = mascota.getClaves().getApodo();
+        escritura.lock();
+        try {
+            MascotaVO anterior = porApodo.get(clave);
+            if (anterior == null) {
+                insertar(mascota);
+                return ResultadoOperacion.INSERTADA;
+            }
+            if (CampoMascota.mismosDatos(anterior, mascota)) {
+                return ResultadoOperacion.SIN_CAMBIOS;
+            }
+            MascotaVO nueva = new MascotaVO(mascota.getNombre(), mascota.getClasificacion(),
+                    mascota.getFamilia(), mascota.getGenero(), mascota.getEspecie(),
+                    mascota.getAlimento(), anterior.getApodo());
+            nueva.setVersion(anterior.getVersion() + 1);
+            reemplazar(clave, anterior, nueva);
+            return ResultadoOperacion.ACTUALIZADA;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ResultadoOperacion> adicionarMascotas(List<MascotaVO> mascotas) {
+        List<ResultadoOperacion> resultados = new ArrayList<>(mascotas.size());
+        escritura.lock();
+        try {
+            for (MascotaVO mascota : mascotas) {
+                resultados.add(insertar(mascota) ? ResultadoOperacion.INSERTADA : ResultadoOperacion.DUPLICADA);
+            }
+        } finally {
+            escritura.unlock();
+        }
+        return resultados;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean modificarMascota(MascotaVO mascota) {
+        String clave = mascota.getClaves().getApodo();
+        escritura.lock();
+        try {
+            MascotaVO anterior = porApodo.get(clave);
+            if (anterior == null) {
+                return false;
+            }
+            MascotaVO nueva = CampoMascota.aplicarCambios(anterior, mascota);
+            if (nueva == null) {
+                return false;
+            }
+            reemplazar(clave, anterior, nueva);
+            return true;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean eliminarMascota(String apodo) {
+        escritura.lock();
+        try {
+            return quitar(NormalizadorTexto.clave(apodo));
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Los candidatos se obtienen con los índices, igual que en
+     * {@link #consultar(CriteriosMascota)}, y todos los cambios se aplican
+     * sin soltar el candado de escritura.
+     * </p>
+     */
+    @Override
+    public int modificarPorCriterio(CriteriosMascota criterios, MascotaVO cambios) {
+        escritura.lock();
+        try {
+            int modificadas = 0;
+            for (String clave : new ArrayList<>(candidatos(criterios))) {
+                MascotaVO anterior = porApodo.get(clave);
+                if (anterior != null && criterios.coincide(anterior)) {
+                    reemplazar(clave, anterior, CampoMascota.combinar(anterior, cambios));
+                    modificadas++;
+                }
+            }
+            return modificadas;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int eliminarPorCriterio(CriteriosMascota criterios) {
+        escritura.lock();
+        try {
+            int eliminadas = 0;
+            for (String clave : new ArrayList<>(candidatos(criterios))) {
+                MascotaVO anterior = porApodo.get(clave);
+                if (anterior != null && criterios.coincide(anterior) && quitar(clave)) {
+                    eliminadas++;
+                }
+            }
+            return eliminadas;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> listarTodasMascotas() {
+        List<MascotaVO> resultado = new ArrayList<>(porApodo.size());
+        recorrerMascotas(resultado::add);
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas listarTodasMascotas(int tamanoPagina, String token) {
+        return consultarPagina(apodosOrdenados, null, null, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ResumenMascotaVO> listarResumenes() {
+        List<ResumenMascotaVO> resultado = new ArrayList<>(porApodo.size());
+        for (String clave : apodosOrdenados) {
+            MascotaVO mascota = porApodo.get(clave);
+            if (mascota != null) {
+                resultado.add(new ResumenMascotaVO(mascota.getApodo(), mascota.getNombre()));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Las mascotas se entregan ordenadas por apodo.
+     * </p>
+     */
+    @Override
+    public void recorrerMascotas(Consumer<MascotaVO> consumidor) {
+        for (String clave : apodosOrdenados) {
+            MascotaVO mascota = porApodo.get(clave);
+            if (mascota != null) {
+                consumidor.accept(copiar(mascota));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorApodo(String apodo) {
+        MascotaVO mascota = porApodo.get(NormalizadorTexto.clave(apodo));
+        if (mascota == null) {
+            return new ArrayList<>();
+        }
+        List<MascotaVO> resultado = new ArrayList<>(1);
+        resultado.add(copiar(mascota));
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorClasificacion(String clasificacion) {
+        return porClasificacion.consultar(clasificacion);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorClasificacion(String clasificacion, int tamanoPagina, String token) {
+        return porClasificacion.consultarPagina(clasificacion, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorFamilia(String familia) {
+        return porFamilia.consultar(familia);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorFamilia(String familia, int tamanoPagina, String token) {
+        return porFamilia.consultarPagina(familia, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorAlimento(String alimento) {
+        return porAlimento.consultar(alimento);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorAlimento(String alimento, int tamanoPagina, String token) {
+        return porAlimento.consultarPagina(alimento, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Si los criterios fijan los valores del apodo o de un campo indexado, solo
+     * se evalúan las mascotas obtenidas de ese índice; en otro caso se
+     * evalúan todas.
+     * </p>
+     */
+    @Override
+    public List<MascotaVO> consultar(CriteriosMascota criterios) {
+        List<MascotaVO> resultado = new ArrayList<>();
+        for (String clave : candidatos(criterios)) {
+            MascotaVO mascota = porApodo.get(clave);
+            if (mascota != null && criterios.coincide(mascota)) {
+                resultado.add(copiar(mascota));
+            }
+        }
+        if (criterios.tieneOrden()) {
+            resultado.sort(criterios.comparador());
+        }
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorHuella(long huella) {
+        List<MascotaVO> resultado = new ArrayList<>();
+        for (String clave : porHuella.getOrDefault(huella, new ConcurrentSkipListSet<>())) {
+            MascotaVO mascota = porApodo.get(clave);
+            // Un índice desactualizado se descarta al comprobar la huella
+            if (mascota != null && mascota.getClaves().getHuella() == huella) {
+                resultado.add(copiar(mascota));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Sin filtro y agrupando por un campo indexado, cada grupo se cuenta con
+     * el tamaño de su entrada en el índice, sin recorrer las mascotas.
+     * </p>
+     */
+    @Override
+    public Map<String, Long> contarPor(CampoMascota agrupacion, CriteriosMascota filtro) {
+        AcumuladorConteos conteos = new AcumuladorConteos();
+        IndiceSecundario indice = indicePor(agrupacion);
+        if (indice != null && filtro.sinCondicion()) {
+            indice.contar(conteos);
+            return conteos.resultado();
+        }
+        for (String clave : candidatos(filtro)) {
+            MascotaVO mascota = porApodo.get(clave);
+            if (mascota != null && filtro.coincide(mascota)) {
+                conteos.sumar(agrupacion.claveDe(mascota), agrupacion.valorDe(mascota), 1);
+            }
+        }
+        return conteos.resultado();
+    }
+
+    @Override
+    public Map<String, Long> contarDistintosPor(CampoMascota agrupacion, CampoMascota contado,
+                                               CriteriosMascota filtro) {
+        AcumuladorConteos conteos = new AcumuladorConteos();
+        for (String clave : candidatos(filtro)) {
+            MascotaVO mascota = porApodo.get(clave);
+            if (mascota != null && filtro.coincide(mascota)) {
+                conteos.sumarDistinto(agrupacion.claveDe(mascota), agrupacion.valorDe(mascota),
+                        contado.claveDe(mascota));
+            }
+        }
+        return conteos.resultado();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Se resuelve con el árbol BK de apodos, sin compararlos todos.
+     * </p>
+     */
+    @Override
+    public List<String> consultarApodosSimilares(String apodo, int distanciaMaxima, int limite) {
+        return apodosAproximados.buscar(apodo, distanciaMaxima, limite);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Se resuelve con el índice de trigramas, sin recorrer las mascotas.
+     * </p>
+     */
+    @Override
+    public List<MascotaVO> buscarTexto(String texto, int limite) {
+        return porTexto.buscar(texto, limite);
+    }
+
+    private IndiceSecundario indicePor(CampoMascota campo) {
+        switch (campo) {
+            case CLASIFICACION:
+                return porClasificacion;
+            case FAMILIA:
+                return porFamilia;
+            case ALIMENTO:
+                return porAlimento;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Inserta una mascota si su apodo no existe. Debe llamarse con el candado
+     * de escritura tomado.
+     */
+    private boolean insertar(MascotaVO mascota) {
+        String clave = mascota.getClaves().getApodo();
+        if (porApodo.containsKey(clave)) {
+            return false;
+        }
+        MascotaVO copia = copiar(mascota);
+        copia.setVersion(1);
+        porApodo.put(clave, copia);
+        apodosOrdenados.add(clave);
+        porClasificacion.agregar(clave, copia);
+        porFamilia.agregar(clave, copia);
+        porAlimento.agregar(clave, copia);
+        porTexto.agregar(copia);
+        apodosAproximados.agregar(copia.getApodo());
+        porHuella.computeIfAbsent(copia.getClaves().getHuella(), h -> new ConcurrentSkipListSet<>()).add(clave);
+        return true;
+    }
+
+    /**
+     * Sustituye una mascota existente y actualiza los índices secundarios.
+     * Debe llamarse con el candado de escritura tomado.
+     */
+    private void reemplazar(String clave, MascotaVO anterior, MascotaVO nueva) {
+        // Primero el índice primario: un lector que llegue por un índice
+        // secundario desactualizado descarta la mascota al comprobar el campo.
+        porApodo.put(clave, nueva);
+        porClasificacion.mover(clave, anterior, nueva);
+        porFamilia.mover(clave, anterior, nueva);
+        porAlimento.mover(clave, anterior, nueva);
+        porTexto.agregar(nueva);
+        if (anterior.getClaves().getHuella() != nueva.getClaves().getHuella()) {
+            porHuella.computeIfAbsent(nueva.getClaves().getHuella(), h -> new ConcurrentSkipListSet<>()).add(clave);
+            quitarHuella(clave, anterior);
+        }
+    }
+
+    /**
+     * Quita una mascota y sus entradas en los índices. Debe llamarse con el
+     * candado de escritura tomado.
+     *
+     * @return {@code false} si no existía
+     */
+    private boolean quitar(String clave) {
+        MascotaVO anterior = porApodo.remove(clave);
+        if (anterior == null) {
+            return false;
+        }
+        apodosOrdenados.remove(clave);
+        porClasificacion.quitar(clave, anterior);
+        porFamilia.quitar(clave, anterior);
+        porAlimento.quitar(clave, anterior);
+        porTexto.quitar(clave);
+        apodosAproximados.quitar(clave);
+        quitarHuella(clave, anterior);
+        return true;
+    }
+
+    /**
+     * Quita un apodo del índice por huella. Debe llamarse con el candado de
+     * escritura tomado.
+     */
+    private void quitarHuella(String clave, MascotaVO mascota) {
+        long huella = mascota.getClaves().getHuella();
+        ConcurrentSkipListSet<String> apodos = porHuella.get(huella);
+        if (apodos != null) {
+            apodos.remove(clave);
+            if (apodos.isEmpty()) {
+                porHuella.remove(huella, apodos);
+            }
+        }
+    }
+
+    /**
+     * Apodos que pueden cumplir los criterios, según el índice más selectivo
+     * disponible.
+     */
+    private Collection<String> candidatos(CriteriosMascota criterios) {
+        List<String> apodos = criterios.valoresRequeridos(CampoMascota.APODO);
+        if (apodos != null) {
+            Set<String> claves = new TreeSet<>();
+            for (String apodo : apodos) {
+                claves.add(NormalizadorTexto.clave(apodo));
+            }
+            return claves;
+        }
+        for (IndiceSecundario indice : new IndiceSecundario[]{porFamilia, porClasificacion, porAlimento}) {
+            List<String> valores = criterios.valoresRequeridos(indice.campo);
+            if (valores != null) {
+                Set<String> claves = new TreeSet<>();
+                for (String valor : valores) {
+                    claves.addAll(indice.apodos(NormalizadorTexto.clave(valor)));
+                }
+                return claves;
+            }
+        }
+        return apodosOrdenados;
+    }
+
+    /**
+     * Arma una página recorriendo, en orden, los apodos indicados.
+     *
+     * @param apodos Apodos candidatos ordenados.
+     * @param campo Campo filtrado, o {@code null} si no se filtra.
+     * @param valor Valor normalizado del filtro.
+     * @param tamanoPagina Tamaño de página.
+     * @param token Token de continuación o {@code null}.
+     * @return Página de resultados.
+     */
+    private PaginaMascotas consultarPagina(NavigableSet<String> apodos, CampoMascota campo,
+                                           String valor, int tamanoPagina, String token) {
+        PaginaMascotas.validarTamano(tamanoPagina);
+        String ultimoApodo = PaginaMascotas.decodificarToken(token);
+        Set<String> desde = ultimoApodo == null
+                ? apodos : apodos.tailSet(NormalizadorTexto.clave(ultimoApodo), false);
+        List<MascotaVO> filas = new ArrayList<>(tamanoPagina + 1);
+        for (String clave : desde) {
+            MascotaVO mascota = porApodo.get(clave);
+            if (mascota != null && (campo == null || coincide(campo, mascota, valor))) {
+                filas.add(copiar(mascota));
+                if (filas.size() > tamanoPagina) {
+                    break;
+                }
+            }
+        }
+        return PaginaMascotas.desdeFilas(filas, tamanoPagina);
+    }
+
+    private static boolean coincide(CampoMascota campo, MascotaVO mascota, String valor) {
+        return campo.claveDe(mascota).equals(valor);
+    }
+
+    private static MascotaVO copiar(MascotaVO m) {
+        return new MascotaVO(m);
+    }
+
+    /**
+     * Índice de apodos por el valor normalizado de un campo.
+     */
+    private final class IndiceSecundario {
+
+        private final CampoMascota campo;
+        private final ConcurrentHashMap<String, ConcurrentSkipListSet<String>> apodosPorValor =
+                new ConcurrentHashMap<>();
+
+        private IndiceSecundario(CampoMascota campo) {
+            this.campo = campo;
+        }
+
+        private void agregar(String clave, MascotaVO mascota) {
+            apodosPorValor.computeIfAbsent(campo.claveDe(mascota),
+                    v -> new ConcurrentSkipListSet<>()).add(clave);
+        }
+
+        private void quitar(String clave, MascotaVO mascota) {
+            String valor = campo.claveDe(mascota);
+            ConcurrentSkipListSet<String> apodos = apodosPorValor.get(valor);
+            if (apodos != null) {
+                apodos.remove(clave);
+                if (apodos.isEmpty()) {
+                    apodosPorValor.remove(valor, apodos);
+                }
+            }
+        }
+
+        private void mover(String clave, MascotaVO anterior, MascotaVO nueva) {
+            if (!campo.claveDe(anterior).equals(campo.claveDe(nueva))) {
+                agregar(clave, nueva);
+                quitar(clave, anterior);
+            }
+        }
+
+        private NavigableSet<String> apodos(String valor) {
+            NavigableSet<String> apodos = apodosPorValor.get(valor);
+            return apodos == null ? Collections.emptyNavigableSet() : apodos;
+        }
+
+        private List<MascotaVO> consultar(String valorBuscado) {
+            String valor = NormalizadorTexto.clave(valorBuscado);
+            List<MascotaVO> resultado = new ArrayList<>();
+            for (String clave : apodos(valor)) {
+                MascotaVO mascota = porApodo.get(clave);
+                if (mascota != null && coincide(campo, mascota, valor)) {
+                    resultado.add(copiar(mascota));
+                }
+            }
+            return resultado;
+        }
+
+        private void contar(AcumuladorConteos conteos) {
+            for (Map.Entry<String, ConcurrentSkipListSet<String>> grupo : apodosPorValor.entrySet()) {
+                NavigableSet<String> apodos = grupo.getValue();
+                String primero = apodos.isEmpty() ? null : apodos.first();
+                MascotaVO mascota = primero == null ? null : porApodo.get(primero);
+                if (mascota != null) {
+                    conteos.sumar(grupo.getKey(), campo.valorDe(mascota), apodos.size());
+                }
+            }
+        }
+
+        private PaginaMascotas consultarPagina(String valorBuscado, int tamanoPagina, String token) {
+            String valor = NormalizadorTexto.clave(valorBuscado);
+            return MascotaDAOMemoria.this.consultarPagina(apodos(valor), campo, valor, tamanoPagina, token);
+        }
+    }
+}
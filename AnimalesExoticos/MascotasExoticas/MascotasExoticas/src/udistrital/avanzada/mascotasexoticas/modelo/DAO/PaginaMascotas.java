@@ -0,0 +1,108 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+
+/**
+ * Página de resultados de una consulta paginada de mascotas.
+ * <p>
+ * Las consultas paginadas ordenan por apodo y se reanudan a partir del último
+ * apodo entregado (paginación por clave), de modo que el costo de cada página
+ * no depende de cuántas páginas se hayan leído antes. El punto de
+ * continuación se entrega como un token opaco que el cliente solo debe
+ * devolver en la siguiente solicitud.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class PaginaMascotas {
+
+    /** Mascotas de la página, ordenadas por apodo. */
+    private final List<MascotaVO> mascotas;
+
+    /** Token para solicitar la página siguiente, o {@code null} si es la última. */
+    private final String tokenSiguiente;
+
+    /**
+     * Crea una página de resultados.
+     *
+     * @param mascotas Mascotas de la página.
+     * @param tokenSiguiente Token de la página siguiente o {@code null}.
+     */
+    public PaginaMascotas(List<MascotaVO> mascotas, String tokenSiguiente) {
+        this.mascotas = Collections.unmodifiableList(mascotas);
+        this.tokenSiguiente = tokenSiguiente;
+    }
+
+    /**
+     * Construye la página a partir de hasta {@code tamanoPagina + 1} filas
+     * leídas: la fila extra solo indica que existe una página siguiente.
+     *
+     * @param filas Filas leídas, ordenadas por apodo.
+     * @param tamanoPagina Tamaño solicitado.
+     * @return Página con a lo sumo {@code tamanoPagina} mascotas.
+     */
+    public static PaginaMascotas desdeFilas(List<MascotaVO> filas, int tamanoPagina) {
+        if (filas.size() <= tamanoPagina) {
+            return new PaginaMascotas(filas, null);
+        }
+        List<MascotaVO> pagina = filas.subList(0, tamanoPagina);
+        return new PaginaMascotas(pagina, codificarToken(pagina.get(tamanoPagina - 1).getApodo()));
+    }
+
+    /** @return Mascotas de la página. */
+    public List<MascotaVO> getMascotas() {
+        return mascotas;
+    }
+
+    /** @return Token de la página siguiente, o {@code null} si no hay más. */
+    public String getTokenSiguiente() {
+        return tokenSiguiente;
+    }
+
+    /** @return {@code true} si existe una página siguiente. */
+    public boolean hayMas() {
+        return tokenSiguiente != null;
+    }
+
+    /**
+     * Codifica el último apodo entregado como token de continuación.
+     *
+     * @param apodo Último apodo de la página.
+     * @return Token opaco.
+     */
+    public static String codificarToken(String apodo) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(apodo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Recupera el apodo a partir del cual continuar.
+     *
+     * @param token Token recibido o {@code null} para la primera página.
+     * @return Apodo de continuación o {@code null}.
+     * @throws IllegalArgumentException si el token no es válido.
+     */
+    public static String decodificarToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Valida el tamaño de página solicitado.
+     *
+     * @param tamanoPagina Tamaño solicitado.
+     * @throws IllegalArgumentException si no es positivo.
+     */
+    public static void validarTamano(int tamanoPagina) {
+        if (tamanoPagina < 1) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo.");
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.ResumenMascotaVO;
+
+/**
+ * Decorador de {@link ICRUDMascota} que publica en un
+ * {@link BusEventosMascota} cada cambio hecho a través de él.
+ * <p>
+ * Los eventos se arman con lo que la escritura ya conoce: los datos recibidos
+ * y el resultado que informa el delegado. No se lee el almacenamiento antes ni
+ * después de delegar, así que publicar no añade consultas ni deja ventanas
+ * entre una lectura y la escritura. Solo se publican los cambios que el
+ * delegado informa como aplicados; las escrituras por criterio publican un
+ * único evento con el número de mascotas afectadas.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class PublicadorEventosMascotaDAO implements ICRUDMascota {
+
+    private final ICRUDMascota delegado;
+    private final BusEventosMascota bus;
+
+    /**
+     * Crea el decorador.
+     *
+     * @param delegado DAO que accede a los datos
+     * @param bus Bus donde se publican los cambios
+     */
+    public PublicadorEventosMascotaDAO(ICRUDMascota delegado, BusEventosMascota bus) {
+        this.delegado = delegado;
+        this.bus = bus;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean adicionarMascota(MascotaVO mascota) {
+        boolean insertada = delegado.adicionarMascota(mascota);
+        if (insertada) {
+            publicarInsercion(mascota);
+        }
+        return insertada;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultadoOperacion upsertMascota(MascotaVO mascota) {
+        ResultadoOperacion resultado = delegado.upsertMascota(mascota);
+        if (resultado == ResultadoOperacion.INSERTADA) {
+            publicarInsercion(mascota);
+        } else if (resultado == ResultadoOperacion.ACTUALIZADA) {
+            bus.publicar(EventoMascota.Tipo.MODIFICACION, mascota.getApodo(), mascota);
+        }
+        return resultado;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ResultadoOperacion> adicionarMascotas(List<MascotaVO> mascotas) {
+        List<ResultadoOperacion> resultados = delegado.adicionarMascotas(mascotas);
+        for (int i = 0; i < resultados.size(); i++) {
+            if (resultados.get(i) == ResultadoOperacion.INSERTADA) {
+                publicarInsercion(mascotas.get(i));
+            }
+        }
+        return resultados;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * El evento lleva los cambios recibidos: los campos en blanco conservan
+     * su valor.
+     * </p>
+     */
+    @Override
+    public boolean modificarMascota(MascotaVO mascota) {
+        boolean modificada = delegado.modificarMascota(mascota);
+        if (modificada) {
+            bus.publicar(EventoMascota.Tipo.MODIFICACION, mascota.getApodo(), mascota);
+        }
+        return modificada;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int modificarPorCriterio(CriteriosMascota criterios, MascotaVO cambios) {
+        int modificadas = delegado.modificarPorCriterio(criterios, cambios);
+        if (modificadas > 0) {
+            bus.publicarPorCriterio(EventoMascota.Tipo.MODIFICACION_POR_CRITERIO, criterios, cambios, modificadas);
+        }
+        return modificadas;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int eliminarPorCriterio(CriteriosMascota criterios) {
+        int eliminadas = delegado.eliminarPorCriterio(criterios);
+        if (eliminadas > 0) {
+            bus.publicarPorCriterio(EventoMascota.Tipo.ELIMINACION_POR_CRITERIO, criterios, null, eliminadas);
+        }
+        return eliminadas;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean eliminarMascota(String apodo) {
+        boolean eliminada = delegado.eliminarMascota(apodo);
+        if (eliminada) {
+            bus.publicar(EventoMascota.Tipo.ELIMINACION, apodo, null);
+        }
+        return eliminada;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> listarTodasMascotas() {
+        return delegado.listarTodasMascotas();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas listarTodasMascotas(int tamanoPagina, String token) {
+        return delegado.listarTodasMascotas(tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ResumenMascotaVO> listarResumenes() {
+        return delegado.listarResumenes();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recorrerMascotas(Consumer<MascotaVO> consumidor) {
+        delegado.recorrerMascotas(consumidor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorApodo(String apodo) {
+        return delegado.consultarPorApodo(apodo);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorClasificacion(String clasificacion) {
+        return delegado.consultarPorClasificacion(clasificacion);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorClasificacion(String clasificacion, int tamanoPagina, String token) {
+        return delegado.consultarPorClasificacion(clasificacion, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorFamilia(String familia) {
+        return delegado.consultarPorFamilia(familia);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorFamilia(String familia, int tamanoPagina, String token) {
+        return delegado.consultarPorFamilia(familia, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorAlimento(String alimento) {
+        return delegado.consultarPorAlimento(alimento);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorAlimento(String alimento, int tamanoPagina, String token) {
+        return delegado.consultarPorAlimento(alimento, tamanoPagina, token);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultar(CriteriosMascota criterios) {
+        return delegado.consultar(criterios);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorHuella(long huella) {
+        return delegado.consultarPorHuella(huella);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> consultarApodosSimilares(String apodo, int distanciaMaxima, int limite) {
+        return delegado.consultarApodosSimilares(apodo, distanciaMaxima, limite);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> buscarTexto(String texto, int limite) {
+        return delegado.buscarTexto(texto, limite);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> contarPor(CampoMascota agrupacion, CriteriosMascota filtro) {
+        return delegado.contarPor(agrupacion, filtro);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> contarDistintosPor(CampoMascota agrupacion, CampoMascota contado,
+                                               CriteriosMascota filtro) {
+        return delegado.contarDistintosPor(agrupacion, contado, filtro);
+    }
+
+    private void publicarInsercion(MascotaVO mascota) {
+        MascotaVO insertada = new MascotaVO(mascota);
+        insertada.setVersion(1);
+        bus.publicar(EventoMascota.Tipo.INSERCION, insertada.getApodo(), insertada);
+    }
+}
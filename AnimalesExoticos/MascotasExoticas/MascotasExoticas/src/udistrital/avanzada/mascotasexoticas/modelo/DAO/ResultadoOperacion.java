@@ -0,0 +1,33 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+/**
+ * Resultado individual de una operación de escritura sobre una mascota.
+ * <p>
+ * Se utiliza en las operaciones masivas para informar, registro por registro,
+ * qué ocurrió con cada mascota enviada.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public enum ResultadoOperacion {
+
+    /** La mascota se insertó como un registro nuevo. */
+    INSERTADA,
+
+    /** Ya existía una mascota con el mismo apodo; no se insertó. */
+    DUPLICADA,
+
+    /** Ya existía una mascota con el mismo apodo y se actualizaron sus datos. */
+    ACTUALIZADA,
+
+    /**
+     * Ya existía una mascota con el mismo apodo y los mismos datos, sin contar
+     * mayúsculas ni tildes; se conservó tal como estaba.
+     */
+    SIN_CAMBIOS,
+
+    /** Ocurrió un error al escribir la mascota. */
+    FALLIDA
+}
@@ -0,0 +1,701 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.NormalizadorTexto;
+import udistrital.avanzada.mascotasexoticas.modelo.ResumenMascotaVO;
+
+/**
+ * Implementación de {@link ICRUDMascota} que reparte las mascotas entre varias
+ * particiones (shards), cada una con su propio DAO y, por tanto, su propia
+ * base de datos o archivo.
+ * <p>
+ * Cada mascota vive en una sola partición, elegida con un {@link AnilloHash}
+ * sobre la clave de su apodo. Las operaciones por apodo van solo a esa
+ * partición; las consultas por otros campos se ejecutan en todas en paralelo y
+ * sus resultados se combinan: las listas ordenadas se mezclan por su orden sin
+ * volver a ordenarlas, las páginas se arman con las primeras filas de cada
+ * partición, y las búsquedas por parecido, texto o conteos se recalculan
+ * sobre los mejores resultados de cada una.
+ * </p>
+ *
+ * <p>
+ * {@link #agregarParticion(String, ICRUDMascota)} agrega una partición sin
+ * detener el servicio: recorre las particiones sin excluir otras operaciones
+ * y solo anota qué mascotas cambian de dueño, que luego se
+ * mueven por lotes con {@link #rebalancear(int)} o
+ * {@link #rebalancearEnSegundoPlano()}. Mientras tanto cada mascota pendiente
+ * se sigue leyendo y escribiendo en su partición anterior. Cada lote excluye
+ * al resto de operaciones mientras se mueve, de modo que una consulta nunca ve
+ * una mascota dos veces ni deja de verla. Al moverse, la mascota se reinserta
+ * en su nueva partición y su versión vuelve a empezar.
+ * </p>
+ *
+ * <p>
+ * Las particiones iniciales deben estar vacías o haber sido llenadas por este
+ * DAO con los mismos nombres, porque el nombre decide qué apodos recibe cada
+ * una.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class ShardedMascotaDAO implements ICRUDMascota {
+
+    /** Puntos del anillo por partición. */
+    public static final int NODOS_VIRTUALES = 128;
+
+    /** Mascotas movidas por lote en el rebalanceo en segundo plano. */
+    public static final int LOTE_REBALANCEO = 100;
+
+    private static final Comparator<MascotaVO> POR_APODO =
+            Comparator.comparing((MascotaVO m) -> m.getClaves().getApodo());
+
+    private static final Comparator<ResumenMascotaVO> RESUMEN_POR_APODO =
+            Comparator.comparing((ResumenMascotaVO r) -> NormalizadorTexto.clave(r.getApodo()));
+
+    /** Particiones por nombre. */
+    private final Map<String, ICRUDMascota> particiones = new LinkedHashMap<>();
+
+    /** Mascotas que aún están en la partición anterior, por clave de apodo. */
+    private final Map<String, Pendiente> pendientes = new LinkedHashMap<>();
+
+    private final ExecutorService ejecutor;
+
+    /**
+     * Las operaciones normales toman el candado de lectura; agregar una
+     * partición y mover un lote, el de escritura.
+     */
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+
+    /** Serializa las llamadas a {@link #agregarParticion}. */
+    private final ReentrantLock agregando = new ReentrantLock();
+
+    /**
+     * Apodos insertados mientras {@link #agregarParticion} recorre las
+     * particiones, por clave; {@code null} fuera de ese recorrido.
+     */
+    private volatile Map<String, String> insertadasDuranteRecorrido;
+
+    private AnilloHash anillo = new AnilloHash(NODOS_VIRTUALES);
+
+    /**
+     * Crea el DAO sobre las particiones indicadas.
+     *
+     * @param particiones DAO de cada partición, por nombre
+     * @param ejecutor Hilos en los que se consultan las particiones en
+     * paralelo; no debe ser el mismo desde el que se llama a este DAO, o una
+     * consulta podría esperar a tareas que nunca encuentran un hilo libre
+     * @throws IllegalArgumentException si no se indica ninguna partición
+     */
+    public ShardedMascotaDAO(Map<String, ? extends ICRUDMascota> particiones, ExecutorService ejecutor) {
+        if (particiones.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos una partición.");
+        }
+        for (Map.Entry<String, ? extends ICRUDMascota> particion : particiones.entrySet()) {
+            this.particiones.put(particion.getKey(), particion.getValue());
+            anillo = anillo.con(particion.getKey());
+        }
+        this.ejecutor = ejecutor;
+    }
+
+    /**
+     * Agrega una partición vacía. Las mascotas que le corresponden quedan
+     * pendientes de mover; las de un rebalanceo en curso que no le
+     * corresponden siguen pendientes hacia su destino anterior.
+     * <p>
+     * Las particiones se recorren sin excluir las demás operaciones, anotando
+     * los apodos que se insertan mientras tanto. Al final, con el candado de
+     * escritura, solo se suman esos apodos y se toma como origen de cada
+     * pendiente la partición donde está en ese momento.
+     * </p>
+     *
+     * @param nombre Nombre de la partición; decide qué apodos recibe
+     * @param dao DAO de la partición
+     * @throws IllegalArgumentException si ya existe una partición con ese nombre
+     */
+    public void agregarParticion(String nombre, ICRUDMascota dao) {
+        agregando.lock();
+        try {
+            List<ICRUDMascota> actuales;
+            AnilloHash nuevo;
+            candado.writeLock().lock();
+            try {
+                if (particiones.containsKey(nombre)) {
+                    throw new IllegalArgumentException("Ya existe la partición " + nombre);
+                }
+                actuales = new ArrayList<>(particiones.values());
+                nuevo = anillo.con(nombre);
+                insertadasDuranteRecorrido = new ConcurrentHashMap<>();
+            } finally {
+                candado.writeLock().unlock();
+            }
+
+            Map<String, String> aMover = new LinkedHashMap<>();
+            try {
+                for (List<ResumenMascotaVO> resumenes : enParalelo(actuales, ICRUDMascota::listarResumenes)) {
+                    for (ResumenMascotaVO resumen : resumenes) {
+                        aMover.put(NormalizadorTexto.clave(resumen.getApodo()), resumen.getApodo());
+                    }
+                }
+            } catch (RuntimeException e) {
+                insertadasDuranteRecorrido = null;
+                throw e;
+            }
+            candado.writeLock().lock();
+            try {
+                aMover.putAll(insertadasDuranteRecorrido);
+                for (Map.Entry<String, String> entrada : aMover.entrySet()) {
+                    if (nombre.equals(nuevo.particionDe(entrada.getKey()))) {
+                        pendientes.put(entrada.getKey(), new Pendiente(entrada.getValue(), ubicar(entrada.getValue())));
+                    }
+                }
+                particiones.put(nombre, dao);
+                anillo = nuevo;
+            } finally {
+                insertadasDuranteRecorrido = null;
+                candado.writeLock().unlock();
+            }
+        } finally {
+            agregando.unlock();
+        }
+    }
+
+    /**
+     * Mueve a su nueva partición hasta {@code maximo} mascotas pendientes,
+     * como un solo lote.
+     *
+     * @param maximo Mascotas a mover como máximo
+     * @return Mascotas que siguen pendientes
+     * @throws IllegalStateException si no se puede mover una mascota
+     */
+    public int rebalancear(int maximo) {
+        candado.writeLock().lock();
+        try {
+            mover(maximo);
+            return pendientes.size();
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mueve todas las mascotas pendientes por lotes de
+     * {@link #LOTE_REBALANCEO} en un hilo propio, dejando atender otras
+     * operaciones entre lote y lote.
+     *
+     * @return Tarea que termina cuando no quedan mascotas pendientes
+     */
+    public CompletableFuture<Void> rebalancearEnSegundoPlano() {
+        return CompletableFuture.runAsync(() -> {
+            while (rebalancear(LOTE_REBALANCEO) > 0) {
+                Thread.yield();
+            }
+        }, tarea -> {
+            Thread hilo = new Thread(tarea, "rebalanceo-mascotas");
+            hilo.setDaemon(true);
+            hilo.start();
+        });
+    }
+
+    /**
+     * @return Mascotas que aún deben moverse a otra partición.
+     */
+    public int getPendientesRebalanceo() {
+        return leer(pendientes::size);
+    }
+
+    /**
+     * @return Nombres de las particiones, en el orden en que se agregaron.
+     */
+    public Set<String> getParticiones() {
+        return leer(() -> Collections.unmodifiableSet(new LinkedHashSet<>(particiones.keySet())));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean adicionarMascota(MascotaVO mascota) {
+        return leer(() -> {
+            anotarInsercion(mascota.getApodo());
+            return ubicar(mascota.getApodo()).adicionarMascota(mascota);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultadoOperacion upsertMascota(MascotaVO mascota) {
+        return leer(() -> {
+            anotarInsercion(mascota.getApodo());
+            return ubicar(mascota.getApodo()).upsertMascota(mascota);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Las mascotas se agrupan por partición y cada grupo se inserta en
+     * paralelo con las demás.
+     * </p>
+     */
+    @Override
+    public List<ResultadoOperacion> adicionarMascotas(List<MascotaVO> mascotas) {
+        return leer(() -> {
+            Map<ICRUDMascota, List<Integer>> porParticion = new LinkedHashMap<>();
+            for (int i = 0; i < mascotas.size(); i++) {
+                anotarInsercion(mascotas.get(i).getApodo());
+                porParticion.computeIfAbsent(ubicar(mascotas.get(i).getApodo()), p -> new ArrayList<>()).add(i);
+            }
+            List<ICRUDMascota> destinos = new ArrayList<>(porParticion.keySet());
+            List<List<ResultadoOperacion>> parciales = enParalelo(destinos, particion -> {
+                List<MascotaVO> grupo = new ArrayList<>();
+                for (int i : porParticion.get(particion)) {
+                    grupo.add(mascotas.get(i));
+                }
+                return particion.adicionarMascotas(grupo);
+            });
+            ResultadoOperacion[] resultados = new ResultadoOperacion[mascotas.size()];
+            for (int p = 0; p < destinos.size(); p++) {
+                List<Integer> indices = porParticion.get(destinos.get(p));
+                for (int i = 0; i < indices.size(); i++) {
+                    resultados[indices.get(i)] = parciales.get(p).get(i);
+                }
+            }
+            return new ArrayList<>(Arrays.asList(resultados));
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean modificarMascota(MascotaVO mascota) {
+        return leer(() -> ubicar(mascota.getApodo()).modificarMascota(mascota));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Se aplica en todas las particiones en paralelo; no es atómica entre
+     * particiones.
+     * </p>
+     */
+    @Override
+    public int modificarPorCriterio(CriteriosMascota criterios, MascotaVO cambios) {
+        return leer(() -> sumar(enTodas(particion -> particion.modificarPorCriterio(criterios, cambios))));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Se aplica en todas las particiones en paralelo; no es atómica entre
+     * particiones.
+     * </p>
+     */
+    @Override
+    public int eliminarPorCriterio(CriteriosMascota criterios) {
+        return leer(() -> sumar(enTodas(particion -> particion.eliminarPorCriterio(criterios))));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean eliminarMascota(String apodo) {
+        return leer(() -> ubicar(apodo).eliminarMascota(apodo));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> listarTodasMascotas() {
+        return leer(() -> concatenar(enTodas(ICRUDMascota::listarTodasMascotas)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas listarTodasMascotas(int tamanoPagina, String token) {
+        return pagina(particion -> particion.listarTodasMascotas(tamanoPagina, token), tamanoPagina);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ResumenMascotaVO> listarResumenes() {
+        return leer(() -> mezclar(enTodas(ICRUDMascota::listarResumenes), RESUMEN_POR_APODO, Integer.MAX_VALUE));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Las particiones se recorren una tras otra, para que el consumidor
+     * reciba las mascotas desde un solo hilo.
+     * </p>
+     */
+    @Override
+    public void recorrerMascotas(Consumer<MascotaVO> consumidor) {
+        leer(() -> {
+            for (ICRUDMascota particion : particiones.values()) {
+                particion.recorrerMascotas(consumidor);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorApodo(String apodo) {
+        return leer(() -> ubicar(apodo).consultarPorApodo(apodo));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorClasificacion(String clasificacion) {
+        return leer(() -> concatenar(enTodas(particion -> particion.consultarPorClasificacion(clasificacion))));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorClasificacion(String clasificacion, int tamanoPagina, String token) {
+        return pagina(particion -> particion.consultarPorClasificacion(clasificacion, tamanoPagina, token),
+                tamanoPagina);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorFamilia(String familia) {
+        return leer(() -> concatenar(enTodas(particion -> particion.consultarPorFamilia(familia))));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorFamilia(String familia, int tamanoPagina, String token) {
+        return pagina(particion -> particion.consultarPorFamilia(familia, tamanoPagina, token), tamanoPagina);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorAlimento(String alimento) {
+        return leer(() -> concatenar(enTodas(particion -> particion.consultarPorAlimento(alimento))));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaMascotas consultarPorAlimento(String alimento, int tamanoPagina, String token) {
+        return pagina(particion -> particion.consultarPorAlimento(alimento, tamanoPagina, token), tamanoPagina);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultar(CriteriosMascota criterios) {
+        return leer(() -> {
+            List<List<MascotaVO>> resultados = enTodas(particion -> particion.consultar(criterios));
+            return criterios.tieneOrden()
+                    ? mezclar(resultados, criterios.comparador(), Integer.MAX_VALUE)
+                    : concatenar(resultados);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MascotaVO> consultarPorHuella(long huella) {
+        return leer(() -> mezclar(enTodas(particion -> particion.consultarPorHuella(huella)),
+                POR_APODO, Integer.MAX_VALUE));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Cada partición entrega sus {@code limite} mejores apodos y entre ellos
+     * se eligen los mejores en total.
+     * </p>
+     */
+    @Override
+    public List<String> consultarApodosSimilares(String apodo, int distanciaMaxima, int limite) {
+        return leer(() -> ArbolBK.buscarEn(concatenar(enTodas(
+                particion -> particion.consultarApodosSimilares(apodo, distanciaMaxima, limite))),
+                apodo, distanciaMaxima, limite));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Cada partición entrega sus {@code limite} mejores mascotas y entre ellas
+     * se eligen las mejores en total.
+     * </p>
+     */
+    @Override
+    public List<MascotaVO> buscarTexto(String texto, int limite) {
+        return leer(() -> {
+            List<MascotaVO> candidatas = concatenar(enTodas(particion -> particion.buscarTexto(texto, limite)));
+            return IndiceTexto.buscarRecorriendo(candidatas::forEach, texto, limite);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> contarPor(CampoMascota agrupacion, CriteriosMascota filtro) {
+        return leer(() -> {
+            AcumuladorConteos conteos = new AcumuladorConteos();
+            for (Map<String, Long> parcial : enTodas(particion -> particion.contarPor(agrupacion, filtro))) {
+                parcial.forEach(conteos::sumar);
+            }
+            return conteos.resultado();
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Un mismo valor puede repetirse en varias particiones, así que los
+     * conteos parciales no se pueden sumar: se consultan las mascotas del
+     * filtro en todas y se cuentan aquí.
+     * </p>
+     */
+    @Override
+    public Map<String, Long> contarDistintosPor(CampoMascota agrupacion, CampoMascota contado,
+                                               CriteriosMascota filtro) {
+        return leer(() -> {
+            AcumuladorConteos conteos = new AcumuladorConteos();
+            for (List<MascotaVO> parcial : enTodas(particion -> particion.consultar(filtro))) {
+                for (MascotaVO mascota : parcial) {
+                    conteos.sumarDistinto(agrupacion.claveDe(mascota), agrupacion.valorDe(mascota),
+                            contado.claveDe(mascota));
+                }
+            }
+            return conteos.resultado();
+        });
+    }
+
+    /**
+     * Partición donde está, o debe quedar, la mascota de un apodo. Se llama
+     * con el candado de lectura tomado.
+     */
+    private ICRUDMascota ubicar(String apodo) {
+        String clave = NormalizadorTexto.clave(apodo);
+        Pendiente pendiente = pendientes.get(clave);
+        return pendiente != null ? pendiente.origen : particiones.get(anillo.particionDe(clave));
+    }
+
+    /**
+     * Anota un apodo que se va a insertar si {@link #agregarParticion} está
+     * recorriendo las particiones. Se llama con el candado de lectura tomado.
+     */
+    private void anotarInsercion(String apodo) {
+        Map<String, String> insertadas = insertadasDuranteRecorrido;
+        if (insertadas != null) {
+            insertadas.put(NormalizadorTexto.clave(apodo), apodo);
+        }
+    }
+
+    /**
+     * Mueve hasta {@code maximo} mascotas pendientes. Se llama con el candado
+     * de escritura tomado.
+     */
+    private void mover(int maximo) {
+        Iterator<Map.Entry<String, Pendiente>> it = pendientes.entrySet().iterator();
+        for (int movidas = 0; movidas < maximo && it.hasNext(); movidas++) {
+            Map.Entry<String, Pendiente> entrada = it.next();
+            Pendiente pendiente = entrada.getValue();
+            List<MascotaVO> actuales = pendiente.origen.consultarPorApodo(pendiente.apodo);
+            if (!actuales.isEmpty()) {
+                ICRUDMascota destino = particiones.get(anillo.particionDe(entrada.getKey()));
+                if (destino.upsertMascota(actuales.get(0)) == ResultadoOperacion.FALLIDA) {
+                    throw new IllegalStateException("No se pudo mover la mascota " + pendiente.apodo);
+                }
+                pendiente.origen.eliminarMascota(pendiente.apodo);
+            }
+            it.remove();
+        }
+    }
+
+    /**
+     * Arma una página a partir de la misma página pedida a cada partición:
+     * como todas ordenan por apodo, las primeras filas del total están entre
+     * las que entregó cada una.
+     */
+    private PaginaMascotas pagina(Function<ICRUDMascota, PaginaMascotas> consulta, int tamanoPagina) {
+        PaginaMascotas.validarTamano(tamanoPagina);
+        return leer(() -> {
+            List<List<MascotaVO>> filas = new ArrayList<>();
+            boolean hayMas = false;
+            for (PaginaMascotas pagina : enTodas(consulta)) {
+                filas.add(pagina.getMascotas());
+                hayMas |= pagina.hayMas();
+            }
+            List<MascotaVO> mezcla = mezclar(filas, POR_APODO, tamanoPagina + 1);
+            if (!hayMas || mezcla.isEmpty()) {
+                return PaginaMascotas.desdeFilas(mezcla, tamanoPagina);
+            }
+            List<MascotaVO> primeras = mezcla.subList(0, Math.min(tamanoPagina, mezcla.size()));
+            return new PaginaMascotas(primeras,
+                    PaginaMascotas.codificarToken(primeras.get(primeras.size() - 1).getApodo()));
+        });
+    }
+
+    private <T> T leer(Supplier<T> operacion) {
+        candado.readLock().lock();
+        try {
+            return operacion.get();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    private <T> List<T> enTodas(Function<ICRUDMascota, T> operacion) {
+        return enParalelo(new ArrayList<>(particiones.values()), operacion);
+    }
+
+    /**
+     * Ejecuta una operación en varias particiones a la vez.
+     *
+     * @return Resultados en el orden de las particiones
+     */
+    private <T> List<T> enParalelo(List<ICRUDMascota> destinos, Function<ICRUDMascota, T> operacion) {
+        if (destinos.size() == 1) {
+            return Collections.singletonList(operacion.apply(destinos.get(0)));
+        }
+        List<CompletableFuture<T>> tareas = new ArrayList<>(destinos.size());
+        for (ICRUDMascota destino : destinos) {
+            tareas.add(CompletableFuture.supplyAsync(() -> operacion.apply(destino), ejecutor));
+        }
+        List<T> resultados = new ArrayList<>(tareas.size());
+        try {
+            for (CompletableFuture<T> tarea : tareas) {
+                resultados.add(tarea.join());
+            }
+        } catch (CompletionException e) {
+            for (CompletableFuture<T> tarea : tareas) {
+                tarea.cancel(true);
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Falló una partición.", e.getCause());
+        }
+        return resultados;
+    }
+
+    private static int sumar(List<Integer> cantidades) {
+        int total = 0;
+        for (int cantidad : cantidades) {
+            total += cantidad;
+        }
+        return total;
+    }
+
+    private static <T> List<T> concatenar(List<List<T>> listas) {
+        List<T> todas = new ArrayList<>();
+        for (List<T> lista : listas) {
+            todas.addAll(lista);
+        }
+        return todas;
+    }
+
+    /**
+     * Mezcla listas ya ordenadas avanzando siempre por la que tiene el menor
+     * elemento pendiente, hasta reunir {@code limite} elementos.
+     */
+    private static <T> List<T> mezclar(List<List<T>> listas, Comparator<? super T> orden, int limite) {
+        PriorityQueue<Cursor<T>> frentes = new PriorityQueue<>(
+                Math.max(1, listas.size()), (a, b) -> orden.compare(a.actual, b.actual));
+        for (List<T> lista : listas) {
+            Cursor<T> cursor = new Cursor<>(lista.iterator());
+            if (cursor.avanzar()) {
+                frentes.add(cursor);
+            }
+        }
+        List<T> mezcla = new ArrayList<>();
+        while (mezcla.size() < limite && !frentes.isEmpty()) {
+            Cursor<T> menor = frentes.poll();
+            mezcla.add(menor.actual);
+            if (menor.avanzar()) {
+                frentes.add(menor);
+            }
+        }
+        return mezcla;
+    }
+
+    /**
+     * Posición de lectura en una de las listas que se mezclan.
+     */
+    private static final class Cursor<T> {
+
+        private final Iterator<T> resto;
+        private T actual;
+
+        private Cursor(Iterator<T> resto) {
+            this.resto = resto;
+        }
+
+        private boolean avanzar() {
+            if (!resto.hasNext()) {
+                return false;
+            }
+            actual = resto.next();
+            return true;
+        }
+    }
+
+    /**
+     * Mascota que debe pasar de la partición donde está a la que le asigna el
+     * anillo.
+     */
+    private static final class Pendiente {
+
+        private final String apodo;
+        private final ICRUDMascota origen;
+
+        private Pendiente(String apodo, ICRUDMascota origen) {
+            this.apodo = apodo;
+            this.origen = origen;
+        }
+    }
+}
@@ -23,6 +23,15 @@ public class MascotaVO extends AnimalVO {
     /** Apodo personalizado de la mascota. */
     private String apodo;
 
+    /**
+     * Versión del registro almacenado, que aumenta con cada modificación; 0
+     * si se desconoce (mascota no leída del almacenamiento).
+     */
+    private int version;
+
+    /** Claves de comparación de los atributos; se calculan al pedirlas por primera vez. */
+    private ClavesMascota claves;
+
     /**
      * Crea una nueva instancia de {@code MascotaVO} con todos los atributos biológicos
      * y un apodo personalizado.
@@ -54,6 +63,16 @@ public class MascotaVO extends AnimalVO {
         this.apodo = apodo;
     }
 
+    /**
+     * Crea una copia independiente de otra mascota, incluida su versión.
+     *
+     * @param otra Mascota a copiar.
+     */
+    public MascotaVO(MascotaVO otra) {
+        this(otra, otra.getApodo());
+        this.version = otra.version;
+    }
+
     /**
      * Obtiene el apodo personalizado de la mascota.
      *
@@ -70,6 +89,50 @@ public class MascotaVO extends AnimalVO {
      */
     public void setApodo(String apodo) {
         this.apodo = apodo;
+        invalidarClaves();
+    }
+
+    /**
+     * Obtiene la versión del registro almacenado del que se leyó la mascota.
+     *
+     * @return versión del registro, o 0 si se desconoce.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Establece la versión del registro. Al modificar una mascota con versión
+     * distinta de 0, el cambio solo se aplica si el registro sigue en esa
+     * versión.
+     *
+     * @param version versión esperada, o 0 para modificar sin comprobarla.
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Obtiene las claves de comparación de los atributos de la mascota. Se
+     * calculan una sola vez y se recalculan solo si algún atributo cambia.
+     *
+     * @return claves de comparación de la mascota.
+     */
+    public ClavesMascota getClaves() {
+        ClavesMascota actuales = claves;
+        if (actuales == null) {
+            actuales = new ClavesMascota(this);
+            claves = actuales;
+        }
+        return actuales;
+    }
+
+    /**
+     * Descarta las claves calculadas cuando cambia un atributo.
+     */
+    @Override
+    protected void invalidarClaves() {
+        claves = null;
     }
 
     /**
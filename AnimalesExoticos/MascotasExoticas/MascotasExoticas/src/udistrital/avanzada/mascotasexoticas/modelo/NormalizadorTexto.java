@@ -0,0 +1,50 @@
+package udistrital.avanzada.mascotasexoticas.modelo;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de textos en claves de comparación.
+ * <p>
+ * Dos textos se consideran iguales cuando sus claves coinciden. La clave se
+ * obtiene con la descomposición de compatibilidad de Unicode (NFKD), quitando
+ * las marcas diacríticas y plegando mayúsculas y minúsculas, de modo que
+ * "Omnívoros", "OMNIVOROS" y "omnívoros " comparten la clave "omnivoros".
+ * </p>
+ *
+ * <p>
+ * Es la única definición de igualdad de la aplicación: las claves se guardan
+ * con cada {@link MascotaVO} y en columnas propias de la tabla
+ * {@code mascotas}, para que la base de datos y las comparaciones en memoria
+ * no dependan de la intercalación de MySQL.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public final class NormalizadorTexto {
+
+    /** Marcas diacríticas que quedan separadas tras la descomposición. */
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+
+    private NormalizadorTexto() {
+    }
+
+    /**
+     * Obtiene la clave de comparación de un texto.
+     *
+     * @param valor Texto original.
+     * @return Texto sin tildes, plegado a minúsculas y sin espacios en los
+     * extremos; cadena vacía si es nulo.
+     */
+    public static String clave(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        String sinTildes = DIACRITICOS.matcher(Normalizer.normalize(valor, Normalizer.Form.NFKD)).replaceAll("");
+        // Pasar por mayúsculas pliega también casos como "ß" -> "ss" o la sigma final
+        return sinTildes.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT).trim();
+    }
+}
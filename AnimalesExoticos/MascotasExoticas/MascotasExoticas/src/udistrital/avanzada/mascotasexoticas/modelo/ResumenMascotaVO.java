@@ -0,0 +1,44 @@
+package udistrital.avanzada.mascotasexoticas.modelo;
+
+/**
+ * Proyección ligera de una mascota con solo su apodo y su nombre común.
+ * <p>
+ * Se usa en listados donde no hace falta el resto de atributos, como el combo
+ * de mascotas registradas, para no leer ni transferir columnas innecesarias.
+ * </p>
+ *
+ * @author Sofia
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public final class ResumenMascotaVO {
+
+    /** Apodo de la mascota. */
+    private final String apodo;
+
+    /** Nombre común del animal. */
+    private final String nombre;
+
+    /**
+     * @param apodo Apodo de la mascota.
+     * @param nombre Nombre común del animal.
+     */
+    public ResumenMascotaVO(String apodo, String nombre) {
+        this.apodo = apodo;
+        this.nombre = nombre;
+    }
+
+    /**
+     * @return apodo de la mascota.
+     */
+    public String getApodo() {
+        return apodo;
+    }
+
+    /**
+     * @return nombre común del animal.
+     */
+    public String getNombre() {
+        return nombre;
+    }
+}
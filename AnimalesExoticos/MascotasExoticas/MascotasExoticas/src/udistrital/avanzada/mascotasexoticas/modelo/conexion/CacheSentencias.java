@@ -0,0 +1,240 @@
+package udistrital.avanzada.mascotasexoticas.modelo.conexion;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché de sentencias preparadas asociada a una conexión física.
+ * <p>
+ * Las sentencias se indexan por su texto SQL. Al cerrar una sentencia
+ * obtenida de la caché no se libera en el servidor: se limpian sus parámetros,
+ * se restablecen el tamaño de fetch, el máximo de filas y el tiempo máximo de
+ * consulta si se cambiaron, y queda disponible para el siguiente uso del mismo
+ * SQL en esa conexión. Si se supera la capacidad se cierra la sentencia libre
+ * usada hace más tiempo.
+ * </p>
+ *
+ * <p>
+ * Las sentencias se entregan envueltas, de modo que
+ * {@link java.sql.Statement#getConnection()} devuelve la conexión prestada y
+ * no la física: cerrarla la devuelve al pool.
+ * </p>
+ *
+ * <p>
+ * Una conexión solo es usada por un hilo a la vez (la tiene prestada), por lo
+ * que la caché no necesita sincronización propia.
+ * </p>
+ *
+ * @author Juan
+ * @version 1.0
+ * @since 17-10-2026
+ */
+class CacheSentencias {
+
+    private final Connection conexion;
+    private final int capacidad;
+    private final AtomicLong aciertos;
+    private final AtomicLong fallos;
+
+    /** Sentencias por SQL, en orden de acceso (la primera es la menos reciente). */
+    private final LinkedHashMap<String, SentenciaCacheada> sentencias = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Crea la caché de una conexión.
+     *
+     * @param conexion Conexión física sobre la que se preparan las sentencias.
+     * @param capacidad Número máximo de sentencias retenidas.
+     * @param aciertos Contador compartido de aciertos.
+     * @param fallos Contador compartido de fallos.
+     */
+    CacheSentencias(Connection conexion, int capacidad, AtomicLong aciertos, AtomicLong fallos) {
+        this.conexion = conexion;
+        this.capacidad = capacidad;
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+    }
+
+    /**
+     * Devuelve una sentencia preparada para el SQL indicado, reutilizando la
+     * existente si está libre.
+     *
+     * @param sql Texto de la sentencia.
+     * @param prestada Conexión prestada que verá quien use la sentencia.
+     * @return Sentencia lista para asignar parámetros.
+     * @throws SQLException si falla la preparación.
+     */
+    PreparedStatement preparar(String sql, Connection prestada) throws SQLException {
+        SentenciaCacheada cacheada = sentencias.get(sql);
+        if (cacheada != null && cacheada.cerrada) {
+            sentencias.remove(sql);
+            cacheada = null;
+        }
+        if (cacheada != null && !cacheada.enUso) {
+            aciertos.incrementAndGet();
+            return cacheada.prestar(prestada);
+        }
+        fallos.incrementAndGet();
+        PreparedStatement real = conexion.prepareStatement(sql);
+        if (cacheada != null) {
+            // El mismo SQL ya está en uso en esta conexión: se entrega una sentencia no cacheada.
+            return new SentenciaCacheada(real, false).prestar(prestada);
+        }
+        SentenciaCacheada nueva = new SentenciaCacheada(real, true);
+        sentencias.put(sql, nueva);
+        desalojarExcedentes();
+        return nueva.prestar(prestada);
+    }
+
+    /**
+     * Marca como libres todas las sentencias; se invoca cuando la conexión
+     * vuelve al pool.
+     */
+    void liberarTodas() {
+        for (SentenciaCacheada cacheada : sentencias.values()) {
+            if (cacheada.enUso) {
+                cacheada.liberar();
+            }
+        }
+    }
+
+    /**
+     * Cierra todas las sentencias; se invoca al descartar la conexión.
+     */
+    void cerrarTodas() {
+        for (SentenciaCacheada cacheada : sentencias.values()) {
+            cacheada.cerrarReal();
+        }
+        sentencias.clear();
+    }
+
+    private void desalojarExcedentes() {
+        Iterator<SentenciaCacheada> it = sentencias.values().iterator();
+        while (sentencias.size() > capacidad && it.hasNext()) {
+            SentenciaCacheada candidata = it.next();
+            if (!candidata.enUso) {
+                candidata.cerrarReal();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Sentencia entregada por la caché. Intercepta {@code close()} para
+     * devolverla a la caché en lugar de cerrarla, y {@code getConnection()}
+     * para no exponer la conexión física.
+     */
+    private static final class SentenciaCacheada implements InvocationHandler {
+
+        private final PreparedStatement real;
+        private final PreparedStatement proxy;
+        /** {@code false} si la sentencia no está en la caché y se cierra al devolverla. */
+        private final boolean retenida;
+        private Connection prestada;
+        private boolean enUso;
+        private boolean cerrada;
+
+        /** Valores originales, guardados la primera vez que se cambia alguno. */
+        private boolean configurada;
+        private int fetchOriginal;
+        private int maxFilasOriginal;
+        private int tiempoOriginal;
+
+        private SentenciaCacheada(PreparedStatement real, boolean retenida) {
+            this.real = real;
+            this.retenida = retenida;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+        }
+
+        private PreparedStatement prestar(Connection prestada) {
+            this.prestada = prestada;
+            enUso = true;
+            return proxy;
+        }
+
+        @Override
+        public Object invoke(Object objeto, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    liberar();
+                    return null;
+                case "isClosed":
+                    return !enUso || real.isClosed();
+                case "equals":
+                    return objeto == args[0];
+                case "hashCode":
+                    return System.identityHashCode(objeto);
+                default:
+                    if (!enUso) {
+                        throw new SQLException("La sentencia ya fue cerrada.");
+                    }
+                    switch (metodo.getName()) {
+                        case "getConnection":
+                            return prestada;
+                        case "setFetchSize":
+                        case "setMaxRows":
+                        case "setQueryTimeout":
+                            guardarConfiguracion();
+                            break;
+                        default:
+                            break;
+                    }
+                    try {
+                        return metodo.invoke(real, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+
+        private void guardarConfiguracion() throws SQLException {
+            if (!configurada) {
+                fetchOriginal = real.getFetchSize();
+                maxFilasOriginal = real.getMaxRows();
+                tiempoOriginal = real.getQueryTimeout();
+                configurada = true;
+            }
+        }
+
+        private void liberar() {
+            if (!enUso) {
+                return;
+            }
+            enUso = false;
+            prestada = null;
+            if (!retenida) {
+                cerrarReal();
+                return;
+            }
+            try {
+                real.clearParameters();
+                real.clearBatch();
+                if (configurada) {
+                    real.setFetchSize(fetchOriginal);
+                    real.setMaxRows(maxFilasOriginal);
+                    real.setQueryTimeout(tiempoOriginal);
+                    configurada = false;
+                }
+            } catch (SQLException e) {
+                cerrarReal();
+            }
+        }
+
+        private void cerrarReal() {
+            cerrada = true;
+            try {
+                real.close();
+            } catch (SQLException e) {
+                // La sentencia ya no es utilizable; no hay nada más que hacer.
+            }
+        }
+    }
+}
@@ -1,37 +1,78 @@
-
 package udistrital.avanzada.mascotasexoticas.modelo.conexion;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
- * Clase Singleton responsable de gestionar una única conexión activa a la base de datos.
+ * Clase Singleton responsable de gestionar el acceso a la base de datos.
  * <p>
- * Esta clase centraliza la creación y obtención de la conexión a la base de datos MySQL,
- * evitando que múltiples instancias de conexión sean abiertas innecesariamente en la aplicación.
+ * Esta clase centraliza la configuración de la conexión a la base de datos MySQL
+ * y administra un {@link PoolConexiones} acotado, de modo que varias operaciones
+ * puedan ejecutarse en paralelo sin abrir conexiones innecesariamente.
  * </p>
- * 
+ *
  * <p><b>Características principales:</b></p>
  * <ul>
- *   <li>Utiliza el patrón Singleton para garantizar una sola instancia de conexión.</li>
- *   <li>Proporciona métodos para obtener y cerrar la conexión.</li>
+ *   <li>Utiliza el patrón Singleton (seguro entre hilos) para compartir un único pool.</li>
+ *   <li>Presta una conexión por operación mediante {@link #obtenerConexion()}.</li>
+ *   <li>Al crearse aplica las migraciones pendientes del esquema ({@link MigradorEsquema}).</li>
+ *   <li>Si se configuran réplicas ({@link #PROPIEDAD_REPLICAS}), las lecturas se reparten
+ *       entre ellas con {@link FuenteConexionesReplicadas}.</li>
  *   <li>Evita la duplicación de código de conexión en otras clases.</li>
  * </ul>
- * 
+ *
  * @author Juan
- * @version 1.0
+ * @version 1.1
  */
-public class ConexionBD {
+public class ConexionBD implements FuenteConexiones {
 
     /** Instancia única de la clase (Singleton). */
-    private static ConexionBD instancia;
+    private static volatile ConexionBD instancia;
+
+    /** Registro de los fallos al preparar el esquema. */
+    private static final Logger LOG = Logger.getLogger(ConexionBD.class.getName());
+
+    /**
+     * Propiedad del sistema con las réplicas de lectura, separadas por comas
+     * en formato {@code host[:puerto]}. Sin ella todo va al servidor principal.
+     */
+    public static final String PROPIEDAD_REPLICAS = "mascotas.replicas";
+
+    /** Pool de conexiones con la base de datos. */
+    private final PoolConexiones pool;
+
+    /** Pools de conexiones con cada réplica. */
+    private final List<PoolConexiones> poolsReplicas = new ArrayList<>();
 
-    /** Objeto que representa la conexión activa con la base de datos. */
-    private Connection conexion;
+    /** Enrutador de lecturas, o {@code null} si no hay réplicas. */
+    private final FuenteConexionesReplicadas enrutador;
 
-    /** URL de conexión a la base de datos. */
-    private static final String URLBD = "jdbc:mysql://localhost/animales";
+    /**
+     * Parámetros del driver en la URL de conexión, comunes al principal y a
+     * las réplicas.
+     * <ul>
+     *   <li>{@code rewriteBatchedStatements}: envía cada lote de inserciones como una sola sentencia.</li>
+     *   <li>{@code useServerPrepStmts}: las sentencias se preparan en el servidor.</li>
+     *   <li>{@code cachePrepStmts}: el driver conserva las sentencias que no retiene
+     *       {@link CacheSentencias} (por ejemplo, listas {@code IN} de tamaño variable).</li>
+     *   <li>{@code useCursorFetch}: con un tamaño de fetch positivo las filas se leen
+     *       por bloques desde un cursor del servidor.</li>
+     *   <li>{@code useAffectedRows}: las actualizaciones informan las filas realmente
+     *       cambiadas, lo que permite distinguir inserción, actualización y ausencia
+     *       de cambios en un {@code INSERT ... ON DUPLICATE KEY UPDATE}.</li>
+     * </ul>
+     */
+    private static final String PARAMETROS_URL = "rewriteBatchedStatements=true"
+        + "&useServerPrepStmts=true&cachePrepStmts=true&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048"
+        + "&useCursorFetch=true&useAffectedRows=true";
+
+    /** URL de conexión al servidor principal. */
+    private static final String URLBD = url("localhost");
 
     /** Usuario para autenticación en la base de datos. */
     private static final String USUARIO = "root";
@@ -39,61 +80,181 @@ public class ConexionBD {
     /** Contraseña para autenticación en la base de datos. */
     private static final String CONTRASENA = "";
 
+    /** Conexiones que se mantienen abiertas aunque no se usen. */
+    private static final int POOL_MINIMO = 2;
+
+    /** Conexiones que pueden estar prestadas al mismo tiempo. */
+    private static final int POOL_MAXIMO = 10;
+
+    /** Tiempo máximo de espera por una conexión libre. */
+    private static final long ESPERA_MAXIMA_MS = 5_000;
+
+    /** Inactividad tras la cual se cierran las conexiones sobrantes. */
+    private static final long INACTIVIDAD_MAXIMA_MS = 300_000;
+
+    /** Tiempo prestada tras el cual se reporta una posible fuga. */
+    private static final long UMBRAL_FUGA_MS = 30_000;
+
+    /** Sentencias preparadas retenidas por conexión. */
+    private static final int CAPACIDAD_CACHE_SENTENCIAS = 32;
+
+    /** Retraso de replicación a partir del cual una réplica deja de leerse. */
+    private static final long RETRASO_MAXIMO_REPLICA_MS = 2_000;
+
+    /** Tiempo durante el cual se reutiliza la última medición de retraso. */
+    private static final long INTERVALO_MEDICION_RETRASO_MS = 1_000;
+
+    /**
+     * Tiempo tras una escritura durante el cual se lee del principal; cubre
+     * el retraso máximo admitido más una medición vencida.
+     */
+    private static final long VENTANA_ESCRITURA_MS = RETRASO_MAXIMO_REPLICA_MS + INTERVALO_MEDICION_RETRASO_MS;
+
     /**
-     * Constructor privado que inicializa la conexión a la base de datos.
+     * Constructor privado que inicializa el pool de conexiones.
      * <p>
-     * Carga el driver JDBC de MySQL y establece la conexión con los parámetros configurados.
+     * Carga el driver JDBC de MySQL, crea el pool con los parámetros configurados
+     * y deja el esquema en su última versión. Si la migración falla la aplicación
+     * sigue funcionando con el esquema existente.
      * </p>
      */
     private ConexionBD() {
         try {
             Class.forName("com.mysql.jdbc.Driver");
-            conexion = DriverManager.getConnection(URLBD, USUARIO, CONTRASENA);
         } catch (ClassNotFoundException e) {
             e.printStackTrace();
+        }
+        pool = new PoolConexiones(
+            () -> DriverManager.getConnection(URLBD, USUARIO, CONTRASENA),
+            POOL_MINIMO, POOL_MAXIMO, ESPERA_MAXIMA_MS, INACTIVIDAD_MAXIMA_MS, UMBRAL_FUGA_MS,
+            CAPACIDAD_CACHE_SENTENCIAS
+        );
+        String replicas = System.getProperty(PROPIEDAD_REPLICAS, "").trim();
+        if (!replicas.isEmpty()) {
+            for (String host : replicas.split(",")) {
+                String urlReplica = url(host.trim());
+                poolsReplicas.add(new PoolConexiones(
+                    () -> DriverManager.getConnection(urlReplica, USUARIO, CONTRASENA),
+                    0, POOL_MAXIMO, ESPERA_MAXIMA_MS, INACTIVIDAD_MAXIMA_MS, UMBRAL_FUGA_MS,
+                    CAPACIDAD_CACHE_SENTENCIAS
+                ));
+            }
+            enrutador = new FuenteConexionesReplicadas(pool, poolsReplicas,
+                FuenteConexionesReplicadas.MedidorRetraso.MYSQL, RETRASO_MAXIMO_REPLICA_MS,
+                INTERVALO_MEDICION_RETRASO_MS, VENTANA_ESCRITURA_MS);
+        } else {
+            enrutador = null;
+        }
+        try {
+            new MigradorEsquema(pool).migrar();
         } catch (SQLException e) {
-            e.printStackTrace();
+            LOG.log(Level.SEVERE, "No se pudo migrar el esquema; se sigue con el existente", e);
         }
     }
 
+    /**
+     * Construye la URL de conexión a un servidor.
+     *
+     * @param host Servidor, con puerto opcional.
+     * @return URL JDBC con los parámetros del driver.
+     */
+    private static String url(String host) {
+        return "jdbc:mysql://" + host + "/animales?" + PARAMETROS_URL;
+    }
+
     /**
      * Obtiene la instancia única de {@link ConexionBD}.
      * <p>
-     * Si no existe una instancia, la crea e inicializa la conexión.
+     * Si no existe una instancia, la crea e inicializa el pool.
      * </p>
      *
      * @return Instancia única de la clase ConexionBD.
      */
     public static ConexionBD getInstancia() {
-        if (instancia == null) {
-            instancia = new ConexionBD();
+        ConexionBD actual = instancia;
+        if (actual == null) {
+            synchronized (ConexionBD.class) {
+                actual = instancia;
+                if (actual == null) {
+                    actual = new ConexionBD();
+                    instancia = actual;
+                }
+            }
         }
-        return instancia;
+        return actual;
+    }
+
+    /**
+     * Presta una conexión del pool.
+     * <p>
+     * La conexión debe cerrarse al terminar la operación para devolverla al pool.
+     * </p>
+     *
+     * @return Objeto {@link Connection} prestado.
+     * @throws SQLException si no hay conexiones disponibles o falla la conexión.
+     */
+    @Override
+    public Connection obtenerConexion() throws SQLException {
+        return enrutador != null ? enrutador.obtenerConexion() : pool.obtenerConexion();
+    }
+
+    /**
+     * Presta una conexión para operaciones de solo lectura: de una réplica al
+     * día si hay réplicas configuradas, o del pool principal si no.
+     *
+     * @return Objeto {@link Connection} prestado.
+     * @throws SQLException si no hay conexiones disponibles o falla la conexión.
+     */
+    @Override
+    public Connection obtenerConexionLectura() throws SQLException {
+        return enrutador != null ? enrutador.obtenerConexionLectura() : pool.obtenerConexion();
     }
 
     /**
-     * Devuelve la conexión activa con la base de datos.
+     * Devuelve el pool administrado, útil para consultar sus estadísticas.
      *
-     * @return Objeto {@link Connection} con la conexión activa.
+     * @return Pool de conexiones.
+     */
+    public PoolConexiones getPool() {
+        return pool;
+    }
+
+    /**
+     * @return Número de réplicas de lectura configuradas.
+     */
+    public int getReplicas() {
+        return poolsReplicas.size();
+    }
+
+    /**
+     * @return Lecturas atendidas por alguna réplica; 0 si no hay réplicas.
+     */
+    public long getLecturasReplica() {
+        return enrutador != null ? enrutador.getLecturasReplica() : 0;
+    }
+
+    /**
+     * @return Lecturas enviadas al principal por falta de una réplica al día
+     * o por una escritura reciente; 0 si no hay réplicas.
      */
-    public Connection getConexion() {
-        return conexion;
+    public long getLecturasPrincipal() {
+        return enrutador != null ? enrutador.getLecturasPrincipal() : 0;
     }
 
     /**
-     * Cierra la conexión activa con la base de datos y elimina la instancia Singleton.
+     * Cierra el pool de conexiones y elimina la instancia Singleton.
      * <p>
      * Este método debe llamarse al finalizar la ejecución de la aplicación
      * para liberar correctamente los recursos de la base de datos.
      * </p>
      */
     public static void desconectar() {
-        if (instancia != null && instancia.conexion != null) {
-            try {
-                instancia.conexion.close();
-            } catch (SQLException e) {
-                e.printStackTrace();
-            } finally {
+        synchronized (ConexionBD.class) {
+            if (instancia != null) {
+                instancia.pool.close();
+                for (PoolConexiones replica : instancia.poolsReplicas) {
+                    replica.close();
+                }
                 instancia = null;
             }
         }
@@ -2,6 +2,8 @@ package udistrital.avanzada.mascotasexoticas.modelo.conexion;
 
 import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -12,17 +14,29 @@ import java.util.List;
  * <ul>
  *   <li>Serializar objetos {@link MascotaVO} sin incluir el tipo de alimento.</li>
  *   <li>Guardar información de las mascotas en un archivo de acceso aleatorio (RandomAccessFile).</li>
+ *   <li>Realizar ambas operaciones de forma incremental mediante {@link EscritorMascotas}.</li>
+ *   <li>Leer de nuevo las mascotas del archivo de acceso aleatorio.</li>
  * </ul>
  *
  * <p>Esta clase forma parte de la capa de acceso a datos y se utiliza
  * para persistir información en archivos cuando no se usa una base de datos.</p>
  *
  * @author Sofia
- * @version 1.0
+ * @version 1.1
  * @since 12-10-2025
  */
 public class ConexionSerializacion implements ISerializacionService {
 
+    /**
+     * Objetos escritos entre cada {@link ObjectOutputStream#reset()}. El
+     * reinicio descarta la tabla de referencias del flujo, que de otro modo
+     * conservaría en memoria todos los arreglos ya escritos.
+     */
+    private static final int OBJETOS_POR_REINICIO = 1_000;
+
+    /** Bytes acumulados antes de volcarlos al archivo de estado. */
+    private static final int TAMANO_BUFFER_ESTADO = 64 * 1024;
+
     /**
      * Serializa la información de una lista de mascotas a un archivo,
      * excluyendo el tipo de alimento.
@@ -41,17 +55,9 @@ public class ConexionSerializacion implements ISerializacionService {
             throw new IllegalArgumentException("No hay mascotas para serializar");
         }
 
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(rutaArchivo))) {
+        try (EscritorMascotas escritor = abrirEscritorSinAlimento(rutaArchivo)) {
             for (MascotaVO mascota : mascotas) {
-                String[] datosMascota = {
-                    mascota.getNombre(),
-                    mascota.getApodo(),
-                    mascota.getClasificacion(),
-                    mascota.getFamilia(),
-                    mascota.getGenero(),
-                    mascota.getEspecie()
-                };
-                oos.writeObject(datosMascota);
+                escritor.escribir(mascota);
             }
         }
     }
@@ -74,23 +80,86 @@ public class ConexionSerializacion implements ISerializacionService {
             throw new IllegalArgumentException("Lista de mascotas no puede ser nula");
         }
 
-        try (RandomAccessFile raf = new RandomAccessFile(rutaArchivo, "rw")) {
-            // Limpia el contenido previo
-            raf.setLength(0);
-
+        try (EscritorMascotas escritor = abrirEscritorEstado(rutaArchivo)) {
             for (MascotaVO mascota : mascotas) {
-                String linea = String.format("%s|%s|%s|%s|%s|%s|%s%n",
-                    escapePipe(mascota.getNombre()),
-                    escapePipe(mascota.getApodo()),
-                    escapePipe(mascota.getClasificacion()),
-                    escapePipe(mascota.getFamilia()),
-                    escapePipe(mascota.getGenero()),
-                    escapePipe(mascota.getEspecie()),
-                    escapePipe(mascota.getAlimento())
-                );
-                raf.writeBytes(linea);
+                escritor.escribir(mascota);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Cada mascota se escribe como un arreglo de Strings. Si al cerrar no se
+     * escribió ninguna mascota se lanza {@link IllegalArgumentException}, igual
+     * que con una lista vacía.
+     * </p>
+     */
+    @Override
+    public EscritorMascotas abrirEscritorSinAlimento(String rutaArchivo) {
+        return new EscritorSinAlimento(rutaArchivo);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * El contenido previo del archivo se elimina al abrirlo.
+     * </p>
+     */
+    @Override
+    public EscritorMascotas abrirEscritorEstado(String rutaArchivo) throws IOException {
+        return new EscritorEstado(rutaArchivo);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * El archivo se escribe con {@link RandomAccessFile#writeBytes}, que
+     * conserva un byte por carácter, así que se lee como ISO-8859-1. Las
+     * líneas que no tienen los siete campos se omiten.
+     * </p>
+     */
+    @Override
+    public List<MascotaVO> leerEstado(String rutaArchivo) throws IOException {
+        List<MascotaVO> mascotas = new ArrayList<>();
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(
+                new FileInputStream(rutaArchivo), StandardCharsets.ISO_8859_1))) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                List<String> campos = separarCampos(linea);
+                if (campos.size() == 7) {
+                    mascotas.add(new MascotaVO(campos.get(0), campos.get(2), campos.get(3),
+                            campos.get(4), campos.get(5), campos.get(6), campos.get(1)));
+                }
+            }
+        }
+        return mascotas;
+    }
+
+    /**
+     * Separa una línea del archivo de estado por los pipes que no están
+     * escapados, deshaciendo {@link #escapePipe(String)}.
+     *
+     * @param linea Línea del archivo.
+     * @return Campos de la línea.
+     */
+    private static List<String> separarCampos(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (c == '\\' && i + 1 < linea.length() && linea.charAt(i + 1) == '|') {
+                campo.append('|');
+                i++;
+            } else if (c == '|') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
             }
         }
+        campos.add(campo.toString());
+        return campos;
     }
 
     /**
@@ -100,8 +169,94 @@ public class ConexionSerializacion implements ISerializacionService {
      * @param texto Texto a procesar.
      * @return Texto con los caracteres pipe escapados. Si es nulo, retorna cadena vacía.
      */
-    private String escapePipe(String texto) {
+    private static String escapePipe(String texto) {
         if (texto == null) return "";
         return texto.replace("|", "\\|");
     }
+
+    /**
+     * Escritor incremental del archivo serializado sin alimento.
+     */
+    private static final class EscritorSinAlimento implements EscritorMascotas {
+
+        private final String rutaArchivo;
+        private ObjectOutputStream oos;
+        private int escritas;
+
+        private EscritorSinAlimento(String rutaArchivo) {
+            this.rutaArchivo = rutaArchivo;
+        }
+
+        @Override
+        public void escribir(MascotaVO mascota) throws IOException {
+            if (oos == null) {
+                oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(rutaArchivo)));
+            }
+            String[] datosMascota = {
+                mascota.getNombre(),
+                mascota.getApodo(),
+                mascota.getClasificacion(),
+                mascota.getFamilia(),
+                mascota.getGenero(),
+                mascota.getEspecie()
+            };
+            oos.writeObject(datosMascota);
+            if (++escritas % OBJETOS_POR_REINICIO == 0) {
+                oos.reset();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (oos == null) {
+                throw new IllegalArgumentException("No hay mascotas para serializar");
+            }
+            oos.close();
+        }
+    }
+
+    /**
+     * Escritor incremental del archivo de estado de acceso aleatorio.
+     */
+    private static final class EscritorEstado implements EscritorMascotas {
+
+        private final RandomAccessFile raf;
+        private final StringBuilder buffer = new StringBuilder();
+
+        private EscritorEstado(String rutaArchivo) throws IOException {
+            raf = new RandomAccessFile(rutaArchivo, "rw");
+            // Limpia el contenido previo
+            raf.setLength(0);
+        }
+
+        @Override
+        public void escribir(MascotaVO mascota) throws IOException {
+            buffer.append(String.format("%s|%s|%s|%s|%s|%s|%s%n",
+                escapePipe(mascota.getNombre()),
+                escapePipe(mascota.getApodo()),
+                escapePipe(mascota.getClasificacion()),
+                escapePipe(mascota.getFamilia()),
+                escapePipe(mascota.getGenero()),
+                escapePipe(mascota.getEspecie()),
+                escapePipe(mascota.getAlimento())
+            ));
+            if (buffer.length() >= TAMANO_BUFFER_ESTADO) {
+                volcar();
+            }
+        }
+
+        private void volcar() throws IOException {
+            raf.writeBytes(buffer.toString());
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                volcar();
+            } finally {
+                raf.close();
+            }
+        }
+    }
 }
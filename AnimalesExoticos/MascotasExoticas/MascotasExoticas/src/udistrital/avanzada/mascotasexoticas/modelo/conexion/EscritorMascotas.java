@@ -0,0 +1,36 @@
+package udistrital.avanzada.mascotasexoticas.modelo.conexion;
+
+import java.io.IOException;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+
+/**
+ * Escritor incremental de mascotas hacia un archivo.
+ * <p>
+ * Permite exportar las mascotas a medida que se leen, sin reunirlas primero
+ * en una lista. Debe cerrarse al terminar para completar y liberar el archivo.
+ * </p>
+ *
+ * @author Sofia
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public interface EscritorMascotas extends AutoCloseable {
+
+    /**
+     * Escribe una mascota en el archivo.
+     *
+     * @param mascota Mascota a escribir.
+     * @throws IOException si ocurre un error de escritura.
+     */
+    void escribir(MascotaVO mascota) throws IOException;
+
+    /**
+     * Completa y cierra el archivo.
+     *
+     * @throws IOException si ocurre un error al cerrar.
+     * @throws IllegalArgumentException si el formato exige al menos una
+     * mascota y no se escribió ninguna.
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,39 @@
+package udistrital.avanzada.mascotasexoticas.modelo.conexion;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Abstracción de un origen de conexiones JDBC.
+ * <p>
+ * Cada llamada a {@link #obtenerConexion()} entrega una conexión prestada que
+ * debe cerrarse (idealmente con <i>try-with-resources</i>) al terminar la
+ * operación, lo cual la devuelve a su origen en lugar de cerrar el socket.
+ * </p>
+ *
+ * @author Juan
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public interface FuenteConexiones {
+
+    /**
+     * Obtiene una conexión lista para usarse.
+     *
+     * @return Conexión prestada; debe cerrarse al terminar de usarla.
+     * @throws SQLException si no es posible obtener una conexión.
+     */
+    Connection obtenerConexion() throws SQLException;
+
+    /**
+     * Obtiene una conexión para operaciones de solo lectura. Puede venir de
+     * una réplica y, por tanto, no reflejar todavía las últimas escrituras de
+     * otras sesiones. Por defecto es la misma que {@link #obtenerConexion()}.
+     *
+     * @return Conexión prestada; debe cerrarse al terminar de usarla.
+     * @throws SQLException si no es posible obtener una conexión.
+     */
+    default Connection obtenerConexionLectura() throws SQLException {
+        return obtenerConexion();
+    }
+}
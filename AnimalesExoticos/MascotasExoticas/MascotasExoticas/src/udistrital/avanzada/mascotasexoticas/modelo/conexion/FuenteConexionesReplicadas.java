@@ -0,0 +1,254 @@
+package udistrital.avanzada.mascotasexoticas.modelo.conexion;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Origen de conexiones que separa lecturas y escrituras entre un servidor
+ * principal y sus réplicas.
+ * <p>
+ * {@link #obtenerConexion()} siempre entrega una conexión del principal, y
+ * {@link #obtenerConexionLectura()} la de una réplica elegida por turnos. Una
+ * réplica se descarta mientras su retraso de replicación supere el máximo
+ * permitido, no se pueda medir o falle al conectarse; si ninguna sirve, la
+ * lectura va al principal.
+ * </p>
+ *
+ * <p>
+ * Para que la sesión lea sus propias escrituras, las lecturas van también al
+ * principal mientras haya una conexión de escritura prestada y durante una
+ * ventana tras devolverla. La sesión es toda la aplicación y no cada hilo,
+ * porque una escritura y la consulta que la sigue suelen ejecutarse en hilos
+ * distintos de la fachada asíncrona.
+ * </p>
+ *
+ * @author Juan
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class FuenteConexionesReplicadas implements FuenteConexiones {
+
+    /** Registro de eventos del enrutador. */
+    private static final Logger LOG = Logger.getLogger(FuenteConexionesReplicadas.class.getName());
+
+    /**
+     * Mide el retraso de replicación de un servidor.
+     */
+    @FunctionalInterface
+    public interface MedidorRetraso {
+
+        /**
+         * Retraso según {@code SHOW SLAVE STATUS}, válido en MySQL y MariaDB.
+         * Devuelve -1 si el servidor no es réplica o la replicación está
+         * detenida.
+         */
+        MedidorRetraso MYSQL = conexion -> {
+            try (Statement stmt = conexion.createStatement();
+                 ResultSet rs = stmt.executeQuery("SHOW SLAVE STATUS")) {
+                if (!rs.next()) {
+                    return -1;
+                }
+                long segundos = rs.getLong("Seconds_Behind_Master");
+                return rs.wasNull() ? -1 : segundos * 1000;
+            }
+        };
+
+        /**
+         * Mide el retraso usando una conexión al servidor.
+         *
+         * @param conexion Conexión a la réplica; no debe cerrarse.
+         * @return Retraso en milisegundos, o un valor negativo si se desconoce.
+         * @throws SQLException si falla la medición.
+         */
+        long medirMs(Connection conexion) throws SQLException;
+    }
+
+    private final FuenteConexiones principal;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final MedidorRetraso medidor;
+    private final long retrasoMaximoMs;
+    private final long intervaloMedicionMs;
+    private final long ventanaEscrituraMs;
+
+    /** Siguiente réplica a probar. */
+    private final AtomicInteger turno = new AtomicInteger();
+
+    /** Conexiones de escritura prestadas en este momento. */
+    private final AtomicInteger escriturasEnCurso = new AtomicInteger();
+
+    /** Momento en que se devolvió la última conexión de escritura. */
+    private final AtomicLong ultimaEscritura = new AtomicLong(Long.MIN_VALUE / 2);
+
+    private final AtomicLong lecturasReplica = new AtomicLong();
+    private final AtomicLong lecturasPrincipal = new AtomicLong();
+
+    /**
+     * Crea el enrutador.
+     *
+     * @param principal Origen de las conexiones del servidor principal.
+     * @param replicas Orígenes de las conexiones de cada réplica.
+     * @param medidor Forma de medir el retraso de una réplica.
+     * @param retrasoMaximoMs Retraso a partir del cual una réplica deja de usarse.
+     * @param intervaloMedicionMs Tiempo durante el cual se reutiliza la última
+     * medición de una réplica.
+     * @param ventanaEscrituraMs Tiempo tras una escritura durante el cual las
+     * lecturas van al principal; conviene que cubra el retraso máximo más el
+     * intervalo de medición.
+     */
+    public FuenteConexionesReplicadas(FuenteConexiones principal, List<? extends FuenteConexiones> replicas,
+                                      MedidorRetraso medidor, long retrasoMaximoMs, long intervaloMedicionMs,
+                                      long ventanaEscrituraMs) {
+        this.principal = principal;
+        for (FuenteConexiones replica : replicas) {
+            this.replicas.add(new Replica(replica));
+        }
+        this.medidor = medidor;
+        this.retrasoMaximoMs = retrasoMaximoMs;
+        this.intervaloMedicionMs = intervaloMedicionMs;
+        this.ventanaEscrituraMs = ventanaEscrituraMs;
+    }
+
+    /**
+     * Presta una conexión del principal. Mientras esté prestada, y durante la
+     * ventana de escritura tras cerrarla, las lecturas también van al
+     * principal.
+     *
+     * @return Conexión del principal; debe cerrarse al terminar.
+     * @throws SQLException si no es posible obtener la conexión.
+     */
+    @Override
+    public Connection obtenerConexion() throws SQLException {
+        Connection conexion = principal.obtenerConexion();
+        escriturasEnCurso.incrementAndGet();
+        AtomicBoolean devuelta = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (objeto, metodo, args) -> {
+                    if ("close".equals(metodo.getName()) && devuelta.compareAndSet(false, true)) {
+                        ultimaEscritura.set(System.currentTimeMillis());
+                        escriturasEnCurso.decrementAndGet();
+                    }
+                    try {
+                        return metodo.invoke(conexion, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * Presta una conexión de la siguiente réplica disponible, o del principal
+     * si hay una escritura reciente o ninguna réplica está al día.
+     *
+     * @return Conexión de lectura; debe cerrarse al terminar.
+     * @throws SQLException si tampoco es posible conectarse al principal.
+     */
+    @Override
+    public Connection obtenerConexionLectura() throws SQLException {
+        if (!escrituraReciente()) {
+            int inicio = turno.getAndIncrement();
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get(Math.floorMod(inicio + i, replicas.size()));
+                Connection conexion = replica.obtenerSiAlDia();
+                if (conexion != null) {
+                    lecturasReplica.incrementAndGet();
+                    return conexion;
+                }
+            }
+        }
+        lecturasPrincipal.incrementAndGet();
+        return principal.obtenerConexion();
+    }
+
+    /**
+     * @return Lecturas atendidas por alguna réplica.
+     */
+    public long getLecturasReplica() {
+        return lecturasReplica.get();
+    }
+
+    /**
+     * @return Lecturas atendidas por el principal.
+     */
+    public long getLecturasPrincipal() {
+        return lecturasPrincipal.get();
+    }
+
+    private boolean escrituraReciente() {
+        return escriturasEnCurso.get() > 0
+                || System.currentTimeMillis() - ultimaEscritura.get() < ventanaEscrituraMs;
+    }
+
+    /**
+     * Réplica con su última medición de retraso.
+     */
+    private final class Replica {
+
+        private final FuenteConexiones fuente;
+
+        /** Último retraso medido; negativo si se desconoce o la réplica falló. */
+        private volatile long retrasoMs;
+
+        /** Momento de la última medición; la primera lectura siempre mide. */
+        private volatile long medidoEn = Long.MIN_VALUE / 2;
+
+        private Replica(FuenteConexiones fuente) {
+            this.fuente = fuente;
+        }
+
+        /**
+         * Presta una conexión si el último retraso conocido es aceptable. Si
+         * la medición venció, se vuelve a medir sobre la misma conexión que
+         * se va a entregar.
+         *
+         * @return Conexión, o {@code null} si la réplica no debe usarse.
+         */
+        private Connection obtenerSiAlDia() {
+            boolean vencida = System.currentTimeMillis() - medidoEn >= intervaloMedicionMs;
+            if (!vencida && !aceptable(retrasoMs)) {
+                return null;
+            }
+            Connection conexion = null;
+            try {
+                conexion = fuente.obtenerConexion();
+                if (vencida) {
+                    retrasoMs = medidor.medirMs(conexion);
+                    medidoEn = System.currentTimeMillis();
+                }
+                if (aceptable(retrasoMs)) {
+                    return conexion;
+                }
+                LOG.fine(() -> "Réplica descartada por retraso: " + retrasoMs + " ms");
+            } catch (SQLException e) {
+                retrasoMs = -1;
+                medidoEn = System.currentTimeMillis();
+                LOG.warning(() -> "Réplica no disponible: " + e.getMessage());
+            }
+            cerrar(conexion);
+            return null;
+        }
+
+        private boolean aceptable(long retraso) {
+            return retraso >= 0 && retraso <= retrasoMaximoMs;
+        }
+
+        private void cerrar(Connection conexion) {
+            if (conexion != null) {
+                try {
+                    conexion.close();
+                } catch (SQLException e) {
+                    LOG.fine(() -> "No se pudo devolver la conexión de la réplica: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -32,4 +32,32 @@ public interface ISerializacionService {
      * @throws Exception Si ocurre algún error durante el guardado
      */
     void guardarEstadoRandomAccess(List<MascotaVO> mascotas, String rutaArchivo) throws Exception;
-}
\ No newline at end of file
+
+    /**
+     * Abre un escritor incremental equivalente a {@link #serializarSinAlimento}.
+     * El archivo solo se crea al escribir la primera mascota.
+     *
+     * @param rutaArchivo Ruta del archivo donde se guardarán los datos serializados
+     * @return Escritor que debe cerrarse al terminar
+     * @throws Exception Si no es posible preparar el archivo
+     */
+    EscritorMascotas abrirEscritorSinAlimento(String rutaArchivo) throws Exception;
+
+    /**
+     * Abre un escritor incremental equivalente a {@link #guardarEstadoRandomAccess}.
+     *
+     * @param rutaArchivo Ruta del archivo de acceso aleatorio
+     * @return Escritor que debe cerrarse al terminar
+     * @throws Exception Si no es posible abrir el archivo
+     */
+    EscritorMascotas abrirEscritorEstado(String rutaArchivo) throws Exception;
+
+    /**
+     * Lee las mascotas de un archivo escrito con {@link #abrirEscritorEstado}.
+     *
+     * @param rutaArchivo Ruta del archivo de acceso aleatorio
+     * @return Mascotas guardadas, en el orden del archivo
+     * @throws Exception Si ocurre algún error durante la lectura
+     */
+    List<MascotaVO> leerEstado(String rutaArchivo) throws Exception;
+}
@@ -0,0 +1,601 @@
+package udistrital.avanzada.mascotasexoticas.modelo.conexion;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Logger;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.NormalizadorTexto;
+
+/**
+ * Aplica al arrancar las migraciones pendientes del esquema de la base de
+ * datos.
+ * <p>
+ * Cada {@link Migracion} tiene un número de versión; las ya aplicadas quedan
+ * registradas en la tabla {@code esquema_version} y no se repiten. Como en
+ * MySQL las sentencias DDL confirman la transacción de forma implícita, cada
+ * migración comprueba el estado real del esquema antes de cambiarlo y puede
+ * volver a ejecutarse sin efecto si se interrumpió a mitad.
+ * </p>
+ *
+ * <p><b>Características principales:</b></p>
+ * <ul>
+ *   <li>Un bloqueo con nombre ({@code GET_LOCK}) evita que dos instancias de
+ *       la aplicación migren a la vez.</li>
+ *   <li>Las migraciones se aplican en orden de versión y solo las posteriores
+ *       a la última registrada.</li>
+ *   <li>{@link #usaIndice} ejecuta {@code EXPLAIN} sobre una consulta para
+ *       comprobar que la atiende el índice esperado y no un recorrido.</li>
+ * </ul>
+ *
+ * @author Juan
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class MigradorEsquema {
+
+    /** Registro de eventos del migrador. */
+    private static final Logger LOG = Logger.getLogger(MigradorEsquema.class.getName());
+
+    /** Filas por debajo de las cuales se acepta que el optimizador recorra la tabla. */
+    public static final long FILAS_TABLA_PEQUENA = 1_000;
+
+    /** Nombre del bloqueo que serializa las migraciones entre procesos. */
+    private static final String BLOQUEO = "animales.esquema";
+
+    /** Segundos que se espera como máximo por el bloqueo. */
+    private static final int ESPERA_BLOQUEO_S = 30;
+
+    private static final String SQL_CREAR_VERSIONES =
+        "CREATE TABLE IF NOT EXISTS esquema_version ("
+        + "version INT NOT NULL PRIMARY KEY, "
+        + "descripcion VARCHAR(200) NOT NULL, "
+        + "aplicada TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP"
+        + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci";
+    private static final String SQL_VERSION_ACTUAL = "SELECT COALESCE(MAX(version), 0) FROM esquema_version";
+    private static final String SQL_REGISTRAR_VERSION =
+        "INSERT INTO esquema_version (version, descripcion) VALUES (?, ?)";
+    private static final String SQL_EXISTE_INDICE =
+        "SELECT 1 FROM information_schema.STATISTICS "
+        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ? LIMIT 1";
+    private static final String SQL_EXISTE_COLUMNA =
+        "SELECT 1 FROM information_schema.COLUMNS "
+        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ? LIMIT 1";
+
+    /** Columnas de {@code mascotas} que tienen al lado una columna con su clave de comparación. */
+    private static final String[] COLUMNAS_CON_CLAVE =
+        {"nombre", "apodo", "clasificacion", "familia", "genero", "especie", "alimento"};
+
+    /** Tipo de las columnas de claves: comparación binaria, sin intercalación. */
+    private static final String TIPO_CLAVE = "VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin";
+
+    /** Filas cuyas claves se calculan por cada viaje a la base de datos. */
+    private static final int LOTE_CLAVES = 500;
+
+    /** Valores repetidos que se listan como máximo al rechazar una migración. */
+    private static final int REPETIDOS_INFORMADOS = 20;
+
+    /**
+     * Cambio sobre el esquema que se ejecuta con una conexión abierta.
+     */
+    @FunctionalInterface
+    public interface Paso {
+
+        /**
+         * Aplica el cambio.
+         *
+         * @param conexion Conexión con la base de datos.
+         * @throws SQLException si falla alguna sentencia.
+         */
+        void aplicar(Connection conexion) throws SQLException;
+    }
+
+    /**
+     * Migración versionada del esquema.
+     */
+    public static final class Migracion {
+
+        private final int version;
+        private final String descripcion;
+        private final Paso paso;
+
+        /**
+         * @param version Número de versión, mayor que cero y único.
+         * @param descripcion Descripción que se guarda en {@code esquema_version}.
+         * @param paso Cambio que aplica la migración.
+         */
+        public Migracion(int version, String descripcion, Paso paso) {
+            if (version <= 0) {
+                throw new IllegalArgumentException("La versión debe ser mayor que cero.");
+            }
+            this.version = version;
+            this.descripcion = descripcion;
+            this.paso = paso;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+    }
+
+    private final FuenteConexiones fuente;
+    private final List<Migracion> migraciones;
+
+    /**
+     * Crea un migrador con las migraciones de la tabla {@code mascotas}.
+     *
+     * @param fuente Fuente de conexiones con la base de datos.
+     */
+    public MigradorEsquema(FuenteConexiones fuente) {
+        this(fuente, migracionesMascotas());
+    }
+
+    /**
+     * Crea un migrador con una lista de migraciones propia.
+     *
+     * @param fuente Fuente de conexiones con la base de datos.
+     * @param migraciones Migraciones disponibles, en cualquier orden.
+     * @throws IllegalArgumentException si dos migraciones comparten versión.
+     */
+    public MigradorEsquema(FuenteConexiones fuente, List<Migracion> migraciones) {
+        List<Migracion> ordenadas = new ArrayList<>(migraciones);
+        ordenadas.sort(Comparator.comparingInt(Migracion::getVersion));
+        for (int i = 1; i < ordenadas.size(); i++) {
+            if (ordenadas.get(i).getVersion() == ordenadas.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException("Versión de migración repetida: " + ordenadas.get(i).getVersion());
+            }
+        }
+        this.fuente = fuente;
+        this.migraciones = Collections.unmodifiableList(ordenadas);
+    }
+
+    /**
+     * Aplica las migraciones pendientes.
+     *
+     * @return Versión del esquema tras la migración.
+     * @throws SQLException si no se obtiene el bloqueo o falla una migración;
+     * las migraciones anteriores a la fallida quedan registradas.
+     */
+    public int migrar() throws SQLException {
+        try (Connection conexion = fuente.obtenerConexion()) {
+            bloquear(conexion);
+            try {
+                try (Statement stmt = conexion.createStatement()) {
+                    stmt.execute(SQL_CREAR_VERSIONES);
+                }
+                int actual = versionActual(conexion);
+                for (Migracion migracion : migraciones) {
+                    if (migracion.getVersion() <= actual) {
+                        continue;
+                    }
+                    LOG.info(() -> "Aplicando migración " + migracion.getVersion() + ": " + migracion.getDescripcion());
+                    migracion.paso.aplicar(conexion);
+                    try (PreparedStatement stmt = conexion.prepareStatement(SQL_REGISTRAR_VERSION)) {
+                        stmt.setInt(1, migracion.getVersion());
+                        stmt.setString(2, migracion.getDescripcion());
+                        stmt.executeUpdate();
+                    }
+                    actual = migracion.getVersion();
+                }
+                return actual;
+            } finally {
+                desbloquear(conexion);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta {@code EXPLAIN} sobre una consulta e indica si el índice
+     * esperado la atiende sin recorrer la tabla ni el índice completos
+     * ({@code type} {@code ALL} o {@code index}).
+     * <p>
+     * En tablas de menos de {@value #FILAS_TABLA_PEQUENA} filas el optimizador
+     * prefiere recorrerlas aunque el índice sirva, sobre todo con valores de
+     * ejemplo que no existen; en ese caso basta con que el índice esperado
+     * figure entre los posibles. Las filas sin tabla (por ejemplo, cuando
+     * MySQL ya sabe que no hay resultados) no se tienen en cuenta.
+     * </p>
+     *
+     * @param conexion Conexión con la base de datos.
+     * @param indice Nombre del índice que debe atender la consulta.
+     * @param sql Consulta a analizar, con parámetros {@code ?}.
+     * @param parametros Valores de ejemplo para los parámetros.
+     * @return {@code false} si alguna tabla se recorre o se lee por otro
+     * índice.
+     * @throws SQLException si no se puede analizar la consulta.
+     */
+    public static boolean usaIndice(Connection conexion, String indice, String sql, Object... parametros)
+            throws SQLException {
+        try (PreparedStatement stmt = conexion.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parametros.length; i++) {
+                stmt.setObject(i + 1, parametros[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (rs.getString("table") == null) {
+                        continue;
+                    }
+                    String tipo = rs.getString("type");
+                    boolean recorre = "ALL".equalsIgnoreCase(tipo) || "index".equalsIgnoreCase(tipo);
+                    if (!recorre && indice.equalsIgnoreCase(rs.getString("key"))) {
+                        continue;
+                    }
+                    if (rs.getLong("rows") >= FILAS_TABLA_PEQUENA
+                            || !contieneIndice(rs.getString("possible_keys"), indice)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indica si una lista de índices de {@code EXPLAIN}, separada por comas,
+     * incluye el indicado.
+     */
+    private static boolean contieneIndice(String indices, String indice) {
+        if (indices == null) {
+            return false;
+        }
+        for (String posible : indices.split(",")) {
+            if (posible.trim().equalsIgnoreCase(indice)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Migraciones de la tabla {@code mascotas}.
+     * <ol>
+     *   <li>Crea la tabla si no existe.</li>
+     *   <li>Declara {@code apodo} como clave primaria; falla si hay apodos repetidos.</li>
+     *   <li>Crea los índices de las consultas por campo y de los criterios más usados.</li>
+     *   <li>Agrega las columnas de claves de comparación, las calcula para las
+     *       filas existentes y pasa a ellas los índices de la versión 3.</li>
+     *   <li>Agrega la columna indexada {@code huella} con la huella de los datos biológicos.</li>
+     *   <li>Agrega la columna {@code version} para el control de concurrencia optimista.</li>
+     *   <li>Declara única la columna {@code apodo_clave}; falla si hay claves repetidas.</li>
+     * </ol>
+     *
+     * @return Migraciones en orden de versión.
+     */
+    public static List<Migracion> migracionesMascotas() {
+        return Arrays.asList(
+            new Migracion(1, "Crea la tabla mascotas", MigradorEsquema::crearTablaMascotas),
+            new Migracion(2, "Clave primaria en apodo", MigradorEsquema::crearClavePrimaria),
+            new Migracion(3, "Índices de consulta por campo", MigradorEsquema::crearIndicesSecundarios),
+            new Migracion(4, "Claves de comparación normalizadas", MigradorEsquema::crearColumnasClave),
+            new Migracion(5, "Huella de los datos biológicos", MigradorEsquema::crearColumnaHuella),
+            new Migracion(6, "Versión de cada mascota", MigradorEsquema::crearColumnaVersion),
+            new Migracion(7, "Clave única en apodo_clave", MigradorEsquema::crearClaveUnicaApodo)
+        );
+    }
+
+    private static void crearTablaMascotas(Connection conexion) throws SQLException {
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS mascotas ("
+                + "nombre VARCHAR(50) NOT NULL, "
+                + "apodo VARCHAR(50) NOT NULL, "
+                + "clasificacion VARCHAR(100) NOT NULL, "
+                + "familia VARCHAR(50) NOT NULL, "
+                + "genero VARCHAR(50) NOT NULL, "
+                + "especie VARCHAR(100) NOT NULL, "
+                + "alimento VARCHAR(50) NOT NULL, "
+                + "PRIMARY KEY (apodo)"
+                + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci");
+        }
+    }
+
+    /**
+     * Declara {@code apodo} como clave primaria sobre la misma tabla.
+     * <p>
+     * No se descarta ninguna fila: si hay apodos repetidos la migración falla
+     * con la lista de los repetidos, para resolverlos a mano antes de volver a
+     * arrancar. Si una escritura concurrente repite un apodo después de la
+     * verificación, el propio {@code ALTER TABLE} falla por clave duplicada.
+     * </p>
+     */
+    private static void crearClavePrimaria(Connection conexion) throws SQLException {
+        try (Statement stmt = conexion.createStatement()) {
+            if (!existeIndice(conexion, "mascotas", "PRIMARY")) {
+                verificarSinRepetidos(conexion, "apodo");
+                String cambios = "ADD PRIMARY KEY (apodo)";
+                if (existeIndice(conexion, "mascotas", "uk_mascotas_apodo")) {
+                    cambios = "DROP INDEX uk_mascotas_apodo, " + cambios;
+                }
+                stmt.execute("ALTER TABLE mascotas " + cambios);
+            } else if (existeIndice(conexion, "mascotas", "uk_mascotas_apodo")) {
+                // La clave primaria ya garantiza la unicidad del apodo.
+                stmt.execute("ALTER TABLE mascotas DROP INDEX uk_mascotas_apodo");
+            }
+        }
+    }
+
+    /**
+     * Crea los índices que aún no existen.
+     * <p>
+     * En InnoDB cada índice secundario incluye la clave primaria, así que
+     * {@code (clasificacion)} equivale a {@code (clasificacion, apodo)} y las
+     * páginas por campo ordenadas por apodo no requieren ordenar en memoria.
+     * Los índices compuestos cubren los criterios combinados más frecuentes.
+     * </p>
+     */
+    private static void crearIndicesSecundarios(Connection conexion) throws SQLException {
+        crearIndices(conexion, new String[][]{
+            {"idx_mascotas_clasificacion", "clasificacion"},
+            {"idx_mascotas_familia", "familia"},
+            {"idx_mascotas_alimento", "alimento"},
+            {"idx_mascotas_clasificacion_familia", "clasificacion, familia"},
+            {"idx_mascotas_clasificacion_alimento", "clasificacion, alimento"}
+        });
+    }
+
+    /**
+     * Agrega una columna {@code <campo>_clave} por cada campo, con la clave de
+     * {@link NormalizadorTexto} de su valor, y rehace sobre ellas los índices
+     * de {@link #crearIndicesSecundarios}.
+     * <p>
+     * Las claves usan la intercalación binaria {@code utf8mb4_bin}: la
+     * igualdad la define la normalización de la aplicación y no la
+     * intercalación de la tabla, así que una consulta por clave encuentra las
+     * mismas filas que la comparación en memoria. Como MySQL no ofrece NFKD,
+     * las claves de las filas existentes se calculan en Java por lotes; las
+     * columnas se declaran {@code NOT NULL} una vez completas.
+     * </p>
+     */
+    private static void crearColumnasClave(Connection conexion) throws SQLException {
+        List<String> faltantes = new ArrayList<>();
+        for (String columna : COLUMNAS_CON_CLAVE) {
+            if (!existeColumna(conexion, "mascotas", columna + "_clave")) {
+                faltantes.add("ADD COLUMN " + columna + "_clave " + TIPO_CLAVE + " NULL");
+            }
+        }
+        try (Statement stmt = conexion.createStatement()) {
+            if (!faltantes.isEmpty()) {
+                stmt.execute("ALTER TABLE mascotas " + String.join(", ", faltantes));
+            }
+            int calculadas = calcularClaves(conexion);
+            LOG.info(() -> "Claves de comparación calculadas para " + calculadas + " mascotas.");
+            List<String> obligatorias = new ArrayList<>();
+            for (String columna : COLUMNAS_CON_CLAVE) {
+                obligatorias.add("MODIFY " + columna + "_clave " + TIPO_CLAVE + " NOT NULL");
+            }
+            stmt.execute("ALTER TABLE mascotas " + String.join(", ", obligatorias));
+        }
+        crearIndices(conexion, new String[][]{
+            {"idx_mascotas_apodo_clave", "apodo_clave"},
+            {"idx_mascotas_clasificacion_clave", "clasificacion_clave"},
+            {"idx_mascotas_familia_clave", "familia_clave"},
+            {"idx_mascotas_alimento_clave", "alimento_clave"},
+            {"idx_mascotas_clasificacion_familia_clave", "clasificacion_clave, familia_clave"},
+            {"idx_mascotas_clasificacion_alimento_clave", "clasificacion_clave, alimento_clave"}
+        });
+        // Las consultas ya no filtran por las columnas originales
+        List<String> obsoletos = new ArrayList<>();
+        for (String indice : new String[]{"idx_mascotas_clasificacion", "idx_mascotas_familia",
+            "idx_mascotas_alimento", "idx_mascotas_clasificacion_familia", "idx_mascotas_clasificacion_alimento"}) {
+            if (existeIndice(conexion, "mascotas", indice)) {
+                obsoletos.add("DROP INDEX " + indice);
+            }
+        }
+        if (!obsoletos.isEmpty()) {
+            try (Statement stmt = conexion.createStatement()) {
+                stmt.execute("ALTER TABLE mascotas " + String.join(", ", obsoletos));
+            }
+        }
+    }
+
+    /**
+     * Calcula, por lotes, las claves de las filas que aún no las tienen.
+     *
+     * @return Filas actualizadas.
+     */
+    private static int calcularClaves(Connection conexion) throws SQLException {
+        StringBuilder asignaciones = new StringBuilder();
+        for (String columna : COLUMNAS_CON_CLAVE) {
+            asignaciones.append(asignaciones.length() == 0 ? "" : ", ").append(columna).append("_clave = ?");
+        }
+        String sqlPendientes = "SELECT " + String.join(", ", COLUMNAS_CON_CLAVE)
+            + " FROM mascotas WHERE apodo_clave IS NULL LIMIT " + LOTE_CLAVES;
+        String sqlActualizar = "UPDATE mascotas SET " + asignaciones + " WHERE apodo = ?";
+        int total = 0;
+        try (PreparedStatement pendientes = conexion.prepareStatement(sqlPendientes);
+             PreparedStatement actualizar = conexion.prepareStatement(sqlActualizar)) {
+            int leidas;
+            do {
+                leidas = 0;
+                try (ResultSet rs = pendientes.executeQuery()) {
+                    while (rs.next()) {
+                        for (int i = 0; i < COLUMNAS_CON_CLAVE.length; i++) {
+                            actualizar.setString(i + 1, NormalizadorTexto.clave(rs.getString(i + 1)));
+                        }
+                        actualizar.setString(COLUMNAS_CON_CLAVE.length + 1, rs.getString("apodo"));
+                        actualizar.addBatch();
+                        leidas++;
+                    }
+                }
+                if (leidas > 0) {
+                    actualizar.executeBatch();
+                }
+                total += leidas;
+            } while (leidas == LOTE_CLAVES);
+        }
+        return total;
+    }
+
+    /**
+     * Agrega la columna {@code huella} con la huella de los datos biológicos
+     * de cada mascota ({@link udistrital.avanzada.mascotasexoticas.modelo.ClavesMascota#getHuella()})
+     * y su índice. Las huellas de las filas existentes se calculan en Java
+     * por lotes, igual que las claves de la versión 4.
+     */
+    private static void crearColumnaHuella(Connection conexion) throws SQLException {
+        try (Statement stmt = conexion.createStatement()) {
+            if (!existeColumna(conexion, "mascotas", "huella")) {
+                stmt.execute("ALTER TABLE mascotas ADD COLUMN huella BIGINT NULL");
+            }
+            String sqlPendientes = "SELECT " + String.join(", ", COLUMNAS_CON_CLAVE)
+                + " FROM mascotas WHERE huella IS NULL LIMIT " + LOTE_CLAVES;
+            try (PreparedStatement pendientes = conexion.prepareStatement(sqlPendientes);
+                 PreparedStatement actualizar = conexion.prepareStatement(
+                     "UPDATE mascotas SET huella = ? WHERE apodo = ?")) {
+                int leidas;
+                do {
+                    leidas = 0;
+                    try (ResultSet rs = pendientes.executeQuery()) {
+                        while (rs.next()) {
+                            MascotaVO mascota = new MascotaVO(rs.getString("nombre"), rs.getString("clasificacion"),
+                                rs.getString("familia"), rs.getString("genero"), rs.getString("especie"),
+                                rs.getString("alimento"), rs.getString("apodo"));
+                            actualizar.setLong(1, mascota.getClaves().getHuella());
+                            actualizar.setString(2, mascota.getApodo());
+                            actualizar.addBatch();
+                            leidas++;
+                        }
+                    }
+                    if (leidas > 0) {
+                        actualizar.executeBatch();
+                    }
+                } while (leidas == LOTE_CLAVES);
+            }
+            stmt.execute("ALTER TABLE mascotas MODIFY huella BIGINT NOT NULL");
+        }
+        crearIndices(conexion, new String[][]{{"idx_mascotas_huella", "huella"}});
+    }
+
+    /**
+     * Agrega la versión de cada fila, que aumenta con cada modificación. Las
+     * filas existentes empiezan en la versión 1.
+     */
+    private static void crearColumnaVersion(Connection conexion) throws SQLException {
+        if (!existeColumna(conexion, "mascotas", "version")) {
+            try (Statement stmt = conexion.createStatement()) {
+                stmt.execute("ALTER TABLE mascotas ADD COLUMN version INT NOT NULL DEFAULT 1");
+            }
+        }
+    }
+
+    /**
+     * Reemplaza el índice de {@code apodo_clave} por uno único. Las
+     * modificaciones y eliminaciones localizan la fila por esta columna, así
+     * que dos apodos con la misma clave (por ejemplo, que solo difieren en
+     * tildes) no deben poder convivir. Como en la versión 2, si ya hay claves
+     * repetidas la migración falla con la lista, sin descartar filas.
+     */
+    private static void crearClaveUnicaApodo(Connection conexion) throws SQLException {
+        if (existeIndice(conexion, "mascotas", "uk_mascotas_apodo_clave")) {
+            return;
+        }
+        verificarSinRepetidos(conexion, "apodo_clave");
+        String cambios = "ADD UNIQUE INDEX uk_mascotas_apodo_clave (apodo_clave)";
+        if (existeIndice(conexion, "mascotas", "idx_mascotas_apodo_clave")) {
+            cambios = "DROP INDEX idx_mascotas_apodo_clave, " + cambios;
+        }
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("ALTER TABLE mascotas " + cambios);
+        }
+    }
+
+    /**
+     * Crea los índices de la lista que aún no existen, en una sola sentencia.
+     *
+     * @param indices Pares {nombre, columnas}.
+     */
+    private static void crearIndices(Connection conexion, String[][] indices) throws SQLException {
+        List<String> faltantes = new ArrayList<>();
+        for (String[] indice : indices) {
+            if (!existeIndice(conexion, "mascotas", indice[0])) {
+                faltantes.add("ADD INDEX " + indice[0] + " (" + indice[1] + ")");
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            try (Statement stmt = conexion.createStatement()) {
+                stmt.execute("ALTER TABLE mascotas " + String.join(", ", faltantes));
+            }
+        }
+    }
+
+    private static boolean existeColumna(Connection conexion, String tabla, String columna) throws SQLException {
+        try (PreparedStatement stmt = conexion.prepareStatement(SQL_EXISTE_COLUMNA)) {
+            stmt.setString(1, tabla);
+            stmt.setString(2, columna);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static boolean existeIndice(Connection conexion, String tabla, String indice) throws SQLException {
+        try (PreparedStatement stmt = conexion.prepareStatement(SQL_EXISTE_INDICE)) {
+            stmt.setString(1, tabla);
+            stmt.setString(2, indice);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Comprueba que ningún valor de la columna se repita en {@code mascotas}.
+     *
+     * @param columna Columna que pasará a ser única.
+     * @throws SQLException con los valores repetidos, si los hay.
+     */
+    private static void verificarSinRepetidos(Connection conexion, String columna) throws SQLException {
+        List<String> repetidos = new ArrayList<>();
+        try (Statement stmt = conexion.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " + columna + ", COUNT(*) FROM mascotas GROUP BY "
+                 + columna + " HAVING COUNT(*) > 1 ORDER BY " + columna + " LIMIT " + REPETIDOS_INFORMADOS)) {
+            while (rs.next()) {
+                repetidos.add("'" + rs.getString(1) + "' (" + rs.getInt(2) + ")");
+            }
+        }
+        if (!repetidos.isEmpty()) {
+            throw new SQLException("Hay valores repetidos de " + columna + " en mascotas; deben corregirse antes "
+                + "de migrar: " + String.join(", ", repetidos)
+                + (repetidos.size() == REPETIDOS_INFORMADOS ? ", ..." : ""));
+        }
+    }
+
+    private static int versionActual(Connection conexion) throws SQLException {
+        try (Statement stmt = conexion.createStatement();
+             ResultSet rs = stmt.executeQuery(SQL_VERSION_ACTUAL)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static void bloquear(Connection conexion) throws SQLException {
+        try (PreparedStatement stmt = conexion.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, BLOQUEO);
+            stmt.setInt(2, ESPERA_BLOQUEO_S);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("No se obtuvo el bloqueo de migración del esquema.");
+                }
+            }
+        }
+    }
+
+    private static void desbloquear(Connection conexion) {
+        try (PreparedStatement stmt = conexion.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, BLOQUEO);
+            stmt.executeQuery().close();
+        } catch (SQLException e) {
+            LOG.warning(() -> "No se pudo liberar el bloqueo de migración: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,442 @@
+package udistrital.avanzada.mascotasexoticas.modelo.conexion;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pool acotado de conexiones JDBC.
+ * <p>
+ * Mantiene un conjunto de conexiones físicas reutilizables y las presta a
+ * quien las solicite. La conexión entregada es un envoltorio: al invocar
+ * {@link Connection#close()} se devuelve al pool en lugar de cerrarse.
+ * </p>
+ *
+ * <p><b>Características principales:</b></p>
+ * <ul>
+ *   <li>Tamaño mínimo (conexiones precargadas) y máximo (conexiones prestadas a la vez).</li>
+ *   <li>Tiempo máximo de espera al solicitar una conexión cuando el pool está agotado.</li>
+ *   <li>Desalojo de conexiones inactivas por encima del mínimo.</li>
+ *   <li>Validación al préstamo de conexiones que llevan tiempo sin usarse.</li>
+ *   <li>Detección de fugas: registra un aviso cuando una conexión no se devuelve a tiempo.</li>
+ *   <li>Caché opcional de sentencias preparadas por conexión ({@link CacheSentencias}).</li>
+ * </ul>
+ *
+ * @author Juan
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class PoolConexiones implements FuenteConexiones, AutoCloseable {
+
+    /** Registro de eventos del pool. */
+    private static final Logger LOG = Logger.getLogger(PoolConexiones.class.getName());
+
+    /**
+     * Tiempo de inactividad a partir del cual una conexión se valida antes de
+     * prestarse. Evita un viaje al servidor en préstamos consecutivos.
+     */
+    private static final long VALIDAR_SI_INACTIVA_MS = 500;
+
+    /** Segundos que se esperan como máximo al validar una conexión. */
+    private static final int TIEMPO_VALIDACION_S = 2;
+
+    /** Periodo de la tarea de mantenimiento (desalojo y fugas). */
+    private static final long PERIODO_MANTENIMIENTO_MS = 5_000;
+
+    /**
+     * Crea conexiones físicas nuevas para el pool.
+     */
+    @FunctionalInterface
+    public interface FabricaConexiones {
+
+        /**
+         * Abre una nueva conexión física.
+         *
+         * @return Conexión abierta.
+         * @throws SQLException si no es posible conectarse.
+         */
+        Connection crear() throws SQLException;
+    }
+
+    private final FabricaConexiones fabrica;
+    private final int minimo;
+    private final int maximo;
+    private final long esperaMaximaMs;
+    private final long inactividadMaximaMs;
+    private final long umbralFugaMs;
+    private final int capacidadCacheSentencias;
+
+    /** Conexiones libres; la cabeza es la usada más recientemente. */
+    private final LinkedBlockingDeque<ConexionFisica> libres = new LinkedBlockingDeque<>();
+
+    /** Conexiones actualmente prestadas. */
+    private final Set<Prestamo> prestadas = ConcurrentHashMap.newKeySet();
+
+    /** Limita la cantidad de conexiones prestadas simultáneamente. */
+    private final Semaphore permisos;
+
+    private final AtomicInteger totalFisicas = new AtomicInteger();
+    private final AtomicLong prestamos = new AtomicLong();
+    private final AtomicLong esperasAgotadas = new AtomicLong();
+    private final AtomicLong fugasDetectadas = new AtomicLong();
+    private final AtomicLong conexionesDescartadas = new AtomicLong();
+    private final AtomicLong aciertosSentencias = new AtomicLong();
+    private final AtomicLong fallosSentencias = new AtomicLong();
+
+    private final ScheduledExecutorService mantenimiento;
+    private volatile boolean cerrado;
+
+    /**
+     * Crea el pool sin caché de sentencias y precarga el número mínimo de
+     * conexiones.
+     *
+     * @param fabrica Fábrica de conexiones físicas.
+     * @param minimo Conexiones que se mantienen abiertas aunque estén inactivas.
+     * @param maximo Conexiones que pueden estar prestadas al mismo tiempo.
+     * @param esperaMaximaMs Tiempo máximo de espera por una conexión libre.
+     * @param inactividadMaximaMs Inactividad tras la cual se cierra una conexión sobrante.
+     * @param umbralFugaMs Tiempo prestada tras el cual se reporta una posible fuga
+     * (0 lo desactiva).
+     */
+    public PoolConexiones(FabricaConexiones fabrica, int minimo, int maximo,
+                          long esperaMaximaMs, long inactividadMaximaMs, long umbralFugaMs) {
+        this(fabrica, minimo, maximo, esperaMaximaMs, inactividadMaximaMs, umbralFugaMs, 0);
+    }
+
+    /**
+     * Crea el pool y precarga el número mínimo de conexiones.
+     *
+     * @param fabrica Fábrica de conexiones físicas.
+     * @param minimo Conexiones que se mantienen abiertas aunque estén inactivas.
+     * @param maximo Conexiones que pueden estar prestadas al mismo tiempo.
+     * @param esperaMaximaMs Tiempo máximo de espera por una conexión libre.
+     * @param inactividadMaximaMs Inactividad tras la cual se cierra una conexión sobrante.
+     * @param umbralFugaMs Tiempo prestada tras el cual se reporta una posible fuga
+     * (0 lo desactiva).
+     * @param capacidadCacheSentencias Sentencias preparadas retenidas por
+     * conexión (0 desactiva la caché).
+     * @throws IllegalArgumentException si los tamaños no son coherentes.
+     */
+    public PoolConexiones(FabricaConexiones fabrica, int minimo, int maximo,
+                          long esperaMaximaMs, long inactividadMaximaMs, long umbralFugaMs,
+                          int capacidadCacheSentencias) {
+        if (minimo < 0 || maximo < 1 || minimo > maximo) {
+            throw new IllegalArgumentException("Tamaños de pool inválidos: minimo=" + minimo + ", maximo=" + maximo);
+        }
+        this.fabrica = fabrica;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.inactividadMaximaMs = inactividadMaximaMs;
+        this.umbralFugaMs = umbralFugaMs;
+        this.capacidadCacheSentencias = capacidadCacheSentencias;
+        this.permisos = new Semaphore(maximo, true);
+        this.mantenimiento = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "pool-conexiones-mantenimiento");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        precargar();
+        mantenimiento.scheduleWithFixedDelay(this::mantener,
+                PERIODO_MANTENIMIENTO_MS, PERIODO_MANTENIMIENTO_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Presta una conexión del pool.
+     * <p>
+     * Si no hay conexiones libres y no se ha alcanzado el máximo se abre una
+     * nueva; si el pool está agotado espera hasta {@code esperaMaximaMs}.
+     * </p>
+     *
+     * @return Conexión prestada; al cerrarla vuelve al pool.
+     * @throws SQLTimeoutException si no se obtuvo una conexión a tiempo.
+     * @throws SQLException si el pool está cerrado o falla la conexión.
+     */
+    @Override
+    public Connection obtenerConexion() throws SQLException {
+        if (cerrado) {
+            throw new SQLException("El pool de conexiones está cerrado.");
+        }
+        try {
+            if (!permisos.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                esperasAgotadas.incrementAndGet();
+                throw new SQLTimeoutException("No hay conexiones disponibles tras " + esperaMaximaMs + " ms.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido esperando una conexión.", e);
+        }
+        try {
+            ConexionFisica fisica;
+            while ((fisica = libres.pollFirst()) != null) {
+                if (esValida(fisica)) {
+                    break;
+                }
+                descartar(fisica);
+            }
+            if (fisica == null) {
+                fisica = abrir();
+            }
+            prestamos.incrementAndGet();
+            return new Prestamo(fisica).proxy;
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Cierra todas las conexiones libres y detiene el mantenimiento. Las
+     * conexiones prestadas se cierran a medida que se devuelven.
+     */
+    @Override
+    public void close() {
+        cerrado = true;
+        mantenimiento.shutdownNow();
+        ConexionFisica fisica;
+        while ((fisica = libres.pollFirst()) != null) {
+            descartar(fisica);
+        }
+    }
+
+    /** @return Número de conexiones prestadas en este momento. */
+    public int getConexionesActivas() {
+        return prestadas.size();
+    }
+
+    /** @return Número de conexiones libres en este momento. */
+    public int getConexionesInactivas() {
+        return libres.size();
+    }
+
+    /** @return Número de conexiones físicas abiertas. */
+    public int getTotalConexiones() {
+        return totalFisicas.get();
+    }
+
+    /** @return Número máximo de conexiones prestadas a la vez. */
+    public int getMaximo() {
+        return maximo;
+    }
+
+    /** @return Préstamos realizados desde la creación del pool. */
+    public long getPrestamos() {
+        return prestamos.get();
+    }
+
+    /** @return Solicitudes que agotaron el tiempo de espera. */
+    public long getEsperasAgotadas() {
+        return esperasAgotadas.get();
+    }
+
+    /** @return Posibles fugas reportadas. */
+    public long getFugasDetectadas() {
+        return fugasDetectadas.get();
+    }
+
+    /** @return Conexiones cerradas por inválidas, inactivas o rotas. */
+    public long getConexionesDescartadas() {
+        return conexionesDescartadas.get();
+    }
+
+    /** @return Sentencias preparadas reutilizadas desde la caché. */
+    public long getAciertosSentencias() {
+        return aciertosSentencias.get();
+    }
+
+    /** @return Sentencias preparadas que no estaban en la caché. */
+    public long getFallosSentencias() {
+        return fallosSentencias.get();
+    }
+
+    // -------------------------------------------------------------------------
+    // GESTIÓN INTERNA
+    // -------------------------------------------------------------------------
+
+    /**
+     * Abre el número mínimo de conexiones. Los fallos se registran sin
+     * impedir la creación del pool; se reintentará al primer préstamo.
+     */
+    private void precargar() {
+        for (int i = 0; i < minimo; i++) {
+            try {
+                libres.offerLast(abrir());
+            } catch (SQLException e) {
+                LOG.log(Level.WARNING, "No fue posible precargar conexiones del pool", e);
+                return;
+            }
+        }
+    }
+
+    private ConexionFisica abrir() throws SQLException {
+        Connection conexion = fabrica.crear();
+        CacheSentencias cache = capacidadCacheSentencias > 0
+                ? new CacheSentencias(conexion, capacidadCacheSentencias, aciertosSentencias, fallosSentencias)
+                : null;
+        ConexionFisica fisica = new ConexionFisica(conexion, cache);
+        totalFisicas.incrementAndGet();
+        return fisica;
+    }
+
+    private boolean esValida(ConexionFisica fisica) {
+        if (System.currentTimeMillis() - fisica.ultimoUso < VALIDAR_SI_INACTIVA_MS) {
+            return true;
+        }
+        try {
+            return fisica.conexion.isValid(TIEMPO_VALIDACION_S);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void descartar(ConexionFisica fisica) {
+        totalFisicas.decrementAndGet();
+        conexionesDescartadas.incrementAndGet();
+        try {
+            if (fisica.cache != null) {
+                fisica.cache.cerrarTodas();
+            }
+            fisica.conexion.close();
+        } catch (SQLException e) {
+            LOG.log(Level.FINE, "Error cerrando conexión descartada", e);
+        }
+    }
+
+    /**
+     * Recibe una conexión devuelta, restablece su estado y la deja libre.
+     */
+    private void devolver(Prestamo prestamo) {
+        prestadas.remove(prestamo);
+        ConexionFisica fisica = prestamo.fisica;
+        try {
+            if (fisica.cache != null) {
+                fisica.cache.liberarTodas();
+            }
+            if (!fisica.conexion.getAutoCommit()) {
+                fisica.conexion.rollback();
+                fisica.conexion.setAutoCommit(true);
+            }
+            fisica.ultimoUso = System.currentTimeMillis();
+            if (cerrado) {
+                descartar(fisica);
+            } else {
+                libres.offerFirst(fisica);
+            }
+        } catch (SQLException e) {
+            descartar(fisica);
+        } finally {
+            permisos.release();
+        }
+    }
+
+    /**
+     * Tarea periódica: cierra conexiones inactivas por encima del mínimo y
+     * reporta préstamos que superan el umbral de fuga.
+     */
+    private void mantener() {
+        long ahora = System.currentTimeMillis();
+        ConexionFisica masAntigua;
+        while (totalFisicas.get() > minimo
+                && (masAntigua = libres.peekLast()) != null
+                && ahora - masAntigua.ultimoUso > inactividadMaximaMs) {
+            if (libres.removeLastOccurrence(masAntigua)) {
+                descartar(masAntigua);
+            }
+        }
+        if (umbralFugaMs > 0) {
+            for (Iterator<Prestamo> it = prestadas.iterator(); it.hasNext();) {
+                Prestamo prestamo = it.next();
+                if (ahora - prestamo.inicio > umbralFugaMs && prestamo.reportado.compareAndSet(false, true)) {
+                    fugasDetectadas.incrementAndGet();
+                    LOG.log(Level.WARNING, "Posible fuga: conexión prestada hace "
+                            + (ahora - prestamo.inicio) + " ms sin devolverse", prestamo.origen);
+                }
+            }
+        }
+    }
+
+    /**
+     * Conexión física administrada por el pool.
+     */
+    private static final class ConexionFisica {
+
+        private final Connection conexion;
+        private final CacheSentencias cache;
+        private volatile long ultimoUso = System.currentTimeMillis();
+
+        private ConexionFisica(Connection conexion, CacheSentencias cache) {
+            this.conexion = conexion;
+            this.cache = cache;
+        }
+    }
+
+    /**
+     * Préstamo de una conexión física. Intercepta {@code close()} para
+     * devolverla al pool y rechaza su uso una vez devuelta.
+     */
+    private final class Prestamo implements InvocationHandler {
+
+        private final ConexionFisica fisica;
+        private final Connection proxy;
+        private final long inicio = System.currentTimeMillis();
+        private final Exception origen;
+        private final AtomicBoolean devuelta = new AtomicBoolean();
+        private final AtomicBoolean reportado = new AtomicBoolean();
+
+        private Prestamo(ConexionFisica fisica) {
+            this.fisica = fisica;
+            this.origen = umbralFugaMs > 0 ? new Exception("Conexión prestada aquí") : null;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+            prestadas.add(this);
+        }
+
+        @Override
+        public Object invoke(Object objeto, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    if (devuelta.compareAndSet(false, true)) {
+                        devolver(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return devuelta.get() || fisica.conexion.isClosed();
+                case "equals":
+                    return objeto == args[0];
+                case "hashCode":
+                    return System.identityHashCode(objeto);
+                case "toString":
+                    return "Prestamo[" + fisica.conexion + "]";
+                default:
+                    if (devuelta.get()) {
+                        throw new SQLException("La conexión ya fue devuelta al pool.");
+                    }
+                    if (fisica.cache != null && "prepareStatement".equals(metodo.getName()) && args.length == 1) {
+                        return fisica.cache.preparar((String) args[0], proxy);
+                    }
+                    try {
+                        return metodo.invoke(fisica.conexion, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package udistrital.avanzada.mascotasexoticas.vista;
 
 import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.io.File;
 
@@ -36,6 +37,7 @@ public class VistaMascota extends JFrame implements IRegistroVista{
     private JPanel panelBotones;
     private JPanel panelConsulta;
     private JPanel panelResultados;
+    private JPanel panelEstadisticas;
 
     // ==================== Campos de formulario ====================
     private JTextField txtNombre;
@@ -51,10 +53,12 @@ public class VistaMascota extends JFrame implements IRegistroVista{
     private JComboBox<String> cmbBuscarClasificacion;
     private JTextField txtBuscarFamilia;
     private JComboBox<String> cmbBuscarAlimento;
+    private JTextField txtBuscarTexto;
 
     // ==================== Área de resultados ====================
     private JTextArea txtAreaResultados;
     private JScrollPane scrollResultados;
+    private JButton btnCargarMas;
 
     // ==================== Botones de operación ====================
     private JButton btnAdicionar;
@@ -64,12 +68,20 @@ public class VistaMascota extends JFrame implements IRegistroVista{
     private JButton btnConsultarClasificacion;
     private JButton btnConsultarFamilia;
     private JButton btnConsultarAlimento;
+    private JButton btnBuscarTexto;
     private JButton btnListarTodas;
     private JButton btnLimpiar;
     private JButton btnSerializar;
     private JButton btnSalir;
     private JButton btnSeleccionarArchivo;
 
+    // ==================== Estadísticas del catálogo ====================
+    private JComboBox<String> cmbAgruparPor;
+    private JComboBox<String> cmbContar;
+    private JComboBox<String> cmbFiltroEstadisticas;
+    private JButton btnCalcularEstadisticas;
+    private DefaultTableModel modeloEstadisticas;
+
     // ==================== Lista desplegable de mascotas ====================
     private JComboBox<String> cmbMascotasRegistradas;
     private JButton btnCargarMascota;
@@ -108,6 +120,7 @@ public class VistaMascota extends JFrame implements IRegistroVista{
         inicializarPanelConsulta();
         inicializarPanelResultados();
         inicializarPanelBotones();
+        inicializarPanelEstadisticas();
     }
 
     /**
@@ -245,6 +258,17 @@ public class VistaMascota extends JFrame implements IRegistroVista{
         btnConsultarAlimento = new JButton("Buscar");
         estilizarBoton(btnConsultarAlimento, new Color(34, 139, 34));
         panelConsulta.add(btnConsultarAlimento, gbc);
+
+        // Búsqueda por texto parcial en nombre, especie y género
+        gbc.gridx = 0; gbc.gridy = 4;
+        panelConsulta.add(new JLabel("Buscar Nombre/Especie:"), gbc);
+        gbc.gridx = 1;
+        txtBuscarTexto = new JTextField(15);
+        panelConsulta.add(txtBuscarTexto, gbc);
+        gbc.gridx = 2;
+        btnBuscarTexto = new JButton("Buscar");
+        estilizarBoton(btnBuscarTexto, new Color(34, 139, 34));
+        panelConsulta.add(btnBuscarTexto, gbc);
     }
 
     /**
@@ -266,6 +290,60 @@ public class VistaMascota extends JFrame implements IRegistroVista{
         scrollResultados = new JScrollPane(txtAreaResultados);
 
         panelResultados.add(scrollResultados, BorderLayout.CENTER);
+
+        // Las consultas se muestran por páginas; este botón pide la siguiente
+        btnCargarMas = new JButton("Cargar más");
+        estilizarBoton(btnCargarMas, new Color(255, 140, 0));
+        btnCargarMas.setEnabled(false);
+        JPanel panelPaginacion = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        panelPaginacion.setBackground(Color.WHITE);
+        panelPaginacion.add(btnCargarMas);
+        panelResultados.add(panelPaginacion, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Inicializa el panel de estadísticas, que cuenta las mascotas del
+     * catálogo agrupadas por un campo.
+     */
+    private void inicializarPanelEstadisticas() {
+        panelEstadisticas = new JPanel(new BorderLayout(5, 5));
+        panelEstadisticas.setBorder(BorderFactory.createTitledBorder(
+                BorderFactory.createLineBorder(new Color(147, 112, 219), 2),
+                "Estadísticas",
+                0, 0, new Font("Arial", Font.BOLD, 14), new Color(147, 112, 219)
+        ));
+        panelEstadisticas.setBackground(Color.WHITE);
+
+        JPanel panelOpciones = new JPanel(new GridLayout(4, 2, 5, 5));
+        panelOpciones.setBackground(Color.WHITE);
+        cmbAgruparPor = new JComboBox<>(new String[]{"Clasificación", "Familia", "Alimento", "Género", "Especie"});
+        cmbContar = new JComboBox<>(new String[]{"Mascotas", "Familias distintas", "Géneros distintos",
+            "Especies distintas"});
+        cmbFiltroEstadisticas = new JComboBox<>(new String[]{"(Todas)", "Reptil", "Mamífero", "Ave",
+            "Anfibio", "Pez", "Invertebrado"});
+        btnCalcularEstadisticas = new JButton("Calcular");
+        estilizarBoton(btnCalcularEstadisticas, new Color(147, 112, 219));
+
+        panelOpciones.add(new JLabel("Agrupar por:"));
+        panelOpciones.add(cmbAgruparPor);
+        panelOpciones.add(new JLabel("Contar:"));
+        panelOpciones.add(cmbContar);
+        panelOpciones.add(new JLabel("Clasificación:"));
+        panelOpciones.add(cmbFiltroEstadisticas);
+        panelOpciones.add(new JLabel());
+        panelOpciones.add(btnCalcularEstadisticas);
+
+        modeloEstadisticas = new DefaultTableModel(new Object[]{"Grupo", "Cantidad"}, 0) {
+            @Override
+            public boolean isCellEditable(int fila, int columna) {
+                return false;
+            }
+        };
+        JScrollPane scrollEstadisticas = new JScrollPane(new JTable(modeloEstadisticas));
+        scrollEstadisticas.setPreferredSize(new Dimension(280, 0));
+
+        panelEstadisticas.add(panelOpciones, BorderLayout.NORTH);
+        panelEstadisticas.add(scrollEstadisticas, BorderLayout.CENTER);
     }
 
     /**
@@ -330,6 +408,7 @@ public class VistaMascota extends JFrame implements IRegistroVista{
 
         panelPrincipal.add(panelSuperior, BorderLayout.NORTH);
         panelPrincipal.add(panelResultados, BorderLayout.CENTER);
+        panelPrincipal.add(panelEstadisticas, BorderLayout.EAST);
         panelPrincipal.add(panelBotones, BorderLayout.SOUTH);
 
         add(panelPrincipal);
@@ -348,6 +427,7 @@ public class VistaMascota extends JFrame implements IRegistroVista{
         txtEspecie.setText("");
         txtBuscarApodo.setText("");
         txtBuscarFamilia.setText("");
+        txtBuscarTexto.setText("");
         cmbClasificacion.setSelectedIndex(0);
         cmbTipoAlimento.setSelectedIndex(0);
         cmbBuscarClasificacion.setSelectedIndex(0);
@@ -387,6 +467,17 @@ public class VistaMascota extends JFrame implements IRegistroVista{
         JOptionPane.showMessageDialog(this, mensaje, "Error", JOptionPane.ERROR_MESSAGE);
     }
 
+    /**
+     * Reemplaza el contenido de la tabla de estadísticas.
+     * @param filas Pares (grupo, cantidad) a mostrar.
+     */
+    public void mostrarEstadisticas(Object[][] filas) {
+        modeloEstadisticas.setRowCount(0);
+        for (Object[] fila : filas) {
+            modeloEstadisticas.addRow(fila);
+        }
+    }
+
     /**
      * Muestra un cuadro de confirmación al usuario.
      * @param mensaje Texto a mostrar en el cuadro.
@@ -411,6 +502,7 @@ public class VistaMascota extends JFrame implements IRegistroVista{
     public JComboBox<String> getCmbBuscarClasificacion() { return cmbBuscarClasificacion; }
     public JTextField getTxtBuscarFamilia() { return txtBuscarFamilia; }
     public JComboBox<String> getCmbBuscarAlimento() { return cmbBuscarAlimento; }
+    public JTextField getTxtBuscarTexto() { return txtBuscarTexto; }
     public JTextArea getTxtAreaResultados() { return txtAreaResultados; }
     public JComboBox<String> getCmbMascotasRegistradas() { return cmbMascotasRegistradas; }
 
@@ -421,11 +513,17 @@ public class VistaMascota extends JFrame implements IRegistroVista{
     public JButton getBtnConsultarClasificacion() { return btnConsultarClasificacion; }
     public JButton getBtnConsultarFamilia() { return btnConsultarFamilia; }
     public JButton getBtnConsultarAlimento() { return btnConsultarAlimento; }
+    public JButton getBtnBuscarTexto() { return btnBuscarTexto; }
     public JButton getBtnListarTodas() { return btnListarTodas; }
     public JButton getBtnLimpiar() { return btnLimpiar; }
     public JButton getBtnSerializar() { return btnSerializar; }
     public JButton getBtnSalir() { return btnSalir; }
     public JButton getBtnCargarMascota() { return btnCargarMascota; }
+    public JButton getBtnCargarMas() { return btnCargarMas; }
+    public JComboBox<String> getCmbAgruparPor() { return cmbAgruparPor; }
+    public JComboBox<String> getCmbContar() { return cmbContar; }
+    public JComboBox<String> getCmbFiltroEstadisticas() { return cmbFiltroEstadisticas; }
+    public JButton getBtnCalcularEstadisticas() { return btnCalcularEstadisticas; }
     
     /**
      * Abre un diálogo para seleccionar un archivo de destino para serializar mascotas.
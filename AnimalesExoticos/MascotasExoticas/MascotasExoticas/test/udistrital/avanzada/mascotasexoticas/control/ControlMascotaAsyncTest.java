@@ -0,0 +1,113 @@
+package udistrital.avanzada.mascotasexoticas.control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias de {@link ControlMascotaAsync}.
+ * <p>
+ * El controlador síncrono es un mock de Mockito; las pruebas verifican la
+ * entrega de resultados, la propagación de errores, el tiempo máximo y el
+ * límite de concurrencia.
+ * </p>
+ *
+ * @author Sofia
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class ControlMascotaAsyncTest {
+
+    private IControlMascota controlMock;
+    private ControlMascotaAsync async;
+
+    @Before
+    public void setUp() {
+        controlMock = Mockito.mock(IControlMascota.class);
+        async = new ControlMascotaAsync(controlMock, ControlMascotaAsync.ejecutorAcotado(4, 16), 2, 500);
+    }
+
+    @After
+    public void tearDown() {
+        async.close();
+    }
+
+    @Test
+    public void testConsultarPorApodo_EntregaElResultado() throws Exception {
+        List<MascotaVO> esperadas = new ArrayList<>();
+        esperadas.add(new MascotaVO("Luna", "Ave", "Psittacidae", "Hembra", "Loro", "Frutas", "Lunita"));
+        when(controlMock.consultarPorApodo("Lunita")).thenReturn(esperadas);
+
+        assertEquals(esperadas, async.consultarPorApodo("Lunita").get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testError_SePropagaEnElFuturo() throws Exception {
+        when(controlMock.eliminarMascota("Nadie")).thenThrow(new IllegalArgumentException("No existe"));
+
+        try {
+            async.eliminarMascota("Nadie").get(1, TimeUnit.SECONDS);
+            fail("Se esperaba ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    public void testOperacionLenta_VenceEInterrumpeElHilo() throws Exception {
+        CountDownLatch interrumpida = new CountDownLatch(1);
+        CompletableFuture<Object> futuro = async.ejecutar(control -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrumpida.countDown();
+            }
+            return null;
+        });
+
+        try {
+            futuro.get(2, TimeUnit.SECONDS);
+            fail("Se esperaba TimeoutException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertTrue(interrumpida.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testConcurrencia_NoSuperaElLimite() throws Exception {
+        AtomicInteger enCurso = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        List<CompletableFuture<Object>> futuros = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futuros.add(async.ejecutar(control -> {
+                maximo.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                enCurso.decrementAndGet();
+                return null;
+            }));
+        }
+
+        CompletableFuture.allOf(futuros.toArray(new CompletableFuture<?>[0])).get(2, TimeUnit.SECONDS);
+        assertTrue(maximo.get() <= 2);
+    }
+}
@@ -4,18 +4,26 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.CriteriosMascota;
 import udistrital.avanzada.mascotasexoticas.modelo.DAO.ICRUDMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.ResultadoOperacion;
+import udistrital.avanzada.mascotasexoticas.modelo.conexion.EscritorMascotas;
 import udistrital.avanzada.mascotasexoticas.modelo.conexion.ISerializacionService;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -88,38 +96,95 @@ public class ControlMascotaTest {
     @Test
     public void testAdicionarMascota_CuandoNoExiste_DeberiaAgregar() {
         MascotaVO mascota = new MascotaVO("Luna", "Ave", "Psittacidae", "Hembra", "Loro", "Herbívoro", "Lunita");
-        when(mascotaDAOMock.consultarPorApodo("Lunita")).thenReturn(new ArrayList<>());
-        when(mascotaDAOMock.adicionarMascota(mascota)).thenReturn(true);
+        when(mascotaDAOMock.adicionarMascotas(Arrays.asList(mascota)))
+                .thenReturn(Arrays.asList(ResultadoOperacion.INSERTADA));
 
         boolean resultado = controlMascota.adicionarMascota(mascota);
 
         assertTrue(resultado);
-        verify(mascotaDAOMock).adicionarMascota(mascota);
+        verify(mascotaDAOMock).adicionarMascotas(Arrays.asList(mascota));
+        verify(mascotaDAOMock, never()).upsertMascota(any());
     }
 
     @Test(expected = IllegalArgumentException.class)
     public void testAdicionarMascota_CuandoYaExiste_DeberiaLanzarExcepcion() {
         MascotaVO mascota = new MascotaVO("Luna", "Ave", "Psittacidae", "Hembra", "Loro", "Herbívoro", "Lunita");
-        List<MascotaVO> existentes = new ArrayList<>();
-        existentes.add(mascota);
-        when(mascotaDAOMock.consultarPorApodo("Lunita")).thenReturn(existentes);
+        when(mascotaDAOMock.adicionarMascotas(Arrays.asList(mascota)))
+                .thenReturn(Arrays.asList(ResultadoOperacion.DUPLICADA));
 
         controlMascota.adicionarMascota(mascota);
     }
 
+    @Test
+    public void testImportarMascotas_SeparaRepetidasTalCualDeConflictosPorHuella() {
+        MascotaVO nueva = new MascotaVO("Luna", "Ave", "Psittacidae", "Hembra", "Loro", "Frutas", "Lunita");
+        MascotaVO igual = new MascotaVO("Rex", "Reptil", "Iguanidae", "Iguana", "Iguana iguana", "Herbívoro", "Rex");
+        MascotaVO distinta = new MascotaVO("Spike", "Reptil", "Agamidae", "Pogona", "Pogona", "Insectos", "Spike");
+        MascotaVO registradaRex = new MascotaVO("REX", "reptil", "IGUANIDAE", "iguana", "Iguana Iguana", "Herbivoro", "rex");
+        when(mascotaDAOMock.adicionarMascotas(Arrays.asList(nueva, igual, distinta))).thenReturn(Arrays.asList(
+                ResultadoOperacion.INSERTADA, ResultadoOperacion.DUPLICADA, ResultadoOperacion.DUPLICADA));
+        when(mascotaDAOMock.consultarPorHuella(igual.getClaves().getHuella())).thenReturn(Arrays.asList(registradaRex));
+        when(mascotaDAOMock.consultarPorHuella(distinta.getClaves().getHuella())).thenReturn(new ArrayList<>());
+
+        List<ResultadoOperacion> resultados = controlMascota.importarMascotas(Arrays.asList(nueva, igual, distinta));
+
+        assertEquals(Arrays.asList(ResultadoOperacion.INSERTADA, ResultadoOperacion.SIN_CAMBIOS,
+                ResultadoOperacion.DUPLICADA), resultados);
+        // Ni la nueva se busca por huella ni se leen las mascotas por apodo
+        verify(mascotaDAOMock, never()).consultarPorHuella(nueva.getClaves().getHuella());
+        verify(mascotaDAOMock, never()).consultarPorApodo(anyString());
+    }
+
+    @Test
+    public void testConsultarCambiosDesdeEstado_DevuelveLasModificadasYEliminadas() throws Exception {
+        MascotaVO igual = new MascotaVO("Rex", "Reptil", "Iguanidae", "Iguana", "Iguana iguana", "Herbívoro", "Rex");
+        MascotaVO modificada = new MascotaVO("Luna", "Ave", "Psittacidae", "Hembra", "Loro", "Frutas", "Lunita");
+        MascotaVO eliminada = new MascotaVO("Iguana", "Reptil", "Iguanidae", "Iguana", "Iguana iguana", "Herbívoro", "Verde");
+        when(serializacionMock.leerEstado("estado.dat")).thenReturn(Arrays.asList(igual, modificada, eliminada));
+        // Rex y Verde comparten huella: una sola búsqueda responde por ambas
+        when(mascotaDAOMock.consultarPorHuella(igual.getClaves().getHuella())).thenReturn(Arrays.asList(igual));
+        when(mascotaDAOMock.consultarPorHuella(modificada.getClaves().getHuella())).thenReturn(new ArrayList<>());
+
+        List<MascotaVO> cambiadas = controlMascota.consultarCambiosDesdeEstado("estado.dat");
+
+        assertEquals(Arrays.asList(modificada, eliminada), cambiadas);
+        verify(mascotaDAOMock).consultarPorHuella(igual.getClaves().getHuella());
+    }
+
     @Test
     public void testModificarMascota_CuandoExiste_DeberiaModificar() {
         MascotaVO mascota = new MascotaVO("Luna", "Ave", "Psittacidae", "Hembra", "Loro", "Herbívoro", "Lunita");
-        List<MascotaVO> existentes = new ArrayList<>();
-        existentes.add(mascota);
-
-        when(mascotaDAOMock.consultarPorApodo("Lunita")).thenReturn(existentes);
         when(mascotaDAOMock.modificarMascota(mascota)).thenReturn(true);
 
         boolean resultado = controlMascota.modificarMascota(mascota);
 
         assertTrue(resultado);
         verify(mascotaDAOMock).modificarMascota(mascota);
+        // La existencia se deduce del resultado de la escritura, sin consultar antes
+        verify(mascotaDAOMock, never()).consultarPorApodo("Lunita");
+    }
+
+    @Test
+    public void testConsultarPorApodoAproximado_SinExacta_DevuelveParecidasEnOrden() {
+        MascotaVO luna = new MascotaVO("Luna", "Ave", "Psittacidae", "Hembra", "Loro", "Frutas", "Lunita");
+        MascotaVO lupe = new MascotaVO("Lupe", "Ave", "Psittacidae", "Hembra", "Loro", "Frutas", "Lupita");
+        List<String> similares = Arrays.asList("Lunita", "Lupita");
+        when(mascotaDAOMock.consultarPorApodo("Lunitta")).thenReturn(new ArrayList<>());
+        when(mascotaDAOMock.consultarApodosSimilares("Lunitta", 2, 5)).thenReturn(similares);
+        when(mascotaDAOMock.consultar(any(CriteriosMascota.class))).thenReturn(Arrays.asList(lupe, luna));
+
+        List<MascotaVO> resultado = controlMascota.consultarPorApodoAproximado("Lunitta");
+
+        assertEquals(Arrays.asList(luna, lupe), resultado);
+    }
+
+    @Test
+    public void testConsultarPorApodoAproximado_ConExacta_NoBuscaParecidas() {
+        MascotaVO luna = new MascotaVO("Luna", "Ave", "Psittacidae", "Hembra", "Loro", "Frutas", "Lunita");
+        when(mascotaDAOMock.consultarPorApodo("Lunita")).thenReturn(Arrays.asList(luna));
+
+        assertEquals(1, controlMascota.consultarPorApodoAproximado("Lunita").size());
+        verify(mascotaDAOMock, never()).consultarApodosSimilares(anyString(), anyInt(), anyInt());
     }
 
     @Test
@@ -145,24 +210,62 @@ public class ControlMascotaTest {
     }
 
     @Test
-    public void testSerializarMascotasSinAlimento_DeberiaLlamarServicio() throws Exception {
-        when(mascotaDAOMock.listarTodasMascotas()).thenReturn(new ArrayList<>());
-        doNothing().when(serializacionMock).serializarSinAlimento(anyList(), anyString());
+    public void testSerializarMascotasSinAlimento_DeberiaEscribirCadaMascota() throws Exception {
+        MascotaVO mascota = new MascotaVO("Luna", "Ave", "Psittacidae", "Hembra", "Loro", "Herbívoro", "Lunita");
+        EscritorMascotas escritorMock = Mockito.mock(EscritorMascotas.class);
+        when(serializacionMock.abrirEscritorSinAlimento("archivo.ser")).thenReturn(escritorMock);
+        doAnswer(inv -> {
+            inv.<Consumer<MascotaVO>>getArgument(0).accept(mascota);
+            return null;
+        }).when(mascotaDAOMock).recorrerMascotas(any());
 
         boolean resultado = controlMascota.serializarMascotasSinAlimento("archivo.ser");
 
         assertTrue(resultado);
-        verify(serializacionMock).serializarSinAlimento(anyList(), eq("archivo.ser"));
+        verify(escritorMock).escribir(mascota);
+        verify(escritorMock).close();
     }
 
     @Test
-    public void testGuardarEstadoMascotas_DeberiaLlamarServicio() throws Exception {
-        when(mascotaDAOMock.listarTodasMascotas()).thenReturn(new ArrayList<>());
-        doNothing().when(serializacionMock).guardarEstadoRandomAccess(anyList(), anyString());
+    public void testGuardarEstadoMascotas_DeberiaEscribirCadaMascota() throws Exception {
+        MascotaVO mascota = new MascotaVO("Luna", "Ave", "Psittacidae", "Hembra", "Loro", "Herbívoro", "Lunita");
+        EscritorMascotas escritorMock = Mockito.mock(EscritorMascotas.class);
+        when(serializacionMock.abrirEscritorEstado("estado.dat")).thenReturn(escritorMock);
+        doAnswer(inv -> {
+            inv.<Consumer<MascotaVO>>getArgument(0).accept(mascota);
+            return null;
+        }).when(mascotaDAOMock).recorrerMascotas(any());
 
         boolean resultado = controlMascota.guardarEstadoMascotas("estado.dat");
 
         assertTrue(resultado);
-        verify(serializacionMock).guardarEstadoRandomAccess(anyList(), eq("estado.dat"));
+        verify(escritorMock).escribir(mascota);
+        verify(escritorMock).close();
+    }
+
+    @Test
+    public void testExportar_DeberiaInformarProgreso() throws Exception {
+        ProgresoTransferencias progreso = new ProgresoTransferencias();
+        controlMascota = new ControlMascota(mascotaDAOMock, serializacionMock, progreso);
+        MascotaVO mascota = new MascotaVO("Luna", "Ave", "Psittacidae", "Hembra", "Loro", "Herbívoro", "Lunita");
+        EscritorMascotas escritorMock = Mockito.mock(EscritorMascotas.class);
+        when(serializacionMock.abrirEscritorEstado("estado.dat")).thenReturn(escritorMock);
+        when(serializacionMock.abrirEscritorSinAlimento("archivo.ser")).thenReturn(escritorMock);
+        doAnswer(inv -> {
+            inv.<Consumer<MascotaVO>>getArgument(0).accept(mascota);
+            inv.<Consumer<MascotaVO>>getArgument(0).accept(mascota);
+            return null;
+        }).when(mascotaDAOMock).recorrerMascotas(any());
+        doThrow(new java.io.IOException("Disco lleno")).doNothing().when(escritorMock).close();
+
+        assertFalse(controlMascota.serializarMascotasSinAlimento("archivo.ser"));
+        assertTrue(controlMascota.guardarEstadoMascotas("estado.dat"));
+
+        ProgresoTransferencias.Tipo exportacion = ProgresoTransferencias.Tipo.EXPORTACION;
+        assertEquals(4, progreso.getFilas(exportacion));
+        assertEquals(1, progreso.getCompletadas(exportacion));
+        assertEquals(1, progreso.getFallidas(exportacion));
+        assertEquals(0, progreso.getEnCurso(exportacion));
+        assertEquals(0, progreso.getFilas(ProgresoTransferencias.Tipo.IMPORTACION));
     }
 }
@@ -0,0 +1,63 @@
+package udistrital.avanzada.mascotasexoticas.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.MascotaDAOMemoria;
+import udistrital.avanzada.mascotasexoticas.modelo.conexion.ISerializacionService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Pruebas unitarias de {@link ControlPrincipal} sobre un DAO en memoria.
+ *
+ * @author Sara
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class ControlPrincipalTest {
+
+    private ControlPrincipal controlPrincipal;
+
+    @Before
+    public void setUp() {
+        ControlMascota controlMascota = new ControlMascota(new MascotaDAOMemoria(),
+                Mockito.mock(ISerializacionService.class));
+        controlPrincipal = new ControlPrincipal(controlMascota);
+        controlMascota.adicionarMascota(
+                new MascotaVO("Iguana", "Reptil", "Iguanidae", "Iguana", "Iguana iguana", "Herbívoro", "Rex"));
+    }
+
+    @Test
+    public void testModificarMascota_ConVersionCargadaYaModificadaSeRechaza() {
+        // La ventana guarda la versión al cargar la mascota en el formulario
+        int cargada = controlPrincipal.consultarPorApodo("Rex").get(0).getVersion();
+
+        // Otro usuario la modifica entre la carga y el botón Modificar
+        assertTrue(controlPrincipal.modificarMascota("Rex", "Iguana verde", "", "",
+                controlPrincipal.consultarPorApodo("Rex").get(0).getVersion()));
+
+        assertFalse(controlPrincipal.modificarMascota("Rex", "Lagarto", "", "", cargada));
+        assertEquals("Iguana verde", controlPrincipal.consultarPorApodo("Rex").get(0).getNombre());
+    }
+
+    @Test
+    public void testAdicionarMascota_ApodoRegistradoConOtrosDatosNoSobrescribe() {
+        try {
+            controlPrincipal.adicionarMascota("Dragón", "Rex", "Reptil", "Agamidae", "Pogona",
+                    "Pogona vitticeps", "Insectos");
+            fail("Debe rechazar un apodo ya registrado");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Rex"));
+        }
+
+        MascotaVO guardada = controlPrincipal.consultarPorApodo("Rex").get(0);
+        assertEquals("Iguana", guardada.getNombre());
+        assertEquals("Iguanidae", guardada.getFamilia());
+        assertEquals(1, guardada.getVersion());
+    }
+}
@@ -0,0 +1,91 @@
+package udistrital.avanzada.mascotasexoticas.control;
+
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas unitarias de {@link HistogramaLatencia} y {@link ResumenLatencia}:
+ * límites de los intervalos, precisión de los percentiles y registro desde
+ * varios hilos.
+ *
+ * @author Juan
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class HistogramaLatenciaTest {
+
+    @Test
+    public void testIntervalos_SonContiguosYContienenSuValor() {
+        long anterior = -1;
+        for (int i = 0; i < HistogramaLatencia.INTERVALOS - 1; i++) {
+            long limite = HistogramaLatencia.limiteSuperior(i);
+            assertEquals(i, HistogramaLatencia.intervalo(anterior + 1));
+            assertEquals(i, HistogramaLatencia.intervalo(limite));
+            // Error relativo de a lo sumo 1/32
+            assertTrue(limite - anterior - 1 <= Math.max(0, limite / 32));
+            anterior = limite;
+        }
+        assertEquals(HistogramaLatencia.INTERVALOS - 1, HistogramaLatencia.intervalo(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testPercentiles_TienenErrorRelativoAcotado() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        Random aleatorio = new Random(7);
+        long[] valores = new long[100_000];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = 1_000 + (long) (aleatorio.nextDouble() * 9_000_000);
+            histograma.registrar(valores[i], i % 100 == 0);
+        }
+        java.util.Arrays.sort(valores);
+
+        ResumenLatencia resumen = histograma.capturar();
+        assertEquals(valores.length, resumen.getConteo());
+        assertEquals(1_000, resumen.getFallos());
+        assertEquals(valores[valores.length - 1], resumen.getMaximoNs());
+        assertCerca(valores[49_999], resumen.getP50Ns());
+        assertCerca(valores[98_999], resumen.getP99Ns());
+        assertCerca(valores[99_899], resumen.getP999Ns());
+    }
+
+    private static void assertCerca(long esperado, long obtenido) {
+        assertTrue(esperado + " vs " + obtenido, Math.abs(obtenido - esperado) <= esperado * 0.035);
+    }
+
+    @Test
+    public void testCapturarYReiniciar_NoPierdeRegistrosConcurrentes() throws Exception {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        Thread[] hilos = new Thread[4];
+        for (int h = 0; h < hilos.length; h++) {
+            hilos[h] = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    histograma.registrar(i, false);
+                }
+            });
+            hilos[h].start();
+        }
+        long total = 0;
+        while (hilos[0].isAlive() || hilos[1].isAlive() || hilos[2].isAlive() || hilos[3].isAlive()) {
+            total += histograma.capturarYReiniciar().getConteo();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        total += histograma.capturarYReiniciar().getConteo();
+
+        assertEquals(200_000, total);
+        assertEquals(0, histograma.capturar().getConteo());
+    }
+
+    @Test
+    public void testResumenVacio_DevuelveCeros() {
+        ResumenLatencia resumen = new HistogramaLatencia().capturar();
+
+        assertEquals(0, resumen.getConteo());
+        assertEquals(0, resumen.getP99Ns());
+        assertEquals(0, resumen.getMediaNs());
+    }
+}
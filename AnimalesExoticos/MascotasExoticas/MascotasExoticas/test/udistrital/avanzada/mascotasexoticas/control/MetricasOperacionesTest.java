@@ -0,0 +1,96 @@
+package udistrital.avanzada.mascotasexoticas.control;
+
+import java.util.ArrayList;
+import java.util.Map;
+import org.junit.Test;
+import org.mockito.Mockito;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.FallosAcceso;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.ICRUDMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.ResultadoOperacion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias de {@link MetricasOperaciones}: el decorador mide cada
+ * llamada, cuenta los fallos y no altera los resultados.
+ *
+ * @author Juan
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class MetricasOperacionesTest {
+
+    private final MetricasOperaciones metricas = new MetricasOperaciones();
+    private final ICRUDMascota daoMock = Mockito.mock(ICRUDMascota.class);
+    private final ICRUDMascota dao = metricas.instrumentar(ICRUDMascota.class, daoMock, "dao");
+
+    @Test
+    public void testInstrumentar_RegistraCadaSobrecargaPorSeparado() {
+        MascotaVO rex = new MascotaVO("Iguana", "Reptil", "Iguanidae", "Iguana", "Iguana iguana", "Herbívoro", "Rex");
+        when(daoMock.consultarPorApodo("Rex")).thenReturn(java.util.Collections.singletonList(rex));
+
+        assertEquals(rex, dao.consultarPorApodo("Rex").get(0));
+        dao.consultarPorApodo("Otro");
+        dao.listarTodasMascotas();
+        dao.listarTodasMascotas(10, null);
+
+        Map<String, ResumenLatencia> resumen = metricas.capturar();
+        assertEquals(2, resumen.get("dao.consultarPorApodo/1").getConteo());
+        assertEquals(1, resumen.get("dao.listarTodasMascotas/0").getConteo());
+        assertEquals(1, resumen.get("dao.listarTodasMascotas/2").getConteo());
+        assertEquals(0, resumen.get("dao.eliminarMascota/1").getConteo());
+    }
+
+    @Test
+    public void testInstrumentar_CuentaExcepcionesYResultadosFallidos() {
+        MascotaVO rex = new MascotaVO("Iguana", "Reptil", "Iguanidae", "Iguana", "Iguana iguana", "Herbívoro", "Rex");
+        when(daoMock.upsertMascota(rex)).thenReturn(ResultadoOperacion.FALLIDA, ResultadoOperacion.INSERTADA);
+        when(daoMock.eliminarMascota("Rex")).thenThrow(new IllegalStateException("sin conexión"));
+
+        dao.upsertMascota(rex);
+        dao.upsertMascota(rex);
+        try {
+            dao.eliminarMascota("Rex");
+            fail("Debe propagar la excepción");
+        } catch (IllegalStateException e) {
+            assertEquals("sin conexión", e.getMessage());
+        }
+
+        Map<String, ResumenLatencia> resumen = metricas.capturarYReiniciar();
+        assertEquals(2, resumen.get("dao.upsertMascota/1").getConteo());
+        assertEquals(1, resumen.get("dao.upsertMascota/1").getFallos());
+        assertEquals(1, resumen.get("dao.eliminarMascota/1").getFallos());
+        assertTrue(resumen.get("dao.eliminarMascota/1").getMaximoNs() > 0);
+        assertEquals(0, metricas.capturar().get("dao.upsertMascota/1").getConteo());
+    }
+
+    @Test
+    public void testInstrumentar_CuentaFallosRegistradosSinExcepcion() {
+        // El DAO atiende el error y devuelve valores que parecen normales
+        when(daoMock.eliminarMascota("Rex")).thenAnswer(inv -> {
+            FallosAcceso.registrar();
+            return false;
+        });
+        when(daoMock.listarTodasMascotas()).thenAnswer(inv -> {
+            FallosAcceso.registrar();
+            return new ArrayList<MascotaVO>();
+        });
+        IControlMascota control = metricas.instrumentar(IControlMascota.class,
+                new ControlMascota(dao, null), "control");
+
+        assertFalse(dao.eliminarMascota("Rex"));
+        assertTrue(control.listarTodasMascotas().isEmpty());
+        dao.eliminarMascota("Otro");
+
+        Map<String, ResumenLatencia> resumen = metricas.capturar();
+        assertEquals(2, resumen.get("dao.eliminarMascota/1").getConteo());
+        assertEquals(1, resumen.get("dao.eliminarMascota/1").getFallos());
+        assertEquals(1, resumen.get("dao.listarTodasMascotas/0").getFallos());
+        assertEquals(1, resumen.get("control.listarTodasMascotas/0").getFallos());
+    }
+}
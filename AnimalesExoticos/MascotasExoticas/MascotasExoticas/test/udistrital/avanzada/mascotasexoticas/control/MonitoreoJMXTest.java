@@ -0,0 +1,105 @@
+package udistrital.avanzada.mascotasexoticas.control;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import org.junit.Test;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.BusEventosMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.CachingMascotaDAO;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.EventoMascota;
+import udistrital.avanzada.mascotasexoticas.modelo.DAO.MascotaDAOMemoria;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas unitarias de {@link MonitoreoJMX}: los MXBeans se registran en el
+ * servidor de la plataforma y reflejan los contadores de cada componente.
+ *
+ * @author Sofia
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class MonitoreoJMXTest {
+
+    private final MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+
+    @Test
+    public void testCache_PublicaContadoresYPermiteLimpiar() throws Exception {
+        MascotaDAOMemoria memoria = new MascotaDAOMemoria();
+        memoria.adicionarMascota(new MascotaVO("Iguana", "Reptil", "Iguanidae", "Iguana", "Iguana iguana",
+                "Herbívoro", "Rex"));
+        CachingMascotaDAO cache = new CachingMascotaDAO(memoria);
+        ObjectName nombre = MonitoreoJMX.registrarCache(cache);
+        cache.consultarPorApodo("Rex");
+        cache.consultarPorApodo("Rex");
+
+        assertEquals(MonitoreoJMX.nombre("Cache"), nombre);
+        assertEquals(1L, servidor.getAttribute(nombre, "Aciertos"));
+        assertEquals(1L, servidor.getAttribute(nombre, "Fallos"));
+        assertEquals(1, servidor.getAttribute(nombre, "EntidadesEnCache"));
+
+        servidor.invoke(nombre, "limpiar", null, null);
+
+        assertEquals(0, cache.getEntidadesEnCache());
+    }
+
+    @Test
+    public void testRegistrar_ReemplazaLaInstanciaAnterior() throws Exception {
+        BusEventosMascota primero = new BusEventosMascota();
+        BusEventosMascota segundo = new BusEventosMascota();
+        primero.publicar(EventoMascota.Tipo.INSERCION, "Rex", null);
+        MonitoreoJMX.registrarEventos(primero);
+        ObjectName nombre = MonitoreoJMX.registrarEventos(segundo);
+
+        assertEquals(0L, servidor.getAttribute(nombre, "Publicados"));
+        primero.close();
+        segundo.close();
+    }
+
+    @Test
+    public void testOperaciones_PublicaResumenesYVuelca() throws Exception {
+        MetricasOperaciones metricas = new MetricasOperaciones();
+        metricas.histograma("dao.consultarPorApodo/1").registrar(1_500, false);
+        metricas.histograma("dao.consultarPorApodo/1").registrar(2_500, true);
+        ObjectName nombre = MonitoreoJMX.registrarOperaciones(metricas);
+
+        TabularData resumenes = (TabularData) servidor.getAttribute(nombre, "Resumenes");
+        CompositeData fila = resumenes.get(new Object[]{"dao.consultarPorApodo/1"});
+        assertNotNull(fila);
+        CompositeData resumen = (CompositeData) fila.get("value");
+        assertEquals(2L, resumen.get("conteo"));
+        assertEquals(1L, resumen.get("fallos"));
+
+        String volcado = (String) servidor.invoke(nombre, "volcarEstadisticas", null, null);
+        assertTrue(volcado, volcado.startsWith("dao.consultarPorApodo/1 n=2 fallos=1"));
+
+        servidor.invoke(nombre, "reiniciar", null, null);
+        assertEquals(0, metricas.capturar().get("dao.consultarPorApodo/1").getConteo());
+    }
+
+    @Test
+    public void testTransferencias_PublicaAvance() throws Exception {
+        ProgresoTransferencias progreso = new ProgresoTransferencias();
+        ObjectName nombre = MonitoreoJMX.registrarTransferencias(progreso);
+        try (ProgresoTransferencias.Transferencia importacion =
+                     progreso.iniciar(ProgresoTransferencias.Tipo.IMPORTACION)) {
+            importacion.registrarFilas(10);
+            importacion.registrarBytes(2_048);
+
+            assertEquals(1, servidor.getAttribute(nombre, "ImportacionesEnCurso"));
+            importacion.fallar();
+        }
+
+        assertEquals(10L, servidor.getAttribute(nombre, "FilasImportadas"));
+        assertEquals(2_048L, servidor.getAttribute(nombre, "BytesLeidos"));
+        assertEquals(0, servidor.getAttribute(nombre, "ImportacionesEnCurso"));
+        assertEquals(1L, servidor.getAttribute(nombre, "ImportacionesFallidas"));
+        assertTrue((Double) servidor.getAttribute(nombre, "FilasPorSegundoImportacion") > 0);
+        assertEquals(0L, servidor.getAttribute(nombre, "BytesEscritos"));
+    }
+}
@@ -0,0 +1,159 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de {@link BusEventosMascota}: orden de entrega, lotes, espera de los
+ * publicadores cuando el anillo está lleno y cierre de suscripciones.
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class BusEventosMascotaTest {
+
+    private BusEventosMascota bus;
+
+    @After
+    public void cerrar() {
+        bus.close();
+    }
+
+    private static MascotaVO mascota(String apodo) {
+        return new MascotaVO("Nombre " + apodo, "Reptil", "Iguanidae", "Género", "Especie", "Herbívoro", apodo);
+    }
+
+    @Test
+    public void testSuscriptores_RecibenTodosLosEventosEnOrden() throws Exception {
+        bus = new BusEventosMascota(8);
+        int total = 1000;
+        List<List<Long>> secuencias = new ArrayList<>();
+        CountDownLatch completos = new CountDownLatch(2);
+        for (int s = 0; s < 2; s++) {
+            List<Long> recibidas = new ArrayList<>();
+            secuencias.add(recibidas);
+            bus.suscribir("s" + s, eventos -> {
+                for (EventoMascota evento : eventos) {
+                    recibidas.add(evento.getSecuencia());
+                }
+                if (recibidas.size() == total) {
+                    completos.countDown();
+                }
+            });
+        }
+
+        Thread[] publicadores = new Thread[4];
+        for (int p = 0; p < publicadores.length; p++) {
+            publicadores[p] = new Thread(() -> {
+                for (int i = 0; i < total / publicadores.length; i++) {
+                    bus.publicar(EventoMascota.Tipo.INSERCION, "Rex", mascota("Rex"));
+                }
+            });
+            publicadores[p].start();
+        }
+        for (Thread publicador : publicadores) {
+            publicador.join();
+        }
+
+        assertTrue(completos.await(10, TimeUnit.SECONDS));
+        for (List<Long> recibidas : secuencias) {
+            for (int i = 0; i < total; i++) {
+                assertEquals(i, (long) recibidas.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testPublicar_EsperaAlSuscriptorLentoSinPerderEventos() throws Exception {
+        bus = new BusEventosMascota(2);
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<String> apodos = new ArrayList<>();
+        CountDownLatch completos = new CountDownLatch(1);
+        bus.suscribir("lento", eventos -> {
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (EventoMascota evento : eventos) {
+                apodos.add(evento.getApodo());
+            }
+            if (apodos.size() == 5) {
+                completos.countDown();
+            }
+        });
+
+        Thread publicador = new Thread(() -> {
+            for (int i = 0; i < 5; i++) {
+                bus.publicar(EventoMascota.Tipo.INSERCION, "M" + i, mascota("M" + i));
+            }
+        });
+        publicador.start();
+        publicador.join(200);
+        assertTrue("El publicador debe esperar con el anillo lleno", publicador.isAlive());
+
+        liberar.countDown();
+        publicador.join(5000);
+        assertTrue(completos.await(5, TimeUnit.SECONDS));
+        assertEquals("[M0, M1, M2, M3, M4]", apodos.toString());
+    }
+
+    @Test
+    public void testSuscriptorDetenido_DespiertaConCadaPublicacion() throws Exception {
+        bus = new BusEventosMascota();
+        BlockingQueue<EventoMascota> recibidos = new LinkedBlockingQueue<>();
+        bus.suscribir("detenido", recibidos::addAll);
+
+        for (int i = 0; i < 3; i++) {
+            Thread.sleep(50);
+            bus.publicar(EventoMascota.Tipo.ELIMINACION, "M" + i, null);
+            EventoMascota evento = recibidos.poll(5, TimeUnit.SECONDS);
+            assertTrue("El suscriptor no despertó", evento != null);
+            assertEquals("M" + i, evento.getApodo());
+        }
+    }
+
+    @Test
+    public void testSuscripcionCerrada_DejaDeRecibirYNoBloquea() throws Exception {
+        bus = new BusEventosMascota(2);
+        List<EventoMascota> recibidos = new ArrayList<>();
+        BusEventosMascota.Suscripcion suscripcion = bus.suscribir("cerrada", recibidos::addAll);
+        suscripcion.close();
+
+        for (int i = 0; i < 10; i++) {
+            bus.publicar(EventoMascota.Tipo.ELIMINACION, "M" + i, null);
+        }
+
+        assertEquals(10, bus.getPublicados());
+        assertTrue(recibidos.isEmpty());
+    }
+
+    @Test
+    public void testEvento_GuardaCopiaDeLosDatos() {
+        bus = new BusEventosMascota();
+        MascotaVO rex = mascota("Rex");
+
+        EventoMascota evento = bus.publicar(EventoMascota.Tipo.INSERCION, "Rex", rex);
+        rex.setNombre("Otro");
+        evento.getDatos().setNombre("Cambiado");
+
+        assertEquals("Nombre Rex", evento.getDatos().getNombre());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPublicar_RechazaTiposPorCriterio() {
+        bus = new BusEventosMascota();
+        bus.publicar(EventoMascota.Tipo.ELIMINACION_POR_CRITERIO, "Rex", null);
+    }
+}
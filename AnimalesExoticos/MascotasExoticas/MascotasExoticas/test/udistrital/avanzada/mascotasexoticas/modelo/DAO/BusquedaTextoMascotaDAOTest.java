@@ -0,0 +1,99 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas de {@link BusquedaTextoMascotaDAO} sobre un
+ * {@link MascotaDAOArchivo}: el contrato común de {@link ICRUDMascota} más la
+ * actualización del índice de texto con las escrituras.
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class BusquedaTextoMascotaDAOTest extends ContratoCRUDMascota {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private MascotaDAOArchivo archivo;
+
+    @Override
+    protected ICRUDMascota crearDAO() throws Exception {
+        archivo = new MascotaDAOArchivo(carpeta.getRoot().toPath().resolve("mascotas.dat"));
+        return new BusquedaTextoMascotaDAO(archivo);
+    }
+
+    @After
+    public void cerrar() throws Exception {
+        archivo.close();
+    }
+
+    @Test
+    public void testIndice_IncluyeLasMascotasExistentesAlCrearse() throws Exception {
+        archivo.adicionarMascota(new MascotaVO("Axolote", "Anfibio", "Ambystomatidae", "Ambystoma",
+                "Ambystoma mexicanum", "Carnes", "Ajolote"));
+
+        ICRUDMascota decorado = new BusquedaTextoMascotaDAO(archivo);
+
+        assertEquals(1, decorado.buscarTexto("mexica", 5).size());
+    }
+
+    @Test
+    public void testModificarMascota_ReindexaConElValorGuardado() {
+        dao.adicionarMascota(new MascotaVO("Iguana verde", "Reptil", "Iguanidae", "Iguana",
+                "Iguana iguana", "Herbívoro", "Rex"));
+
+        dao.modificarMascota(new MascotaVO("Camaleón", "Reptil", "Otra", "Otro", "Otra especie",
+                "Carnes", "Rex"));
+
+        assertTrue(dao.buscarTexto("iguana verde", 5).isEmpty());
+        // La especie no se modifica, así que sigue indexada
+        assertEquals("Camaleón", dao.buscarTexto("iguana", 5).get(0).getNombre());
+        assertEquals(1, dao.buscarTexto("camaleon", 5).size());
+    }
+
+    @Test
+    public void testEscrituras_IndexanSinReleerCadaMascota() {
+        ICRUDMascota delegado = Mockito.mock(ICRUDMascota.class);
+        ICRUDMascota decorado = new BusquedaTextoMascotaDAO(delegado);
+        MascotaVO rex = new MascotaVO("Iguana verde", "Reptil", "Iguanidae", "Iguana", "Iguana iguana",
+                "Herbívoro", "Rex");
+        MascotaVO nemo = new MascotaVO("Pez payaso", "Pez", "Pomacentridae", "Amphiprion",
+                "Amphiprion ocellaris", "Omnívoro", "Nemo");
+        List<MascotaVO> lote = Arrays.asList(rex, nemo);
+        when(delegado.adicionarMascotas(lote))
+                .thenReturn(Arrays.asList(ResultadoOperacion.INSERTADA, ResultadoOperacion.DUPLICADA));
+        when(delegado.eliminarPorCriterio(any())).thenReturn(1);
+        when(delegado.consultar(any())).thenReturn(Collections.emptyList());
+
+        decorado.adicionarMascotas(lote);
+
+        assertEquals(1, decorado.buscarTexto("iguana", 5).size());
+        assertTrue(decorado.buscarTexto("payaso", 5).isEmpty());
+
+        decorado.eliminarPorCriterio(CriteriosMascota.igual(CampoMascota.CLASIFICACION, "reptil"));
+
+        assertTrue(decorado.buscarTexto("iguana", 5).isEmpty());
+        verify(delegado, never()).consultarPorApodo(anyString());
+        verify(delegado, times(1)).consultar(any());
+    }
+}
@@ -0,0 +1,131 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias de {@link CachingMascotaDAO}.
+ * <p>
+ * El DAO delegado es un mock, de modo que se puede verificar cuántas lecturas
+ * llegan realmente al almacenamiento.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class CachingMascotaDAOTest {
+
+    private ICRUDMascota delegadoMock;
+    private AtomicLong ahora;
+    private CachingMascotaDAO cache;
+    private MascotaVO rex;
+
+    @Before
+    public void setUp() {
+        delegadoMock = Mockito.mock(ICRUDMascota.class);
+        ahora = new AtomicLong();
+        cache = new CachingMascotaDAO(delegadoMock, 2, 10, 1_000, ahora::get);
+        rex = new MascotaVO("Iguana", "Reptil", "Iguanidae", "Iguana", "Iguana iguana", "Herbívoro", "Rex");
+    }
+
+    @Test
+    public void testConsultarPorApodo_SegundaLecturaSaleDeLaCache() {
+        when(delegadoMock.consultarPorApodo("Rex")).thenReturn(Arrays.asList(rex));
+
+        cache.consultarPorApodo("Rex");
+        List<MascotaVO> resultado = cache.consultarPorApodo("REX");
+
+        assertEquals("Iguana", resultado.get(0).getNombre());
+        verify(delegadoMock, times(1)).consultarPorApodo("Rex");
+        assertEquals(1, cache.getAciertos());
+        assertEquals(1, cache.getFallos());
+    }
+
+    @Test
+    public void testModificarMascota_InvalidaConsultasConValorAnteriorYNuevoSinLeerLaMascota() {
+        MascotaVO spike = new MascotaVO("Dragón", "Reptil", "Agamidae", "Pogona", "Pogona vitticeps",
+                "Insectos", "Spike");
+        when(delegadoMock.consultarPorAlimento("Herbívoro")).thenReturn(Arrays.asList(rex));
+        when(delegadoMock.consultarPorAlimento("Omnívoro")).thenReturn(new ArrayList<>());
+        when(delegadoMock.consultarPorAlimento("Insectos")).thenReturn(Arrays.asList(spike));
+        when(delegadoMock.consultarPorFamilia("Iguanidae")).thenReturn(Arrays.asList(rex));
+        when(delegadoMock.modificarMascota(Mockito.any())).thenReturn(true);
+        cache.consultarPorAlimento("Herbívoro");
+        cache.consultarPorAlimento("Omnívoro");
+        cache.consultarPorAlimento("Insectos");
+        cache.consultarPorFamilia("Iguanidae");
+
+        // Solo se envía lo que cambia; el alimento anterior se deduce de la caché
+        MascotaVO modificada = new MascotaVO("Iguana verde", "", "", "", "", "Omnívoro", "Rex");
+        cache.modificarMascota(modificada);
+        cache.consultarPorAlimento("Herbívoro");
+        cache.consultarPorAlimento("Omnívoro");
+        cache.consultarPorAlimento("Insectos");
+        cache.consultarPorFamilia("Iguanidae");
+
+        verify(delegadoMock, times(2)).consultarPorAlimento("Herbívoro");
+        verify(delegadoMock, times(2)).consultarPorAlimento("Omnívoro");
+        verify(delegadoMock, times(2)).consultarPorFamilia("Iguanidae");
+        verify(delegadoMock, times(1)).consultarPorAlimento("Insectos");
+        verify(delegadoMock, never()).consultarPorApodo(Mockito.anyString());
+    }
+
+    @Test
+    public void testAdicionarMascota_InvalidaBusquedaSinResultado() {
+        when(delegadoMock.consultarPorApodo("Rex")).thenReturn(new ArrayList<>()).thenReturn(Arrays.asList(rex));
+        when(delegadoMock.adicionarMascota(rex)).thenReturn(true);
+
+        assertTrue(cache.consultarPorApodo("Rex").isEmpty());
+        cache.adicionarMascota(rex);
+
+        assertEquals(1, cache.consultarPorApodo("Rex").size());
+    }
+
+    @Test
+    public void testContarPor_SeReutilizaHastaLaSiguienteEscritura() {
+        Map<String, Long> conteo = new LinkedHashMap<>();
+        conteo.put("Reptil", 1L);
+        CriteriosMascota filtro = CriteriosMascota.todas();
+        when(delegadoMock.contarPor(CampoMascota.CLASIFICACION, filtro)).thenReturn(conteo);
+        when(delegadoMock.consultarPorApodo("Rex")).thenReturn(new ArrayList<>());
+
+        cache.contarPor(CampoMascota.CLASIFICACION, filtro);
+        assertEquals(conteo, cache.contarPor(CampoMascota.CLASIFICACION, filtro));
+        verify(delegadoMock, times(1)).contarPor(CampoMascota.CLASIFICACION, filtro);
+
+        cache.adicionarMascota(rex);
+        cache.contarPor(CampoMascota.CLASIFICACION, filtro);
+        verify(delegadoMock, times(2)).contarPor(CampoMascota.CLASIFICACION, filtro);
+    }
+
+    @Test
+    public void testEntradas_ExpiranYSeDesalojanPorCapacidad() {
+        when(delegadoMock.consultarPorApodo(Mockito.anyString())).thenReturn(new ArrayList<>());
+
+        cache.consultarPorApodo("a");
+        cache.consultarPorApodo("b");
+        cache.consultarPorApodo("c");
+        assertEquals(2, cache.getEntidadesEnCache());
+
+        ahora.addAndGet(1_000);
+        cache.consultarPorApodo("c");
+        verify(delegadoMock, times(2)).consultarPorApodo("c");
+        assertEquals(2, cache.getDesalojos());
+    }
+}
@@ -0,0 +1,421 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.ResumenMascotaVO;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de comportamiento comunes a toda implementación de
+ * {@link ICRUDMascota}.
+ * <p>
+ * Cada implementación extiende esta clase e indica cómo crear un DAO vacío;
+ * así todas se validan contra el mismo contrato que sigue {@link MascotaDAOImpl}.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public abstract class ContratoCRUDMascota {
+
+    protected ICRUDMascota dao;
+
+    /**
+     * Crea una instancia vacía de la implementación a probar.
+     *
+     * @return DAO sin mascotas
+     * @throws Exception si no se puede crear
+     */
+    protected abstract ICRUDMascota crearDAO() throws Exception;
+
+    @Before
+    public void prepararDAO() throws Exception {
+        dao = crearDAO();
+    }
+
+    protected static MascotaVO mascota(String apodo, String clasificacion, String familia, String alimento) {
+        return new MascotaVO("Nombre " + apodo, clasificacion, familia, "Género", "Especie", alimento, apodo);
+    }
+
+    private static List<String> apodos(List<MascotaVO> mascotas) {
+        List<String> apodos = new ArrayList<>();
+        for (MascotaVO mascota : mascotas) {
+            apodos.add(mascota.getApodo());
+        }
+        return apodos;
+    }
+
+    @Test
+    public void testAdicionarYConsultarPorApodo_SinDistinguirMayusculas() {
+        assertTrue(dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro")));
+
+        List<MascotaVO> encontradas = dao.consultarPorApodo("rex");
+
+        assertEquals(1, encontradas.size());
+        assertEquals("Rex", encontradas.get(0).getApodo());
+        assertEquals("Herbívoro", encontradas.get(0).getAlimento());
+        assertTrue(dao.consultarPorApodo("Otro").isEmpty());
+    }
+
+    @Test
+    public void testAdicionarMascotas_ReportaDuplicadosExistentesYRepetidos() {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+
+        List<ResultadoOperacion> resultados = dao.adicionarMascotas(Arrays.asList(
+                mascota("Nemo", "Pez", "Pomacentridae", "Omnívoro"),
+                mascota("REX", "Reptil", "Iguanidae", "Herbívoro"),
+                mascota("nemo", "Pez", "Pomacentridae", "Omnívoro")));
+
+        assertEquals(Arrays.asList(ResultadoOperacion.INSERTADA, ResultadoOperacion.DUPLICADA,
+                ResultadoOperacion.DUPLICADA), resultados);
+        assertEquals(2, dao.listarTodasMascotas().size());
+    }
+
+    @Test
+    public void testConsultasPorCampo_SinDistinguirMayusculasNiTildes() {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+        dao.adicionarMascota(mascota("Spike", "Reptil", "Agamidae", "Omnívoro"));
+        dao.adicionarMascota(mascota("Nemo", "Pez", "Pomacentridae", "Omnívoro"));
+
+        assertEquals(2, dao.consultarPorClasificacion("reptil").size());
+        assertEquals(1, dao.consultarPorFamilia("Agamidae").size());
+        assertEquals(2, dao.consultarPorAlimento("OMNIVORO").size());
+        assertTrue(dao.consultarPorFamilia("Canidae").isEmpty());
+    }
+
+    @Test
+    public void testApodos_SeComparanPorSuClaveNormalizada() {
+        assertTrue(dao.adicionarMascota(mascota("Tarántula", "Arachnida", "Theraphosidae", "Omnívoros")));
+        assertTrue(dao.adicionarMascota(mascota("Fido", "Mammalia", "Canidae", "Carnes")));
+
+        assertFalse(dao.adicionarMascota(mascota("TARANTULA", "Arachnida", "Theraphosidae", "Omnívoros")));
+        // NFKD descompone la ligadura "ﬁ" en "fi"
+        assertFalse(dao.adicionarMascota(mascota("\uFB01do", "Mammalia", "Canidae", "Carnes")));
+        assertEquals("Tarántula", dao.consultarPorApodo("tarantula").get(0).getApodo());
+        assertEquals(1, dao.consultarPorAlimento("OMNIVOROS ").size());
+        assertTrue(dao.eliminarMascota("TARÁNTULA"));
+        assertTrue(dao.consultarPorApodo("Tarántula").isEmpty());
+    }
+
+    @Test
+    public void testModificarMascota_SoloCambiaNombreClasificacionYAlimento() {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+
+        MascotaVO cambios = new MascotaVO("Iguana verde", "Saurio", "Otra", "Otro", "Otra", "Insectos", "Rex");
+        assertTrue(dao.modificarMascota(cambios));
+
+        MascotaVO guardada = dao.consultarPorApodo("Rex").get(0);
+        assertEquals("Iguana verde", guardada.getNombre());
+        assertEquals("Saurio", guardada.getClasificacion());
+        assertEquals("Insectos", guardada.getAlimento());
+        assertEquals("Iguanidae", guardada.getFamilia());
+        assertTrue(dao.consultarPorClasificacion("Reptil").isEmpty());
+        assertEquals(1, dao.consultarPorAlimento("Insectos").size());
+    }
+
+    @Test
+    public void testModificarMascota_CamposEnBlancoConservanSuValor() {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+
+        assertTrue(dao.modificarMascota(new MascotaVO("", null, "", "", "", "Insectos", "REX")));
+
+        MascotaVO guardada = dao.consultarPorApodo("Rex").get(0);
+        assertEquals("Nombre Rex", guardada.getNombre());
+        assertEquals("Reptil", guardada.getClasificacion());
+        assertEquals("Insectos", guardada.getAlimento());
+        assertEquals("Rex", guardada.getApodo());
+        assertEquals(1, dao.consultarPorAlimento("insectos").size());
+    }
+
+    @Test
+    public void testModificarMascota_ConVersionAntiguaNoSobrescribe() {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+        int leida = dao.consultarPorApodo("Rex").get(0).getVersion();
+
+        MascotaVO primera = new MascotaVO("Iguana", "", "", "", "", "", "Rex");
+        primera.setVersion(leida);
+        assertTrue(dao.modificarMascota(primera));
+        int actual = dao.consultarPorApodo("Rex").get(0).getVersion();
+        assertTrue(actual != leida);
+
+        // Una segunda edición basada en la misma lectura ya no aplica
+        MascotaVO segunda = new MascotaVO("Lagarto", "", "", "", "", "", "Rex");
+        segunda.setVersion(leida);
+        assertFalse(dao.modificarMascota(segunda));
+        assertEquals("Iguana", dao.consultarPorApodo("Rex").get(0).getNombre());
+
+        segunda.setVersion(actual);
+        assertTrue(dao.modificarMascota(segunda));
+        assertEquals("Lagarto", dao.consultarPorApodo("Rex").get(0).getNombre());
+    }
+
+    @Test
+    public void testModificarPorCriterio_CambiaTodasLasQueCumplen() {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+        dao.adicionarMascota(mascota("Spike", "REPTIL", "Agamidae", "Omnívoros"));
+        dao.adicionarMascota(mascota("Pepe", "Ave", "Psittacidae", "Frutas"));
+        int versionRex = dao.consultarPorApodo("Rex").get(0).getVersion();
+
+        int modificadas = dao.modificarPorCriterio(CriteriosMascota.igual(CampoMascota.CLASIFICACION, "reptil"),
+                new MascotaVO("", "Reptilia", "", "", "", " ", "ignorado"));
+
+        assertEquals(2, modificadas);
+        assertTrue(dao.consultarPorClasificacion("Reptil").isEmpty());
+        assertEquals(Arrays.asList("Rex", "Spike"), apodos(dao.consultar(
+                CriteriosMascota.igual(CampoMascota.CLASIFICACION, "Reptilia").ordenarPor(CampoMascota.APODO))));
+        MascotaVO rex = dao.consultarPorApodo("Rex").get(0);
+        assertEquals("Nombre Rex", rex.getNombre());
+        assertEquals("Herbívoro", rex.getAlimento());
+        assertTrue(rex.getVersion() != versionRex);
+        assertEquals("Ave", dao.consultarPorApodo("Pepe").get(0).getClasificacion());
+        assertEquals(0, dao.modificarPorCriterio(CriteriosMascota.igual(CampoMascota.FAMILIA, "Nadie"),
+                new MascotaVO("X", "", "", "", "", "", "")));
+    }
+
+    @Test
+    public void testEliminarPorCriterio_EliminaTodasLasQueCumplen() {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+        dao.adicionarMascota(mascota("Verde", "Reptil", "IGUANIDAE", "Insectos"));
+        dao.adicionarMascota(mascota("Spike", "Reptil", "Agamidae", "Omnívoros"));
+
+        assertEquals(2, dao.eliminarPorCriterio(CriteriosMascota.igual(CampoMascota.FAMILIA, "iguanidae")));
+
+        assertEquals(Arrays.asList("Spike"), apodos(dao.listarTodasMascotas()));
+        assertTrue(dao.consultarPorFamilia("Iguanidae").isEmpty());
+        assertTrue(dao.consultarApodosSimilares("Rex", 0, 10).isEmpty());
+        assertTrue(dao.buscarTexto("Rex", 10).isEmpty());
+        assertEquals(0, dao.eliminarPorCriterio(CriteriosMascota.igual(CampoMascota.FAMILIA, "Iguanidae")));
+        assertEquals(1, dao.eliminarPorCriterio(CriteriosMascota.todas()));
+        assertTrue(dao.listarTodasMascotas().isEmpty());
+    }
+
+    @Test
+    public void testConsultarPorHuella_EncuentraLosMismosDatosBiologicos() {
+        dao.adicionarMascota(new MascotaVO("Iguana", "Reptil", "Iguanidae", "Iguana", "Iguana iguana", "Herbívoro", "Rex"));
+        dao.adicionarMascota(new MascotaVO("IGUANA ", "reptil", "IGUANIDAE", "iguana", "Iguana Iguana", "Herbivoro", "Verde"));
+        dao.adicionarMascota(new MascotaVO("Iguana", "Reptil", "Iguanidae", "Iguana", "Iguana iguana", "Insectos", "Otra"));
+        long huella = new MascotaVO("iguana", "REPTIL", "iguanidae", "IGUANA", "iguana iguana", "herbívoro", "X")
+                .getClaves().getHuella();
+
+        assertEquals(Arrays.asList("Rex", "Verde"), apodos(dao.consultarPorHuella(huella)));
+
+        // Al modificar los datos la mascota pasa a la huella nueva
+        assertTrue(dao.modificarMascota(new MascotaVO("Iguana", "Reptil", "", "", "", "Insectos", "Verde")));
+        assertEquals(Arrays.asList("Rex"), apodos(dao.consultarPorHuella(huella)));
+        long otra = dao.consultarPorApodo("Otra").get(0).getClaves().getHuella();
+        assertEquals(Arrays.asList("Otra", "Verde"), apodos(dao.consultarPorHuella(otra)));
+
+        assertTrue(dao.eliminarMascota("Rex"));
+        assertTrue(dao.consultarPorHuella(huella).isEmpty());
+    }
+
+    @Test
+    public void testUpsertMascota_InsertaActualizaODejaSinCambios() {
+        assertEquals(ResultadoOperacion.INSERTADA, dao.upsertMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro")));
+        assertEquals(ResultadoOperacion.SIN_CAMBIOS, dao.upsertMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro")));
+        assertEquals(ResultadoOperacion.ACTUALIZADA, dao.upsertMascota(mascota("REX", "Reptil", "Agamidae", "Insectos")));
+
+        List<MascotaVO> guardadas = dao.listarTodasMascotas();
+        assertEquals(1, guardadas.size());
+        assertEquals("Rex", guardadas.get(0).getApodo());
+        assertEquals("Agamidae", guardadas.get(0).getFamilia());
+        assertTrue(dao.consultarPorFamilia("Iguanidae").isEmpty());
+        assertEquals(1, dao.consultarPorAlimento("insectos").size());
+    }
+
+    @Test
+    public void testUpsertMascota_MayusculasYTildesNoSonCambios() {
+        dao.upsertMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+
+        assertEquals(ResultadoOperacion.SIN_CAMBIOS, dao.upsertMascota(mascota("Rex", "REPTIL", "iguanidae", "Herbivoro")));
+
+        MascotaVO guardada = dao.consultarPorApodo("Rex").get(0);
+        assertEquals("Reptil", guardada.getClasificacion());
+        assertEquals("Herbívoro", guardada.getAlimento());
+        assertEquals(1, guardada.getVersion());
+    }
+
+    @Test
+    public void testModificarYEliminarInexistente_DevuelvenFalse() {
+        assertFalse(dao.modificarMascota(mascota("Nadie", "Ave", "Psittacidae", "Frutas")));
+        assertFalse(dao.eliminarMascota("Nadie"));
+    }
+
+    @Test
+    public void testEliminarMascota_DesapareceDeTodasLasConsultas() {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+
+        assertTrue(dao.eliminarMascota("Rex"));
+
+        assertTrue(dao.consultarPorApodo("Rex").isEmpty());
+        assertTrue(dao.consultarPorClasificacion("Reptil").isEmpty());
+        assertTrue(dao.listarTodasMascotas().isEmpty());
+    }
+
+    @Test
+    public void testPaginacion_RecorreTodoEnOrdenSinRepetir() {
+        for (String apodo : new String[]{"e", "a", "d", "b", "c"}) {
+            dao.adicionarMascota(mascota(apodo, apodo.compareTo("c") < 0 ? "Ave" : "Pez", "F", "Frutas"));
+        }
+
+        List<String> apodos = new ArrayList<>();
+        String token = null;
+        int paginas = 0;
+        do {
+            PaginaMascotas pagina = dao.listarTodasMascotas(2, token);
+            pagina.getMascotas().forEach(m -> apodos.add(m.getApodo()));
+            token = pagina.getTokenSiguiente();
+            paginas++;
+        } while (token != null);
+
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), apodos);
+        assertEquals(3, paginas);
+
+        PaginaMascotas peces = dao.consultarPorClasificacion("pez", 2, null);
+        assertEquals(2, peces.getMascotas().size());
+        assertTrue(peces.hayMas());
+        PaginaMascotas resto = dao.consultarPorClasificacion("pez", 2, peces.getTokenSiguiente());
+        assertEquals("e", resto.getMascotas().get(0).getApodo());
+        assertNull(resto.getTokenSiguiente());
+    }
+
+    @Test
+    public void testConsultarConCriterios_CombinaCondicionesYOrdena() {
+        dao.adicionarMascota(mascota("Spike", "Reptilia", "Agamidae", "Carnes"));
+        dao.adicionarMascota(mascota("Draco", "Reptilia", "Agamidae", "Carnes"));
+        dao.adicionarMascota(mascota("Iggy", "Reptilia", "Iguanidae", "Frutas"));
+        dao.adicionarMascota(mascota("Pepe", "Ave", "Psittacidae", "Frutas"));
+
+        List<MascotaVO> agamidos = dao.consultar(CriteriosMascota.igual(CampoMascota.CLASIFICACION, "reptilia")
+                .y(CriteriosMascota.igual(CampoMascota.ALIMENTO, "Carnes"))
+                .y(CriteriosMascota.en(CampoMascota.FAMILIA, "Agamidae", "Varanidae"))
+                .ordenarPor(CampoMascota.APODO));
+        assertEquals(2, agamidos.size());
+        assertEquals("Draco", agamidos.get(0).getApodo());
+        assertEquals("Spike", agamidos.get(1).getApodo());
+
+        List<MascotaVO> frugivorosOPrefijo = dao.consultar(CriteriosMascota.igual(CampoMascota.ALIMENTO, "Frutas")
+                .o(CriteriosMascota.empiezaPor(CampoMascota.APODO, "sp"))
+                .ordenarPorDescendente(CampoMascota.APODO));
+        assertEquals(3, frugivorosOPrefijo.size());
+        assertEquals("Spike", frugivorosOPrefijo.get(0).getApodo());
+
+        assertTrue(dao.consultar(CriteriosMascota.en(CampoMascota.FAMILIA, new ArrayList<>())).isEmpty());
+        assertEquals(4, dao.consultar(CriteriosMascota.todas()).size());
+    }
+
+    @Test
+    public void testListarResumenes_ApodoYNombreOrdenadosPorApodo() {
+        dao.adicionarMascota(mascota("Spike", "Reptil", "Agamidae", "Omnívoro"));
+        dao.adicionarMascota(mascota("nemo", "Pez", "Pomacentridae", "Omnívoro"));
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+
+        List<ResumenMascotaVO> resumenes = dao.listarResumenes();
+
+        assertEquals(3, resumenes.size());
+        assertEquals("nemo", resumenes.get(0).getApodo());
+        assertEquals("Rex", resumenes.get(1).getApodo());
+        assertEquals("Nombre Rex", resumenes.get(1).getNombre());
+        assertEquals("Spike", resumenes.get(2).getApodo());
+    }
+
+    @Test
+    public void testConsultarApodosSimilares_PorDistanciaDeEdicion() {
+        for (String apodo : new String[]{"Lunita", "Lupita", "Luna", "Rex", "Ñandú", "Manchas"}) {
+            dao.adicionarMascota(mascota(apodo, "Ave", "Familia", "Frutas"));
+        }
+
+        assertEquals(Arrays.asList("Lunita", "Lupita"), dao.consultarApodosSimilares("lunitta", 2, 10));
+        assertEquals(Arrays.asList("Lunita"), dao.consultarApodosSimilares("lunitta", 1, 10));
+        assertEquals(Arrays.asList("Ñandú"), dao.consultarApodosSimilares("nandu", 0, 10));
+        assertEquals(Arrays.asList("Lunita"), dao.consultarApodosSimilares("lunitta", 2, 1));
+        assertTrue(dao.consultarApodosSimilares("Zzzzzz", 2, 10).isEmpty());
+
+        // Los borrados no se sugieren, aunque obliguen a reconstruir el árbol
+        for (String apodo : new String[]{"Lunita", "Luna", "Rex", "Ñandú", "Manchas"}) {
+            dao.eliminarMascota(apodo);
+        }
+        assertEquals(Arrays.asList("Lupita"), dao.consultarApodosSimilares("lunitta", 2, 10));
+        dao.adicionarMascota(mascota("Lunita", "Ave", "Familia", "Frutas"));
+        assertEquals(Arrays.asList("Lunita", "Lupita"), dao.consultarApodosSimilares("lunitta", 2, 10));
+    }
+
+    @Test
+    public void testBuscarTexto_ParcialSinTildesYOrdenadoPorRelevancia() {
+        dao.adicionarMascota(new MascotaVO("Dragón barbudo", "Reptil", "Agamidae", "Pogona",
+                "Pogona vitticeps", "Omnívoro", "Spike"));
+        dao.adicionarMascota(new MascotaVO("Iguana verde", "Reptil", "Iguanidae", "Iguana",
+                "Iguana iguana", "Herbívoro", "Rex"));
+        dao.adicionarMascota(new MascotaVO("Dragón verde", "Reptil", "Iguanidae", "Iguana",
+                "Iguana iguana", "Herbívoro", "Zed"));
+        dao.adicionarMascota(new MascotaVO("Pez payaso", "Pez", "Pomacentridae", "Amphiprion",
+                "Amphiprion ocellaris", "Omnívoro", "Nemo"));
+
+        assertEquals(Arrays.asList("Spike"), apodos(dao.buscarTexto("DRAGON barb", 10)));
+        assertEquals(Arrays.asList("Spike"), apodos(dao.buscarTexto("vittice", 10)));
+        assertEquals(Arrays.asList("Nemo"), apodos(dao.buscarTexto("cellar", 10)));
+        assertEquals(Arrays.asList("Nemo"), apodos(dao.buscarTexto("pa", 10)));
+        assertEquals(Arrays.asList("Rex", "Zed"), apodos(dao.buscarTexto("iguana", 10)));
+        assertEquals(Arrays.asList("Rex"), apodos(dao.buscarTexto("iguana", 1)));
+        assertTrue(dao.buscarTexto("ua", 10).isEmpty());
+        assertTrue(dao.buscarTexto("gato", 10).isEmpty());
+
+        dao.eliminarMascota("Rex");
+        assertEquals(Arrays.asList("Zed"), apodos(dao.buscarTexto("iguana", 10)));
+    }
+
+    @Test
+    public void testContarPor_AgrupaSinDistinguirMayusculasYOrdenaPorValor() {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+        dao.adicionarMascota(mascota("Spike", "reptil", "Agamidae", "Omnívoro"));
+        dao.adicionarMascota(mascota("Kaa", "Reptil", "Iguanidae", "Carnívoro"));
+        dao.adicionarMascota(mascota("Nemo", "Pez", "Pomacentridae", "Omnívoro"));
+
+        Map<String, Long> porClasificacion = dao.contarPor(CampoMascota.CLASIFICACION, CriteriosMascota.todas());
+        List<String> grupos = new ArrayList<>(porClasificacion.keySet());
+        assertEquals(2, grupos.size());
+        assertEquals("Pez", grupos.get(0));
+        assertTrue("reptil".equalsIgnoreCase(grupos.get(1)));
+        assertEquals(Arrays.asList(1L, 3L), new ArrayList<>(porClasificacion.values()));
+
+        Map<String, Long> reptilesPorFamilia = dao.contarPor(CampoMascota.FAMILIA,
+                CriteriosMascota.igual(CampoMascota.CLASIFICACION, "REPTIL"));
+        assertEquals(Long.valueOf(1), reptilesPorFamilia.get("Agamidae"));
+        assertEquals(Long.valueOf(2), reptilesPorFamilia.get("Iguanidae"));
+        assertEquals(2, reptilesPorFamilia.size());
+
+        Map<String, Long> familiasPorClasificacion = dao.contarDistintosPor(CampoMascota.CLASIFICACION,
+                CampoMascota.FAMILIA, CriteriosMascota.todas());
+        assertEquals(Arrays.asList(1L, 2L), new ArrayList<>(familiasPorClasificacion.values()));
+    }
+
+    @Test
+    public void testRecorrerMascotas_EntregaTodas() {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+        dao.adicionarMascota(mascota("Nemo", "Pez", "Pomacentridae", "Omnívoro"));
+
+        List<MascotaVO> vistas = new ArrayList<>();
+        dao.recorrerMascotas(vistas::add);
+
+        assertEquals(2, vistas.size());
+    }
+
+    @Test
+    public void testObjetosDevueltos_NoAlteranLoAlmacenado() {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+
+        dao.consultarPorApodo("Rex").get(0).setNombre("Cambiado");
+
+        assertEquals("Nombre Rex", dao.consultarPorApodo("Rex").get(0).getNombre());
+    }
+}
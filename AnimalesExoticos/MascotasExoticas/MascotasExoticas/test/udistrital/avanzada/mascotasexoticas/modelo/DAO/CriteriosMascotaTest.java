@@ -0,0 +1,65 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de la traducción de {@link CriteriosMascota} a SQL.
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class CriteriosMascotaTest {
+
+    @Test
+    public void testASQL_GeneraUnaSentenciaParametrizada() {
+        CriteriosMascota criterios = CriteriosMascota.igual(CampoMascota.CLASIFICACION, "Reptilia")
+                .y(CriteriosMascota.igual(CampoMascota.ALIMENTO, "Carnes")
+                        .o(CriteriosMascota.en(CampoMascota.FAMILIA, "Agamidae", "Iguanidae")))
+                .y(CriteriosMascota.empiezaPor(CampoMascota.APODO, "50%_"))
+                .ordenarPor(CampoMascota.NOMBRE)
+                .ordenarPorDescendente(CampoMascota.APODO);
+
+        List<String> parametros = new ArrayList<>();
+        String sql = criterios.aSQL(parametros);
+
+        assertEquals("SELECT * FROM mascotas WHERE (clasificacion_clave = ? AND (alimento_clave = ?"
+                + " OR familia_clave IN (?, ?)) AND apodo_clave LIKE ? ESCAPE '!')"
+                + " ORDER BY nombre_clave ASC, apodo_clave DESC", sql);
+        assertEquals(Arrays.asList("reptilia", "carnes", "agamidae", "iguanidae", "50!%!_%"), parametros);
+    }
+
+    @Test
+    public void testASQL_ComparaClavesNormalizadasIgualQueEnMemoria() {
+        CriteriosMascota criterios = CriteriosMascota.igual(CampoMascota.ALIMENTO, "OMNÍVOROS ")
+                .y(CriteriosMascota.en(CampoMascota.NOMBRE, "Tarántula", "TARANTULA", "tarántula"));
+        MascotaVO mascota = new MascotaVO("Tarantula", "Arachnida", "Theraphosidae", "Brachypelma",
+                "Brachypelma smithi", "Omnivoros", "Rosita");
+
+        List<String> parametros = new ArrayList<>();
+        criterios.aSQL(parametros);
+
+        assertEquals(Arrays.asList("omnivoros", "tarantula"), parametros);
+        assertEquals("omnivoros", CampoMascota.ALIMENTO.claveDe(mascota));
+        assertTrue(criterios.coincide(mascota));
+        // Las claves se recalculan si la mascota cambia
+        mascota.setAlimento("Carnes");
+        assertFalse(criterios.coincide(mascota));
+    }
+
+    @Test
+    public void testASQL_SinCondicionesNiOrden() {
+        List<String> parametros = new ArrayList<>();
+
+        assertEquals("SELECT * FROM mascotas", CriteriosMascota.todas().aSQL(parametros));
+        assertEquals(0, parametros.size());
+    }
+}
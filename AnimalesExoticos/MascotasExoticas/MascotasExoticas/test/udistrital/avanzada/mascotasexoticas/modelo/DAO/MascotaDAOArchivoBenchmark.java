@@ -0,0 +1,116 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+
+/**
+ * Compara {@link MascotaDAOArchivo} con {@link MascotaDAOImpl} sobre un
+ * catálogo grande, por defecto de un millón de mascotas.
+ * <p>
+ * No es una prueba unitaria: el nombre no termina en {@code Test}, así que no
+ * se ejecuta con las pruebas del proyecto. Se lanza a mano con el classpath de
+ * pruebas:
+ * </p>
+ * <pre>
+ * java -cp &lt;classpath de pruebas&gt; \
+ *     udistrital.avanzada.mascotasexoticas.modelo.DAO.MascotaDAOArchivoBenchmark [registros]
+ * </pre>
+ * <p>
+ * El archivo se crea en un directorio temporal. MySQL solo se mide con
+ * {@code -Dbenchmark.mysql=true}, usando la conexión configurada en
+ * {@code ConexionBD}; debe ser una base de pruebas, porque se insertan las
+ * mascotas con clasificación {@value #CLASIFICACION} y al terminar se
+ * eliminan todas las que la tienen.
+ * </p>
+ * <p>
+ * Para cada almacenamiento se mide la inserción en lotes, búsquedas por
+ * apodo al azar, una consulta por familia y el recorrido completo.
+ * </p>
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class MascotaDAOArchivoBenchmark {
+
+    private static final int REGISTROS_POR_DEFECTO = 1_000_000;
+    private static final int TAMANO_LOTE = 10_000;
+    private static final int FAMILIAS = 50;
+    private static final String CLASIFICACION = "Benchmark";
+    private static final String[] ALIMENTOS = {"Herbívoro", "Carnívoro", "Omnívoro", "Insectos"};
+
+    public static void main(String[] args) throws IOException {
+        int registros = args.length > 0 ? Integer.parseInt(args[0]) : REGISTROS_POR_DEFECTO;
+        Path carpeta = Files.createTempDirectory("mascotas-benchmark");
+        Path ruta = carpeta.resolve("mascotas.dat");
+        try (MascotaDAOArchivo archivo = new MascotaDAOArchivo(ruta)) {
+            medir("archivo", archivo, registros);
+        } finally {
+            Files.deleteIfExists(ruta.resolveSibling(ruta.getFileName() + ".idx"));
+            Files.deleteIfExists(ruta);
+            Files.deleteIfExists(carpeta);
+        }
+        if (Boolean.getBoolean("benchmark.mysql")) {
+            MascotaDAOImpl jdbc = new MascotaDAOImpl();
+            try {
+                medir("mysql", jdbc, registros);
+            } finally {
+                jdbc.eliminarPorCriterio(CriteriosMascota.igual(CampoMascota.CLASIFICACION, CLASIFICACION));
+            }
+        }
+    }
+
+    /**
+     * Ejecuta todas las mediciones sobre un almacenamiento vacío.
+     */
+    private static void medir(String nombre, ICRUDMascota dao, int registros) {
+        System.out.printf("%s, %,d mascotas%n", nombre, registros);
+
+        long inicio = System.nanoTime();
+        for (int desde = 0; desde < registros; desde += TAMANO_LOTE) {
+            List<MascotaVO> lote = new ArrayList<>(TAMANO_LOTE);
+            for (int i = desde; i < Math.min(registros, desde + TAMANO_LOTE); i++) {
+                lote.add(mascota(i));
+            }
+            dao.adicionarMascotas(lote);
+        }
+        informar("inserción en lotes", registros, System.nanoTime() - inicio);
+
+        int busquedas = Math.max(1, registros / 10);
+        Random azar = new Random(42);
+        int encontradas = 0;
+        inicio = System.nanoTime();
+        for (int i = 0; i < busquedas; i++) {
+            encontradas += dao.consultarPorApodo("bench-" + azar.nextInt(registros)).size();
+        }
+        informar("consulta por apodo", busquedas, System.nanoTime() - inicio);
+        if (encontradas != busquedas) {
+            System.out.printf("  aviso: %,d de %,d apodos no se encontraron%n", busquedas - encontradas, busquedas);
+        }
+
+        inicio = System.nanoTime();
+        int deFamilia = dao.consultarPorFamilia("Familia7").size();
+        informar("consulta por familia (" + deFamilia + " mascotas)", 1, System.nanoTime() - inicio);
+
+        AtomicLong recorridas = new AtomicLong();
+        inicio = System.nanoTime();
+        dao.recorrerMascotas(m -> recorridas.incrementAndGet());
+        informar("recorrido completo", recorridas.get(), System.nanoTime() - inicio);
+    }
+
+    private static MascotaVO mascota(int i) {
+        return new MascotaVO("Nombre " + i, CLASIFICACION, "Familia" + (i % FAMILIAS),
+                "Genero" + (i % 200), "Especie " + (i % 1_000), ALIMENTOS[i % ALIMENTOS.length], "bench-" + i);
+    }
+
+    private static void informar(String operacion, long operaciones, long nanos) {
+        double segundos = nanos / 1e9;
+        System.out.printf("  %-40s %10.3f s %14.0f op/s%n", operacion, segundos, operaciones / segundos);
+    }
+}
@@ -0,0 +1,133 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de {@link MascotaDAOArchivo}: el contrato común de
+ * {@link ICRUDMascota} más la persistencia entre aperturas, la reutilización
+ * de espacio y la recuperación tras un cierre incorrecto.
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class MascotaDAOArchivoTest extends ContratoCRUDMascota {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private Path ruta;
+
+    @Override
+    protected ICRUDMascota crearDAO() throws Exception {
+        ruta = carpeta.getRoot().toPath().resolve("mascotas.dat");
+        return new MascotaDAOArchivo(ruta);
+    }
+
+    @After
+    public void cerrar() throws Exception {
+        ((MascotaDAOArchivo) dao).close();
+    }
+
+    @Test
+    public void testMascotas_PersistenAlReabrir() throws Exception {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+        ((MascotaDAOArchivo) dao).close();
+
+        dao = new MascotaDAOArchivo(ruta);
+
+        assertEquals(1, dao.consultarPorApodo("rex").size());
+        assertEquals(1, ((MascotaDAOArchivo) dao).getRegistros());
+    }
+
+    @Test
+    public void testEliminar_ReutilizaElEspacioLiberado() {
+        MascotaDAOArchivo archivo = (MascotaDAOArchivo) dao;
+        archivo.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+        archivo.adicionarMascota(mascota("Nemo", "Pez", "Pomacentridae", "Omnívoro"));
+        long usado = archivo.getTamanoUsado();
+
+        archivo.eliminarMascota("Rex");
+        archivo.adicionarMascota(mascota("Kiwi", "Ave", "Apterygidae", "Insectos"));
+
+        assertEquals(usado, archivo.getTamanoUsado());
+        assertTrue(archivo.consultarPorApodo("Rex").isEmpty());
+        assertEquals(1, archivo.consultarPorApodo("Kiwi").size());
+    }
+
+    @Test
+    public void testIndice_CreceConMuchasMascotas() {
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(dao.adicionarMascota(mascota("m" + i, "Ave", "F", "Frutas")));
+        }
+        for (int i = 0; i < 5_000; i += 2) {
+            dao.eliminarMascota("m" + i);
+        }
+
+        assertTrue(dao.consultarPorApodo("m4998").isEmpty());
+        assertEquals("m4999", dao.consultarPorApodo("M4999").get(0).getApodo());
+        assertFalse(dao.adicionarMascota(mascota("m1", "Ave", "F", "Frutas")));
+        assertEquals(2_500, ((MascotaDAOArchivo) dao).getRegistros());
+    }
+
+    @Test
+    public void testAperturaSinCierre_ReconstruyeElIndice() throws Exception {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+        dao.adicionarMascota(mascota("Nemo", "Pez", "Pomacentridae", "Omnívoro"));
+        dao.eliminarMascota("Nemo");
+        ((MascotaDAOArchivo) dao).sincronizar();
+
+        // Se abre de nuevo sin cerrar la instancia anterior, como tras una caída.
+        MascotaDAOArchivo reabierto = new MascotaDAOArchivo(ruta);
+        try {
+            assertEquals(1, reabierto.getRegistros());
+            assertEquals(1, reabierto.consultarPorApodo("Rex").size());
+            assertTrue(reabierto.consultarPorApodo("Nemo").isEmpty());
+        } finally {
+            reabierto.close();
+        }
+    }
+
+    @Test
+    public void testVersion_NoSeReiniciaAlPasarDe16Bits() throws Exception {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+        MascotaVO cambio = new MascotaVO("", "", "", "", "", "", "Rex");
+        for (int i = 0; i < 70_000; i++) {
+            cambio.setNombre(i % 2 == 0 ? "Iguana" : "Lagarto");
+            assertTrue(dao.modificarMascota(cambio));
+        }
+        ((MascotaDAOArchivo) dao).close();
+
+        dao = new MascotaDAOArchivo(ruta);
+
+        assertEquals(70_001, dao.consultarPorApodo("Rex").get(0).getVersion());
+    }
+
+    @Test
+    public void testFormatoAnterior_SeConvierteAlAbrir() throws Exception {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+        ((MascotaDAOArchivo) dao).close();
+        // Formato 1: versión menos uno en los bytes 2 y 3 del primer registro
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.allocate(4).putInt(0, 1), 4);
+            canal.write(ByteBuffer.allocate(6).putShort(0, (short) 6).putInt(2, 1234), 128 + 2);
+        }
+
+        dao = new MascotaDAOArchivo(ruta);
+
+        assertEquals(7, dao.consultarPorApodo("Rex").get(0).getVersion());
+        assertEquals("Nombre Rex", dao.consultarPorApodo("Rex").get(0).getNombre());
+    }
+}
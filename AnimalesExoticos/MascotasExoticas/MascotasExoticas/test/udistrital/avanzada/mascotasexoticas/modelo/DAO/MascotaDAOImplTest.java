@@ -0,0 +1,77 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias de {@link MascotaDAOImpl}.
+ * <p>
+ * La conexión es un mock de Mockito, por lo que no se requiere una base de
+ * datos real.
+ * </p>
+ *
+ * @author Juan
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class MascotaDAOImplTest {
+
+    private Connection conexion;
+    private PreparedStatement sentencia;
+
+    @Before
+    public void setUp() throws SQLException {
+        conexion = Mockito.mock(Connection.class);
+        sentencia = Mockito.mock(PreparedStatement.class);
+        ResultSet sinApodos = Mockito.mock(ResultSet.class);
+
+        when(conexion.prepareStatement(anyString())).thenReturn(sentencia);
+        when(sentencia.executeQuery()).thenReturn(sinApodos);
+        when(sentencia.executeBatch()).thenReturn(new int[]{1, 1});
+    }
+
+    private static MascotaVO mascota(String apodo) {
+        return new MascotaVO("Iguana", "Reptil", "Iguanidae", "Iguana", "Iguana iguana", "Herbívoro", apodo);
+    }
+
+    @Test
+    public void testAdicionarMascotas_LoteSinConfirmarSeInformaComoFallido() throws SQLException {
+        doNothing().doThrow(new SQLException("Conexión perdida")).when(conexion).commit();
+        MascotaDAOImpl dao = new MascotaDAOImpl(() -> conexion, 2);
+
+        List<ResultadoOperacion> resultados = dao.adicionarMascotas(
+                Arrays.asList(mascota("Rex"), mascota("Spike"), mascota("Verde"), mascota("Lima")));
+
+        assertEquals(Arrays.asList(ResultadoOperacion.INSERTADA, ResultadoOperacion.INSERTADA,
+                ResultadoOperacion.FALLIDA, ResultadoOperacion.FALLIDA), resultados);
+    }
+
+    @Test
+    public void testAdicionarMascotas_ApodoRepetidoEnOtroLoteEsDuplicado() throws SQLException {
+        MascotaDAOImpl dao = new MascotaDAOImpl(() -> conexion, 2);
+
+        List<ResultadoOperacion> resultados = dao.adicionarMascotas(
+                Arrays.asList(mascota("Rex"), mascota("Spike"), mascota("REX"), mascota("Lima")));
+
+        assertEquals(ResultadoOperacion.DUPLICADA, resultados.get(2));
+        assertEquals(ResultadoOperacion.INSERTADA, resultados.get(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_RechazaLoteNoPositivo() {
+        new MascotaDAOImpl(() -> conexion, 0);
+    }
+}
@@ -0,0 +1,30 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Pruebas de {@link MascotaDAOMemoria}: el contrato común de
+ * {@link ICRUDMascota} más las reglas propias del almacenamiento en memoria.
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class MascotaDAOMemoriaTest extends ContratoCRUDMascota {
+
+    @Override
+    protected ICRUDMascota crearDAO() {
+        return new MascotaDAOMemoria();
+    }
+
+    @Test
+    public void testAdicionarMascota_RechazaApodoRepetido() {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+
+        assertFalse(dao.adicionarMascota(mascota("REX", "Ave", "Psittacidae", "Frutas")));
+        assertEquals("Reptil", dao.consultarPorApodo("Rex").get(0).getClasificacion());
+    }
+}
@@ -0,0 +1,127 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de {@link PublicadorEventosMascotaDAO} sobre un
+ * {@link MascotaDAOMemoria}: el contrato común de {@link ICRUDMascota} más
+ * los eventos publicados por cada escritura.
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class PublicadorEventosMascotaDAOTest extends ContratoCRUDMascota {
+
+    private BusEventosMascota bus;
+    private final BlockingQueue<EventoMascota> recibidos = new LinkedBlockingQueue<>();
+
+    @Override
+    protected ICRUDMascota crearDAO() {
+        bus = new BusEventosMascota();
+        return new PublicadorEventosMascotaDAO(new MascotaDAOMemoria(), bus);
+    }
+
+    @After
+    public void cerrar() {
+        bus.close();
+    }
+
+    private void suscribir() {
+        bus.suscribir("prueba", recibidos::addAll);
+    }
+
+    private EventoMascota siguiente() throws InterruptedException {
+        EventoMascota evento = recibidos.poll(5, TimeUnit.SECONDS);
+        assertTrue("No llegó el evento esperado", evento != null);
+        return evento;
+    }
+
+    @Test
+    public void testEscrituras_PublicanLosDatosEscritosEnOrden() throws Exception {
+        suscribir();
+
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+        dao.modificarMascota(new MascotaVO("Iguana", "", "", "", "", "", "Rex"));
+        dao.eliminarMascota("Rex");
+
+        EventoMascota insercion = siguiente();
+        assertEquals(EventoMascota.Tipo.INSERCION, insercion.getTipo());
+        assertEquals("Rex", insercion.getApodo());
+        assertEquals("Nombre Rex", insercion.getDatos().getNombre());
+        assertEquals(1, insercion.getDatos().getVersion());
+
+        EventoMascota modificacion = siguiente();
+        assertEquals(EventoMascota.Tipo.MODIFICACION, modificacion.getTipo());
+        assertEquals("Rex", modificacion.getApodo());
+        assertEquals("Iguana", modificacion.getDatos().getNombre());
+        assertEquals("", modificacion.getDatos().getAlimento());
+
+        EventoMascota eliminacion = siguiente();
+        assertEquals(EventoMascota.Tipo.ELIMINACION, eliminacion.getTipo());
+        assertEquals("Rex", eliminacion.getApodo());
+        assertNull(eliminacion.getDatos());
+        assertTrue(insercion.getSecuencia() < modificacion.getSecuencia()
+                && modificacion.getSecuencia() < eliminacion.getSecuencia());
+    }
+
+    @Test
+    public void testUpsert_PublicaInsercionYLuegoModificacion() throws Exception {
+        suscribir();
+
+        dao.upsertMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+        dao.upsertMascota(mascota("Rex", "Reptil", "Iguanidae", "Insectos"));
+
+        assertEquals(EventoMascota.Tipo.INSERCION, siguiente().getTipo());
+        EventoMascota modificacion = siguiente();
+        assertEquals(EventoMascota.Tipo.MODIFICACION, modificacion.getTipo());
+        assertEquals("Insectos", modificacion.getDatos().getAlimento());
+    }
+
+    @Test
+    public void testEscriturasSinEfecto_NoPublican() throws Exception {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+        long publicados = bus.getPublicados();
+
+        dao.adicionarMascota(mascota("Rex", "Ave", "Psittacidae", "Frutas"));
+        dao.modificarMascota(new MascotaVO("Otro", "", "", "", "", "", "Nadie"));
+        dao.eliminarMascota("Nadie");
+        dao.eliminarPorCriterio(CriteriosMascota.igual(CampoMascota.FAMILIA, "Psittacidae"));
+
+        assertEquals(publicados, bus.getPublicados());
+    }
+
+    @Test
+    public void testOperacionesPorCriterio_PublicanUnEventoConLasAfectadas() throws Exception {
+        dao.adicionarMascota(mascota("Rex", "Reptil", "Iguanidae", "Herbívoro"));
+        dao.adicionarMascota(mascota("Spike", "Reptil", "Iguanidae", "Herbívoro"));
+        dao.adicionarMascota(mascota("Piolin", "Ave", "Psittacidae", "Frutas"));
+        suscribir();
+
+        CriteriosMascota iguanas = CriteriosMascota.igual(CampoMascota.FAMILIA, "Iguanidae");
+        MascotaVO cambios = new MascotaVO("", "", "", "", "", "Insectos", "");
+        assertEquals(2, dao.modificarPorCriterio(iguanas, cambios));
+        assertEquals(1, dao.eliminarPorCriterio(CriteriosMascota.igual(CampoMascota.FAMILIA, "Psittacidae")));
+
+        EventoMascota modificacion = siguiente();
+        assertEquals(EventoMascota.Tipo.MODIFICACION_POR_CRITERIO, modificacion.getTipo());
+        assertEquals(iguanas, modificacion.getCriterios());
+        assertEquals(2, modificacion.getAfectadas());
+        assertEquals("Insectos", modificacion.getDatos().getAlimento());
+
+        EventoMascota eliminacion = siguiente();
+        assertEquals(EventoMascota.Tipo.ELIMINACION_POR_CRITERIO, eliminacion.getTipo());
+        assertEquals(1, eliminacion.getAfectadas());
+        assertNull(eliminacion.getDatos());
+        assertNull(recibidos.poll(100, TimeUnit.MILLISECONDS));
+    }
+}
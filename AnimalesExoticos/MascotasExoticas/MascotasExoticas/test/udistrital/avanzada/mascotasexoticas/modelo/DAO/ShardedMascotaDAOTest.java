@@ -0,0 +1,205 @@
+package udistrital.avanzada.mascotasexoticas.modelo.DAO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+import udistrital.avanzada.mascotasexoticas.modelo.ResumenMascotaVO;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de {@link ShardedMascotaDAO} sobre tres particiones en memoria: el
+ * contrato común de {@link ICRUDMascota} más el reparto de las mascotas y la
+ * incorporación de particiones nuevas.
+ *
+ * @author Steban
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class ShardedMascotaDAOTest extends ContratoCRUDMascota {
+
+    private final ExecutorService ejecutor = Executors.newFixedThreadPool(4);
+    private Map<String, MascotaDAOMemoria> particiones;
+    private ShardedMascotaDAO sharded;
+
+    @Override
+    protected ICRUDMascota crearDAO() {
+        particiones = new LinkedHashMap<>();
+        for (String nombre : new String[]{"p0", "p1", "p2"}) {
+            particiones.put(nombre, new MascotaDAOMemoria());
+        }
+        sharded = new ShardedMascotaDAO(particiones, ejecutor);
+        return sharded;
+    }
+
+    @After
+    public void cerrar() {
+        ejecutor.shutdownNow();
+    }
+
+    private void adicionar(int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            dao.adicionarMascota(mascota("M" + i, i % 2 == 0 ? "Reptil" : "Ave", "Familia" + (i % 5), "Frutas"));
+        }
+    }
+
+    private int enParticiones(String apodo) {
+        int veces = 0;
+        for (MascotaDAOMemoria particion : particiones.values()) {
+            veces += particion.consultarPorApodo(apodo).size();
+        }
+        return veces;
+    }
+
+    @Test
+    public void testMascotas_QuedanRepartidasUnaVezEntreLasParticiones() {
+        adicionar(300);
+
+        for (MascotaDAOMemoria particion : particiones.values()) {
+            int enEsta = particion.listarTodasMascotas().size();
+            assertTrue("Reparto desigual: " + enEsta, enEsta > 50 && enEsta < 150);
+        }
+        for (int i = 0; i < 300; i++) {
+            assertEquals(1, enParticiones("M" + i));
+        }
+        assertEquals(300, dao.listarTodasMascotas().size());
+        assertEquals(150L, (long) dao.contarPor(CampoMascota.CLASIFICACION, CriteriosMascota.todas()).get("Ave"));
+    }
+
+    @Test
+    public void testPaginas_MezclanLasParticionesEnOrdenDeApodo() {
+        adicionar(57);
+
+        List<String> apodos = new ArrayList<>();
+        String token = null;
+        do {
+            PaginaMascotas pagina = dao.listarTodasMascotas(10, token);
+            assertTrue(pagina.getMascotas().size() <= 10);
+            for (MascotaVO mascota : pagina.getMascotas()) {
+                apodos.add(mascota.getApodo());
+            }
+            token = pagina.getTokenSiguiente();
+        } while (token != null);
+
+        List<String> esperados = new ArrayList<>();
+        for (ResumenMascotaVO resumen : dao.listarResumenes()) {
+            esperados.add(resumen.getApodo());
+        }
+        assertEquals(57, apodos.size());
+        assertEquals(esperados, apodos);
+    }
+
+    @Test
+    public void testAgregarParticion_MueveSoloLasMascotasQueLeTocanPorLotes() {
+        adicionar(400);
+        MascotaDAOMemoria nueva = new MascotaDAOMemoria();
+
+        sharded.agregarParticion("p3", nueva);
+        int pendientes = sharded.getPendientesRebalanceo();
+        assertTrue("Pendientes: " + pendientes, pendientes > 40 && pendientes < 180);
+        assertTrue(nueva.listarTodasMascotas().isEmpty());
+
+        // A mitad del rebalanceo todo sigue visible exactamente una vez
+        sharded.rebalancear(pendientes / 2);
+        assertEquals(400, dao.listarTodasMascotas().size());
+        assertEquals(200, dao.consultarPorClasificacion("Reptil").size());
+        for (int i = 0; i < 400; i++) {
+            assertEquals("M" + i, dao.consultarPorApodo("M" + i).get(0).getApodo());
+        }
+        assertTrue(dao.modificarMascota(new MascotaVO("Renombrada", "", "", "", "", "", "M7")));
+        assertTrue(dao.eliminarMascota("M8"));
+        assertFalse(dao.adicionarMascota(mascota("M9", "Ave", "Otra", "Frutas")));
+
+        assertEquals(0, sharded.rebalancear(Integer.MAX_VALUE));
+        // Solo falta la eliminada, si le tocaba a la partición nueva
+        int movidas = nueva.listarTodasMascotas().size();
+        assertTrue("Movidas: " + movidas, movidas == pendientes || movidas == pendientes - 1);
+        assertEquals(399, dao.listarTodasMascotas().size());
+        assertEquals("Renombrada", dao.consultarPorApodo("M7").get(0).getNombre());
+        for (int i = 0; i < 400; i++) {
+            assertEquals(i == 8 ? 0 : 1, enParticiones("M" + i) + nueva.consultarPorApodo("M" + i).size());
+        }
+    }
+
+    @Test
+    public void testAgregarParticion_NoTerminaElRebalanceoAnterior() {
+        adicionar(400);
+        MascotaDAOMemoria p3 = new MascotaDAOMemoria();
+        MascotaDAOMemoria p4 = new MascotaDAOMemoria();
+        sharded.agregarParticion("p3", p3);
+        int pendientes = sharded.getPendientesRebalanceo();
+
+        sharded.agregarParticion("p4", p4);
+
+        assertTrue(p3.listarTodasMascotas().isEmpty());
+        assertTrue(sharded.getPendientesRebalanceo() > pendientes);
+        assertEquals(400, dao.listarTodasMascotas().size());
+        assertEquals(0, sharded.rebalancear(Integer.MAX_VALUE));
+        assertFalse(p3.listarTodasMascotas().isEmpty());
+        assertFalse(p4.listarTodasMascotas().isEmpty());
+        for (int i = 0; i < 400; i++) {
+            assertEquals(1, enParticiones("M" + i) + p3.consultarPorApodo("M" + i).size()
+                    + p4.consultarPorApodo("M" + i).size());
+            assertEquals("M" + i, dao.consultarPorApodo("M" + i).get(0).getApodo());
+        }
+    }
+
+    @Test
+    public void testAgregarParticion_InsercionesDuranteElRecorridoQuedanPendientes() {
+        // La primera partición recibe otras mascotas mientras se la recorre
+        boolean[] insertar = {false};
+        particiones.put("p0", new MascotaDAOMemoria() {
+            @Override
+            public List<ResumenMascotaVO> listarResumenes() {
+                List<ResumenMascotaVO> resumenes = super.listarResumenes();
+                if (insertar[0]) {
+                    insertar[0] = false;
+                    for (int i = 100; i < 300; i++) {
+                        dao.adicionarMascota(mascota("M" + i, "Ave", "Familia", "Frutas"));
+                    }
+                }
+                return resumenes;
+            }
+        });
+        sharded = new ShardedMascotaDAO(particiones, ejecutor);
+        dao = sharded;
+        adicionar(100);
+        MascotaDAOMemoria nueva = new MascotaDAOMemoria();
+
+        insertar[0] = true;
+        sharded.agregarParticion("p3", nueva);
+        assertEquals(0, sharded.rebalancear(Integer.MAX_VALUE));
+
+        assertFalse(nueva.listarTodasMascotas().isEmpty());
+        for (int i = 0; i < 300; i++) {
+            assertEquals(1, enParticiones("M" + i) + nueva.consultarPorApodo("M" + i).size());
+            assertEquals("M" + i, dao.consultarPorApodo("M" + i).get(0).getApodo());
+        }
+    }
+
+    @Test
+    public void testRebalancearEnSegundoPlano_AtiendeConsultasMientrasMueve() throws Exception {
+        adicionar(500);
+        sharded.agregarParticion("p3", new MascotaDAOMemoria());
+
+        CompletableFuture<Void> rebalanceo = sharded.rebalancearEnSegundoPlano();
+        while (!rebalanceo.isDone()) {
+            assertEquals(500, dao.listarTodasMascotas().size());
+        }
+        rebalanceo.get(10, TimeUnit.SECONDS);
+
+        assertEquals(0, sharded.getPendientesRebalanceo());
+        assertEquals(500, dao.listarTodasMascotas().size());
+        assertEquals(4, sharded.getParticiones().size());
+    }
+}
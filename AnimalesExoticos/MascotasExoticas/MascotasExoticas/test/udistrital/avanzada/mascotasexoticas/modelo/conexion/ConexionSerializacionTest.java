@@ -0,0 +1,46 @@
+package udistrital.avanzada.mascotasexoticas.modelo.conexion;
+
+import java.io.File;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import udistrital.avanzada.mascotasexoticas.modelo.MascotaVO;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Pruebas unitarias de {@link ConexionSerializacion} sobre archivos
+ * temporales.
+ *
+ * @author Sofia
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class ConexionSerializacionTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private final ConexionSerializacion serializacion = new ConexionSerializacion();
+
+    @Test
+    public void testLeerEstado_RecuperaLoQueEscribioElEscritorDeEstado() throws Exception {
+        String ruta = new File(carpeta.getRoot(), "estado.dat").getAbsolutePath();
+        MascotaVO rex = new MascotaVO("Iguana", "Reptil", "Iguanidae", "Iguana", "Iguana iguana", "Herbívoro", "Rex");
+        MascotaVO conPipe = new MascotaVO("Loro|Real", "Ave", "Psittacidae", "Amazona", "Amazona", "Frutas", "Pico");
+        try (EscritorMascotas escritor = serializacion.abrirEscritorEstado(ruta)) {
+            escritor.escribir(rex);
+            escritor.escribir(conPipe);
+        }
+
+        List<MascotaVO> leidas = serializacion.leerEstado(ruta);
+
+        assertEquals(2, leidas.size());
+        assertEquals("Rex", leidas.get(0).getApodo());
+        assertEquals("Herbívoro", leidas.get(0).getAlimento());
+        assertEquals(rex.getClaves().getHuella(), leidas.get(0).getClaves().getHuella());
+        assertEquals("Loro|Real", leidas.get(1).getNombre());
+        assertEquals("Pico", leidas.get(1).getApodo());
+    }
+}
@@ -0,0 +1,103 @@
+package udistrital.avanzada.mascotasexoticas.modelo.conexion;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Pruebas unitarias de {@link FuenteConexionesReplicadas}.
+ * <p>
+ * El principal y las réplicas son orígenes que entregan siempre la misma
+ * conexión simulada con Mockito, y el retraso de cada réplica se fija en la
+ * prueba, por lo que no se requieren servidores reales.
+ * </p>
+ *
+ * @author Juan
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class FuenteConexionesReplicadasTest {
+
+    private final Connection principal = Mockito.mock(Connection.class);
+    private final Connection replicaA = Mockito.mock(Connection.class);
+    private final Connection replicaB = Mockito.mock(Connection.class);
+    private final Map<Connection, Long> retrasos = new HashMap<>();
+
+    @Before
+    public void setUp() {
+        retrasos.put(replicaA, 0L);
+        retrasos.put(replicaB, 0L);
+    }
+
+    private FuenteConexionesReplicadas crear(long ventanaEscrituraMs, FuenteConexiones... replicas) {
+        return new FuenteConexionesReplicadas(() -> principal, Arrays.asList(replicas),
+                conexion -> retrasos.get(conexion), 1_000, 0, ventanaEscrituraMs);
+    }
+
+    @Test
+    public void testLecturas_SeRepartenEntreLasReplicasPorTurnos() throws Exception {
+        FuenteConexionesReplicadas fuente = crear(0, () -> replicaA, () -> replicaB);
+
+        assertSame(replicaA, fuente.obtenerConexionLectura());
+        assertSame(replicaB, fuente.obtenerConexionLectura());
+        assertSame(replicaA, fuente.obtenerConexionLectura());
+        assertEquals(3, fuente.getLecturasReplica());
+        assertEquals(0, fuente.getLecturasPrincipal());
+    }
+
+    @Test
+    public void testLectura_DescartaReplicasAtrasadasOCaidas() throws Exception {
+        retrasos.put(replicaA, 5_000L);
+        FuenteConexionesReplicadas fuente = crear(0, () -> replicaA, () -> replicaB);
+
+        assertSame(replicaB, fuente.obtenerConexionLectura());
+        assertSame(replicaB, fuente.obtenerConexionLectura());
+        verify(replicaA, Mockito.atLeastOnce()).close();
+
+        retrasos.put(replicaB, -1L);
+        assertSame(principal, fuente.obtenerConexionLectura());
+
+        FuenteConexionesReplicadas caida = crear(0, () -> {
+            throw new SQLException("Sin conexión");
+        });
+        assertSame(principal, caida.obtenerConexionLectura());
+        assertEquals(1, caida.getLecturasPrincipal());
+    }
+
+    @Test
+    public void testLectura_TrasUnaEscrituraVaAlPrincipal() throws Exception {
+        FuenteConexionesReplicadas fuente = crear(60_000, () -> replicaA);
+
+        assertSame(replicaA, fuente.obtenerConexionLectura());
+
+        Connection escritura = fuente.obtenerConexion();
+        // Mientras la escritura sigue abierta tampoco se lee de la réplica
+        assertSame(principal, fuente.obtenerConexionLectura());
+        escritura.close();
+        verify(principal).close();
+        assertSame(principal, fuente.obtenerConexionLectura());
+    }
+
+    @Test
+    public void testLectura_VuelveALaReplicaAlTerminarLaVentana() throws Exception {
+        FuenteConexionesReplicadas fuente = crear(50, () -> replicaA);
+
+        Connection escritura = fuente.obtenerConexion();
+        escritura.isReadOnly();
+        escritura.close();
+        assertSame(principal, fuente.obtenerConexionLectura());
+
+        Thread.sleep(100);
+        assertSame(replicaA, fuente.obtenerConexionLectura());
+        verify(principal).isReadOnly();
+    }
+}
@@ -0,0 +1,198 @@
+package udistrital.avanzada.mascotasexoticas.modelo.conexion;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias de {@link MigradorEsquema}.
+ * <p>
+ * La conexión es un mock de Mockito que informa una versión de esquema fija,
+ * por lo que no se requiere una base de datos real.
+ * </p>
+ *
+ * @author Juan
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class MigradorEsquemaTest {
+
+    private Connection conexion;
+    private PreparedStatement sentenciaPreparada;
+    private ResultSet versionRegistrada;
+    private List<Integer> aplicadas;
+
+    @Before
+    public void setUp() throws SQLException {
+        conexion = Mockito.mock(Connection.class);
+        sentenciaPreparada = Mockito.mock(PreparedStatement.class);
+        Statement sentencia = Mockito.mock(Statement.class);
+        ResultSet bloqueo = Mockito.mock(ResultSet.class);
+        versionRegistrada = Mockito.mock(ResultSet.class);
+
+        when(conexion.prepareStatement(anyString())).thenReturn(sentenciaPreparada);
+        when(conexion.createStatement()).thenReturn(sentencia);
+        when(sentenciaPreparada.executeQuery()).thenReturn(bloqueo);
+        when(bloqueo.next()).thenReturn(true);
+        when(bloqueo.getInt(1)).thenReturn(1);
+        when(sentencia.executeQuery(anyString())).thenReturn(versionRegistrada);
+        when(versionRegistrada.next()).thenReturn(true);
+        aplicadas = new ArrayList<>();
+    }
+
+    private MigradorEsquema.Migracion migracion(int version) {
+        return new MigradorEsquema.Migracion(version, "Migración " + version, c -> aplicadas.add(version));
+    }
+
+    @Test
+    public void testMigrar_AplicaSoloLasPendientesEnOrden() throws SQLException {
+        when(versionRegistrada.getInt(1)).thenReturn(1);
+        MigradorEsquema migrador = new MigradorEsquema(() -> conexion,
+                Arrays.asList(migracion(3), migracion(1), migracion(2)));
+
+        int version = migrador.migrar();
+
+        assertEquals(3, version);
+        assertEquals(Arrays.asList(2, 3), aplicadas);
+        verify(sentenciaPreparada).setInt(1, 2);
+        verify(sentenciaPreparada).setInt(1, 3);
+        verify(sentenciaPreparada, never()).setInt(1, 1);
+        verify(conexion).close();
+    }
+
+    @Test
+    public void testMigrar_EsquemaAlDia_NoAplicaNada() throws SQLException {
+        when(versionRegistrada.getInt(1)).thenReturn(2);
+        MigradorEsquema migrador = new MigradorEsquema(() -> conexion, Arrays.asList(migracion(1), migracion(2)));
+
+        assertEquals(2, migrador.migrar());
+        assertTrue(aplicadas.isEmpty());
+    }
+
+    @Test
+    public void testClavePrimaria_ConApodosRepetidos_FallaSinBorrarFilas() throws SQLException {
+        when(versionRegistrada.getInt(1)).thenReturn(1);
+        PreparedStatement consultaIndice = Mockito.mock(PreparedStatement.class);
+        ResultSet sinIndice = Mockito.mock(ResultSet.class);
+        when(conexion.prepareStatement(contains("information_schema"))).thenReturn(consultaIndice);
+        when(consultaIndice.executeQuery()).thenReturn(sinIndice);
+        Statement consultaRepetidos = Mockito.mock(Statement.class);
+        ResultSet repetidos = Mockito.mock(ResultSet.class);
+        Statement ddl = conexion.createStatement();
+        when(conexion.createStatement()).thenReturn(ddl, ddl, ddl, consultaRepetidos);
+        when(consultaRepetidos.executeQuery(contains("HAVING"))).thenReturn(repetidos);
+        when(repetidos.next()).thenReturn(true, true, false);
+        when(repetidos.getString(1)).thenReturn("Nemo", "Rex");
+        when(repetidos.getInt(2)).thenReturn(2, 3);
+        MigradorEsquema migrador = new MigradorEsquema(() -> conexion);
+
+        try {
+            migrador.migrar();
+            fail("La migración debe fallar con apodos repetidos");
+        } catch (SQLException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("'Nemo' (2), 'Rex' (3)"));
+        }
+        verify(ddl, never()).execute(contains("DROP TABLE"));
+        verify(ddl, never()).execute(contains("ALTER TABLE"));
+        verify(ddl, never()).executeUpdate(anyString());
+    }
+
+    @Test
+    public void testClaveUnicaApodo_ConClavesRepetidas_FallaSinAlterarLaTabla() throws SQLException {
+        when(versionRegistrada.getInt(1)).thenReturn(6);
+        PreparedStatement consultaIndice = Mockito.mock(PreparedStatement.class);
+        ResultSet sinIndice = Mockito.mock(ResultSet.class);
+        when(conexion.prepareStatement(contains("information_schema"))).thenReturn(consultaIndice);
+        when(consultaIndice.executeQuery()).thenReturn(sinIndice);
+        Statement sentencia = conexion.createStatement();
+        ResultSet repetidos = Mockito.mock(ResultSet.class);
+        when(sentencia.executeQuery(contains("HAVING"))).thenReturn(repetidos);
+        when(repetidos.next()).thenReturn(true, false);
+        when(repetidos.getString(1)).thenReturn("raton");
+        when(repetidos.getInt(2)).thenReturn(2);
+        MigradorEsquema migrador = new MigradorEsquema(() -> conexion);
+
+        try {
+            migrador.migrar();
+            fail("La migración debe fallar con claves de apodo repetidas");
+        } catch (SQLException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("apodo_clave"));
+            assertTrue(e.getMessage(), e.getMessage().contains("'raton' (2)"));
+        }
+        verify(sentencia, never()).execute(contains("ALTER TABLE"));
+    }
+
+    /**
+     * Prepara la respuesta de {@code EXPLAIN} con una sola fila.
+     */
+    private void explicar(String tipo, String clave, String posibles, long filas) throws SQLException {
+        PreparedStatement explain = Mockito.mock(PreparedStatement.class);
+        ResultSet plan = Mockito.mock(ResultSet.class);
+        when(conexion.prepareStatement(contains("EXPLAIN"))).thenReturn(explain);
+        when(explain.executeQuery()).thenReturn(plan);
+        when(plan.next()).thenReturn(true, false);
+        when(plan.getString("table")).thenReturn("mascotas");
+        when(plan.getString("type")).thenReturn(tipo);
+        when(plan.getString("key")).thenReturn(clave);
+        when(plan.getString("possible_keys")).thenReturn(posibles);
+        when(plan.getLong("rows")).thenReturn(filas);
+    }
+
+    @Test
+    public void testUsaIndice_ConElIndiceEsperado() throws SQLException {
+        explicar("ref", "idx_mascotas_familia_clave", "idx_mascotas_familia_clave", 50_000);
+
+        assertTrue(MigradorEsquema.usaIndice(conexion, "idx_mascotas_familia_clave", "SELECT 1", ""));
+    }
+
+    @Test
+    public void testUsaIndice_RecorridoDelIndiceCuentaComoRecorrido() throws SQLException {
+        explicar("index", "idx_mascotas_familia_clave", null, 50_000);
+
+        assertFalse(MigradorEsquema.usaIndice(conexion, "idx_mascotas_familia_clave", "SELECT 1", ""));
+    }
+
+    @Test
+    public void testUsaIndice_OtroIndiceNoBasta() throws SQLException {
+        explicar("range", "PRIMARY", "PRIMARY,idx_mascotas_familia_clave", 50_000);
+
+        assertFalse(MigradorEsquema.usaIndice(conexion, "idx_mascotas_familia_clave", "SELECT 1", ""));
+    }
+
+    @Test
+    public void testUsaIndice_TablaPequenaConElIndicePosible() throws SQLException {
+        explicar("ALL", null, "PRIMARY,idx_mascotas_familia_clave", 12);
+
+        assertTrue(MigradorEsquema.usaIndice(conexion, "idx_mascotas_familia_clave", "SELECT 1", ""));
+    }
+
+    @Test
+    public void testUsaIndice_TablaPequenaSinElIndice() throws SQLException {
+        explicar("ALL", null, null, 12);
+
+        assertFalse(MigradorEsquema.usaIndice(conexion, "idx_mascotas_familia_clave", "SELECT 1", ""));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testVersionesRepetidas_DeberianRechazarse() {
+        new MigradorEsquema(() -> conexion, Arrays.asList(migracion(1), migracion(1)));
+    }
+}
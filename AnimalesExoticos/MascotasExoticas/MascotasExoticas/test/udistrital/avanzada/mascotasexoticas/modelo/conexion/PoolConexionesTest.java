@@ -0,0 +1,167 @@
+package udistrital.avanzada.mascotasexoticas.modelo.conexion;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias de {@link PoolConexiones}.
+ * <p>
+ * Las conexiones físicas son mocks de Mockito, por lo que no se requiere una
+ * base de datos real.
+ * </p>
+ *
+ * @author Juan
+ * @version 1.0
+ * @since 17-10-2026
+ */
+public class PoolConexionesTest {
+
+    private AtomicInteger creadas;
+    private Connection ultimaFisica;
+    private PoolConexiones pool;
+
+    @Before
+    public void setUp() {
+        creadas = new AtomicInteger();
+        pool = new PoolConexiones(this::crearMock, 1, 2, 100, 60_000, 0);
+    }
+
+    @After
+    public void tearDown() {
+        pool.close();
+    }
+
+    private Connection crearMock() throws SQLException {
+        creadas.incrementAndGet();
+        Connection conexion = Mockito.mock(Connection.class);
+        when(conexion.getAutoCommit()).thenReturn(true);
+        when(conexion.isValid(Mockito.anyInt())).thenReturn(true);
+        ultimaFisica = conexion;
+        return conexion;
+    }
+
+    @Test
+    public void testCerrarConexion_LaDevuelveAlPoolSinCerrarla() throws Exception {
+        Connection primera = pool.obtenerConexion();
+        primera.close();
+        Connection segunda = pool.obtenerConexion();
+        segunda.close();
+
+        assertEquals(1, creadas.get());
+        assertEquals(0, pool.getConexionesActivas());
+        assertEquals(1, pool.getConexionesInactivas());
+    }
+
+    @Test
+    public void testPoolAgotado_DeberiaLanzarTimeout() throws Exception {
+        Connection a = pool.obtenerConexion();
+        Connection b = pool.obtenerConexion();
+        try {
+            pool.obtenerConexion();
+            fail("Se esperaba SQLTimeoutException");
+        } catch (SQLTimeoutException e) {
+            assertEquals(1, pool.getEsperasAgotadas());
+        } finally {
+            a.close();
+            b.close();
+        }
+        assertEquals(2, pool.getConexionesInactivas());
+    }
+
+    @Test
+    public void testConexionDevuelta_NoPuedeUsarse() throws Exception {
+        Connection conexion = pool.obtenerConexion();
+        conexion.close();
+        assertTrue(conexion.isClosed());
+        try {
+            conexion.prepareStatement("SELECT 1");
+            fail("Se esperaba SQLException");
+        } catch (SQLException e) {
+            // esperado
+        }
+    }
+
+    @Test
+    public void testTransaccionAbierta_SeRevierteAlDevolver() throws Exception {
+        Connection conexion = pool.obtenerConexion();
+        Connection fisica = ultimaFisica;
+        when(fisica.getAutoCommit()).thenReturn(false);
+        conexion.close();
+
+        verify(fisica).rollback();
+        verify(fisica).setAutoCommit(true);
+        verify(fisica, never()).close();
+    }
+
+    @Test
+    public void testCacheSentencias_ReutilizaLaSentenciaEntrePrestamos() throws Exception {
+        PoolConexiones conCache = new PoolConexiones(this::crearMock, 1, 1, 100, 60_000, 0, 8);
+        try {
+            Connection fisica = ultimaFisica;
+            PreparedStatement real = Mockito.mock(PreparedStatement.class);
+            when(fisica.prepareStatement("SELECT 1")).thenReturn(real);
+
+            for (int i = 0; i < 3; i++) {
+                try (Connection conexion = conCache.obtenerConexion();
+                     PreparedStatement stmt = conexion.prepareStatement("SELECT 1")) {
+                    stmt.executeQuery();
+                }
+            }
+
+            verify(fisica, times(1)).prepareStatement("SELECT 1");
+            verify(real, never()).close();
+            verify(real, times(3)).executeQuery();
+            assertEquals(2, conCache.getAciertosSentencias());
+            assertEquals(1, conCache.getFallosSentencias());
+        } finally {
+            conCache.close();
+        }
+    }
+
+    @Test
+    public void testCacheSentencias_ExponeLaConexionPrestadaYRestableceLaConfiguracion() throws Exception {
+        PoolConexiones conCache = new PoolConexiones(this::crearMock, 1, 1, 100, 60_000, 0, 8);
+        try {
+            Connection fisica = ultimaFisica;
+            PreparedStatement real = Mockito.mock(PreparedStatement.class);
+            when(fisica.prepareStatement("SELECT 1")).thenReturn(real);
+            when(real.getFetchSize()).thenReturn(0);
+            when(real.getMaxRows()).thenReturn(0);
+            when(real.getQueryTimeout()).thenReturn(0);
+
+            try (Connection conexion = conCache.obtenerConexion();
+                 PreparedStatement stmt = conexion.prepareStatement("SELECT 1")) {
+                assertSame(conexion, stmt.getConnection());
+                stmt.setFetchSize(500);
+                stmt.setQueryTimeout(30);
+            }
+            try (Connection conexion = conCache.obtenerConexion();
+                 PreparedStatement stmt = conexion.prepareStatement("SELECT 1")) {
+                assertSame(conexion, stmt.getConnection());
+            }
+
+            verify(real).setFetchSize(0);
+            verify(real).setMaxRows(0);
+            verify(real).setQueryTimeout(0);
+            verify(real, never()).getConnection();
+        } finally {
+            conCache.close();
+        }
+    }
+}